@@ -0,0 +1,21 @@
+-- ====================================
+-- ベンチマーク用データ: products を 100 万件まで増やす
+-- ====================================
+-- 商品名は bench-product-0000001 ～ bench-product-1000000。ProductPageBenchmark の実行前に投入する。
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO products (name, price)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT CONCAT('bench-product-', LPAD(n, 7, '0')), 100 + MOD(n, 100000) FROM seq;
+
+ANALYZE TABLE products;
+
+-- 実行計画の確認: type が range、key が PRIMARY、rows がページの件数程度になること
+EXPLAIN SELECT id, name, price FROM products WHERE id > 500000 ORDER BY id LIMIT 50;
+
+-- 後片付け
+-- DELETE FROM products WHERE name LIKE 'bench-product-%';
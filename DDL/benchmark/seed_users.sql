@@ -0,0 +1,22 @@
+-- ====================================
+-- ベンチマーク用データ: users を 100 万件まで増やす
+-- ====================================
+-- ユーザ名は bench0000001 ～ bench1000000。パスワードは平文（旧方式）のため、
+-- ログインすると再ハッシュの対象になる。UserLookupBenchmark の実行前に投入する。
+SET SESSION cte_max_recursion_depth = 1000000;
+
+INSERT INTO users (username, password)
+WITH RECURSIVE seq (n) AS (
+    SELECT 1
+    UNION ALL
+    SELECT n + 1 FROM seq WHERE n < 1000000
+)
+SELECT CONCAT('bench', LPAD(n, 7, '0')), CONCAT('pass', n) FROM seq;
+
+ANALYZE TABLE users;
+
+-- 実行計画の確認: type が const、key が uq_users_username になること
+EXPLAIN SELECT username, password FROM users WHERE username = 'bench0500000';
+
+-- 後片付け
+-- DELETE FROM users WHERE username LIKE 'bench%';
@@ -11,9 +11,25 @@ CREATE TABLE IF NOT EXISTS products (
 -- ====================================
 -- テーブル作成: users
 -- ====================================
+-- アプリケーション起動時は Flyway（loginapp/src/main/resources/db/migration）が同じスキーマを作成する
 CREATE TABLE IF NOT EXISTS users (
     id INT NOT NULL AUTO_INCREMENT,
     username VARCHAR(255) NOT NULL,
     password VARCHAR(255) NOT NULL,
-    PRIMARY KEY (id)
-);
\ No newline at end of file
+    PRIMARY KEY (id),
+    UNIQUE KEY uq_users_username (username)
+);
+
+-- ====================================
+-- テーブル作成: login_sessions（session.store=jdbc の場合に使用）
+-- ====================================
+CREATE TABLE IF NOT EXISTS login_sessions (
+    session_key CHAR(43) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    login_time BIGINT NOT NULL,
+    last_access_time BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (session_key),
+    KEY idx_login_sessions_login_time (login_time),
+    KEY idx_login_sessions_last_access_time (last_access_time),
+    KEY idx_login_sessions_username (username)
+);
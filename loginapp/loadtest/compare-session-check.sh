@@ -0,0 +1,48 @@
+#!/usr/bin/env bash
+# ====================================
+# /api/session-check の GET（MVC・JSON 応答）と HEAD（フィルタ・204 応答）のスループットと p99 の比較
+# ====================================
+# 前提: JDK 21、application.properties の接続先 MySQL が起動済みで、
+#       DDL/data.sql のユーザ（user / pass）が登録済みであること。
+# 使い方: loadtest/compare-session-check.sh [同時接続数] [計測秒数]
+#
+# アプリケーションを 1 回起動し、HttpLoadTest（src/test/java/.../benchmark）で
+# session-check（GET）と session-check-head（HEAD）に順に負荷をかけて結果を 1 行ずつ出力する。
+# 計測中にセッションが切れないよう、セッションの有効期限を延ばして起動する。
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30}
+PORT=${PORT:-18080}
+BASE_URL="http://localhost:${PORT}"
+STARTUP_TIMEOUT_SECONDS=120
+
+mvn -B -q -DskipTests package
+CLASSPATH="target/test-classes:target/classes:$(mvn -B -q dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile=/dev/stdout)"
+JAR=$(ls target/loginapp-*.jar | grep -v '\.original$' | head -n 1)
+
+APP_PID=
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT
+
+java -jar "$JAR" \
+    --server.port="$PORT" \
+    --session.timeout-millis=3600000 \
+    --login.rate-limit.enabled=false \
+    --spring.jpa.show-sql=false \
+    --logging.level.root=WARN \
+    --logging.level.org.springframework.web=WARN \
+    --logging.level.com.example.loginapp=WARN \
+    > "target/loadtest-session-check.log" 2>&1 &
+APP_PID=$!
+
+for ((i = 0; i < STARTUP_TIMEOUT_SECONDS; i++)); do
+    curl -sf "${BASE_URL}/actuator/health" > /dev/null && break
+    sleep 1
+done
+
+for target in session-check session-check-head; do
+    java -cp "$CLASSPATH" com.example.loginapp.benchmark.HttpLoadTest \
+        "$BASE_URL" "$target" "$CONCURRENCY" "$DURATION"
+done
@@ -0,0 +1,56 @@
+#!/usr/bin/env bash
+# ====================================
+# 仮想スレッドの有無による /api/products・/api/login のスループットと p99 の比較
+# ====================================
+# 前提: JDK 21、application.properties の接続先 MySQL が起動済みで、
+#       DDL/data.sql のユーザ（user / pass）が登録済みであること。
+# 使い方: loadtest/compare-virtual-threads.sh [同時接続数] [計測秒数]
+#
+# アプリケーションを spring.threads.virtual.enabled=false / true で順に起動し、
+# それぞれに HttpLoadTest（src/test/java/.../benchmark）で負荷をかけて結果を 1 行ずつ出力する。
+# login はパスワード照合（CPU 処理）が専用スレッドプールで上限管理されるため、
+# 混雑時の 503 は errors として数えられる。
+set -euo pipefail
+cd "$(dirname "$0")/.."
+
+CONCURRENCY=${1:-400}
+DURATION=${2:-30}
+PORT=${PORT:-18080}
+BASE_URL="http://localhost:${PORT}"
+STARTUP_TIMEOUT_SECONDS=120
+
+mvn -B -q -DskipTests package
+CLASSPATH="target/test-classes:target/classes:$(mvn -B -q dependency:build-classpath \
+    -Dmdep.includeScope=test -Dmdep.outputFile=/dev/stdout)"
+JAR=$(ls target/loginapp-*.jar | grep -v '\.original$' | head -n 1)
+
+APP_PID=
+trap '[ -n "$APP_PID" ] && kill "$APP_PID" 2>/dev/null || true' EXIT
+
+for virtual in false true; do
+    java -jar "$JAR" \
+        --server.port="$PORT" \
+        --spring.threads.virtual.enabled="$virtual" \
+        --login.rate-limit.enabled=false \
+        --spring.jpa.show-sql=false \
+        --logging.level.root=WARN \
+        --logging.level.org.springframework.web=WARN \
+        --logging.level.com.example.loginapp=WARN \
+        > "target/loadtest-virtual-${virtual}.log" 2>&1 &
+    APP_PID=$!
+
+    for ((i = 0; i < STARTUP_TIMEOUT_SECONDS; i++)); do
+        curl -sf "${BASE_URL}/actuator/health" > /dev/null && break
+        sleep 1
+    done
+
+    for target in products login; do
+        printf 'virtual-threads=%s ' "$virtual"
+        java -cp "$CLASSPATH" com.example.loginapp.benchmark.HttpLoadTest \
+            "$BASE_URL" "$target" "$CONCURRENCY" "$DURATION"
+    done
+
+    kill "$APP_PID"
+    wait "$APP_PID" 2>/dev/null || true
+    APP_PID=
+done
@@ -25,6 +25,9 @@ public final class MessageKeys {
     /** サーバ内部エラー */
     public static final String ERROR_INTERNAL_SERVER = "error.internalServerError";
 
+    /** ログイン処理の混雑 */
+    public static final String ERROR_SERVER_BUSY = "error.serverBusy";
+
     /** 商品が見つからない */
     public static final String ERROR_PRODUCT_NOT_FOUND = "error.productNotFound";
 
@@ -49,6 +52,15 @@ public final class MessageKeys {
     /** 商品 ID を指定したがデータが存在しない */
     public static final String ERROR_PRODUCT_NOT_FOUND_ID = "error.productNotFoundWithId";
 
+    /** ユーザ一括登録で既存ユーザとユーザ名が重複 */
+    public static final String ERROR_IMPORT_DUPLICATE_USERNAME = "error.import.duplicateUsername";
+
+    /** ユーザ一括登録で登録に失敗 */
+    public static final String ERROR_IMPORT_REGISTRATION_FAILED = "error.import.registrationFailed";
+
+    /** ユーザ一括登録でパスワードのハッシュ化に失敗 */
+    public static final String ERROR_IMPORT_HASH_FAILED = "error.import.hashFailed";
+
     /**
      * 成功メッセージ
      */
@@ -59,6 +71,9 @@ public final class MessageKeys {
     /** ログアウト成功 */
     public static final String SUCCESS_LOGOUT = "success.logout";
 
+    /** 全端末からのログアウト成功 */
+    public static final String SUCCESS_LOGOUT_ALL = "success.logout.all";
+
     /** 処理成功 */
     public static final String SUCCESS_PROCESS = "success.process";
 
@@ -0,0 +1,24 @@
+package com.example.loginapp.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * パスワード保存値の更新内容を表すクラス。
+ * 更新は保存値が {@code currentPassword} のままである場合にのみ適用する。
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordUpdate {
+
+    /** ユーザ名 */
+    private String username;
+
+    /** 更新前の保存値（この値から変更されていない場合のみ更新する） */
+    private String currentPassword;
+
+    /** 更新後の保存値 */
+    private String newPassword;
+}
@@ -1,5 +1,7 @@
 package com.example.loginapp.domain.model;
 
+import com.example.loginapp.domain.service.PasswordVerifier;
+
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -39,9 +41,14 @@ public class User {
     private String password;
 
     /**
-     * パスワード一致判定
+     * パスワード一致判定。
+     * 保存値の形式に応じた照合と一定時間比較は {@link PasswordVerifier} に委ねる。
+     *
+     * @param rawPassword 入力されたパスワード
+     * @param verifier    パスワード照合方式
+     * @return 一致する場合 true
      */
-    public boolean isPasswordMatch(String rawPassword) {
-        return password != null && password.equals(rawPassword);
+    public boolean isPasswordMatch(String rawPassword, PasswordVerifier verifier) {
+        return password != null && rawPassword != null && verifier.matches(rawPassword, password);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.example.loginapp.domain.repository;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 import com.example.loginapp.domain.model.Product;
 
@@ -17,6 +18,24 @@ public interface ProductRepository {
      */
     List<Product> findAll();
 
+    /**
+     * 指定した商品IDより大きい商品を、商品IDの昇順に最大件数まで取得する（キーセット方式のページング）。
+     *
+     * @param afterId 前のページの最後の商品ID（先頭ページは 0）
+     * @param limit   取得する最大件数
+     * @return 商品リスト
+     */
+    List<Product> findPageAfter(int afterId, int limit);
+
+    /**
+     * 全商品を商品IDの昇順に 1 件ずつ読み出し、読み出した順に処理する。
+     * 読み出した商品は保持しないため、商品数に関係なく使用するメモリは一定となる。
+     * 読み出しの間は DB 接続を使い続けるため、トランザクション内で呼び出す。
+     *
+     * @param action 商品ごとの処理
+     */
+    void forEachProduct(Consumer<Product> action);
+
     /**
      * 商品IDを指定して商品を取得する。
      *
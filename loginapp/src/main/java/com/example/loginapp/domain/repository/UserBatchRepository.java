@@ -0,0 +1,22 @@
+package com.example.loginapp.domain.repository;
+
+import java.util.List;
+
+import com.example.loginapp.domain.model.User;
+
+/**
+ * ユーザの一括登録を行うリポジトリ（技術非依存）。
+ * <p>
+ * 1 件ずつ発行する {@link UserRepository#insertUser(User)} と異なり、
+ * 複数件の INSERT をまとめて送信する。トランザクションは呼び出し側で管理する。
+ * </p>
+ */
+public interface UserBatchRepository {
+
+    /**
+     * 複数のユーザをまとめて永続化する。
+     *
+     * @param users 保存するユーザ情報
+     */
+    void insertUsers(List<User> users);
+}
@@ -1,5 +1,8 @@
 package com.example.loginapp.domain.repository;
 
+import java.util.List;
+
+import com.example.loginapp.domain.model.PasswordUpdate;
 import com.example.loginapp.domain.model.User;
 
 /**
@@ -25,4 +28,31 @@ public interface UserRepository {
      * @param user 保存するユーザ情報
      */
     void insertUser(User user);
+
+    /**
+     * 指定 ID より大きいユーザを ID 昇順で取得する（キーセットページング）。
+     * 取得結果には ID とユーザ名のみが設定される。
+     *
+     * @param afterId この ID より大きいユーザを取得する
+     * @param limit   最大取得件数
+     * @return ユーザ一覧
+     */
+    List<User> findUsersAfterId(int afterId, int limit);
+
+    /**
+     * 複数ユーザのパスワード保存値を 1 回の UPDATE でまとめて更新する。
+     * 保存値が更新前の値から変更されているユーザは更新しない。
+     *
+     * @param updates 更新内容（空でないこと）
+     * @return 更新した件数
+     */
+    int updatePasswords(List<PasswordUpdate> updates);
+
+    /**
+     * 保存値が指定の接頭辞で始まらないユーザの件数を数える。
+     *
+     * @param prefix 現在の方式・コストの保存値の接頭辞
+     * @return 件数
+     */
+    long countPasswordsWithoutPrefix(String prefix);
 }
\ No newline at end of file
@@ -0,0 +1,73 @@
+package com.example.loginapp.domain.service;
+
+/**
+ * ログイン処理の段階ごとの所要時間を記録するポート。
+ * <p>
+ * ドメイン層はメトリクスライブラリに依存せず、経過時間の記録のみを依頼する。
+ * 実装（タイマーの登録先）は rest 層で提供する。
+ * </p>
+ * <p>
+ * 使い方: {@code long start = LoginLatencyMetrics.start();} で開始時刻を取得し、
+ * 処理の後に {@link #record(Stage, long)} を呼ぶ。
+ * </p>
+ */
+public interface LoginLatencyMetrics {
+
+    /**
+     * 計測する段階。
+     */
+    enum Stage {
+
+        /** LoginController.login 全体 */
+        CONTROLLER("controller"),
+
+        /** LoginInteractor.login 全体 */
+        INTERACTOR("interactor"),
+
+        /** UserServiceImpl.findUser（DB・キャッシュ検索） */
+        FIND_USER("find-user"),
+
+        /** パスワード照合（キュー待ちを含む） */
+        PASSWORD("password"),
+
+        /** SessionServiceImpl.createLoginSession */
+        CREATE_SESSION("create-session"),
+
+        /** MessageSource によるメッセージ解決 */
+        MESSAGE("message");
+
+        /** タグの値 */
+        private final String tag;
+
+        Stage(String tag) {
+            this.tag = tag;
+        }
+
+        /**
+         * メトリクスのタグの値を返す。
+         *
+         * @return タグの値
+         */
+        public String tag() {
+            return tag;
+        }
+    }
+
+    /**
+     * 計測の開始時刻を返す。
+     *
+     * @return 開始時刻（{@link System#nanoTime()}）
+     */
+    static long start() {
+        return System.nanoTime();
+    }
+
+    /**
+     * 開始時刻からの経過時間を指定の段階に記録する。
+     * ログインのたびに呼ばれるため、実装はオブジェクトを生成しないこと。
+     *
+     * @param stage      段階
+     * @param startNanos {@link #start()} で取得した開始時刻
+     */
+    void record(Stage stage, long startNanos);
+}
@@ -0,0 +1,30 @@
+package com.example.loginapp.domain.service;
+
+/**
+ * パスワード照合スレッドプールのキュー待ち時間・ハッシュ計算時間・拒否件数を記録するポート。
+ * <p>
+ * ドメイン層はメトリクスライブラリに依存せず、計測値の記録のみを依頼する。
+ * 実装（メトリクスの登録先）は rest 層で提供する。
+ * </p>
+ */
+public interface PasswordHashMetrics {
+
+    /**
+     * キュー待ち時間を記録する。
+     *
+     * @param nanos 投入から実行開始までの時間（ナノ秒）
+     */
+    void recordQueueWait(long nanos);
+
+    /**
+     * ハッシュ計算時間を記録する。
+     *
+     * @param nanos 照合の所要時間（ナノ秒）
+     */
+    void recordHashTime(long nanos);
+
+    /**
+     * 混雑（キューが満杯・待ち時間の上限超過）により拒否した照合を 1 件記録する。
+     */
+    void recordRejected();
+}
@@ -0,0 +1,17 @@
+package com.example.loginapp.domain.service;
+
+import com.example.loginapp.domain.model.User;
+
+/**
+ * 古い方式・コストで保存されたパスワードを、ログイン成功時に現在の設定で再ハッシュするサービス。
+ */
+public interface PasswordRehashService {
+
+    /**
+     * 再ハッシュを依頼する。書き戻しは非同期に行い、呼び出し元を待たせない。
+     *
+     * @param user        ログインに成功したユーザ（現在の保存値を含む）
+     * @param rawPassword 照合に成功した入力パスワード
+     */
+    void requestRehash(User user, String rawPassword);
+}
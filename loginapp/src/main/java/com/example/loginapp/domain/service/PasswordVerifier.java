@@ -0,0 +1,38 @@
+package com.example.loginapp.domain.service;
+
+/**
+ * パスワードのハッシュ化と照合を行うインターフェース。
+ * <p>
+ * 保存形式やコストパラメータは実装ごとに異なり、保存値自体に含めることで
+ * ユーザ単位で異なるコストのハッシュを混在させることができる。
+ * </p>
+ */
+public interface PasswordVerifier {
+
+    /**
+     * 入力されたパスワードが保存値と一致するかを判定する。
+     * 比較は入力内容に依存しない一定時間で行う。
+     *
+     * @param rawPassword    入力されたパスワード
+     * @param storedPassword DB に保存されているパスワード（ハッシュ）
+     * @return 一致する場合 true
+     */
+    boolean matches(CharSequence rawPassword, String storedPassword);
+
+    /**
+     * パスワードを保存用の形式にハッシュ化する。
+     *
+     * @param rawPassword 平文パスワード
+     * @return 保存用の文字列
+     */
+    String encode(CharSequence rawPassword);
+
+    /**
+     * 保存値が現在の方式・コストより古く、再ハッシュが必要かを判定する。
+     * ハッシュ計算は行わないため、ログイン経路から呼び出しても負荷にならない。
+     *
+     * @param storedPassword DB に保存されているパスワード（ハッシュ）
+     * @return 再ハッシュが必要な場合 true
+     */
+    boolean needsRehash(String storedPassword);
+}
@@ -4,6 +4,7 @@ import com.example.loginapp.domain.model.Product;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * 商品情報に関するドメインサービスのインターフェース。
@@ -18,6 +19,22 @@ public interface ProductService {
      */
     List<Product> getAllProducts();
 
+    /**
+     * 指定した商品IDより後ろの商品を、商品IDの昇順に最大件数まで取得する。
+     *
+     * @param afterId 前のページの最後の商品ID（先頭ページは 0）
+     * @param limit   取得する最大件数
+     * @return 商品リスト
+     */
+    List<Product> getProductsAfter(int afterId, int limit);
+
+    /**
+     * 全商品を商品IDの昇順に 1 件ずつ読み出し、読み出した順に処理する（全件をメモリに保持しない）。
+     *
+     * @param action 商品ごとの処理
+     */
+    void forEachProduct(Consumer<Product> action);
+
     /**
      * 商品IDを指定して商品を取得する。
      *
@@ -1,5 +1,7 @@
 package com.example.loginapp.domain.service;
 
+import java.util.List;
+
 import com.example.loginapp.domain.model.User;
 
 /**
@@ -21,4 +23,12 @@ public interface UserService {
      * @param user 登録するユーザ情報
      */
     void registerUser(User user);
+
+    /**
+     * 複数の新規ユーザを 1 トランザクションでまとめて登録する。
+     * いずれかの登録に失敗した場合はすべてロールバックする。
+     *
+     * @param users 登録するユーザ情報（パスワードはハッシュ化済み）
+     */
+    void registerUsers(List<User> users);
 }
\ No newline at end of file
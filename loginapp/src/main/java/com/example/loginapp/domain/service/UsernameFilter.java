@@ -0,0 +1,44 @@
+package com.example.loginapp.domain.service;
+
+/**
+ * 既知のユーザ名の集合を保持し、存在しないユーザ名を DB 検索前に判定するフィルタ。
+ * <p>
+ * {@link #mightExist(String)} が false を返した場合、そのユーザ名は確実に存在しない。
+ * true の場合は存在する可能性がある（偽陽性を含む）。
+ * </p>
+ */
+public interface UsernameFilter {
+
+    /**
+     * ユーザ名が存在する可能性があるかを判定する。
+     *
+     * @param username ユーザ名
+     * @return false: 確実に存在しない / true: 存在する可能性がある
+     */
+    boolean mightExist(String username);
+
+    /**
+     * ユーザ名を既知の集合に追加する。
+     *
+     * @param username ユーザ名
+     */
+    void add(String username);
+
+    /**
+     * すべてのユーザ名を存在する可能性があると判定し、追加は無視するフィルタを返す（フィルタを使用しない場合）。
+     *
+     * @return 何も拒否しないフィルタ
+     */
+    static UsernameFilter allowAll() {
+        return new UsernameFilter() {
+            @Override
+            public boolean mightExist(String username) {
+                return username != null;
+            }
+
+            @Override
+            public void add(String username) {
+            }
+        };
+    }
+}
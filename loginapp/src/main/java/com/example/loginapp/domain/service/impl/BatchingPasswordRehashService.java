@@ -0,0 +1,198 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.example.loginapp.domain.model.PasswordUpdate;
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.domain.service.PasswordRehashService;
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+/**
+ * 再ハッシュの依頼を専用スレッドプールでハッシュ化し、新しい保存値を {@link #flush()} でまとめて書き戻す
+ * {@link PasswordRehashService}。
+ * <p>
+ * 依頼を受け付けた時点で専用の有界スレッドプールにハッシュ化を依頼し、保留するのは新しい保存値のみとする。
+ * 入力パスワードはハッシュ化を待つ間（スレッドプールのキュー）にしか保持しない。
+ * 朝のログイン集中時に 1 件ずつの UPDATE が大量に発行されないよう、依頼はユーザ名単位で重複を除いて保持し、
+ * 定期実行される {@link #flush()} が最大 {@code batchSize} 件ずつ 1 回の UPDATE で更新する。
+ * {@link #flush()} はハッシュ計算を行わないため、定期実行のスレッドを長時間占有しない。
+ * 保留件数（ハッシュ化待ちを含む）が上限に達した場合やキューが満杯の場合は依頼を破棄する（次回ログイン時に改めて依頼される）。
+ * </p>
+ * <p>
+ * 書き戻しは保存値が依頼時点の値から変わっていない場合にのみ適用されるため、
+ * その間にパスワードが変更されても上書きしない。
+ * </p>
+ */
+public class BatchingPasswordRehashService implements PasswordRehashService, AutoCloseable {
+
+    /** 書き戻し先のリポジトリ */
+    private final UserRepository userRepository;
+
+    /** 新しい保存値の生成に使用する照合方式 */
+    private final PasswordVerifier passwordVerifier;
+
+    /** ハッシュ化専用のスレッドプール（有界キュー・AbortPolicy） */
+    private final ExecutorService hashExecutor;
+
+    /** 保留できる依頼の上限（ハッシュ化待ちを含む） */
+    private final int maxPending;
+
+    /** 1 回の UPDATE で更新する最大件数 */
+    private final int batchSize;
+
+    /** 受け付け済みで書き戻し前の依頼のユーザ名（ハッシュ化待ちを含む） */
+    private final Set<String> accepted = ConcurrentHashMap.newKeySet();
+
+    /** ユーザ名をキーとした、ハッシュ化済みで書き戻し待ちの更新内容 */
+    private final Map<String, PasswordUpdate> pending = new ConcurrentHashMap<>();
+
+    /** 受け付けた依頼の件数 */
+    private final AtomicLong requestedCount = new AtomicLong();
+
+    /** 上限超過により破棄した依頼の件数 */
+    private final AtomicLong droppedCount = new AtomicLong();
+
+    /** 書き戻したユーザの件数 */
+    private final AtomicLong updatedCount = new AtomicLong();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param userRepository   書き戻し先のリポジトリ
+     * @param passwordVerifier 新しい保存値の生成に使用する照合方式
+     * @param hashExecutor     ハッシュ化専用のスレッドプール（有界キュー・AbortPolicy）
+     * @param maxPending       保留できる依頼の上限（ハッシュ化待ちを含む）
+     * @param batchSize        1 回の UPDATE で更新する最大件数
+     */
+    public BatchingPasswordRehashService(UserRepository userRepository, PasswordVerifier passwordVerifier,
+            ExecutorService hashExecutor, int maxPending, int batchSize) {
+        if (maxPending < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("maxPending and batchSize must be positive");
+        }
+        this.userRepository = userRepository;
+        this.passwordVerifier = passwordVerifier;
+        this.hashExecutor = hashExecutor;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void requestRehash(User user, String rawPassword) {
+        String username = user.getUsername();
+        if (accepted.size() >= maxPending) {
+            droppedCount.incrementAndGet();
+            return;
+        }
+        if (!accepted.add(username)) {
+            return;
+        }
+        String currentPassword = user.getPassword();
+        try {
+            hashExecutor.execute(() -> encode(username, currentPassword, rawPassword));
+        } catch (RejectedExecutionException e) {
+            accepted.remove(username);
+            droppedCount.incrementAndGet();
+            return;
+        }
+        requestedCount.incrementAndGet();
+    }
+
+    /**
+     * 新しい保存値を生成し、書き戻し待ちに加える（専用スレッドプールで実行）。
+     * 生成に失敗した場合は依頼を破棄する。
+     */
+    private void encode(String username, String currentPassword, String rawPassword) {
+        try {
+            pending.put(username, new PasswordUpdate(username, currentPassword, passwordVerifier.encode(rawPassword)));
+        } catch (RuntimeException e) {
+            accepted.remove(username);
+            droppedCount.incrementAndGet();
+        }
+    }
+
+    /**
+     * ハッシュ化済みの依頼を最大 {@code batchSize} 件ずつまとめて書き戻す。
+     * 定期実行される前提で、呼び出し時点でハッシュ化済みの分をすべて処理する。
+     *
+     * @return 書き戻したユーザの件数
+     */
+    public int flush() {
+        int total = 0;
+        List<PasswordUpdate> batch = nextBatch();
+        while (!batch.isEmpty()) {
+            int updated = userRepository.updatePasswords(batch);
+            updatedCount.addAndGet(updated);
+            total += updated;
+            batch = nextBatch();
+        }
+        return total;
+    }
+
+    /**
+     * ハッシュ化済みの依頼を最大 {@code batchSize} 件取り出す。
+     */
+    private List<PasswordUpdate> nextBatch() {
+        List<PasswordUpdate> batch = new ArrayList<>(Math.min(batchSize, pending.size()));
+        Iterator<Map.Entry<String, PasswordUpdate>> iterator = pending.entrySet().iterator();
+        while (batch.size() < batchSize && iterator.hasNext()) {
+            Map.Entry<String, PasswordUpdate> entry = iterator.next();
+            iterator.remove();
+            accepted.remove(entry.getKey());
+            batch.add(entry.getValue());
+        }
+        return batch;
+    }
+
+    /**
+     * 保留中の依頼（ハッシュ化待ちを含む）の件数を返す。
+     *
+     * @return 保留件数
+     */
+    public int pendingCount() {
+        return accepted.size();
+    }
+
+    /**
+     * 受け付けた依頼の件数を返す。
+     *
+     * @return 依頼件数
+     */
+    public long requestedCount() {
+        return requestedCount.get();
+    }
+
+    /**
+     * 上限超過により破棄した依頼の件数を返す。
+     *
+     * @return 破棄件数
+     */
+    public long droppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * 書き戻したユーザの件数を返す。
+     *
+     * @return 更新件数
+     */
+    public long updatedCount() {
+        return updatedCount.get();
+    }
+
+    /**
+     * ハッシュ化専用のスレッドプールを停止する。
+     */
+    @Override
+    public void close() {
+        hashExecutor.shutdown();
+    }
+}
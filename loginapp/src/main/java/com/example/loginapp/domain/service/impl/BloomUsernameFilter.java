@@ -0,0 +1,289 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.example.loginapp.domain.service.UsernameFilter;
+
+/**
+ * ブルームフィルタによる {@link UsernameFilter} の実装。
+ * <p>
+ * ビット列は {@link AtomicLongArray} 上に保持し、追加・判定ともにロックを取らない。
+ * ユーザ名は DB の照合順序（大文字小文字を区別しない）に合わせ、1 文字ずつ
+ * 大文字小文字を畳み込んでからハッシュするため、判定時に文字列のコピーは発生しない。
+ * </p>
+ * <p>
+ * 起動時のウォームアップが完了するまでは {@link #mightExist(String)} は常に true を返し、
+ * 既存ユーザを誤って拒否しないようにする。
+ * </p>
+ * <p>
+ * このプロセスを経由せずに追加されたユーザ（別ノードでの登録、SQL による直接の追加）を取り込むため、
+ * {@link #startRebuild()} ～ {@link #finishRebuild()} で新しいビット列を作り直して置き換える。
+ * 作り直しの間に {@link #add(String)} されたユーザ名は現在のビット列と作り直し中のビット列の両方に追加するため、
+ * 置き換えで失われない。追加と作り直しの開始・置き換えは {@link #rebuildLock} で直列化し、
+ * 開始・置き換えの直前に追加されたユーザ名が新しいビット列に入らないまま置き換わることを防ぐ。
+ * 作り直しの DB 読み込みで漏れないよう、{@link #add(String)} は登録のコミット後に呼び出すこと。
+ * </p>
+ */
+public class BloomUsernameFilter implements UsernameFilter {
+
+    /** long 1 語あたりのビット数 */
+    private static final int BITS_PER_WORD = Long.SIZE;
+
+    /** 64bit FNV-1a の初期値 */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /** 64bit FNV-1a の乗数 */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** 2 つ目のハッシュ値を導出するための定数（黄金比） */
+    private static final long SECOND_HASH_SEED = 0x9e3779b97f4a7c15L;
+
+    /** ワード数 */
+    private final int wordCount;
+
+    /** ビット数 */
+    private final long bitSize;
+
+    /** ハッシュ関数の数 */
+    private final int hashCount;
+
+    /** 判定に使用するビット列 */
+    private volatile Bits current;
+
+    /** 作り直し中のビット列（作り直し中でなければ null） */
+    private volatile Bits rebuilding;
+
+    /** 追加と、作り直しの開始・置き換え・中止を直列化するロック */
+    private final Object rebuildLock = new Object();
+
+    /** 存在しないと判定した件数 */
+    private final LongAdder rejections = new LongAdder();
+
+    /** ウォームアップ完了フラグ */
+    private volatile boolean ready;
+
+    /**
+     * 想定件数と目標偽陽性率からビット数とハッシュ数を決定する。
+     *
+     * @param expectedInsertions         想定ユーザ数
+     * @param falsePositiveProbability 目標偽陽性率（0 &lt; p &lt; 1）
+     */
+    public BloomUsernameFilter(long expectedInsertions, double falsePositiveProbability) {
+        if (expectedInsertions <= 0) {
+            throw new IllegalArgumentException("expectedInsertions must be positive: " + expectedInsertions);
+        }
+        if (falsePositiveProbability <= 0 || falsePositiveProbability >= 1) {
+            throw new IllegalArgumentException(
+                    "falsePositiveProbability must be in (0, 1): " + falsePositiveProbability);
+        }
+        long bits = (long) Math.ceil(
+                -expectedInsertions * Math.log(falsePositiveProbability) / (Math.log(2) * Math.log(2)));
+        this.wordCount = (int) Math.min(Integer.MAX_VALUE, (bits + BITS_PER_WORD - 1) / BITS_PER_WORD);
+        this.current = new Bits(wordCount);
+        this.bitSize = (long) wordCount * BITS_PER_WORD;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitSize / expectedInsertions * Math.log(2)));
+    }
+
+    @Override
+    public boolean mightExist(String username) {
+        if (username == null) {
+            return false;
+        }
+        if (!ready) {
+            return true;
+        }
+        AtomicLongArray words = current.words;
+        long h1 = hash(username);
+        long h2 = mix(h1 ^ SECOND_HASH_SEED) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if ((words.get((int) (index >>> 6)) & (1L << index)) == 0) {
+                rejections.increment();
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public void add(String username) {
+        if (username == null) {
+            return;
+        }
+        synchronized (rebuildLock) {
+            insert(current, username);
+            Bits next = rebuilding;
+            if (next != null) {
+                insert(next, username);
+            }
+        }
+    }
+
+    /**
+     * ウォームアップ完了を通知し、以降の判定を有効にする。
+     */
+    public void markReady() {
+        this.ready = true;
+    }
+
+    /**
+     * 空のビット列で作り直しを始める。以降の {@link #add(String)} は作り直し中のビット列にも追加される。
+     * 作り直しを始めた後に DB から全ユーザ名を読み込み、{@link #addRebuilt(String)} で追加する。
+     */
+    public void startRebuild() {
+        synchronized (rebuildLock) {
+            rebuilding = new Bits(wordCount);
+        }
+    }
+
+    /**
+     * 作り直し中のビット列にユーザ名を追加する。作り直し中でなければ何もしない。
+     *
+     * @param username ユーザ名
+     */
+    public void addRebuilt(String username) {
+        Bits next = rebuilding;
+        if (next != null && username != null) {
+            insert(next, username);
+        }
+    }
+
+    /**
+     * 作り直したビット列に置き換え、判定を有効にする。
+     */
+    public void finishRebuild() {
+        synchronized (rebuildLock) {
+            Bits next = rebuilding;
+            if (next != null) {
+                current = next;
+                rebuilding = null;
+                ready = true;
+            }
+        }
+    }
+
+    /**
+     * 作り直しを中止し、現在のビット列を使い続ける。
+     */
+    public void abortRebuild() {
+        synchronized (rebuildLock) {
+            rebuilding = null;
+        }
+    }
+
+    /**
+     * @return ウォームアップ済みであれば true
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 現在のビット充填率から推定した偽陽性率を返す。
+     *
+     * @return 推定偽陽性率（0.0〜1.0）
+     */
+    public double estimatedFalsePositiveRate() {
+        return Math.pow((double) current.bitsSet.sum() / bitSize, hashCount);
+    }
+
+    /**
+     * @return ビット列が占有するメモリ量（バイト）
+     */
+    public long memoryFootprintBytes() {
+        return bitSize / Byte.SIZE;
+    }
+
+    /**
+     * @return 追加されたユーザ名の件数
+     */
+    public long insertionCount() {
+        return current.insertions.sum();
+    }
+
+    /**
+     * @return 存在しないと判定した件数
+     */
+    public long rejectionCount() {
+        return rejections.sum();
+    }
+
+    /**
+     * @return ハッシュ関数の数
+     */
+    public int hashCount() {
+        return hashCount;
+    }
+
+    /**
+     * ユーザ名のビットを立てる。
+     */
+    private void insert(Bits bits, String username) {
+        long h1 = hash(username);
+        long h2 = mix(h1 ^ SECOND_HASH_SEED) | 1L;
+        for (int i = 0; i < hashCount; i++) {
+            long index = Long.remainderUnsigned(h1 + i * h2, bitSize);
+            if (setBit(bits.words, (int) (index >>> 6), 1L << index)) {
+                bits.bitsSet.increment();
+            }
+        }
+        bits.insertions.increment();
+    }
+
+    /**
+     * 指定ビットを CAS で立てる。
+     *
+     * @return 今回の呼び出しで 0 から 1 に変わった場合 true
+     */
+    private static boolean setBit(AtomicLongArray words, int wordIndex, long mask) {
+        long word;
+        do {
+            word = words.get(wordIndex);
+            if ((word & mask) != 0) {
+                return false;
+            }
+        } while (!words.compareAndSet(wordIndex, word, word | mask));
+        return true;
+    }
+
+    /**
+     * 大文字小文字を畳み込んだ 64bit ハッシュを計算する。
+     */
+    private static long hash(String username) {
+        long h = FNV_OFFSET_BASIS;
+        for (int i = 0; i < username.length(); i++) {
+            h ^= Character.toLowerCase(Character.toUpperCase(username.charAt(i)));
+            h *= FNV_PRIME;
+        }
+        return mix(h);
+    }
+
+    /**
+     * ビットを十分に拡散させる 64bit ミキサー。
+     */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * ビット列と、その充填状況。
+     */
+    private static final class Bits {
+
+        /** ビット列 */
+        private final AtomicLongArray words;
+
+        /** 1 になっているビット数 */
+        private final LongAdder bitsSet = new LongAdder();
+
+        /** 追加されたユーザ名の件数（重複を含む） */
+        private final LongAdder insertions = new LongAdder();
+
+        private Bits(int wordCount) {
+            this.words = new AtomicLongArray(wordCount);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import com.example.loginapp.domain.service.PasswordHashMetrics;
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+/**
+ * パスワード照合を専用の有界スレッドプールで実行する {@link PasswordVerifier}。
+ * <p>
+ * CPU 負荷の高いハッシュ計算をリクエストスレッドから切り離し、ログイン集中時に
+ * 他の API のスレッドが枯渇しないようにする。キューが満杯の場合や待ち時間の上限を
+ * 超えた場合は {@link RejectedExecutionException} を送出し、呼び出し側で即座に
+ * 「混雑中」として応答できるようにする。
+ * </p>
+ * <p>
+ * キュー待ち時間とハッシュ計算時間は {@link PasswordHashMetrics} に別々に記録する。
+ * ハッシュ生成（{@link #encode(CharSequence)}）はログイン経路ではないため呼び出し元スレッドで実行する。
+ * </p>
+ */
+public class BoundedPasswordVerifier implements PasswordVerifier, AutoCloseable {
+
+    /** 実際の照合を行う PasswordVerifier */
+    private final PasswordVerifier delegate;
+
+    /** ハッシュ計算専用のスレッドプール */
+    private final ThreadPoolExecutor executor;
+
+    /** 照合結果を待つ最大時間（ミリ秒） */
+    private final long maxWaitMillis;
+
+    /** キュー待ち時間・ハッシュ計算時間・拒否件数の記録先 */
+    private final PasswordHashMetrics metrics;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param delegate      実際の照合を行う PasswordVerifier
+     * @param executor      ハッシュ計算専用のスレッドプール（有界キュー・AbortPolicy）
+     * @param maxWaitMillis 照合結果を待つ最大時間（ミリ秒）
+     * @param metrics       キュー待ち時間・ハッシュ計算時間・拒否件数の記録先
+     */
+    public BoundedPasswordVerifier(PasswordVerifier delegate, ThreadPoolExecutor executor, long maxWaitMillis,
+            PasswordHashMetrics metrics) {
+        this.delegate = delegate;
+        this.executor = executor;
+        this.maxWaitMillis = maxWaitMillis;
+        this.metrics = metrics;
+    }
+
+    /**
+     * 専用スレッドプールで照合を実行し、結果を待つ。
+     *
+     * @throws RejectedExecutionException キューが満杯、または待ち時間の上限を超えた場合
+     */
+    @Override
+    public boolean matches(CharSequence rawPassword, String storedPassword) {
+        long submittedAt = System.nanoTime();
+        Future<Boolean> future;
+        try {
+            future = executor.submit(() -> {
+                long startedAt = System.nanoTime();
+                metrics.recordQueueWait(startedAt - submittedAt);
+                try {
+                    return delegate.matches(rawPassword, storedPassword);
+                } finally {
+                    metrics.recordHashTime(System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            metrics.recordRejected();
+            throw e;
+        }
+
+        try {
+            return future.get(maxWaitMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            metrics.recordRejected();
+            throw new RejectedExecutionException("password verification timed out", e);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("interrupted while waiting for password verification", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    /**
+     * 保存値の形式を調べるだけのため、呼び出し元スレッドで判定する。
+     */
+    @Override
+    public boolean needsRehash(String storedPassword) {
+        return delegate.needsRehash(storedPassword);
+    }
+
+    /**
+     * スレッドプールを停止する。
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,101 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.util.Map;
+
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+/**
+ * 保存値の先頭の {@code {id}} に応じて照合方式を切り替える {@link PasswordVerifier}。
+ * <p>
+ * 識別子のない保存値は移行前の平文とみなし、レガシー用の照合方式で照合する。
+ * 先頭が {@code {…}} であっても登録済みの方式を指していない保存値（{@code {abc}123} のような平文）も同様に扱う。
+ * 新規ハッシュは既定の方式で生成し、{@code {id}} を付与して返す。
+ * </p>
+ */
+public class DelegatingPasswordVerifier implements PasswordVerifier {
+
+    /** 識別子の開始文字 */
+    private static final char ID_PREFIX = '{';
+
+    /** 識別子の終了文字 */
+    private static final char ID_SUFFIX = '}';
+
+    /** 新規ハッシュ生成に使用する方式の識別子 */
+    private final String defaultId;
+
+    /** 識別子ごとの照合方式 */
+    private final Map<String, PasswordVerifier> verifiers;
+
+    /** 識別子のない保存値（平文）の照合方式 */
+    private final PasswordVerifier legacyVerifier;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param defaultId      新規ハッシュ生成に使用する方式の識別子
+     * @param verifiers      識別子ごとの照合方式
+     * @param legacyVerifier 識別子のない保存値の照合方式
+     */
+    public DelegatingPasswordVerifier(String defaultId, Map<String, PasswordVerifier> verifiers,
+            PasswordVerifier legacyVerifier) {
+        if (!verifiers.containsKey(defaultId)) {
+            throw new IllegalArgumentException("unknown default password verifier: " + defaultId);
+        }
+        this.defaultId = defaultId;
+        this.verifiers = Map.copyOf(verifiers);
+        this.legacyVerifier = legacyVerifier;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String storedPassword) {
+        if (rawPassword == null || storedPassword == null) {
+            return false;
+        }
+        String id = extractId(storedPassword);
+        if (id == null) {
+            return legacyVerifier.matches(rawPassword, storedPassword);
+        }
+        return verifiers.get(id).matches(rawPassword, storedPassword.substring(id.length() + 2));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return ID_PREFIX + defaultId + ID_SUFFIX + verifiers.get(defaultId).encode(rawPassword);
+    }
+
+    /**
+     * 識別子のない保存値（平文）と既定以外の方式の保存値は再ハッシュの対象とし、
+     * 既定の方式であればコストパラメータの判定を委譲する。
+     */
+    @Override
+    public boolean needsRehash(String storedPassword) {
+        if (storedPassword == null) {
+            return false;
+        }
+        String id = extractId(storedPassword);
+        if (id == null) {
+            return legacyVerifier.needsRehash(storedPassword);
+        }
+        if (!defaultId.equals(id)) {
+            return true;
+        }
+        return verifiers.get(defaultId).needsRehash(storedPassword.substring(id.length() + 2));
+    }
+
+    /**
+     * 保存値の先頭から登録済みの方式の識別子を取り出す。
+     *
+     * @return 識別子。付与されていない場合、または登録済みの方式を指していない場合は null
+     */
+    private String extractId(String storedPassword) {
+        if (storedPassword.isEmpty() || storedPassword.charAt(0) != ID_PREFIX) {
+            return null;
+        }
+        int end = storedPassword.indexOf(ID_SUFFIX);
+        if (end < 0) {
+            return null;
+        }
+        String id = storedPassword.substring(1, end);
+        return verifiers.containsKey(id) ? id : null;
+    }
+}
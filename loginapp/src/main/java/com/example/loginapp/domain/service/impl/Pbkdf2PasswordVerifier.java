@@ -0,0 +1,215 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+/**
+ * PBKDF2-HMAC-SHA256 による {@link PasswordVerifier} の実装。
+ * <p>
+ * 保存形式は {@code 反復回数$ソルト$ハッシュ}（ソルト・ハッシュは Base64）で、
+ * 反復回数をユーザごとの保存値に持つため、コストを引き上げた後も旧パラメータの値を照合できる。
+ * </p>
+ * <p>
+ * 入力パスワードは String を経由せずに UTF-8 のバイト列へ直接変換し、
+ * HMAC の計算は再利用するバッファ上で行う。使用後のバイト列はゼロクリアする。
+ * </p>
+ */
+public class Pbkdf2PasswordVerifier implements PasswordVerifier {
+
+    /** HMAC アルゴリズム名 */
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    /** HMAC-SHA256 の出力長（バイト） */
+    private static final int HMAC_LENGTH = 32;
+
+    /** ソルト長（バイト） */
+    private static final int SALT_LENGTH = 16;
+
+    /** 導出するハッシュ長（バイト） */
+    private static final int HASH_LENGTH = 32;
+
+    /** 保存形式の区切り文字 */
+    private static final char SEPARATOR = '$';
+
+    /** 空パスワードを HMAC 鍵として扱うための値（ゼロ埋め後に空鍵と等価） */
+    private static final byte[] EMPTY_KEY = { 0 };
+
+    /** スレッドごとに再利用する Mac インスタンス */
+    private static final ThreadLocal<Mac> MAC = ThreadLocal.withInitial(() -> {
+        try {
+            return Mac.getInstance(HMAC_ALGORITHM);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    /** 新規ハッシュ生成時の反復回数 */
+    private final int iterations;
+
+    /** ソルト生成用の乱数 */
+    private final SecureRandom random;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param iterations 新規ハッシュ生成時の反復回数
+     * @param random     ソルト生成用の乱数
+     */
+    public Pbkdf2PasswordVerifier(int iterations, SecureRandom random) {
+        if (iterations < 1) {
+            throw new IllegalArgumentException("iterations must be positive: " + iterations);
+        }
+        this.iterations = iterations;
+        this.random = random;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String storedPassword) {
+        int first = storedPassword.indexOf(SEPARATOR);
+        int second = storedPassword.indexOf(SEPARATOR, first + 1);
+        if (first <= 0 || second < 0) {
+            return false;
+        }
+
+        int storedIterations;
+        byte[] salt;
+        byte[] expected;
+        try {
+            storedIterations = Integer.parseInt(storedPassword, 0, first, 10);
+            salt = Base64.getDecoder().decode(storedPassword.substring(first + 1, second));
+            expected = Base64.getDecoder().decode(storedPassword.substring(second + 1));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        if (storedIterations < 1 || expected.length == 0) {
+            return false;
+        }
+
+        byte[] actual = derive(rawPassword, salt, storedIterations, expected.length);
+        return MessageDigest.isEqual(actual, expected);
+    }
+
+    /**
+     * 保存値の反復回数が現在の設定より少ない場合、または形式が不正な場合に再ハッシュが必要と判定する。
+     */
+    @Override
+    public boolean needsRehash(String storedPassword) {
+        return iterationsOf(storedPassword) < iterations;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        byte[] salt = new byte[SALT_LENGTH];
+        random.nextBytes(salt);
+        byte[] hash = derive(rawPassword, salt, iterations, HASH_LENGTH);
+
+        Base64.Encoder encoder = Base64.getEncoder().withoutPadding();
+        return iterations + String.valueOf(SEPARATOR) + encoder.encodeToString(salt)
+                + SEPARATOR + encoder.encodeToString(hash);
+    }
+
+    /**
+     * 保存値から反復回数を取り出す。
+     *
+     * @return 反復回数。形式が不正な場合は 0
+     */
+    private static int iterationsOf(String storedPassword) {
+        int first = storedPassword.indexOf(SEPARATOR);
+        if (first <= 0) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(storedPassword, 0, first, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * 入力パスワードから PBKDF2-HMAC-SHA256 でハッシュを導出する。
+     */
+    private static byte[] derive(CharSequence rawPassword, byte[] salt, int iterations, int length) {
+        ByteBuffer passwordBytes = encodeUtf8(rawPassword);
+        try {
+            return derive(passwordBytes.array(), passwordBytes.limit(), salt, iterations, length);
+        } finally {
+            Arrays.fill(passwordBytes.array(), (byte) 0);
+        }
+    }
+
+    /**
+     * PBKDF2-HMAC-SHA256（RFC 8018）の本体。
+     * 反復中の HMAC 出力は同一バッファに書き込み、ループ内でメモリ確保を行わない。
+     *
+     * @param password       パスワードのバイト列
+     * @param passwordLength 有効なバイト数
+     * @param salt           ソルト
+     * @param iterations     反復回数
+     * @param length         導出するバイト数
+     * @return 導出したハッシュ
+     */
+    static byte[] derive(byte[] password, int passwordLength, byte[] salt, int iterations, int length) {
+        Mac mac = MAC.get();
+        try {
+            mac.init(passwordLength == 0
+                    ? new SecretKeySpec(EMPTY_KEY, HMAC_ALGORITHM)
+                    : new SecretKeySpec(password, 0, passwordLength, HMAC_ALGORITHM));
+
+            byte[] result = new byte[length];
+            byte[] u = new byte[HMAC_LENGTH];
+            byte[] t = new byte[HMAC_LENGTH];
+            int blocks = (length + HMAC_LENGTH - 1) / HMAC_LENGTH;
+
+            for (int block = 1; block <= blocks; block++) {
+                mac.update(salt);
+                mac.update((byte) (block >>> 24));
+                mac.update((byte) (block >>> 16));
+                mac.update((byte) (block >>> 8));
+                mac.update((byte) block);
+                mac.doFinal(u, 0);
+                System.arraycopy(u, 0, t, 0, HMAC_LENGTH);
+
+                for (int i = 1; i < iterations; i++) {
+                    mac.update(u);
+                    mac.doFinal(u, 0);
+                    for (int j = 0; j < HMAC_LENGTH; j++) {
+                        t[j] ^= u[j];
+                    }
+                }
+
+                int offset = (block - 1) * HMAC_LENGTH;
+                System.arraycopy(t, 0, result, offset, Math.min(HMAC_LENGTH, length - offset));
+            }
+            return result;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * String を生成せずに文字列を UTF-8 のバイト列へ変換する。
+     */
+    private static ByteBuffer encodeUtf8(CharSequence rawPassword) {
+        try {
+            return StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE)
+                    .encode(CharBuffer.wrap(rawPassword));
+        } catch (CharacterCodingException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+/**
+ * 平文で保存された既存パスワード（移行前データ）を照合する {@link PasswordVerifier}。
+ * <p>
+ * 照合は {@link MessageDigest#isEqual(byte[], byte[])} による一定時間比較で行う。
+ * 新規のパスワード保存には使用しない。
+ * </p>
+ */
+public class PlaintextPasswordVerifier implements PasswordVerifier {
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String storedPassword) {
+        ByteBuffer raw = StandardCharsets.UTF_8.encode(CharBuffer.wrap(rawPassword));
+        ByteBuffer stored = StandardCharsets.UTF_8.encode(storedPassword);
+        byte[] rawBytes = Arrays.copyOf(raw.array(), raw.limit());
+        byte[] storedBytes = Arrays.copyOf(stored.array(), stored.limit());
+        try {
+            return MessageDigest.isEqual(rawBytes, storedBytes);
+        } finally {
+            Arrays.fill(raw.array(), (byte) 0);
+            Arrays.fill(rawBytes, (byte) 0);
+        }
+    }
+
+    /**
+     * 平文での保存は許可しない。
+     *
+     * @throws UnsupportedOperationException 常に発生
+     */
+    @Override
+    public String encode(CharSequence rawPassword) {
+        throw new UnsupportedOperationException("plaintext passwords must not be stored");
+    }
+
+    /**
+     * 平文の保存値は常に再ハッシュの対象とする。
+     */
+    @Override
+    public boolean needsRehash(String storedPassword) {
+        return true;
+    }
+}
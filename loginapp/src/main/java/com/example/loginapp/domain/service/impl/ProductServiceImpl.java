@@ -8,6 +8,7 @@ import lombok.RequiredArgsConstructor;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.springframework.dao.DataAccessException;
 import org.springframework.stereotype.Service;
@@ -37,6 +38,30 @@ public class ProductServiceImpl implements ProductService {
         return productRepository.findAll();
     }
 
+    /**
+     * 指定した商品IDより後ろの商品を、商品IDの昇順に最大件数まで取得する。
+     *
+     * @param afterId 前のページの最後の商品ID（先頭ページは 0）
+     * @param limit   取得する最大件数
+     * @return 商品リスト
+     */
+    @Override
+    public List<Product> getProductsAfter(int afterId, int limit) {
+        return productRepository.findPageAfter(afterId, limit);
+    }
+
+    /**
+     * 全商品を商品IDの昇順に 1 件ずつ読み出し、読み出した順に処理する。
+     * 読み出しの間は DB 接続を保持する必要があるため、読み取り専用トランザクション内で実行する。
+     *
+     * @param action 商品ごとの処理
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachProduct(Consumer<Product> action) {
+        productRepository.forEachProduct(action);
+    }
+
     /**
      * 商品ID指定で商品を取得する。
      *
@@ -1,13 +1,22 @@
 package com.example.loginapp.domain.service.impl;
 
 import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserBatchRepository;
 import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
 import com.example.loginapp.domain.service.UserService;
+import com.example.loginapp.domain.service.UsernameFilter;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.ArrayList;
+import java.util.List;
+
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * {@link UserService} の実装クラス。
@@ -21,6 +30,15 @@ public class UserServiceImpl implements UserService {
     /** ユーザリポジトリ */
     private final UserRepository userRepository;
 
+    /** ユーザ一括登録用リポジトリ */
+    private final UserBatchRepository userBatchRepository;
+
+    /** 既知ユーザ名フィルタ */
+    private final UsernameFilter usernameFilter;
+
+    /** ログイン処理の段階ごとの所要時間 */
+    private final LoginLatencyMetrics latencyMetrics;
+
     /**
      * ユーザー名からユーザー情報を取得する。
      *
@@ -29,11 +47,16 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public User findUser(String username) {
-        return userRepository.findByUsername(username);
+        long start = LoginLatencyMetrics.start();
+        try {
+            return userRepository.findByUsername(username);
+        } finally {
+            latencyMetrics.record(Stage.FIND_USER, start);
+        }
     }
 
     /**
-     * ユーザー登録を行う。
+     * ユーザー登録を行い、コミット後に既知ユーザ名フィルタにも追加する。
      *
      * @param user 登録するユーザー情報
      */
@@ -41,5 +64,48 @@ public class UserServiceImpl implements UserService {
     @Transactional
     public void registerUser(User user) {
         userRepository.insertUser(user);
+        addToFilterAfterCommit(List.of(user));
+    }
+
+    /**
+     * 複数ユーザを 1 トランザクションで一括登録し、コミット後に既知ユーザ名フィルタにも追加する。
+     *
+     * @param users 登録するユーザー情報
+     */
+    @Override
+    @Transactional
+    public void registerUsers(List<User> users) {
+        userBatchRepository.insertUsers(users);
+        addToFilterAfterCommit(users);
+    }
+
+    /**
+     * 登録したユーザ名を既知ユーザ名フィルタに追加する。
+     * トランザクション中であればコミット後に追加し、フィルタの作り直しで読み込まれなかった
+     * 未コミットのユーザ名が作り直し前のビット列にだけ残ることを防ぐ。
+     *
+     * @param users 登録したユーザー情報
+     */
+    private void addToFilterAfterCommit(List<User> users) {
+        List<String> usernames = new ArrayList<>(users.size());
+        for (User user : users) {
+            usernames.add(user.getUsername());
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            addToFilter(usernames);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                addToFilter(usernames);
+            }
+        });
+    }
+
+    private void addToFilter(List<String> usernames) {
+        for (String username : usernames) {
+            usernameFilter.add(username);
+        }
     }
-}
\ No newline at end of file
+}
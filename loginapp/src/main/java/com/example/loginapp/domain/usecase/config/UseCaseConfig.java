@@ -1,9 +1,15 @@
 package com.example.loginapp.domain.usecase.config;
 
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.PasswordRehashService;
+import com.example.loginapp.domain.service.PasswordVerifier;
 import com.example.loginapp.domain.service.ProductService;
 import com.example.loginapp.domain.service.UserService;
+import com.example.loginapp.domain.service.UsernameFilter;
 import com.example.loginapp.domain.usecase.login.LoginInputBoundary;
 import com.example.loginapp.domain.usecase.login.LoginInteractor;
+import com.example.loginapp.domain.usecase.product.ExportProductsInputBoundary;
+import com.example.loginapp.domain.usecase.product.ExportProductsInteractor;
 import com.example.loginapp.domain.usecase.product.GetAllProductsInputBoundary;
 import com.example.loginapp.domain.usecase.product.GetAllProductsInteractor;
 import com.example.loginapp.domain.usecase.product.GetProductByIdInputBoundary;
@@ -18,8 +24,11 @@ import org.springframework.context.annotation.Configuration;
 public class UseCaseConfig {
 
     @Bean
-    public LoginInputBoundary loginInteractor(UserService userService) {
-        return new LoginInteractor(userService);
+    public LoginInputBoundary loginInteractor(UserService userService, UsernameFilter usernameFilter,
+            PasswordVerifier passwordVerifier, PasswordRehashService passwordRehashService,
+            LoginLatencyMetrics latencyMetrics) {
+        return new LoginInteractor(userService, usernameFilter, passwordVerifier, passwordRehashService,
+                latencyMetrics);
     }
 
     @Bean
@@ -27,6 +36,11 @@ public class UseCaseConfig {
         return new GetAllProductsInteractor(productService);
     }
 
+    @Bean
+    public ExportProductsInputBoundary exportProductsInteractor(ProductService productService) {
+        return new ExportProductsInteractor(productService);
+    }
+
     @Bean
     public GetProductByIdInputBoundary getProductByIdInteractor(ProductService productService) {
         return new GetProductByIdInteractor(productService);
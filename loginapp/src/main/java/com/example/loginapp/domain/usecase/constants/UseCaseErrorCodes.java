@@ -11,6 +11,9 @@ public final class UseCaseErrorCodes {
     /** ログイン失敗（認証不一致） */
     public static final String INVALID_CREDENTIALS = "INVALID_CREDENTIALS";
 
+    /** ログイン処理が混雑しており受け付けられない */
+    public static final String SERVER_BUSY = "SERVER_BUSY";
+
     /** 商品が見つからない場合のエラー */
     public static final String PRODUCT_NOT_FOUND = "PRODUCT_NOT_FOUND";
 
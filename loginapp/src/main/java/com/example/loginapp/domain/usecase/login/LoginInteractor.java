@@ -1,15 +1,26 @@
 package com.example.loginapp.domain.usecase.login;
 
 import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.domain.service.PasswordRehashService;
+import com.example.loginapp.domain.service.PasswordVerifier;
 import com.example.loginapp.domain.service.UserService;
+import com.example.loginapp.domain.service.UsernameFilter;
 import com.example.loginapp.domain.usecase.constants.UseCaseErrorCodes;
 
 import lombok.RequiredArgsConstructor;
 
+import java.util.concurrent.RejectedExecutionException;
+
 /**
  * ログイン処理を実行する Interactor（UseCase の実装）。
  * 入力（InputData）を受け取り、ドメインサービスを使用して
  * ビジネスロジックを実行し、OutputData を返す。
+ * <p>
+ * 存在しないユーザ名でも、現在の方式・コストで生成したダミーのハッシュとパスワードを照合する。
+ * 応答時間の差からユーザ名の存在を推測されないよう、存在するユーザと同じ照合コストをかける。
+ * </p>
  */
 @RequiredArgsConstructor
 public class LoginInteractor implements LoginInputBoundary {
@@ -17,15 +28,77 @@ public class LoginInteractor implements LoginInputBoundary {
     /** ユーザ情報を扱うドメインサービス */
     private final UserService userService;
 
+    /** 既知ユーザ名フィルタ（存在しないユーザ名を DB 検索前に拒否する） */
+    private final UsernameFilter usernameFilter;
+
+    /** パスワード照合方式 */
+    private final PasswordVerifier passwordVerifier;
+
+    /** 古い方式・コストのパスワードの再ハッシュ */
+    private final PasswordRehashService passwordRehashService;
+
+    /** ログイン処理の段階ごとの所要時間 */
+    private final LoginLatencyMetrics latencyMetrics;
+
+    /** 存在しないユーザとの照合に使用するハッシュ（初回の使用時に生成） */
+    private volatile String dummyHash;
+
+    /** ダミーのハッシュの元にするパスワード */
+    private static final String DUMMY_PASSWORD = "dummy-password-for-unknown-users";
+
     @Override
     public LoginOutputData login(LoginInputData input) {
+        long start = LoginLatencyMetrics.start();
+        try {
+            return authenticate(input);
+        } finally {
+            latencyMetrics.record(Stage.INTERACTOR, start);
+        }
+    }
+
+    /**
+     * ユーザ名・パスワードを検証し、結果を返す。
+     */
+    private LoginOutputData authenticate(LoginInputData input) {
+        User user = usernameFilter.mightExist(input.getUsername()) ? userService.findUser(input.getUsername()) : null;
 
-        User user = userService.findUser(input.getUsername());
+        boolean passwordMatched;
+        long passwordStart = LoginLatencyMetrics.start();
+        try {
+            if (user != null) {
+                passwordMatched = user.isPasswordMatch(input.getPassword(), passwordVerifier);
+            } else {
+                matchDummy(input.getPassword());
+                passwordMatched = false;
+            }
+        } catch (RejectedExecutionException e) {
+            return new LoginOutputData(false, null, UseCaseErrorCodes.SERVER_BUSY);
+        } finally {
+            latencyMetrics.record(Stage.PASSWORD, passwordStart);
+        }
 
-        if (user == null || !user.isPasswordMatch(input.getPassword())) {
+        if (!passwordMatched) {
             return new LoginOutputData(false, null, UseCaseErrorCodes.INVALID_CREDENTIALS);
         }
 
+        if (passwordVerifier.needsRehash(user.getPassword())) {
+            passwordRehashService.requestRehash(user, input.getPassword());
+        }
+
         return new LoginOutputData(true, user.getUsername(), null);
     }
+
+    /**
+     * 存在しないユーザのパスワードを、ダミーのハッシュと照合する（結果は使用しない）。
+     *
+     * @param rawPassword 入力されたパスワード
+     */
+    private void matchDummy(String rawPassword) {
+        String hash = dummyHash;
+        if (hash == null) {
+            hash = passwordVerifier.encode(DUMMY_PASSWORD);
+            dummyHash = hash;
+        }
+        passwordVerifier.matches(rawPassword != null ? rawPassword : "", hash);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.example.loginapp.domain.usecase.product;
+
+/**
+ * 全商品出力処理の入力境界（InputBoundary）。
+ * Controller はこのインターフェースに依存することで、
+ * Interactor（実装）に依存しなくなる。
+ */
+public interface ExportProductsInputBoundary {
+
+    /**
+     * 全商品を 1 件ずつ出力先に渡す。
+     *
+     * @param input 出力先を含む入力データ
+     * @return 出力件数を含む出力データ
+     */
+    ExportProductsOutputData handle(ExportProductsInputData input);
+}
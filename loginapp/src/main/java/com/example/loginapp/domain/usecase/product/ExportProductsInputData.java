@@ -0,0 +1,20 @@
+package com.example.loginapp.domain.usecase.product;
+
+import java.util.function.Consumer;
+
+import com.example.loginapp.domain.model.Product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 全商品出力処理の入力データ DTO。
+ * 商品は読み出した順に {@link Consumer} へ渡し、全件をメモリに保持しない。
+ */
+@Data
+@AllArgsConstructor
+public class ExportProductsInputData {
+
+    /** 商品の出力先 */
+    private final Consumer<Product> sink;
+}
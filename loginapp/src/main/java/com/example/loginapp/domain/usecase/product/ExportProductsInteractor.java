@@ -0,0 +1,33 @@
+package com.example.loginapp.domain.usecase.product;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.domain.service.ProductService;
+import lombok.RequiredArgsConstructor;
+
+import java.util.function.Consumer;
+
+/**
+ * 全商品出力処理を実行する Interactor（UseCase の実装）。
+ * ドメインサービスで全商品を 1 件ずつ読み出し、読み出した順に出力先へ渡す。
+ */
+@RequiredArgsConstructor
+public class ExportProductsInteractor implements ExportProductsInputBoundary {
+
+    /**
+     * 商品取得や更新など、商品に関するビジネスロジックを提供するドメインサービス。
+     */
+    private final ProductService productService;
+
+    @Override
+    public ExportProductsOutputData handle(ExportProductsInputData input) {
+
+        Consumer<Product> sink = input.getSink();
+        long[] count = new long[1];
+        productService.forEachProduct(product -> {
+            sink.accept(product);
+            count[0]++;
+        });
+
+        return new ExportProductsOutputData(true, count[0]);
+    }
+}
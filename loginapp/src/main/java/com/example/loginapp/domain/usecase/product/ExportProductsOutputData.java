@@ -0,0 +1,18 @@
+package com.example.loginapp.domain.usecase.product;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 全商品出力処理の結果 DTO。
+ */
+@Data
+@AllArgsConstructor
+public class ExportProductsOutputData {
+
+    /** 成功フラグ */
+    private final boolean success;
+
+    /** 出力した商品数 */
+    private final long exportedCount;
+}
@@ -1,17 +1,17 @@
 package com.example.loginapp.domain.usecase.product;
 
 /**
- * 全商品取得処理の入力境界（InputBoundary）。
+ * 商品一覧取得処理の入力境界（InputBoundary）。
  * Controller はこのインターフェースに依存することで、
  * Interactor（実装）に依存しなくなる。
  */
 public interface GetAllProductsInputBoundary {
 
     /**
-     * 商品全件取得処理を実行する。
+     * 商品一覧を 1 ページ分取得する。
      *
-     * @param input 特に条件のない入力データ
-     * @return 全商品リストを含む出力データ
+     * @param input 前のページの最後の商品IDと件数を含む入力データ
+     * @return 商品リストと次のページの指定を含む出力データ
      */
     GetAllProductsOutputData handle(GetAllProductsInputData input);
 }
\ No newline at end of file
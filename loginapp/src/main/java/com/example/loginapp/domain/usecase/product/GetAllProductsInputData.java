@@ -1,7 +1,19 @@
 package com.example.loginapp.domain.usecase.product;
 
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
 /**
- * 全商品取得処理の入力データ DTO。
+ * 商品一覧取得処理の入力データ DTO。
+ * 商品IDをキーとしたキーセット方式で 1 ページ分を指定する。
  */
+@Data
+@AllArgsConstructor
 public class GetAllProductsInputData {
+
+    /** 前のページの最後の商品ID（先頭ページは 0） */
+    private final int afterId;
+
+    /** 1 ページの件数 */
+    private final int limit;
 }
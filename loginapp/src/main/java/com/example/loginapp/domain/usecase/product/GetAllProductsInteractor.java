@@ -7,9 +7,12 @@ import lombok.RequiredArgsConstructor;
 import java.util.List;
 
 /**
- * 全商品取得処理を実行する Interactor（UseCase の実装）。
- * ドメインサービスを利用して商品を取得し、
+ * 商品一覧取得処理を実行する Interactor（UseCase の実装）。
+ * ドメインサービスを利用して商品を 1 ページ分取得し、
  * OutputData を生成して返す。
+ * <p>
+ * 指定件数より 1 件多く取得し、続きがあるかどうかを追加の問い合わせなしで判定する。
+ * </p>
  */
 @RequiredArgsConstructor
 public class GetAllProductsInteractor implements GetAllProductsInputBoundary {
@@ -22,8 +25,15 @@ public class GetAllProductsInteractor implements GetAllProductsInputBoundary {
     @Override
     public GetAllProductsOutputData handle(GetAllProductsInputData input) {
 
-        List<Product> products = productService.getAllProducts();
+        int limit = input.getLimit();
+        List<Product> products = productService.getProductsAfter(input.getAfterId(), limit + 1);
 
-        return new GetAllProductsOutputData(true, products, null, null);
+        Integer nextAfterId = null;
+        if (products.size() > limit) {
+            products = products.subList(0, limit);
+            nextAfterId = products.get(limit - 1).getId();
+        }
+
+        return new GetAllProductsOutputData(true, products, nextAfterId, null, null);
     }
 }
@@ -7,7 +7,7 @@ import lombok.Data;
 import java.util.List;
 
 /**
- * 全商品取得処理の結果 DTO。
+ * 商品一覧取得処理の結果 DTO。
  */
 @Data
 @AllArgsConstructor
@@ -16,9 +16,12 @@ public class GetAllProductsOutputData {
     /** 成功フラグ */
     private final boolean success;
 
-    /** 取得した商品リスト（成功時） */
+    /** 取得した商品リスト（成功時、商品IDの昇順） */
     private final List<Product> products;
 
+    /** 次のページの取得に指定する商品ID（最後のページの場合は null） */
+    private final Integer nextAfterId;
+
     /** エラーコード（失敗時） */
     private final String errorCode;
 
@@ -0,0 +1,28 @@
+package com.example.loginapp.domain.usecase.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザ一括登録で登録に失敗したチャンクの情報。
+ * チャンク内の行はすべてロールバックされている。
+ */
+@Data
+@AllArgsConstructor
+public class ImportChunkFailure {
+
+    /** チャンク番号（1 始まり） */
+    private final int chunkNumber;
+
+    /** チャンクの先頭行番号 */
+    private final long firstLine;
+
+    /** チャンクの末尾行番号 */
+    private final long lastLine;
+
+    /** ロールバックされた件数 */
+    private final int rows;
+
+    /** 失敗理由のメッセージキー（DB のエラーメッセージはクライアントに返さず、サーバのログにのみ出力する） */
+    private final String reason;
+}
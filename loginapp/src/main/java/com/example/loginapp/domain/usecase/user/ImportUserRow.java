@@ -0,0 +1,22 @@
+package com.example.loginapp.domain.usecase.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザ一括登録の入力 1 行分のデータ。
+ * 形式が不正な行はユーザ名・パスワードを null として渡し、UseCase で不正行として扱う。
+ */
+@Data
+@AllArgsConstructor
+public class ImportUserRow {
+
+    /** 入力内の行番号（1 始まり） */
+    private final long lineNumber;
+
+    /** ユーザ名 */
+    private final String username;
+
+    /** 平文パスワード */
+    private final String password;
+}
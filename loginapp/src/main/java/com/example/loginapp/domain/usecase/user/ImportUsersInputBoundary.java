@@ -0,0 +1,15 @@
+package com.example.loginapp.domain.usecase.user;
+
+/**
+ * ユーザ一括登録を実行する UseCase の入力境界。
+ */
+public interface ImportUsersInputBoundary {
+
+    /**
+     * 入力行を先頭から順に読み込み、チャンク単位でユーザを登録する。
+     *
+     * @param input 登録するユーザの入力行
+     * @return 登録件数・失敗したチャンクなどの結果
+     */
+    ImportUsersOutputData handle(ImportUsersInputData input);
+}
@@ -0,0 +1,18 @@
+package com.example.loginapp.domain.usecase.user;
+
+import java.util.Iterator;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザ一括登録の入力データ。
+ * 入力行は {@link Iterator} で逐次渡し、全件をメモリに保持しない。
+ */
+@Data
+@AllArgsConstructor
+public class ImportUsersInputData {
+
+    /** 登録するユーザの入力行 */
+    private Iterator<ImportUserRow> rows;
+}
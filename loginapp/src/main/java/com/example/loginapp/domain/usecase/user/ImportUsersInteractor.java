@@ -0,0 +1,216 @@
+package com.example.loginapp.domain.usecase.user;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+
+import com.example.loginapp.domain.constants.MessageKeys;
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.service.PasswordVerifier;
+import com.example.loginapp.domain.service.UserService;
+
+/**
+ * ユーザ一括登録を実行する Interactor（UseCase の実装）。
+ * <p>
+ * 入力行を {@code chunkSize} 件ずつ読み込み、パスワードのハッシュ化を専用スレッドプールで並列に行い、
+ * チャンクごとに 1 トランザクションでまとめて登録する。次のチャンクのハッシュ化は
+ * 現在のチャンクの登録と並行して進めるため、メモリに保持するのは最大 2 チャンク分となる。
+ * </p>
+ * <p>
+ * 形式不正な行とチャンク内で重複するユーザ名は登録せずに件数を数える。
+ * 登録に失敗したチャンク（既存ユーザとの重複など）とパスワードのハッシュ化に失敗したチャンクは登録せず、
+ * 失敗として記録して次のチャンクへ進む。
+ * 失敗理由は固定のメッセージキーとし、DB のエラー内容（テーブル・制約名・値）はサーバのログにのみ出力する。
+ * </p>
+ */
+public class ImportUsersInteractor implements ImportUsersInputBoundary {
+
+    /** 結果に含める不正行の行番号の上限 */
+    static final int MAX_REPORTED_INVALID_LINES = 100;
+
+    /** ユーザ名の最大長（users.username の桁数） */
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    /** ログ出力用のLogger */
+    private static final Logger log = LoggerFactory.getLogger(ImportUsersInteractor.class);
+
+    /** ユーザ情報を扱うドメインサービス */
+    private final UserService userService;
+
+    /** パスワードのハッシュ化方式 */
+    private final PasswordVerifier passwordVerifier;
+
+    /** パスワードのハッシュ化を行うスレッドプール */
+    private final Executor hashExecutor;
+
+    /** 1 トランザクションで登録する件数 */
+    private final int chunkSize;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param userService      ユーザ情報を扱うドメインサービス
+     * @param passwordVerifier パスワードのハッシュ化方式
+     * @param hashExecutor     パスワードのハッシュ化を行うスレッドプール
+     * @param chunkSize        1 トランザクションで登録する件数
+     */
+    public ImportUsersInteractor(UserService userService, PasswordVerifier passwordVerifier,
+            Executor hashExecutor, int chunkSize) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("chunkSize must be positive: " + chunkSize);
+        }
+        this.userService = userService;
+        this.passwordVerifier = passwordVerifier;
+        this.hashExecutor = hashExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public ImportUsersOutputData handle(ImportUsersInputData input) {
+        long startedAt = System.nanoTime();
+        Progress progress = new Progress();
+        Iterator<ImportUserRow> rows = input.getRows();
+
+        Chunk current = readChunk(rows, progress);
+        while (current != null) {
+            Chunk next = readChunk(rows, progress);
+            write(current, progress);
+            current = next;
+        }
+
+        long elapsedNanos = System.nanoTime() - startedAt;
+        double rowsPerSecond = elapsedNanos == 0 ? 0
+                : progress.importedRows * (double) TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        return new ImportUsersOutputData(progress.totalRows, progress.importedRows, progress.invalidRows,
+                progress.invalidLines, progress.failedChunks,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond);
+    }
+
+    /**
+     * 入力行を最大 {@code chunkSize} 件読み込み、有効な行のハッシュ化を開始する。
+     *
+     * @return 読み込んだチャンク。入力の終端に達している場合は null
+     */
+    private Chunk readChunk(Iterator<ImportUserRow> rows, Progress progress) {
+        if (!rows.hasNext()) {
+            return null;
+        }
+        Chunk chunk = new Chunk(++progress.chunkCount);
+        Set<String> usernames = new HashSet<>();
+        int read = 0;
+        while (read < chunkSize && rows.hasNext()) {
+            ImportUserRow row = rows.next();
+            read++;
+            progress.totalRows++;
+            chunk.firstLine = chunk.firstLine == 0 ? row.getLineNumber() : chunk.firstLine;
+            chunk.lastLine = row.getLineNumber();
+
+            if (!isValid(row) || !usernames.add(row.getUsername().toLowerCase(Locale.ROOT))) {
+                progress.invalid(row.getLineNumber());
+                continue;
+            }
+            String username = row.getUsername();
+            String rawPassword = row.getPassword();
+            chunk.users.add(CompletableFuture.supplyAsync(
+                    () -> new User(username, passwordVerifier.encode(rawPassword)), hashExecutor));
+        }
+        return chunk;
+    }
+
+    /**
+     * チャンクのハッシュ化完了を待ち、1 トランザクションで登録する。
+     */
+    private void write(Chunk chunk, Progress progress) {
+        if (chunk.users.isEmpty()) {
+            return;
+        }
+        List<User> users = new ArrayList<>(chunk.users.size());
+        try {
+            for (CompletableFuture<User> user : chunk.users) {
+                users.add(user.join());
+            }
+        } catch (CompletionException e) {
+            log.warn("ユーザ一括登録のチャンクのパスワードのハッシュ化に失敗しました: チャンク={}, 行={}-{}", chunk.number,
+                    chunk.firstLine, chunk.lastLine, e.getCause());
+            progress.failedChunks.add(new ImportChunkFailure(chunk.number, chunk.firstLine, chunk.lastLine,
+                    chunk.users.size(), MessageKeys.ERROR_IMPORT_HASH_FAILED));
+            return;
+        }
+        try {
+            userService.registerUsers(users);
+            progress.importedRows += users.size();
+        } catch (DataAccessException e) {
+            log.warn("ユーザ一括登録のチャンクの登録に失敗しました: チャンク={}, 行={}-{}", chunk.number, chunk.firstLine,
+                    chunk.lastLine, e);
+            String reason = e instanceof DuplicateKeyException
+                    ? MessageKeys.ERROR_IMPORT_DUPLICATE_USERNAME
+                    : MessageKeys.ERROR_IMPORT_REGISTRATION_FAILED;
+            progress.failedChunks.add(new ImportChunkFailure(chunk.number, chunk.firstLine, chunk.lastLine,
+                    users.size(), reason));
+        }
+    }
+
+    /**
+     * 入力行がユーザとして登録可能な形式かを判定する。
+     */
+    private static boolean isValid(ImportUserRow row) {
+        String username = row.getUsername();
+        String password = row.getPassword();
+        return username != null && !username.isBlank() && username.length() <= MAX_USERNAME_LENGTH
+                && password != null && !password.isEmpty();
+    }
+
+    /**
+     * 読み込み済みのチャンク。
+     */
+    private static final class Chunk {
+
+        /** チャンク番号 */
+        private final int number;
+
+        /** 先頭行番号 */
+        private long firstLine;
+
+        /** 末尾行番号 */
+        private long lastLine;
+
+        /** ハッシュ化中のユーザ */
+        private final List<CompletableFuture<User>> users = new ArrayList<>();
+
+        private Chunk(int number) {
+            this.number = number;
+        }
+    }
+
+    /**
+     * 処理中の集計値。
+     */
+    private static final class Progress {
+
+        private int chunkCount;
+        private long totalRows;
+        private long importedRows;
+        private long invalidRows;
+        private final List<Long> invalidLines = new ArrayList<>();
+        private final List<ImportChunkFailure> failedChunks = new ArrayList<>();
+
+        private void invalid(long lineNumber) {
+            invalidRows++;
+            if (invalidLines.size() < MAX_REPORTED_INVALID_LINES) {
+                invalidLines.add(lineNumber);
+            }
+        }
+    }
+}
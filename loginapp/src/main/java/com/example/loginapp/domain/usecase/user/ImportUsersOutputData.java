@@ -0,0 +1,35 @@
+package com.example.loginapp.domain.usecase.user;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザ一括登録の結果を表す DTO。
+ */
+@Data
+@AllArgsConstructor
+public class ImportUsersOutputData {
+
+    /** 読み込んだ行数 */
+    private final long totalRows;
+
+    /** 登録した件数 */
+    private final long importedRows;
+
+    /** 形式不正・重複により登録しなかった件数 */
+    private final long invalidRows;
+
+    /** 登録しなかった行の行番号（先頭から一定件数まで） */
+    private final List<Long> invalidLines;
+
+    /** 登録に失敗したチャンク */
+    private final List<ImportChunkFailure> failedChunks;
+
+    /** 処理時間（ミリ秒） */
+    private final long elapsedMillis;
+
+    /** 1 秒あたりの登録件数 */
+    private final double rowsPerSecond;
+}
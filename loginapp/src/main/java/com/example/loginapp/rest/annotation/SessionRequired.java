@@ -9,4 +9,12 @@ import java.lang.annotation.*;
 @Retention(RetentionPolicy.RUNTIME)
 @Documented
 public @interface SessionRequired {
+
+    /**
+     * スライディング方式（{@code session.sliding-expiration=true}）の場合に、このアクセスで有効期限を延長するか。
+     * 画面からの定期的な状態確認など、利用者の操作によらないアクセスでは false とする。
+     *
+     * @return true: 延長する / false: 延長しない
+     */
+    boolean touch() default true;
 }
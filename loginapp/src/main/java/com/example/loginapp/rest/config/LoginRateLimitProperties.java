@@ -0,0 +1,54 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * ログイン試行回数制限の設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "login.rate-limit")
+@Data
+public class LoginRateLimitProperties {
+
+    /** 回数制限を有効にするか */
+    private boolean enabled = true;
+
+    /** クライアント IP ごとの制限 */
+    private Bucket ip = new Bucket(100, 100);
+
+    /** ユーザ名ごとの制限 */
+    private Bucket username = new Bucket(10, 10);
+
+    /** IP・ユーザ名それぞれで追跡するキー数の上限（超過したキーは 1 つの共有バケットでまとめて制限する） */
+    private int maxKeys = 100_000;
+
+    /** アイドル状態のキーを削除する間隔（ミリ秒） */
+    private long evictionIntervalMillis = 60_000L;
+
+    /**
+     * トークンバケットの設定。
+     */
+    @Data
+    public static class Bucket {
+
+        /** バケット容量（連続して許可する最大回数） */
+        private int capacity;
+
+        /** 1 分あたりの補充回数 */
+        private int refillPerMinute;
+
+        /**
+         * コンストラクタ。
+         *
+         * @param capacity        バケット容量
+         * @param refillPerMinute 1 分あたりの補充回数
+         */
+        public Bucket(int capacity, int refillPerMinute) {
+            this.capacity = capacity;
+            this.refillPerMinute = refillPerMinute;
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.loginapp.rest.config;
+
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.example.loginapp.domain.service.PasswordHashMetrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * パスワード照合スレッドプールの計測値を Micrometer に記録する {@link PasswordHashMetrics}。
+ * キューの待ち件数はスレッドプールから直接読み取るゲージとして公開する。
+ */
+public class MicrometerPasswordHashMetrics implements PasswordHashMetrics {
+
+    /** キュー待ち時間 */
+    private final Timer queueWaitTimer;
+
+    /** ハッシュ計算時間 */
+    private final Timer hashTimer;
+
+    /** 混雑により拒否した件数 */
+    private final Counter rejectedCounter;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param executor 照合専用のスレッドプール（キューの待ち件数の取得元）
+     * @param registry メトリクス登録先
+     */
+    public MicrometerPasswordHashMetrics(ThreadPoolExecutor executor, MeterRegistry registry) {
+        this.queueWaitTimer = Timer.builder("login.password.hash.queue.wait")
+                .description("ハッシュ計算スレッドプールのキュー待ち時間")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.hashTimer = Timer.builder("login.password.hash.time")
+                .description("パスワード照合のハッシュ計算時間")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(registry);
+        this.rejectedCounter = Counter.builder("login.password.hash.rejected")
+                .description("混雑により拒否したパスワード照合の件数")
+                .register(registry);
+        Gauge.builder("login.password.hash.queue.depth", executor, e -> e.getQueue().size())
+                .register(registry);
+    }
+
+    @Override
+    public void recordQueueWait(long nanos) {
+        queueWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordHashTime(long nanos) {
+        hashTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void recordRejected() {
+        rejectedCounter.increment();
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * パスワードハッシュの設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "password.hash")
+@Data
+public class PasswordHashProperties {
+
+    /** 新規ハッシュ生成時の PBKDF2 反復回数 */
+    private int iterations = 100_000;
+
+    /** パスワード照合専用スレッドプールの設定 */
+    private Executor executor = new Executor();
+
+    /** ログイン時の再ハッシュの設定 */
+    private Rehash rehash = new Rehash();
+
+    /**
+     * パスワード照合専用スレッドプールの設定。
+     */
+    @Data
+    public static class Executor {
+
+        /** スレッド数（0 以下の場合は CPU コア数） */
+        private int poolSize = 0;
+
+        /** 実行待ちキューの上限。超過したログインは混雑として即座に拒否する */
+        private int queueCapacity = 64;
+
+        /** 照合結果を待つ最大時間（ミリ秒） */
+        private long maxWaitMillis = 2_000L;
+    }
+
+    /**
+     * ログイン時の再ハッシュ（旧方式・旧コストからの移行）の設定。
+     */
+    @Data
+    public static class Rehash {
+
+        /** 書き戻し待ちで保持する依頼の上限（ハッシュ化待ちを含む）。超過分は次回ログイン時に再依頼される */
+        private int maxPending = 10_000;
+
+        /** 再ハッシュ専用スレッドプールのスレッド数（ログインの照合と CPU を取り合わないよう少なくする） */
+        private int poolSize = 1;
+
+        /** 再ハッシュのハッシュ化待ちキューの上限。入力パスワードはこのキューの中でのみ保持する */
+        private int queueCapacity = 1_000;
+
+        /** 1 回の UPDATE で更新する最大件数 */
+        private int batchSize = 200;
+
+        /** 書き戻しの実行間隔（ミリ秒） */
+        private long flushIntervalMillis = 1_000L;
+
+        /** 旧パラメータのユーザ数を集計する間隔（ミリ秒） */
+        private long legacyCountIntervalMillis = 600_000L;
+    }
+}
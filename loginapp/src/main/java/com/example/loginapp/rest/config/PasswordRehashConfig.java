@@ -0,0 +1,136 @@
+package com.example.loginapp.rest.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.domain.service.PasswordVerifier;
+import com.example.loginapp.domain.service.impl.BatchingPasswordRehashService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * ログイン時の再ハッシュの生成と、書き戻し・旧パラメータのユーザ数集計の定期実行を行う設定クラス。
+ */
+@Configuration
+@RequiredArgsConstructor
+public class PasswordRehashConfig {
+
+    /** 再ハッシュスレッドの名前の接頭辞 */
+    private static final String THREAD_NAME_PREFIX = "password-rehash-";
+
+    /** 書き戻し先・集計元のリポジトリ */
+    private final UserRepository userRepository;
+
+    /** 新しい保存値の生成に使用する照合方式 */
+    private final PasswordVerifier passwordVerifier;
+
+    /** パスワードハッシュ設定 */
+    private final PasswordHashProperties properties;
+
+    /** 旧パラメータのまま残っているユーザ数（未集計の場合は -1） */
+    private final AtomicLong legacyUsers = new AtomicLong(-1);
+
+    /** ログ出力用のLogger */
+    private static final Logger log = LoggerFactory.getLogger(PasswordRehashConfig.class);
+
+    /**
+     * 再ハッシュの依頼をまとめて書き戻すサービスを生成する。
+     * ハッシュ化は専用スレッドプールで行う（アプリケーション終了時に close() で停止）。
+     *
+     * @return 再ハッシュサービス
+     */
+    @Bean
+    public BatchingPasswordRehashService passwordRehashService() {
+        PasswordHashProperties.Rehash rehash = properties.getRehash();
+        return new BatchingPasswordRehashService(userRepository, passwordVerifier, rehashExecutor(rehash),
+                rehash.getMaxPending(), rehash.getBatchSize());
+    }
+
+    /**
+     * 再ハッシュ専用の有界スレッドプールを生成する。
+     * キューが満杯の場合は {@link ThreadPoolExecutor.AbortPolicy} により拒否し、依頼を破棄する。
+     * Spring Boot の既定 TaskExecutor を置き換えないよう、Bean としては公開しない。
+     */
+    private static ThreadPoolExecutor rehashExecutor(PasswordHashProperties.Rehash settings) {
+        int poolSize = Math.max(settings.getPoolSize(), 1);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /**
+     * 再ハッシュの依頼・破棄・書き戻し件数と、旧パラメータのユーザ数をメトリクスとして公開する。
+     *
+     * @param service 再ハッシュサービス
+     * @return メータバインダ
+     */
+    @Bean
+    public MeterBinder passwordRehashMetrics(BatchingPasswordRehashService service) {
+        return registry -> {
+            Gauge.builder("login.password.rehash.pending", service, BatchingPasswordRehashService::pendingCount)
+                    .register(registry);
+            FunctionCounter.builder("login.password.rehash.requested", service,
+                    BatchingPasswordRehashService::requestedCount)
+                    .register(registry);
+            FunctionCounter.builder("login.password.rehash.dropped", service,
+                    BatchingPasswordRehashService::droppedCount)
+                    .description("保留件数の上限超過により破棄した再ハッシュ依頼の件数")
+                    .register(registry);
+            FunctionCounter.builder("login.password.rehash.updated", service,
+                    BatchingPasswordRehashService::updatedCount)
+                    .register(registry);
+            Gauge.builder("login.password.legacy.users", legacyUsers, AtomicLong::get)
+                    .description("旧方式・旧コストのパスワードのまま残っているユーザ数")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * ハッシュ化済みの再ハッシュ依頼を定期的に書き戻す（UPDATE のみで、ハッシュ計算は行わない）。
+     * 失敗した依頼は破棄され、次回ログイン時に改めて依頼される。
+     */
+    @Scheduled(fixedDelayString = "${password.hash.rehash.flush-interval-millis:1000}")
+    public void flushRehash() {
+        try {
+            int updated = passwordRehashService().flush();
+            if (updated > 0) {
+                log.debug("パスワードを再ハッシュしました: 件数={}", updated);
+            }
+        } catch (DataAccessException e) {
+            log.warn("再ハッシュしたパスワードの書き戻しに失敗しました", e);
+        }
+    }
+
+    /**
+     * 旧パラメータのまま残っているユーザ数を定期的に集計する。
+     * 全件走査となるため、書き戻しよりも長い間隔で実行する。
+     */
+    @Scheduled(fixedDelayString = "${password.hash.rehash.legacy-count-interval-millis:600000}")
+    public void countLegacyUsers() {
+        try {
+            legacyUsers.set(userRepository.countPasswordsWithoutPrefix(
+                    PasswordVerifierConfig.currentHashPrefix(properties.getIterations())));
+        } catch (DataAccessException e) {
+            log.warn("旧パラメータのユーザ数の集計に失敗しました", e);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package com.example.loginapp.rest.config;
+
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.example.loginapp.domain.service.PasswordVerifier;
+import com.example.loginapp.domain.service.impl.BoundedPasswordVerifier;
+import com.example.loginapp.domain.service.impl.DelegatingPasswordVerifier;
+import com.example.loginapp.domain.service.impl.Pbkdf2PasswordVerifier;
+import com.example.loginapp.domain.service.impl.PlaintextPasswordVerifier;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * パスワード照合方式と、照合を実行する専用スレッドプールを生成する設定クラス。
+ */
+@Configuration
+public class PasswordVerifierConfig {
+
+    /** PBKDF2-HMAC-SHA256 の識別子 */
+    public static final String PBKDF2_ID = "pbkdf2-sha256";
+
+    /** ハッシュ計算スレッドの名前の接頭辞 */
+    private static final String THREAD_NAME_PREFIX = "password-hash-";
+
+    /**
+     * 現在の設定で生成される保存値の接頭辞（{@code {pbkdf2-sha256}反復回数$}）を返す。
+     * この接頭辞を持たない保存値が、旧方式・旧コストのまま残っているユーザとなる。
+     *
+     * @param iterations 現在の反復回数
+     * @return 保存値の接頭辞
+     */
+    public static String currentHashPrefix(int iterations) {
+        return "{" + PBKDF2_ID + "}" + iterations + "$";
+    }
+
+    /**
+     * 保存値の識別子で照合方式を切り替える {@link PasswordVerifier} を生成する。
+     * 新規ハッシュは PBKDF2、識別子のない既存の平文データはレガシー方式で照合し、
+     * 照合自体は専用スレッドプール上で実行する（アプリケーション終了時に close() で停止）。
+     *
+     * @param properties    パスワードハッシュ設定
+     * @param meterRegistry メトリクス登録先
+     * @return パスワード照合方式
+     */
+    @Bean
+    public PasswordVerifier passwordVerifier(PasswordHashProperties properties, MeterRegistry meterRegistry) {
+        PasswordVerifier delegating = new DelegatingPasswordVerifier(
+                PBKDF2_ID,
+                Map.of(PBKDF2_ID, new Pbkdf2PasswordVerifier(properties.getIterations(), new SecureRandom())),
+                new PlaintextPasswordVerifier());
+        ThreadPoolExecutor executor = passwordHashExecutor(properties.getExecutor());
+        return new BoundedPasswordVerifier(delegating, executor, properties.getExecutor().getMaxWaitMillis(),
+                new MicrometerPasswordHashMetrics(executor, meterRegistry));
+    }
+
+    /**
+     * パスワード照合専用の有界スレッドプールを生成する。
+     * キューが満杯の場合は {@link ThreadPoolExecutor.AbortPolicy} により即座に拒否する。
+     * Spring Boot の既定 TaskExecutor を置き換えないよう、Bean としては公開しない。
+     */
+    private static ThreadPoolExecutor passwordHashExecutor(PasswordHashProperties.Executor settings) {
+        int poolSize = settings.getPoolSize() > 0
+                ? settings.getPoolSize()
+                : Runtime.getRuntime().availableProcessors();
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+
+        return new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(settings.getQueueCapacity()),
+                threadFactory,
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 商品キャッシュの設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "product.cache")
+@Data
+public class ProductCacheProperties {
+
+    /** キャッシュに保持する最大商品数（商品ID単位のエントリ） */
+    private long maximumSize = 10_000L;
+
+    /**
+     * キャッシュエントリの有効期間（ミリ秒）。
+     * 価格の更新による無効化はこのプロセス内のみのため、別ノードでの更新やアプリケーション外での変更は
+     * 最大でこの期間だけ古い価格が返る。複数ノード構成では許容できる古さに合わせて設定する
+     */
+    private long ttlMillis = 30_000L;
+}
@@ -0,0 +1,21 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 商品一覧のページングの設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "product.page")
+@Data
+public class ProductPageProperties {
+
+    /** 件数の指定がない場合の 1 ページの件数 */
+    private int defaultSize = 50;
+
+    /** 1 ページの件数の上限（これを超える指定は上限に切り詰める） */
+    private int maxSize = 500;
+}
@@ -0,0 +1,25 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * シリアライズ済みの商品レスポンスのキャッシュの設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "product.response-cache")
+@Data
+public class ProductResponseCacheProperties {
+
+    /** キャッシュに保持する最大レスポンス数（一覧のページ・商品ID指定の取得ごとに 1 件） */
+    private long maximumSize = 1_000L;
+
+    /**
+     * キャッシュエントリの有効期間（ミリ秒）。
+     * バージョン番号はこのプロセス内でのみ進むため、別ノードでの更新やアプリケーション外での変更は
+     * 最大でこの期間だけ古いレスポンスが返る
+     */
+    private long ttlMillis = 30_000L;
+}
@@ -0,0 +1,21 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 商品のスナップショット（{@code product.store=snapshot}）の設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "product.snapshot")
+@Data
+public class ProductSnapshotProperties {
+
+    /** 全商品を読み込み直す間隔（ミリ秒）。アプリケーション外での変更はこの間隔で反映される */
+    private long refreshIntervalMillis = 300_000L;
+
+    /** 全件の読み込み中に価格の更新が反映された場合に、読み込みをやり直す回数の上限 */
+    private int maxRefreshAttempts = 3;
+}
@@ -0,0 +1,16 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * {@code @Scheduled} による定期実行を有効にする設定クラス。
+ * <p>
+ * 定期実行のスレッド数は {@code spring.task.scheduling.pool.size} で設定する。
+ * 各ジョブは互いに待たされないよう、長時間の処理（ハッシュ計算など）を定期実行のスレッドで行わない。
+ * </p>
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,47 @@
+package com.example.loginapp.rest.config;
+
+import java.util.List;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.cors.CorsConfiguration;
+
+import com.example.loginapp.rest.filter.SessionCheckFilter;
+import com.example.loginapp.rest.service.SessionService;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * {@code HEAD /api/session-check} を処理する {@link SessionCheckFilter} を登録する設定クラス。
+ */
+@Configuration
+@RequiredArgsConstructor
+public class SessionCheckFilterConfig {
+
+    /** フィルタを適用する URL */
+    static final String SESSION_CHECK_PATH = "/api/session-check";
+
+    /** CORS設定用のプロパティ */
+    private final CorsProperties corsProperties;
+
+    /**
+     * セッション確認の URL にのみフィルタを登録する。
+     *
+     * @param sessionService セッション管理に関する処理を提供するサービス
+     * @return フィルタの登録情報
+     */
+    @Bean
+    public FilterRegistrationBean<SessionCheckFilter> sessionCheckFilter(SessionService sessionService) {
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(corsProperties.getAllowedOrigins() == null ? List.of()
+                : List.of(corsProperties.getAllowedOrigins()));
+        cors.setAllowedMethods(List.of(WebConfig.ALLOWED_METHODS));
+        cors.setAllowCredentials(true);
+
+        FilterRegistrationBean<SessionCheckFilter> registration = new FilterRegistrationBean<>(
+                new SessionCheckFilter(sessionService, cors));
+        registration.addUrlPatterns(SESSION_CHECK_PATH);
+        return registration;
+    }
+}
@@ -19,6 +19,55 @@ public class SessionProperties {
     /** セッション有効期限（ミリ秒） */
     private long timeoutMillis;
 
+    /**
+     * 有効期限の方式（true: 最終アクセス時刻から計測するスライディング方式 / false: ログイン時刻から計測）。
+     */
+    private boolean slidingExpiration;
+
+    /**
+     * スライディング方式で最終アクセス時刻を更新する間隔の最小値（ミリ秒）。
+     * 前回の更新からこの時間が経過するまではアクセスがあっても保存先に書き込まない。
+     * このため、実際の無操作タイムアウトは最短で {@code timeoutMillis - touchGranularityMillis} となる。
+     */
+    private long touchGranularityMillis = 10_000L;
+
+    /**
+     * ユーザあたりの同時ログインセッション数の上限（0 以下は無制限）。
+     * 上限を超えてログインした場合は、ログイン時刻の古いセッションから無効化する。
+     * {@code jdbc} では login_sessions のユーザ名で数えるため、全ノードの合計に適用する
+     * （無効化したセッションが別ノードのキャッシュに残る場合は {@code session.jdbc.cache-ttl-millis} の経過後に無効となる）。
+     * {@code http}・{@code off-heap} ではノードごとに数える。
+     * 署名付き Cookie（{@code token}）ではセッションを個別に無効化できないため適用しない。
+     */
+    private int maxSessionsPerUser;
+
+    /** ログイン情報の保存先（http: HttpSession、token: 署名付き Cookie、off-heap: ヒープ外のスロット、jdbc: DB） */
+    private String store = "http";
+
+    /** 署名付き Cookie の設定 */
+    private Token token = new Token();
+
+    /** セッション ID を受け渡す Cookie の設定（HttpSession を使用しない保存先で使用） */
+    private Cookie cookie = new Cookie();
+
+    /**
+     * 有効期限切れのログイン情報を全件走査で削除する間隔（ミリ秒、HttpSession を使用しない保存先で使用）。
+     * このノードで発行したセッションは {@link Reaper} が期限に削除するため、それ以外のセッション向けの補助となる。
+     */
+    private long sweepIntervalMillis = 60_000L;
+
+    /** 期限に達したセッションを削除するタイマーホイールの設定 */
+    private Reaper reaper = new Reaper();
+
+    /** ヒープ外の保存先の設定 */
+    private OffHeap offHeap = new OffHeap();
+
+    /** DB の保存先の設定 */
+    private Jdbc jdbc = new Jdbc();
+
+    /** セッションの有効期限の通知（Server-Sent Events）の設定 */
+    private Events events = new Events();
+
     /** メッセージソース */
     private MessageSource messageSource;
 
@@ -36,4 +85,105 @@ public class SessionProperties {
         }
         this.timeoutMillis = timeoutMillis;
     }
-}
\ No newline at end of file
+
+    /**
+     * 署名付き Cookie（{@code session.store=token}）の設定。
+     */
+    @Data
+    public static class Token {
+
+        /** Cookie 名 */
+        private String cookieName = "LOGIN_TOKEN";
+
+        /**
+         * 署名鍵（Base64、32 バイト以上）。全ノードで同じ値を設定する。
+         * 未設定の場合は起動ごとに生成するため、再起動・別ノードでは検証できない。
+         */
+        private String secret = "";
+
+        /** Cookie に Secure 属性を付与するか */
+        private boolean secure;
+
+        /** Cookie の SameSite 属性 */
+        private String sameSite = "Lax";
+    }
+
+    /**
+     * セッション ID を受け渡す Cookie の設定。
+     */
+    @Data
+    public static class Cookie {
+
+        /** Cookie 名 */
+        private String name = "LOGIN_SID";
+
+        /** Cookie に Secure 属性を付与するか */
+        private boolean secure;
+
+        /** Cookie の SameSite 属性 */
+        private String sameSite = "Lax";
+    }
+
+    /**
+     * 期限に達したセッションを削除するタイマーホイールの設定（HttpSession を使用しない保存先で使用）。
+     * 期限は {@code tickMillis} 単位に切り上げ、{@code tickMillis} ごとに期限に達したものを削除する。
+     */
+    @Data
+    public static class Reaper {
+
+        /**
+         * タイマーホイールを使用するか。使用する場合、セッション 1 件あたり 100 バイト程度のヒープを使用するため、
+         * {@code off-heap} でヒープ使用量を抑えたい場合は false とし、全件走査のみで削除する。
+         */
+        private boolean enabled = true;
+
+        /** 1 tick の長さ（ミリ秒） */
+        private long tickMillis = 1_000L;
+
+        /** バケット数（2 の累乗に切り上げる） */
+        private int wheelSize = 512;
+    }
+
+    /**
+     * ヒープ外の保存先（{@code session.store=off-heap}）の設定。
+     * 起動時に {@code maxSessions} ×（{@code maxUsernameBytes} + 26 バイト）程度の領域を確保する。
+     */
+    @Data
+    public static class OffHeap {
+
+        /** 保存できるセッション数の上限 */
+        private int maxSessions = 1_000_000;
+
+        /** スロットに格納するユーザ名の最大バイト数（UTF-8）。これを超えるユーザ名はヒープ上に保持する */
+        private int maxUsernameBytes = 64;
+    }
+
+    /**
+     * セッションの有効期限の通知（{@code GET /api/session-events}）の設定。
+     */
+    @Data
+    public static class Events {
+
+        /**
+         * 購読中の全接続に SSE のコメント行を送信する間隔（ミリ秒、0 以下は送信しない）。
+         * 切断済みの接続は送信の失敗で検出して破棄するため、この間隔が切断の検出までの最大時間となる。
+         */
+        private long heartbeatIntervalMillis = 30_000L;
+    }
+
+    /**
+     * DB の保存先（{@code session.store=jdbc}）の設定。
+     */
+    @Data
+    public static class Jdbc {
+
+        /** キャッシュに保持する最大セッション数 */
+        private long cacheMaximumSize = 100_000L;
+
+        /** キャッシュエントリの有効期間（ミリ秒）。別ノードでのログアウトの反映はこの時間だけ遅れる */
+        private long cacheTtlMillis = 5_000L;
+
+        /** スライディング方式で保留した最終アクセス時刻を DB に書き込む間隔（ミリ秒） */
+        private long touchFlushIntervalMillis = 1_000L;
+    }
+}
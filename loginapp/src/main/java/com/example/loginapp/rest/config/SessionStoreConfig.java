@@ -0,0 +1,84 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.rest.repository.JdbcLoginSessionRepository;
+import com.example.loginapp.rest.repository.LoginSessionMapper;
+import com.example.loginapp.rest.service.impl.LoginSessionRegistry;
+import com.example.loginapp.rest.service.impl.OffHeapLoginSessionRepository;
+import com.example.loginapp.rest.service.impl.RepositorySessionService;
+
+/**
+ * セッション ID をキーにログイン情報を保存する保存先（{@code session.store=off-heap, jdbc}）の設定クラス。
+ * <p>
+ * HttpSession（{@code http}）・署名付き Cookie（{@code token}）はそれぞれの実装クラスで直接登録する。
+ * </p>
+ */
+@Configuration
+public class SessionStoreConfig {
+
+    /**
+     * ヒープ外のスロットにログイン情報を保存するリポジトリを生成する（{@code session.store=off-heap}）。
+     *
+     * @param sessionProperties セッション設定
+     * @return リポジトリ
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "session", name = "store", havingValue = "off-heap")
+    public OffHeapLoginSessionRepository offHeapLoginSessionRepository(SessionProperties sessionProperties) {
+        SessionProperties.OffHeap offHeap = sessionProperties.getOffHeap();
+        return new OffHeapLoginSessionRepository(offHeap.getMaxSessions(), offHeap.getMaxUsernameBytes());
+    }
+
+    /**
+     * ヒープ外のリポジトリを使用するセッションサービスを生成する。
+     *
+     * @param repository        リポジトリ
+     * @param sessionProperties セッション設定
+     * @param latencyMetrics    ログイン処理の段階ごとの所要時間
+     * @param sessionRegistry   ユーザごとのセッションのレジストリ
+     * @return セッションサービス
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "session", name = "store", havingValue = "off-heap")
+    public RepositorySessionService offHeapSessionService(OffHeapLoginSessionRepository repository,
+            SessionProperties sessionProperties, LoginLatencyMetrics latencyMetrics,
+            LoginSessionRegistry sessionRegistry) {
+        return new RepositorySessionService(repository, sessionProperties, latencyMetrics, sessionRegistry);
+    }
+
+    /**
+     * DB にログイン情報を保存するリポジトリを生成する（{@code session.store=jdbc}）。
+     *
+     * @param mapper            login_sessions テーブルの Mapper
+     * @param sessionProperties セッション設定
+     * @return リポジトリ
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "session", name = "store", havingValue = "jdbc")
+    public JdbcLoginSessionRepository jdbcLoginSessionRepository(LoginSessionMapper mapper,
+            SessionProperties sessionProperties) {
+        SessionProperties.Jdbc jdbc = sessionProperties.getJdbc();
+        return new JdbcLoginSessionRepository(mapper, jdbc.getCacheMaximumSize(), jdbc.getCacheTtlMillis());
+    }
+
+    /**
+     * DB のリポジトリを使用するセッションサービスを生成する。
+     *
+     * @param repository        リポジトリ
+     * @param sessionProperties セッション設定
+     * @param latencyMetrics    ログイン処理の段階ごとの所要時間
+     * @param sessionRegistry   ユーザごとのセッションのレジストリ
+     * @return セッションサービス
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "session", name = "store", havingValue = "jdbc")
+    public RepositorySessionService jdbcSessionService(JdbcLoginSessionRepository repository,
+            SessionProperties sessionProperties, LoginLatencyMetrics latencyMetrics,
+            LoginSessionRegistry sessionRegistry) {
+        return new RepositorySessionService(repository, sessionProperties, latencyMetrics, sessionRegistry);
+    }
+}
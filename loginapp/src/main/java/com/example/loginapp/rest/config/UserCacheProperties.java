@@ -0,0 +1,21 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * ユーザ認証情報キャッシュの設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "user.cache")
+@Data
+public class UserCacheProperties {
+
+    /** キャッシュに保持する最大ユーザ数 */
+    private long maximumSize = 10_000L;
+
+    /** キャッシュエントリの有効期間（ミリ秒） */
+    private long ttlMillis = 300_000L;
+}
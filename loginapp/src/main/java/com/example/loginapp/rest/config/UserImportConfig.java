@@ -0,0 +1,67 @@
+package com.example.loginapp.rest.config;
+
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+
+import com.example.loginapp.domain.service.PasswordVerifier;
+import com.example.loginapp.domain.service.UserService;
+import com.example.loginapp.domain.usecase.user.ImportUsersInputBoundary;
+import com.example.loginapp.domain.usecase.user.ImportUsersInteractor;
+
+/**
+ * ユーザ一括登録の UseCase と、パスワードのハッシュ化専用スレッドプールを生成する設定クラス。
+ * <p>
+ * {@code user.import.enabled=true} の場合のみ有効とする（既定は無効で、一括登録 API も公開しない）。
+ * </p>
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "user.import", name = "enabled", havingValue = "true")
+public class UserImportConfig {
+
+    /** ハッシュ化スレッドの名前の接頭辞 */
+    private static final String THREAD_NAME_PREFIX = "user-import-hash-";
+
+    /** アイドル状態のスレッドを終了するまでの時間（秒） */
+    private static final long KEEP_ALIVE_SECONDS = 60L;
+
+    /**
+     * ユーザ一括登録の UseCase を生成する。
+     * ハッシュ化はログイン照合用とは別のスレッドプールで行い、一括登録中もログインの待ち行列を圧迫しない。
+     *
+     * @param userService      ユーザ情報を扱うドメインサービス
+     * @param passwordVerifier パスワードのハッシュ化方式
+     * @param properties       一括登録の設定
+     * @return ユーザ一括登録の UseCase
+     */
+    @Bean
+    public ImportUsersInputBoundary importUsersInteractor(UserService userService,
+            PasswordVerifier passwordVerifier, UserImportProperties properties) {
+        return new ImportUsersInteractor(userService, passwordVerifier,
+                hashExecutor(properties.getHashThreads()), properties.getChunkSize());
+    }
+
+    /**
+     * ハッシュ化専用のスレッドプールを生成する。
+     * 一括登録は頻繁に実行されないため、アイドル状態のスレッドは終了させる。
+     * Spring Boot の既定 TaskExecutor を置き換えないよう、Bean としては公開しない。
+     */
+    private static ThreadPoolExecutor hashExecutor(int hashThreads) {
+        int threads = hashThreads > 0
+                ? hashThreads
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                KEEP_ALIVE_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), threadFactory);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * ユーザ一括登録の設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "user.import")
+@Data
+public class UserImportProperties {
+
+    /**
+     * 一括登録 API（{@code POST /api/users/import}）を公開する場合 true。
+     * ログイン済みであれば誰でも任意のユーザを作成できるため、既定では無効とし、管理用の環境でのみ有効にする
+     */
+    private boolean enabled = false;
+
+    /** 1 トランザクションで登録する件数 */
+    private int chunkSize = 1_000;
+
+    /** パスワードのハッシュ化に使うスレッド数（0 以下の場合は CPU コア数の半分、最低 1） */
+    private int hashThreads = 0;
+}
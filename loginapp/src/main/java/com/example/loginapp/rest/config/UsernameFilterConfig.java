@@ -0,0 +1,148 @@
+package com.example.loginapp.rest.config;
+
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.domain.service.UsernameFilter;
+import com.example.loginapp.domain.service.impl.BloomUsernameFilter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 既知ユーザ名フィルタの生成と、users テーブルからの読み込みを行う設定クラス。
+ * <p>
+ * フィルタは {@code user.username-filter.enabled=true} の場合のみ使用する（既定は無効で、すべてのユーザ名を DB で検索する）。
+ * </p>
+ */
+@Configuration
+public class UsernameFilterConfig {
+
+    /**
+     * フィルタを使用しない場合の、何も拒否しないフィルタを生成する。
+     *
+     * @return 既知ユーザ名フィルタ
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "user.username-filter", name = "enabled", havingValue = "false",
+            matchIfMissing = true)
+    public UsernameFilter allowAllUsernameFilter() {
+        return UsernameFilter.allowAll();
+    }
+
+    /**
+     * ブルームフィルタを使用する場合の設定（{@code user.username-filter.enabled=true}）。
+     * <p>
+     * 起動完了後と {@code user.username-filter.rebuild-interval-millis} ごとに、users テーブルの全ユーザ名を
+     * キーセットページングで読み込んでビット列を作り直し、置き換える。
+     * このプロセスを経由せずに追加されたユーザ（別ノードでの登録・一括登録、SQL による直接の追加）は、
+     * 次の作り直しまで存在しないと判定されログインできない。
+     * 複数ノード構成・DB を直接更新する運用では、作り直しの間隔をその許容時間に合わせて設定する。
+     * </p>
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "user.username-filter", name = "enabled", havingValue = "true")
+    @RequiredArgsConstructor
+    static class BloomUsernameFilterConfig {
+
+        /** 読み込み元リポジトリ */
+        private final UserRepository userRepository;
+
+        /** フィルタ設定 */
+        private final UsernameFilterProperties properties;
+
+        /** ログ出力用のLogger */
+        private static final Logger log = LoggerFactory.getLogger(UsernameFilterConfig.class);
+
+        /**
+         * ブルームフィルタを生成する。
+         *
+         * @return 既知ユーザ名フィルタ
+         */
+        @Bean
+        public BloomUsernameFilter usernameFilter() {
+            return new BloomUsernameFilter(properties.getExpectedInsertions(),
+                    properties.getFalsePositiveProbability());
+        }
+
+        /**
+         * 推定偽陽性率・メモリ使用量・拒否件数をメトリクスとして公開する。
+         *
+         * @param filter 既知ユーザ名フィルタ
+         * @return メータバインダ
+         */
+        @Bean
+        public MeterBinder usernameFilterMetrics(BloomUsernameFilter filter) {
+            return registry -> {
+                Gauge.builder("username.filter.false.positive.rate", filter,
+                        BloomUsernameFilter::estimatedFalsePositiveRate)
+                        .description("ビット充填率から推定した偽陽性率")
+                        .register(registry);
+                Gauge.builder("username.filter.memory", filter, BloomUsernameFilter::memoryFootprintBytes)
+                        .baseUnit("bytes")
+                        .register(registry);
+                Gauge.builder("username.filter.insertions", filter, BloomUsernameFilter::insertionCount)
+                        .register(registry);
+                FunctionCounter.builder("username.filter.rejections", filter, BloomUsernameFilter::rejectionCount)
+                        .description("DB を検索せずに拒否したログイン試行数")
+                        .register(registry);
+            };
+        }
+
+        /**
+         * 起動完了後にフィルタを読み込み、有効化する。
+         * 読み込みに失敗した場合はフィルタを無効（すべて通過）のままにし、次回の作り直しで再度読み込む。
+         *
+         * @param event 起動完了イベント
+         */
+        @EventListener
+        public void warmUp(ApplicationReadyEvent event) {
+            rebuild();
+        }
+
+        /**
+         * users テーブルの全ユーザ名を読み込んでビット列を作り直し、置き換える。
+         * 読み込みに失敗した場合は置き換えず、現在のビット列を使い続ける。
+         */
+        @Scheduled(initialDelayString = "${user.username-filter.rebuild-interval-millis:300000}",
+                fixedDelayString = "${user.username-filter.rebuild-interval-millis:300000}")
+        public synchronized void rebuild() {
+            BloomUsernameFilter filter = usernameFilter();
+            int pageSize = properties.getWarmupPageSize();
+
+            filter.startRebuild();
+            try {
+                int afterId = 0;
+                List<User> page;
+                do {
+                    page = userRepository.findUsersAfterId(afterId, pageSize);
+                    for (User user : page) {
+                        filter.addRebuilt(user.getUsername());
+                        afterId = user.getId();
+                    }
+                } while (page.size() == pageSize);
+            } catch (DataAccessException e) {
+                filter.abortRebuild();
+                log.warn("ユーザ名フィルタの読み込みに失敗しました。現在のフィルタを使い続けます", e);
+                return;
+            }
+
+            filter.finishRebuild();
+            log.info("ユーザ名フィルタの読み込み完了: 件数={}, メモリ={}バイト, 推定偽陽性率={}",
+                    filter.insertionCount(), filter.memoryFootprintBytes(), filter.estimatedFalsePositiveRate());
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.loginapp.rest.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import lombok.Data;
+
+/**
+ * 既知ユーザ名フィルタ（ブルームフィルタ）の設定を保持するクラス。
+ */
+@Component
+@ConfigurationProperties(prefix = "user.username-filter")
+@Data
+public class UsernameFilterProperties {
+
+    /**
+     * フィルタを使用するか。このプロセスを経由せずに追加されたユーザは次の作り直しまでログインできないため、
+     * 複数ノード構成・DB を直接更新する運用では作り直しの間隔と合わせて検討する
+     */
+    private boolean enabled = false;
+
+    /** users テーブルから読み込み直してビット列を作り直す間隔（ミリ秒）。作り直しの間はビット列を 2 つ保持する */
+    private long rebuildIntervalMillis = 300_000L;
+
+    /** 想定ユーザ数（ビット列サイズの算出に使用） */
+    private long expectedInsertions = 1_000_000L;
+
+    /** 目標偽陽性率 */
+    private double falsePositiveProbability = 0.01;
+
+    /** 読み込み（起動時のウォームアップ・作り直し）で 1 回に読み込む件数 */
+    private int warmupPageSize = 10_000;
+}
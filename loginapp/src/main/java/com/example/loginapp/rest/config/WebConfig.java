@@ -1,12 +1,15 @@
 package com.example.loginapp.rest.config;
 
+import com.example.loginapp.rest.interceptor.SessionCheckInterceptor;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 /**
- * Webアプリケーション全体のCORS設定を行うクラス。
+ * Webアプリケーション全体のCORS設定およびインターセプタの登録を行うクラス。
  */
 @Configuration
 @RequiredArgsConstructor
@@ -15,8 +18,11 @@ public class WebConfig implements WebMvcConfigurer {
     /** CORS設定用のプロパティ。 */
     private final CorsProperties corsProperties;
 
-    /** 許可するHTTPメソッド */
-    private static final String[] ALLOWED_METHODS = { "GET", "POST", "PUT", "DELETE" };
+    /** {@code @SessionRequired} のセッション検証を行うインターセプタ */
+    private final SessionCheckInterceptor sessionCheckInterceptor;
+
+    /** 許可するHTTPメソッド（HEAD は {@code HEAD /api/session-check} で使用） */
+    static final String[] ALLOWED_METHODS = { "GET", "HEAD", "POST", "PUT", "DELETE" };
 
     /**
      * CORS設定を追加する。
@@ -30,4 +36,15 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedMethods(ALLOWED_METHODS)
                 .allowCredentials(true);
     }
+
+    /**
+     * セッション検証のインターセプタを登録する。
+     * 検証の要否はハンドラメソッドの {@code @SessionRequired} で判定するため、全パスに適用する。
+     *
+     * @param registry {@link InterceptorRegistry} インターセプタ登録用のレジストリ
+     */
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(sessionCheckInterceptor);
+    }
 }
@@ -7,8 +7,6 @@ public final class SessionKeys {
     private SessionKeys() {
     }
 
-    /** セッションキー */
-    public static final String IS_LOGGED_IN = "isLoggedIn";
-    public static final String LOGIN_TIME = "loginTime";
-    public static final String USERNAME = "username";
-}
\ No newline at end of file
+    /** ログイン情報（{@link com.example.loginapp.rest.model.LoginSession}）のセッションキー */
+    public static final String LOGIN_SESSION = "loginSession";
+}
@@ -0,0 +1,225 @@
+package com.example.loginapp.rest.controller;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.example.loginapp.domain.usecase.user.ImportUserRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * ユーザ一括登録の入力本文を 1 行ずつ読み込み {@link ImportUserRow} に変換する Iterator。
+ * <p>
+ * 本文全体をメモリに読み込まず、{@link #next()} が呼ばれるたびに 1 行を読み込む。
+ * 空行は読み飛ばし、形式が不正な行はユーザ名・パスワードを null とした行として返す。
+ * </p>
+ */
+abstract class ImportRowIterator implements Iterator<ImportUserRow> {
+
+    /** UTF-8 の BOM */
+    private static final char BOM = '\uFEFF';
+
+    /** 入力本文 */
+    private final BufferedReader reader;
+
+    /** 現在の行番号 */
+    private long lineNumber;
+
+    /** 先読みした行（未読の場合 null） */
+    private ImportUserRow nextRow;
+
+    /** 入力の終端に達したか */
+    private boolean finished;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param reader 入力本文
+     */
+    ImportRowIterator(BufferedReader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * CSV（{@code username,password}）形式の Iterator を生成する。
+     * 1 行目が {@code username,password} の場合はヘッダとして読み飛ばす。
+     *
+     * @param reader 入力本文
+     * @return Iterator
+     */
+    static ImportRowIterator csv(BufferedReader reader) {
+        return new CsvRowIterator(reader);
+    }
+
+    /**
+     * NDJSON（1 行 1 オブジェクトの {@code {"username":..,"password":..}}）形式の Iterator を生成する。
+     *
+     * @param reader       入力本文
+     * @param objectMapper JSON の解析に使用する ObjectMapper
+     * @return Iterator
+     */
+    static ImportRowIterator ndjson(BufferedReader reader, ObjectMapper objectMapper) {
+        return new NdjsonRowIterator(reader, objectMapper);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (nextRow == null && !finished) {
+            nextRow = readRow();
+            finished = nextRow == null;
+        }
+        return nextRow != null;
+    }
+
+    @Override
+    public ImportUserRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportUserRow row = nextRow;
+        nextRow = null;
+        return row;
+    }
+
+    /**
+     * 1 行の内容を変換する。
+     *
+     * @param lineNumber 行番号
+     * @param line       行の内容
+     * @return 変換結果。読み飛ばす場合は null
+     */
+    protected abstract ImportUserRow parse(long lineNumber, String line);
+
+    /**
+     * 形式が不正な行を表す {@link ImportUserRow} を返す。
+     */
+    protected static ImportUserRow malformed(long lineNumber) {
+        return new ImportUserRow(lineNumber, null, null);
+    }
+
+    /**
+     * 空行と読み飛ばす行を除き、次の 1 行を読み込んで変換する。
+     *
+     * @return 変換結果。入力の終端に達した場合は null
+     */
+    private ImportUserRow readRow() {
+        try {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BOM) {
+                    line = line.substring(1);
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                ImportUserRow row = parse(lineNumber, line);
+                if (row != null) {
+                    return row;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * CSV 形式の Iterator。ダブルクォートで囲んだフィールド（{@code ""} によるエスケープ）に対応する。
+     */
+    private static final class CsvRowIterator extends ImportRowIterator {
+
+        /** ヘッダ行 */
+        private static final String HEADER = "username,password";
+
+        /** 1 行あたりのフィールド数 */
+        private static final int FIELD_COUNT = 2;
+
+        private CsvRowIterator(BufferedReader reader) {
+            super(reader);
+        }
+
+        @Override
+        protected ImportUserRow parse(long lineNumber, String line) {
+            if (lineNumber == 1 && HEADER.equalsIgnoreCase(line.strip())) {
+                return null;
+            }
+            List<String> fields = split(line);
+            if (fields == null || fields.size() != FIELD_COUNT) {
+                return malformed(lineNumber);
+            }
+            return new ImportUserRow(lineNumber, fields.get(0), fields.get(1));
+        }
+
+        /**
+         * 1 行をフィールドに分割する。
+         *
+         * @return フィールド一覧。クォートが閉じていない場合は null
+         */
+        private static List<String> split(String line) {
+            List<String> fields = new ArrayList<>(FIELD_COUNT);
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                        field.append('"');
+                        i++;
+                    } else if (c == '"') {
+                        quoted = false;
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"' && field.isEmpty()) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else {
+                    field.append(c);
+                }
+            }
+            if (quoted) {
+                return null;
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+
+    /**
+     * NDJSON 形式の Iterator。
+     */
+    private static final class NdjsonRowIterator extends ImportRowIterator {
+
+        /** JSON の解析に使用する ObjectMapper */
+        private final ObjectMapper objectMapper;
+
+        private NdjsonRowIterator(BufferedReader reader, ObjectMapper objectMapper) {
+            super(reader);
+            this.objectMapper = objectMapper;
+        }
+
+        @Override
+        protected ImportUserRow parse(long lineNumber, String line) {
+            try {
+                JsonNode node = objectMapper.readTree(line);
+                JsonNode username = node.get("username");
+                JsonNode password = node.get("password");
+                if (username == null || !username.isTextual() || password == null || !password.isTextual()) {
+                    return malformed(lineNumber);
+                }
+                return new ImportUserRow(lineNumber, username.asText(), password.asText());
+            } catch (JsonProcessingException e) {
+                return malformed(lineNumber);
+            }
+        }
+    }
+}
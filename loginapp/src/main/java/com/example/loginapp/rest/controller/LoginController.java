@@ -1,26 +1,36 @@
 package com.example.loginapp.rest.controller;
 
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
 import com.example.loginapp.domain.usecase.login.LoginInputBoundary;
 import com.example.loginapp.domain.usecase.login.LoginInputData;
 import com.example.loginapp.domain.usecase.login.LoginOutputData;
 import com.example.loginapp.rest.annotation.SessionRequired;
 import com.example.loginapp.rest.model.ErrorResponse;
 import com.example.loginapp.rest.model.LoginRequest;
+import com.example.loginapp.rest.model.LoginSession;
 import com.example.loginapp.rest.model.SessionCheckResponse;
 import com.example.loginapp.rest.model.SuccessResponse;
+import com.example.loginapp.rest.service.LoginRateLimiter;
 import com.example.loginapp.rest.service.SessionService;
+import com.example.loginapp.rest.service.impl.SessionExpiryNotifier;
 
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.context.MessageSource;
 
 import static com.example.loginapp.domain.constants.MessageKeys.*;
 import static com.example.loginapp.domain.usecase.constants.UseCaseErrorCodes.*;
 
 import java.util.Locale;
+import java.util.concurrent.TimeUnit;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -41,69 +51,153 @@ public class LoginController {
     /** セッションサービス */
     private final SessionService sessionService;
 
+    /** ログイン試行回数の制限 */
+    private final LoginRateLimiter loginRateLimiter;
+
+    /** ログイン処理の段階ごとの所要時間 */
+    private final LoginLatencyMetrics latencyMetrics;
+
+    /** セッションの有効期限の通知 */
+    private final SessionExpiryNotifier sessionExpiryNotifier;
+
     /** ログ出力用のLogger */
     private static final Logger log = LoggerFactory.getLogger(LoginController.class);
 
+    /** 混雑時に再試行を促すまでの秒数 */
+    private static final String RETRY_AFTER_SECONDS = "1";
+
     /**
      * ログイン処理を行う。
+     * 試行回数の上限を超えた場合は、メッセージ解決や DB 検索を行わずに 429 を返す。
+     * 処理全体とメッセージ解決の所要時間を {@link LoginLatencyMetrics} に記録する。
      *
-     * @param request ログイン情報
-     * @param session HttpSession
-     * @param locale  ロケール情報
+     * @param request     ログイン情報
+     * @param httpRequest  HTTP リクエスト（クライアント IP の取得、セッションの作成に使用）
+     * @param httpResponse HTTP レスポンス（セッション Cookie の発行に使用）
+     * @param locale       ロケール情報
      */
     @PostMapping("/login")
-    public ResponseEntity<SessionCheckResponse> login(@RequestBody LoginRequest request, HttpSession session,
-            Locale locale) {
+    public ResponseEntity<SessionCheckResponse> login(@RequestBody LoginRequest request,
+            HttpServletRequest httpRequest, HttpServletResponse httpResponse, Locale locale) {
+        long start = LoginLatencyMetrics.start();
+        try {
+            return doLogin(request, httpRequest, httpResponse, locale);
+        } finally {
+            latencyMetrics.record(Stage.CONTROLLER, start);
+        }
+    }
+
+    /**
+     * ログイン処理の本体。
+     */
+    private ResponseEntity<SessionCheckResponse> doLogin(LoginRequest request, HttpServletRequest httpRequest,
+            HttpServletResponse httpResponse, Locale locale) {
+        long waitNanos = loginRateLimiter.tryAcquire(httpRequest.getRemoteAddr(), request.getUsername());
+        if (waitNanos > 0) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                    .header(HttpHeaders.RETRY_AFTER, Long.toString(toRetryAfterSeconds(waitNanos)))
+                    .build();
+        }
+
         log.info("API開始: /login");
 
         LoginInputData inputData = new LoginInputData(request.getUsername(), request.getPassword());
         LoginOutputData outputData = loginUseCase.login(inputData);
 
         if (outputData.isSuccess()) {
-            sessionService.createLoginSession(session, outputData.getUsername());
-            String msg = messageSource.getMessage(SUCCESS_LOGIN, null, locale);
+            sessionService.createLoginSession(httpRequest, httpResponse, outputData.getUsername());
+            String msg = loginMessage(SUCCESS_LOGIN, locale);
             log.info("API終了: /login");
             return ResponseEntity.ok(new SuccessResponse(msg));
         }
 
         if (INVALID_CREDENTIALS.equals(outputData.getErrorCode())) {
-            String errorMsg = messageSource.getMessage(ERROR_INVALID_CREDENTIALS, null, locale);
+            String errorMsg = loginMessage(ERROR_INVALID_CREDENTIALS, locale);
             log.info("API終了: /login");
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse(errorMsg));
         }
 
-        String errorMsg = messageSource.getMessage(ERROR_INTERNAL_SERVER, null, locale);
+        if (SERVER_BUSY.equals(outputData.getErrorCode())) {
+            String errorMsg = loginMessage(ERROR_SERVER_BUSY, locale);
+            log.warn("ログイン処理が混雑しているため拒否: /login");
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS)
+                    .body(new ErrorResponse(errorMsg));
+        }
+
+        String errorMsg = loginMessage(ERROR_INTERNAL_SERVER, locale);
         log.info("API終了: /login");
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new ErrorResponse(errorMsg));
 
     }
 
+    /**
+     * ログイン応答のメッセージを解決し、所要時間を記録する。
+     */
+    private String loginMessage(String key, Locale locale) {
+        long start = LoginLatencyMetrics.start();
+        try {
+            return messageSource.getMessage(key, null, locale);
+        } finally {
+            latencyMetrics.record(Stage.MESSAGE, start);
+        }
+    }
+
+    /**
+     * 待ち時間を Retry-After ヘッダの秒数（切り上げ）に変換する。
+     */
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1L, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
     /**
      * ログアウト処理を行う。
      *
-     * @param session HttpSession
-     * @param locale  ロケール情報
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス（セッション Cookie の削除に使用）
+     * @param locale   ロケール情報
      */
     @PostMapping("/logout")
-    public ResponseEntity<SessionCheckResponse> logout(HttpSession session, Locale locale) {
+    public ResponseEntity<SessionCheckResponse> logout(HttpServletRequest request, HttpServletResponse response,
+            Locale locale) {
         log.info("API開始: /logout");
 
-        sessionService.invalidateSession(session);
+        sessionService.invalidateSession(request, response);
 
         String msg = messageSource.getMessage(SUCCESS_LOGOUT, null, locale);
         log.info("API終了: /logout");
         return ResponseEntity.ok(new SuccessResponse(msg));
     }
 
+    /**
+     * ログイン中のユーザの全セッションからログアウトする（他の端末のセッションも無効化する）。
+     *
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス（セッション Cookie の削除に使用）
+     * @param locale   ロケール情報
+     */
+    @PostMapping("/logout-all")
+    @SessionRequired(touch = false)
+    public ResponseEntity<SessionCheckResponse> logoutAll(HttpServletRequest request, HttpServletResponse response,
+            Locale locale) {
+        log.info("API開始: /logout-all");
+
+        int invalidated = sessionService.invalidateAllSessions(request, response);
+
+        String msg = messageSource.getMessage(SUCCESS_LOGOUT_ALL, new Object[] { invalidated }, locale);
+        log.info("API終了: /logout-all");
+        return ResponseEntity.ok(new SuccessResponse(msg));
+    }
+
     /**
      * セッション状態を確認する。
      *
-     * @param session HttpSession
+     * @param request HTTP リクエスト
      * @param locale  ロケール情報
      */
     @GetMapping("/session-check")
-    @SessionRequired
-    public ResponseEntity<SuccessResponse> sessionCheck(HttpSession session, Locale locale) {
+    @SessionRequired(touch = false)
+    public ResponseEntity<SuccessResponse> sessionCheck(HttpServletRequest request, Locale locale) {
         log.info("API開始: /session-check");
 
         String msg = messageSource.getMessage(SUCCESS_SESSION_CHECK, null, locale);
@@ -111,4 +205,23 @@ public class LoginController {
         log.info("API終了: /session-check");
         return ResponseEntity.ok(new SuccessResponse(msg));
     }
-}
\ No newline at end of file
+
+    /**
+     * セッションの有効期限を Server-Sent Events で通知する。
+     * 期限に達した時点で {@value SessionExpiryNotifier#EXPIRED_EVENT} イベントを 1 回送信して接続を閉じる。
+     * 定期的な状態確認（{@code /session-check}）の代わりに使用し、接続中はサーバ側の処理を行わない。
+     * 購読自体はセッションの有効期限を延長しない。
+     *
+     * @param request HTTP リクエスト
+     * @return イベントストリーム。未ログイン・期限切れの場合は 401
+     */
+    @GetMapping(path = "/session-events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> sessionEvents(HttpServletRequest request) {
+        LoginSession loginSession = sessionService.getLoginSession(request);
+        if (loginSession == null || !sessionService.isSessionValid(loginSession)) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return ResponseEntity.ok(sessionExpiryNotifier.subscribe(loginSession,
+                sessionService.loginSessionLookup(request)));
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.loginapp.rest.controller;
 
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.domain.usecase.product.ExportProductsInputBoundary;
+import com.example.loginapp.domain.usecase.product.ExportProductsInputData;
+import com.example.loginapp.domain.usecase.product.ExportProductsOutputData;
 import com.example.loginapp.domain.usecase.product.GetAllProductsInputBoundary;
 import com.example.loginapp.domain.usecase.product.GetAllProductsInputData;
 import com.example.loginapp.domain.usecase.product.GetAllProductsOutputData;
@@ -10,23 +14,34 @@ import com.example.loginapp.domain.usecase.product.UpdateTwoProductsInputBoundar
 import com.example.loginapp.domain.usecase.product.UpdateTwoProductsInputData;
 import com.example.loginapp.domain.usecase.product.UpdateTwoProductsOutputData;
 import com.example.loginapp.rest.annotation.SessionRequired;
+import com.example.loginapp.rest.config.ProductPageProperties;
 import com.example.loginapp.rest.model.ErrorResponse;
 import com.example.loginapp.rest.model.ProductResponse;
 import com.example.loginapp.rest.model.SessionCheckResponse;
 import com.example.loginapp.rest.model.SuccessResponse;
+import com.example.loginapp.rest.service.impl.ProductResponseCache;
+import com.example.loginapp.rest.service.impl.ProductResponseCache.SerializedResponse;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
 
-import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.context.MessageSource;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import static com.example.loginapp.domain.constants.MessageKeys.*;
 import static com.example.loginapp.rest.constants.UpdateConstants.*;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 import java.util.Locale;
 import org.slf4j.Logger;
@@ -40,9 +55,15 @@ import org.slf4j.LoggerFactory;
 @RequiredArgsConstructor
 public class ProductController {
 
+    /** 商品リストの JSON のフィールド名（{@link ProductResponse#getProducts()} と同じ） */
+    private static final String PRODUCTS_FIELD = "products";
+
     /** 全商品取得用 UseCase */
     private final GetAllProductsInputBoundary getAllProductsUseCase;
 
+    /** 全商品出力用 UseCase */
+    private final ExportProductsInputBoundary exportProductsUseCase;
+
     /** ID指定商品取得用 UseCase */
     private final GetProductByIdInputBoundary getProductByIdUseCase;
 
@@ -52,56 +73,108 @@ public class ProductController {
     /** メッセージリソース */
     private final MessageSource messageSource;
 
+    /** 商品一覧のページング設定 */
+    private final ProductPageProperties pageProperties;
+
+    /** 商品の JSON 出力に使用する ObjectMapper */
+    private final ObjectMapper objectMapper;
+
+    /** シリアライズ済みの商品レスポンスのキャッシュ */
+    private final ProductResponseCache responseCache;
+
     /**
      * ログ出力用のLogger
      */
     private static final Logger log = LoggerFactory.getLogger(ProductController.class);
 
     /**
-     * 商品一覧を取得する。
+     * 商品一覧を商品IDの昇順に 1 ページ分取得する。
+     * 続きのページは、レスポンスの nextAfterId を afterId に指定して取得する。
+     * <p>
+     * 商品に変更がない間は、シリアライズ済みの JSON（{@link ProductResponseCache}）をそのまま返す。
+     * If-None-Match が ETag と一致する場合は本文なしの 304 を返す。
+     * </p>
      *
-     * @param session HttpSession
+     * @param afterId 前のページの最後の商品ID（省略時は先頭ページ）
+     * @param limit   1 ページの件数（省略時は既定値、上限を超える指定は上限に切り詰める）
+     * @param request HTTP リクエスト
      * @param locale  ロケール情報
-     * @return ログインしていれば商品一覧、未ログインならエラー
+     * @return ログインしていれば商品一覧（JSON）、未ログインならエラー
      */
-    @GetMapping
+    @GetMapping(produces = MediaType.APPLICATION_JSON_VALUE)
     @SessionRequired
-    public ResponseEntity<SessionCheckResponse> getProducts(HttpSession session, Locale locale) {
+    public ResponseEntity<byte[]> getProducts(@RequestParam(defaultValue = "0") int afterId,
+            @RequestParam(required = false) Integer limit, HttpServletRequest request, Locale locale) {
         log.info("API開始: /products");
 
-        GetAllProductsOutputData outputData = getAllProductsUseCase.handle(new GetAllProductsInputData());
-
-        ProductResponse response = new ProductResponse(outputData.getProducts());
+        GetAllProductsInputData input = new GetAllProductsInputData(Math.max(afterId, 0), pageSize(limit));
+        SerializedResponse response = responseCache.get("page:" + input.getAfterId() + ":" + input.getLimit(),
+                () -> {
+                    GetAllProductsOutputData outputData = getAllProductsUseCase.handle(input);
+                    return new ProductResponse(outputData.getProducts(), outputData.getNextAfterId());
+                });
 
         log.info("API終了: /products");
-        return ResponseEntity.ok(response);
+        return serialized(response);
+    }
+
+    /**
+     * 全商品を商品IDの昇順に、商品一覧と同じ形式（{@code {"products": [...]}}）の JSON で出力する（カタログ同期用）。
+     * DB から 1 件読み出すごとにレスポンスへ書き込み、全件をメモリに保持しない。
+     * 書き込んだ量がバッファを超えた時点で送信を始めるため、最初のバイトは最後の行を読み出す前に送られる。
+     *
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス（本文を直接書き込む）
+     * @throws IOException レスポンスの書き込みに失敗した場合
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_JSON_VALUE)
+    @SessionRequired
+    public void exportProducts(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        log.info("API開始: /products/export");
+
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // 失敗時に書きかけの内容を送らないよう、正常終了した場合のみ close する（未送信なら例外ハンドラが 500 を返す）
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        generator.writeStartObject();
+        generator.writeArrayFieldStart(PRODUCTS_FIELD);
+
+        ExportProductsOutputData outputData = exportProductsUseCase
+                .handle(new ExportProductsInputData(product -> write(generator, product)));
+
+        generator.writeEndArray();
+        generator.writeEndObject();
+        generator.close();
+
+        log.info("API終了: /products/export ({}件)", outputData.getExportedCount());
     }
 
     /**
      * 商品ID指定で商品情報を取得する。
+     * 商品一覧と同様に、シリアライズ済みの JSON を返し、ETag が一致する場合は 304 を返す。
      *
      * @param id      商品ID
-     * @param session HttpSession
+     * @param request HTTP リクエスト
      * @param locale  ロケール情報
-     * @return 商品情報またはエラーメッセージ
+     * @return 商品情報（JSON）またはエラーメッセージ
      */
-    @GetMapping("/{id}")
+    @GetMapping(value = "/{id}", produces = MediaType.APPLICATION_JSON_VALUE)
     @SessionRequired
-    public ResponseEntity<SessionCheckResponse> getProductById(@PathVariable int id, HttpSession session,
-            Locale locale) {
+    public ResponseEntity<?> getProductById(@PathVariable int id, HttpServletRequest request, Locale locale) {
         log.info("API開始: /products/{}", id);
 
-        GetProductByIdOutputData outputData = getProductByIdUseCase.handle(new GetProductByIdInputData(id));
+        SerializedResponse response = responseCache.get("id:" + id, () -> {
+            GetProductByIdOutputData outputData = getProductByIdUseCase.handle(new GetProductByIdInputData(id));
+            return outputData.getProduct() == null ? null : new ProductResponse(List.of(outputData.getProduct()));
+        });
 
-        if (outputData.getProduct() == null) {
+        if (response == null) {
             String msg = messageSource.getMessage(ERROR_PRODUCT_NOT_FOUND, null, locale);
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(msg));
         }
 
-        ProductResponse response = new ProductResponse(List.of(outputData.getProduct()));
-
         log.info("API終了: /products/{}", id);
-        return ResponseEntity.ok(response);
+        return serialized(response);
     }
 
     /**
@@ -109,7 +182,7 @@ public class ProductController {
      */
     @PostMapping("/update-test")
     @SessionRequired
-    public ResponseEntity<SessionCheckResponse> updateTest(HttpSession session, Locale locale) {
+    public ResponseEntity<SessionCheckResponse> updateTest(HttpServletRequest request, Locale locale) {
         log.info("API開始: /products/update-test");
 
         UpdateTwoProductsInputData input = new UpdateTwoProductsInputData(
@@ -131,4 +204,46 @@ public class ProductController {
         log.info("API終了: /products/update-test");
         return ResponseEntity.ok(new SuccessResponse(successMsg));
     }
-}
\ No newline at end of file
+
+    /**
+     * シリアライズ済みのレスポンスを、変換せずにそのまま本文として返す。
+     * ETag を付けるため、If-None-Match が一致する GET は本文なしの 304 となる。
+     * ブラウザには保存した内容を使う前に毎回 ETag で確認させ、共有キャッシュには保存させない。
+     *
+     * @param response シリアライズ済みのレスポンス
+     * @return レスポンス
+     */
+    private static ResponseEntity<byte[]> serialized(SerializedResponse response) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(response.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(response.body());
+    }
+
+    /**
+     * 商品を 1 件書き込む。
+     *
+     * @param generator JSON の書き込み先
+     * @param product   商品
+     */
+    private static void write(JsonGenerator generator, Product product) {
+        try {
+            generator.writeObject(product);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * 指定された件数を 1 以上・上限以下に収める。省略時は既定値とする。
+     *
+     * @param limit 指定された件数（null 可）
+     * @return 1 ページの件数
+     */
+    private int pageSize(Integer limit) {
+        int maxSize = Math.max(pageProperties.getMaxSize(), 1);
+        int size = limit != null ? limit : pageProperties.getDefaultSize();
+        return Math.min(Math.max(size, 1), maxSize);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.loginapp.rest.controller;
+
+import com.example.loginapp.domain.usecase.user.ImportUsersInputBoundary;
+import com.example.loginapp.domain.usecase.user.ImportUsersInputData;
+import com.example.loginapp.domain.usecase.user.ImportUsersOutputData;
+import com.example.loginapp.rest.annotation.SessionRequired;
+import com.example.loginapp.rest.model.SessionCheckResponse;
+import com.example.loginapp.rest.model.UserImportResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * ユーザを管理するコントローラークラス。
+ * <p>
+ * ログイン済みの任意のユーザがユーザを作成できるため、{@code user.import.enabled=true} の場合のみ公開する
+ * （既定は無効で、{@code /api/users/import} は 404 を返す）。
+ * </p>
+ */
+@RestController
+@ConditionalOnProperty(prefix = "user.import", name = "enabled", havingValue = "true")
+@RequestMapping("/api/users")
+@RequiredArgsConstructor
+public class UserController {
+
+    /** CSV のメディアタイプ */
+    static final String TEXT_CSV = "text/csv";
+
+    /** ユーザ一括登録用 UseCase */
+    private final ImportUsersInputBoundary importUsersUseCase;
+
+    /** NDJSON の解析に使用する ObjectMapper */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * ログ出力用のLogger
+     */
+    private static final Logger log = LoggerFactory.getLogger(UserController.class);
+
+    /**
+     * CSV（{@code username,password}）または NDJSON 形式の本文からユーザを一括登録する。
+     * 本文は 1 行ずつ読み込み、全件をメモリに保持しない。
+     *
+     * @param request HTTP リクエスト（本文の読み込み、セッションの検証に使用）
+     * @param locale  ロケール情報
+     * @return 登録件数・失敗したチャンク・処理速度
+     * @throws IOException 本文の読み込みに失敗した場合
+     */
+    @PostMapping(value = "/import", consumes = { TEXT_CSV, MediaType.APPLICATION_NDJSON_VALUE })
+    @SessionRequired
+    public ResponseEntity<SessionCheckResponse> importUsers(HttpServletRequest request, Locale locale) throws IOException {
+        log.info("API開始: /users/import");
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(request.getInputStream(), StandardCharsets.UTF_8))) {
+            MediaType contentType = MediaType.parseMediaType(request.getContentType());
+            ImportRowIterator rows = MediaType.APPLICATION_NDJSON.isCompatibleWith(contentType)
+                    ? ImportRowIterator.ndjson(reader, objectMapper)
+                    : ImportRowIterator.csv(reader);
+
+            ImportUsersOutputData outputData = importUsersUseCase.handle(new ImportUsersInputData(rows));
+
+            log.info("ユーザ一括登録完了: 行数={}, 登録={}, 不正={}, 失敗チャンク={}, {}件/秒",
+                    outputData.getTotalRows(), outputData.getImportedRows(), outputData.getInvalidRows(),
+                    outputData.getFailedChunks().size(), String.format("%.1f", outputData.getRowsPerSecond()));
+            log.info("API終了: /users/import");
+            return ResponseEntity.ok(new UserImportResponse(outputData.getTotalRows(), outputData.getImportedRows(),
+                    outputData.getInvalidRows(), outputData.getInvalidLines(), outputData.getFailedChunks(),
+                    outputData.getElapsedMillis(), outputData.getRowsPerSecond()));
+        }
+    }
+}
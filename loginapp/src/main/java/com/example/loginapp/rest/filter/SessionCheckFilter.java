@@ -0,0 +1,90 @@
+package com.example.loginapp.rest.filter;
+
+import java.io.IOException;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.cors.CorsConfiguration;
+import org.springframework.web.cors.CorsProcessor;
+import org.springframework.web.cors.DefaultCorsProcessor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.SessionService;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * {@code HEAD /api/session-check} をフィルタで処理し、ステータスコードのみでセッション状態を返すフィルタ。
+ * <p>
+ * ログイン中は 204、未ログイン・期限切れは 401 を本文なしで返す。Spring MVC のディスパッチ、
+ * {@code SessionCheckInterceptor}、メッセージの解決、JSON の生成をいずれも行わない。
+ * 期限切れの場合は {@code SessionCheckInterceptor} と同様にセッションを無効化し、有効期限は延長しない。
+ * GET など HEAD 以外のリクエストはそのまま後続に渡す。
+ * </p>
+ * <p>
+ * Spring MVC の CORS 設定は適用されないため、同じ設定を {@link CorsProcessor} で適用する。
+ * </p>
+ */
+public class SessionCheckFilter extends OncePerRequestFilter {
+
+    /** セッション管理に関する処理を提供するサービス */
+    private final SessionService sessionService;
+
+    /** CORS 設定 */
+    private final CorsConfiguration corsConfiguration;
+
+    /** CORS の判定・ヘッダ付与 */
+    private final CorsProcessor corsProcessor = new DefaultCorsProcessor();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param sessionService    セッション管理に関する処理を提供するサービス
+     * @param corsConfiguration CORS 設定
+     */
+    public SessionCheckFilter(SessionService sessionService, CorsConfiguration corsConfiguration) {
+        this.sessionService = sessionService;
+        this.corsConfiguration = corsConfiguration;
+    }
+
+    /**
+     * HEAD 以外のリクエストは処理しない。
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.HEAD.matches(request.getMethod());
+    }
+
+    /**
+     * セッション状態を判定し、204 または 401 を返す。
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        if (!corsProcessor.processRequest(corsConfiguration, request, response)) {
+            return;
+        }
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-store");
+
+        LoginSession loginSession = sessionService.getLoginSession(request);
+        if (loginSession == null) {
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        if (!sessionService.isSessionValid(loginSession)) {
+            try {
+                sessionService.invalidateSession(request, response);
+            } catch (IllegalStateException e) {
+                logger.error("セッション無効化中に例外発生: HEAD /api/session-check", e);
+            }
+            response.setStatus(HttpStatus.UNAUTHORIZED.value());
+            return;
+        }
+        response.setStatus(HttpStatus.NO_CONTENT.value());
+    }
+}
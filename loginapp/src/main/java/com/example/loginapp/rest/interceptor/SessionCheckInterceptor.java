@@ -0,0 +1,176 @@
+package com.example.loginapp.rest.interceptor;
+
+import com.example.loginapp.rest.annotation.SessionRequired;
+import com.example.loginapp.rest.model.ErrorResponse;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+import org.springframework.web.servlet.support.RequestContextUtils;
+
+import static com.example.loginapp.domain.constants.MessageKeys.*;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@code @SessionRequired} が付与されたハンドラメソッドの実行前に
+ * セッションのログイン状態および有効期限を検証するインターセプタ。
+ * <p>
+ * ハンドラメソッドごとの {@link SessionRequired} の有無・設定は起動時に全ハンドラ分を解決して保持し、
+ * リクエストごとのアノテーション検索や引数の走査は行わない。ログイン情報はリクエストから直接 1 回だけ取得する。
+ * コントローラをプロキシで包まないため、呼び出しごとのアドバイスの実行も発生しない。
+ * </p>
+ * <p>
+ * 未ログイン・期限切れの場合は 401 とエラーメッセージを返し、ハンドラを実行しない。
+ * 有効な場合は {@link SessionRequired#touch()} に従って最終アクセス時刻を更新する（スライディング方式のみ）。
+ * ハンドラで発生した例外は {@code GlobalExceptionHandler} で処理する。
+ * </p>
+ */
+@Component
+@RequiredArgsConstructor
+public class SessionCheckInterceptor implements HandlerInterceptor, ApplicationListener<ContextRefreshedEvent> {
+
+    /** {@code @SessionRequired} が付与されていないハンドラの設定 */
+    private static final Rule NOT_REQUIRED = new Rule(false, false, null);
+
+    /** メッセージソース */
+    private final MessageSource messageSource;
+
+    /** セッション管理に関する処理を提供するサービス */
+    private final SessionService sessionService;
+
+    /** エラーレスポンスの JSON 変換に使用する ObjectMapper */
+    private final ObjectMapper objectMapper;
+
+    /** ハンドラメソッドごとのセッション検証の設定 */
+    private final Map<Method, Rule> rules = new ConcurrentHashMap<>();
+
+    /**
+     * ログ出力用のLogger
+     */
+    private static final Logger log = LoggerFactory.getLogger(SessionCheckInterceptor.class);
+
+    /**
+     * 起動時に全ハンドラメソッドの {@code @SessionRequired} を解決する。
+     *
+     * @param event コンテキストの更新イベント
+     */
+    @Override
+    public void onApplicationEvent(ContextRefreshedEvent event) {
+        event.getApplicationContext().getBeansOfType(RequestMappingHandlerMapping.class).values()
+                .forEach(mapping -> mapping.getHandlerMethods().values()
+                        .forEach(handlerMethod -> rule(handlerMethod.getMethod())));
+        log.info("セッション検証対象のハンドラ: {}件", rules.values().stream().filter(Rule::required).count());
+    }
+
+    /**
+     * セッションの有効性を確認し、無効な場合は 401 を返してハンドラの実行を中止する。
+     *
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス
+     * @param handler  実行するハンドラ
+     * @return true: ハンドラを実行する / false: 中止する
+     * @throws IOException エラーレスポンスの書き込みに失敗した場合
+     */
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler)
+            throws IOException {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return true;
+        }
+        Rule rule = rule(handlerMethod.getMethod());
+        if (!rule.required()) {
+            return true;
+        }
+
+        LoginSession loginSession = sessionService.getLoginSession(request);
+        if (loginSession == null) {
+            log.warn("未ログイン状態でアクセス: {}", rule.name());
+            return unauthorized(request, response, ERROR_NOT_LOGGED_IN);
+        }
+        if (!sessionService.isSessionValid(loginSession)) {
+            try {
+                sessionService.invalidateSession(request, response);
+            } catch (IllegalStateException e) {
+                log.error("セッション無効化中に例外発生: {}", rule.name(), e);
+            }
+            log.warn("セッション有効期限切れ: {}", rule.name());
+            return unauthorized(request, response, ERROR_SESSION_EXPIRED);
+        }
+        if (rule.touch()) {
+            sessionService.touch(request, response, loginSession);
+        }
+        return true;
+    }
+
+    /**
+     * ハンドラメソッドの設定を返す。起動時に解決していないメソッドはここで解決して保持する。
+     */
+    private Rule rule(Method method) {
+        Rule rule = rules.get(method);
+        return rule != null ? rule : rules.computeIfAbsent(method, Rule::resolve);
+    }
+
+    /**
+     * 401 Unauthorized とエラーメッセージを書き込む。
+     *
+     * @return 常に false（ハンドラを実行しない）
+     */
+    private boolean unauthorized(HttpServletRequest request, HttpServletResponse response, String messageKey)
+            throws IOException {
+        Locale locale = RequestContextUtils.getLocale(request);
+        String msg = messageSource.getMessage(messageKey, null, locale);
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        objectMapper.writeValue(response.getOutputStream(), new ErrorResponse(msg));
+        return false;
+    }
+
+    /**
+     * ハンドラメソッドごとのセッション検証の設定。
+     *
+     * @param required セッション検証が必要か
+     * @param touch    最終アクセス時刻を更新するか
+     * @param name     ログ出力用のメソッド名
+     */
+    record Rule(boolean required, boolean touch, String name) {
+
+        /**
+         * ハンドラメソッドの {@code @SessionRequired} から設定を求める。
+         *
+         * @param method ハンドラメソッド
+         * @return 設定
+         */
+        static Rule resolve(Method method) {
+            SessionRequired sessionRequired = AnnotatedElementUtils.findMergedAnnotation(method, SessionRequired.class);
+            if (sessionRequired == null) {
+                return NOT_REQUIRED;
+            }
+            return new Rule(true, sessionRequired.touch(),
+                    method.getDeclaringClass().getSimpleName() + "." + method.getName() + "(..)");
+        }
+    }
+}
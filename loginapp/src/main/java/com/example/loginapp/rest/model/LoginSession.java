@@ -0,0 +1,76 @@
+package com.example.loginapp.rest.model;
+
+import java.io.Serial;
+import java.io.Serializable;
+
+/**
+ * ログイン中のセッション情報を表す不変の値オブジェクト。
+ * <p>
+ * ログイン済みであることはこのオブジェクトが存在することで表し、
+ * HttpSession には {@link com.example.loginapp.rest.constants.SessionKeys#LOGIN_SESSION} の 1 属性として保存する。
+ * </p>
+ *
+ * @param username       ログインしたユーザ名
+ * @param loginTime      ログイン時刻（エポックミリ秒）
+ * @param lastAccessTime 最終アクセス時刻（エポックミリ秒）。スライディング方式の有効期限の起点となる
+ */
+public record LoginSession(String username, long loginTime, long lastAccessTime) implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 2L;
+
+    /**
+     * ログイン直後のセッション情報を生成する（最終アクセス時刻はログイン時刻とする）。
+     *
+     * @param username  ログインしたユーザ名
+     * @param loginTime ログイン時刻（エポックミリ秒）
+     */
+    public LoginSession(String username, long loginTime) {
+        this(username, loginTime, loginTime);
+    }
+
+    /**
+     * 指定の時刻において有効期限を過ぎているかどうか判定する。
+     *
+     * @param nowMillis     現在時刻（エポックミリ秒）
+     * @param timeoutMillis 有効期限（ミリ秒）
+     * @param sliding       true: 最終アクセス時刻から判定 / false: ログイン時刻から判定
+     * @return true: 期限切れ / false: 有効
+     */
+    public boolean isExpired(long nowMillis, long timeoutMillis, boolean sliding) {
+        return nowMillis > expiresAt(timeoutMillis, sliding);
+    }
+
+    /**
+     * 有効期限の時刻を返す。この時刻を過ぎると期限切れとなる。
+     *
+     * @param timeoutMillis 有効期限（ミリ秒）
+     * @param sliding       true: 最終アクセス時刻から計測 / false: ログイン時刻から計測
+     * @return 有効期限の時刻（エポックミリ秒）
+     */
+    public long expiresAt(long timeoutMillis, boolean sliding) {
+        return (sliding ? lastAccessTime : loginTime) + timeoutMillis;
+    }
+
+    /**
+     * 最終アクセス時刻の更新が必要かどうか判定する。
+     * 前回の更新から {@code granularityMillis} 未満の場合は更新しない（書き込みをまとめる）。
+     *
+     * @param nowMillis         現在時刻（エポックミリ秒）
+     * @param granularityMillis 更新間隔の最小値（ミリ秒）
+     * @return true: 更新が必要 / false: 不要
+     */
+    public boolean needsTouch(long nowMillis, long granularityMillis) {
+        return nowMillis - lastAccessTime >= granularityMillis;
+    }
+
+    /**
+     * 最終アクセス時刻を更新したセッション情報を返す。
+     *
+     * @param nowMillis 現在時刻（エポックミリ秒）
+     * @return 更新後のセッション情報
+     */
+    public LoginSession touched(long nowMillis) {
+        return new LoginSession(username, loginTime, nowMillis);
+    }
+}
@@ -6,6 +6,7 @@ import lombok.Data;
 import java.util.List;
 
 import com.example.loginapp.domain.model.Product;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 /**
  * 商品情報返却用のレスポンス DTO。
@@ -13,5 +14,20 @@ import com.example.loginapp.domain.model.Product;
 @Data
 @AllArgsConstructor
 public class ProductResponse implements SessionCheckResponse {
+
+    /** 商品リスト */
     private List<Product> products;
-}
\ No newline at end of file
+
+    /** 次のページの取得に afterId として指定する商品ID（最後のページ・ID 指定の取得では出力しない） */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer nextAfterId;
+
+    /**
+     * 続きのページがない商品リストのレスポンスを生成する。
+     *
+     * @param products 商品リスト
+     */
+    public ProductResponse(List<Product> products) {
+        this(products, null);
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.loginapp.rest.model;
+
+import java.util.List;
+
+import com.example.loginapp.domain.usecase.user.ImportChunkFailure;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ユーザ一括登録結果のレスポンス DTO。
+ */
+@Data
+@AllArgsConstructor
+public class UserImportResponse implements SessionCheckResponse {
+
+    /** 読み込んだ行数 */
+    private long totalRows;
+
+    /** 登録した件数 */
+    private long importedRows;
+
+    /** 形式不正・重複により登録しなかった件数 */
+    private long invalidRows;
+
+    /** 登録しなかった行の行番号（先頭から一定件数まで） */
+    private List<Long> invalidLines;
+
+    /** 登録に失敗したチャンク */
+    private List<ImportChunkFailure> failedChunks;
+
+    /** 処理時間（ミリ秒） */
+    private long elapsedMillis;
+
+    /** 1 秒あたりの登録件数 */
+    private double rowsPerSecond;
+}
@@ -0,0 +1,63 @@
+package com.example.loginapp.rest.repository;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+
+/**
+ * Caffeine の {@link AsyncCache} から、同一キーへの同時ミスを 1 回の読み込みにまとめて値を取得するユーティリティ。
+ * <p>
+ * キャッシュには読み込み中の {@link CompletableFuture} のみを登録し、読み込みは最初にミスした呼び出し元スレッドで
+ * キャッシュのロックの外で行う。後続の呼び出しは同じ Future の完了を待つ。
+ * 例外で完了したエントリ・null で完了したエントリはキャッシュから自動的に削除されるため、
+ * 失敗や「存在しない」結果はキャッシュされず、次の取得で読み込み直す。
+ * </p>
+ */
+public final class AsyncCacheLoader {
+
+    private AsyncCacheLoader() {
+    }
+
+    /**
+     * エントリを取得し、なければ呼び出し元スレッドで読み込む。
+     * 読み込みで発生した例外は {@link CompletionException} で包まずにそのまま再スローする。
+     *
+     * @param <K>    キーの型
+     * @param <V>    値の型
+     * @param cache  キャッシュ
+     * @param key    キー
+     * @param loader 値を読み込む処理（該当するものがない場合 null を返す）
+     * @return 値（読み込み結果が null の場合 null）
+     */
+    public static <K, V> V load(AsyncCache<K, V> cache, K key, Supplier<? extends V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> entry = cache.get(key, (k, executor) -> loading);
+        if (entry == loading) {
+            try {
+                loading.complete(loader.get());
+            } catch (RuntimeException | Error e) {
+                loading.completeExceptionally(e);
+            }
+        }
+        return await(entry);
+    }
+
+    /**
+     * エントリの読み込み完了を待つ。読み込みで発生した例外はそのまま再スローする。
+     */
+    private static <V> V await(CompletableFuture<V> entry) {
+        try {
+            return entry.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,230 @@
+package com.example.loginapp.rest.repository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.domain.repository.ProductRepository;
+import com.example.loginapp.rest.config.ProductCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * {@link ProductRepository} の前段に置く、読み込み時にキャッシュする商品キャッシュ（{@code product.store=cache}、既定）。
+ * <p>
+ * 商品ID単位のエントリ（件数上限・TTL 付き）と、全商品のスナップショット（{@link ProductSnapshot}）を保持する。
+ * 全件の取得とページ単位の取得（{@code GET /api/products}）はスナップショットから返し、
+ * ページはスナップショットの商品IDの二分探索で切り出すため、キャッシュのミス時のみ全件を 1 回読み込む。
+ * スナップショットは商品の変更のたびに進めるバージョン番号（{@link ProductCatalogVersion}）をキーとするため、
+ * 価格を更新すると以降の読み込みは古いスナップショットを参照せず、読み込み中だった古い内容も使われない。
+ * 存在しない商品（null）はキャッシュしない。
+ * </p>
+ * <p>
+ * 無効化・バージョン番号はこのプロセス内に限られる。複数ノード構成では、別ノードで更新された価格が
+ * {@code product.cache.ttl-millis} の経過まで古いまま返るため、TTL は許容できる古さに合わせて短く設定する。
+ * </p>
+ * <p>
+ * {@link CachingUserRepository} と同様に、{@link AsyncCacheLoader} によりキャッシュには読み込み中の
+ * {@link java.util.concurrent.CompletableFuture} のみを登録し、DB 検索は呼び出し元スレッドでキャッシュのロックの外で行う。
+ * 同一キーへの同時ミスは 1 回の DB 検索にまとめられる。
+ * 全件の出力は全件をメモリに保持しないため、キャッシュを経由しない。
+ * </p>
+ * <p>
+ * ヒット数・ミス数・追い出し数は Micrometer の {@code cache.*} メトリクス、
+ * ヒット率は {@code product.cache.hit.ratio} として公開する。
+ * </p>
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "product", name = "store", havingValue = "cache", matchIfMissing = true)
+public class CachingProductRepository implements ProductRepository, MeterBinder {
+
+    /** メトリクス上の商品ID単位のキャッシュ名 */
+    static final String CACHE_NAME = "products";
+
+    /** メトリクス上の全商品のスナップショットのキャッシュ名 */
+    static final String ALL_CACHE_NAME = "products.all";
+
+    /** 実際の永続化を行うリポジトリ */
+    private final ProductRepository delegate;
+
+    /** 商品IDをキーとしたキャッシュ（値は読み込み中・読み込み済みの商品） */
+    private final AsyncCache<Integer, Product> cache;
+
+    /** バージョン番号をキーとした全商品のスナップショット（保持するのは最新の 1 件のみ） */
+    private final AsyncCache<Long, ProductSnapshot> allProducts;
+
+    /** 商品の変更のたびに進めるバージョン番号 */
+    private final ProductCatalogVersion version;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param delegate   MyBatis による商品リポジトリ
+     * @param properties キャッシュ設定
+     * @param version    商品のバージョン番号
+     */
+    public CachingProductRepository(MyBatisProductRepository delegate, ProductCacheProperties properties,
+            ProductCatalogVersion version) {
+        this.delegate = delegate;
+        this.version = version;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtlMillis()))
+                .recordStats()
+                .buildAsync();
+        this.allProducts = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(Duration.ofMillis(properties.getTtlMillis()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * 全商品のスナップショットから、全商品を商品IDの昇順に取得する。
+     *
+     * @return 商品リストのコピー
+     */
+    @Override
+    public List<Product> findAll() {
+        return snapshot().all();
+    }
+
+    /**
+     * 全商品のスナップショットから、指定した商品IDより大きい商品を商品IDの昇順に最大件数まで取得する。
+     *
+     * @param afterId 前のページの最後の商品ID
+     * @param limit   取得する最大件数
+     * @return 商品リストのコピー
+     */
+    @Override
+    public List<Product> findPageAfter(int afterId, int limit) {
+        return snapshot().pageAfter(afterId, limit);
+    }
+
+    /**
+     * 全件の出力は全件をメモリに保持しないため、キャッシュを経由せずに委譲する。
+     */
+    @Override
+    public void forEachProduct(Consumer<Product> action) {
+        delegate.forEachProduct(action);
+    }
+
+    /**
+     * キャッシュを経由して商品を取得する。
+     *
+     * @param id 商品ID
+     * @return 商品のコピー（存在しない場合 null）
+     */
+    @Override
+    public Product findById(int id) {
+        Product cached = AsyncCacheLoader.load(cache, id, () -> delegate.findById(id));
+        return cached == null ? null : copyOf(cached);
+    }
+
+    /**
+     * 商品の価格を更新し、該当商品と全商品のスナップショットを無効化する。
+     *
+     * @param id    商品ID
+     * @param price 新しい価格
+     */
+    @Override
+    public void updatePrice(int id, BigDecimal price) {
+        delegate.updatePrice(id, price);
+        invalidate(id);
+    }
+
+    /**
+     * ログの記録は商品の内容を変えないため、そのまま委譲する。
+     */
+    @Override
+    public void insertProductLog(int productId, String action) {
+        delegate.insertProductLog(productId, action);
+    }
+
+    /**
+     * 現在のバージョン番号の全商品のスナップショットを取得し、なければ全件を読み込んで作る。
+     */
+    private ProductSnapshot snapshot() {
+        return AsyncCacheLoader.load(allProducts, version.current(), () -> ProductSnapshot.of(delegate.findAll()));
+    }
+
+    /**
+     * 現在のバージョン番号を返す。商品の変更のたびに値が変わる。
+     *
+     * @return バージョン番号
+     */
+    long version() {
+        return version.current();
+    }
+
+    /**
+     * 指定商品のキャッシュと全商品のスナップショットを無効化する。
+     * トランザクション中であれば完了時にも再度無効化し、コミット前・ロールバック前の読み込みが残らないようにする。
+     *
+     * @param id 商品ID
+     */
+    void invalidate(int id) {
+        evict(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict(id);
+                }
+            });
+        }
+    }
+
+    /**
+     * 商品のエントリを削除し、バージョン番号を進めて古いスナップショットを破棄する。
+     */
+    private void evict(int id) {
+        cache.synchronous().invalidate(id);
+        version.advance();
+        allProducts.synchronous().invalidateAll();
+    }
+
+    /**
+     * キャッシュのヒット・ミス・追い出し件数とヒット率をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        CaffeineCacheMetrics.monitor(registry, allProducts, ALL_CACHE_NAME);
+        hitRatio(registry, cache, CACHE_NAME);
+        hitRatio(registry, allProducts, ALL_CACHE_NAME);
+    }
+
+    /**
+     * キャッシュのヒット率（0.0 ～ 1.0、参照がない場合は 1.0）のゲージを登録する。
+     */
+    private static void hitRatio(MeterRegistry registry, AsyncCache<?, ?> cache, String name) {
+        Gauge.builder("product.cache.hit.ratio", cache, c -> c.synchronous().stats().hitRate())
+                .tag("cache", name)
+                .description("商品キャッシュのヒット率")
+                .register(registry);
+    }
+
+    /**
+     * 呼び出し側による変更がキャッシュへ波及しないようコピーを返す。
+     */
+    private static Product copyOf(Product source) {
+        return new Product(source.getId(), source.getName(), source.getPrice());
+    }
+}
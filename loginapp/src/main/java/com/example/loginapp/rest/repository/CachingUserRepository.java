@@ -0,0 +1,164 @@
+package com.example.loginapp.rest.repository;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loginapp.domain.model.PasswordUpdate;
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.rest.config.UserCacheProperties;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * {@link UserRepository} の前段に置く、件数上限・TTL 付きの認証情報キャッシュ。
+ * <p>
+ * 同一アカウントへの繰り返しログインで users テーブルへの同一 SELECT が
+ * 集中しないよう、{@link MyBatisUserRepository} の検索結果をプロセス内に保持する。
+ * 存在しないユーザ（null）はキャッシュしない。
+ * </p>
+ * <p>
+ * DB 検索はキャッシュ内部のロック（ConcurrentHashMap のビン単位の synchronized）の外で行う。
+ * ロック内でブロッキング I/O を行うと、仮想スレッド実行時にキャリアスレッドを固定してしまうため、
+ * {@link AsyncCacheLoader} によりキャッシュには読み込み中の {@link java.util.concurrent.CompletableFuture} のみを登録し、
+ * 呼び出し元スレッドで完了させる。
+ * </p>
+ * <p>
+ * ヒット数・ミス数・追い出し数は Micrometer の {@code cache.*} メトリクスとして公開する。
+ * </p>
+ */
+@Repository
+@Primary
+public class CachingUserRepository implements UserRepository, MeterBinder {
+
+    /** メトリクス上のキャッシュ名 */
+    static final String CACHE_NAME = "users";
+
+    /** 実際の永続化を行うリポジトリ */
+    private final UserRepository delegate;
+
+    /** ユーザ名をキーとしたキャッシュ（値は読み込み中・読み込み済みのユーザ情報） */
+    private final AsyncCache<String, User> cache;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param delegate   MyBatis によるユーザリポジトリ
+     * @param properties キャッシュ設定
+     */
+    public CachingUserRepository(MyBatisUserRepository delegate, UserCacheProperties properties) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtlMillis()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * キャッシュを経由してユーザ情報を取得する。
+     * 同一キーへの同時ミスは 1 回の DB 検索にまとめられる。
+     *
+     * @param username ユーザ名
+     * @return ユーザ情報のコピー（存在しない場合 null）
+     */
+    @Override
+    public User findByUsername(String username) {
+        if (username == null) {
+            return delegate.findByUsername(null);
+        }
+        User cached = AsyncCacheLoader.load(cache, username, () -> delegate.findByUsername(username));
+        return cached == null ? null : copyOf(cached);
+    }
+
+    /**
+     * ユーザを登録し、該当ユーザ名のキャッシュを無効化する。
+     *
+     * @param user 保存するユーザ情報
+     */
+    @Override
+    public void insertUser(User user) {
+        delegate.insertUser(user);
+        invalidate(user.getUsername());
+    }
+
+    /**
+     * ウォームアップ用の一括取得はキャッシュを経由せずに委譲する。
+     */
+    @Override
+    public List<User> findUsersAfterId(int afterId, int limit) {
+        return delegate.findUsersAfterId(afterId, limit);
+    }
+
+    /**
+     * パスワードを一括更新し、対象ユーザのキャッシュを無効化する。
+     *
+     * @param updates 更新内容
+     * @return 更新した件数
+     */
+    @Override
+    public int updatePasswords(List<PasswordUpdate> updates) {
+        int updated = delegate.updatePasswords(updates);
+        for (PasswordUpdate update : updates) {
+            invalidate(update.getUsername());
+        }
+        return updated;
+    }
+
+    /**
+     * 集計クエリはキャッシュを経由せずに委譲する。
+     */
+    @Override
+    public long countPasswordsWithoutPrefix(String prefix) {
+        return delegate.countPasswordsWithoutPrefix(prefix);
+    }
+
+    /**
+     * 指定ユーザ名のキャッシュを無効化する。
+     * トランザクション中であれば完了時にも再度無効化し、コミット前の読み込みが残らないようにする。
+     *
+     * @param username ユーザ名
+     */
+    void invalidate(String username) {
+        if (username == null) {
+            return;
+        }
+        cache.synchronous().invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.synchronous().invalidate(username);
+                }
+            });
+        }
+    }
+
+    /**
+     * キャッシュのヒット・ミス・追い出し件数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * 呼び出し側による変更がキャッシュへ波及しないようコピーを返す。
+     */
+    private static User copyOf(User source) {
+        User copy = new User(source.getUsername(), source.getPassword());
+        copy.setId(source.getId());
+        return copy;
+    }
+}
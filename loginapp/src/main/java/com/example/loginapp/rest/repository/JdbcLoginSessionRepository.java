@@ -0,0 +1,290 @@
+package com.example.loginapp.rest.repository;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.LoginSessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * ログイン情報を DB（login_sessions テーブル）に保存する {@link LoginSessionRepository} の実装クラス。
+ * <p>
+ * 再起動後も、また同じ DB を参照する別ノードでもセッションを検証できる。
+ * 登録・削除は即座に DB に反映し、取得結果は件数上限・TTL 付きのプロセス内キャッシュに保持する
+ * （存在しないセッションはキャッシュしない）。このため、別ノードで行われたログアウトは
+ * 最大でキャッシュの TTL だけ遅れて反映される。
+ * </p>
+ * <p>
+ * 最終アクセス時刻の更新（{@link #touch(String, long)}）はキャッシュにのみ即座に反映し、
+ * DB へはセッション単位で最新の値だけを保留して {@link #flushTouches()} でまとめて書き込む（ライトビハインド）。
+ * キャッシュエントリの TTL は更新によって延長しないため、別ノードでのログアウトの反映が遅れ続けることはない。
+ * </p>
+ * <p>
+ * DB にはセッション ID そのものではなく SHA-256 のハッシュ値を保存し、
+ * テーブルの内容からセッションを乗っ取れないようにする。
+ * </p>
+ */
+public class JdbcLoginSessionRepository implements LoginSessionRepository, MeterBinder {
+
+    /** メトリクス上のキャッシュ名 */
+    static final String CACHE_NAME = "login-sessions";
+
+    /** セッション ID の乱数のバイト数 */
+    private static final int ID_BYTES = 32;
+
+    /** 1 回の UPDATE で更新する最終アクセス時刻の最大件数 */
+    static final int TOUCH_BATCH_SIZE = 500;
+
+    /** ログ出力用のLogger */
+    private static final Logger log = LoggerFactory.getLogger(JdbcLoginSessionRepository.class);
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    /** login_sessions テーブルの Mapper */
+    private final LoginSessionMapper mapper;
+
+    /** セッション ID をキーとしたログイン情報のキャッシュ */
+    private final Cache<String, LoginSession> cache;
+
+    /** セッション ID のハッシュ値をキーとした、DB へ未反映の最終アクセス時刻 */
+    private final Map<String, Long> pendingTouches = new ConcurrentHashMap<>();
+
+    /** セッション ID の生成 */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param mapper           login_sessions テーブルの Mapper
+     * @param cacheMaximumSize キャッシュに保持する最大セッション数
+     * @param cacheTtlMillis   キャッシュエントリの有効期間（ミリ秒）
+     */
+    public JdbcLoginSessionRepository(LoginSessionMapper mapper, long cacheMaximumSize, long cacheTtlMillis) {
+        this.mapper = mapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaximumSize)
+                .expireAfter(Expiry.creating((String sessionId, LoginSession loginSession) ->
+                        Duration.ofMillis(cacheTtlMillis)))
+                .recordStats()
+                .build();
+    }
+
+    @Override
+    public String create(LoginSession loginSession) {
+        byte[] id = new byte[ID_BYTES];
+        random.nextBytes(id);
+        String sessionId = ENCODER.encodeToString(id);
+        mapper.insert(keyOf(sessionId), loginSession.username(), loginSession.loginTime());
+        cache.put(sessionId, loginSession);
+        return sessionId;
+    }
+
+    /**
+     * キャッシュを経由してログイン情報を取得する。DB から読み込んだ場合は保留中の最終アクセス時刻を反映する。
+     */
+    @Override
+    public LoginSession find(String sessionId) {
+        if (sessionId == null || sessionId.isEmpty()) {
+            return null;
+        }
+        LoginSession cached = cache.getIfPresent(sessionId);
+        if (cached != null) {
+            return cached;
+        }
+        String sessionKey = keyOf(sessionId);
+        LoginSession loaded = mapper.findBySessionKey(sessionKey);
+        Long pendingTouch = pendingTouches.get(sessionKey);
+        if (loaded != null && pendingTouch != null && pendingTouch > loaded.lastAccessTime()) {
+            loaded = loaded.touched(pendingTouch);
+        }
+        if (loaded != null) {
+            cache.put(sessionId, loaded);
+        }
+        return loaded;
+    }
+
+    /**
+     * このノードのキャッシュエントリを破棄して DB から読み込み直す。
+     * 別ノードで延長・削除されたセッションも、キャッシュの TTL を待たずに反映した値を返す。
+     */
+    @Override
+    public LoginSession findLatest(String sessionId) {
+        if (sessionId == null || sessionId.isEmpty()) {
+            return null;
+        }
+        cache.invalidate(sessionId);
+        return find(sessionId);
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        if (sessionId == null || sessionId.isEmpty()) {
+            return;
+        }
+        cache.invalidate(sessionId);
+        String sessionKey = keyOf(sessionId);
+        pendingTouches.remove(sessionKey);
+        mapper.deleteBySessionKey(sessionKey);
+    }
+
+    /**
+     * DB からユーザの全ログイン情報を削除し、このノードのキャッシュからも取り除く。
+     * 別ノードのキャッシュに残るエントリは TTL の経過後に無効となる。
+     */
+    @Override
+    public int deleteByUsername(String username) {
+        cache.asMap().values().removeIf(loginSession -> loginSession.username().equals(username));
+        return mapper.deleteByUsername(username);
+    }
+
+    /**
+     * DB 上のユーザのセッションのうち、指定セッションとログイン時刻の新しいものを合わせて最大件数を超える分を削除する。
+     * 別ノードで発行したセッションも対象とするため、同時ログイン数の上限が全ノードの合計に適用される。
+     * 削除したセッションがいずれかのノードのキャッシュに残っている場合は、そのエントリは TTL の経過後に無効となる。
+     */
+    @Override
+    public int trimSessions(String username, String sessionId, int maxSessions) {
+        String keepKey = keyOf(sessionId);
+        List<String> stale = new ArrayList<>();
+        int kept = 1;
+        for (String sessionKey : mapper.findSessionKeysByUsername(username)) {
+            if (sessionKey.equals(keepKey)) {
+                continue;
+            }
+            if (kept < maxSessions) {
+                kept++;
+            } else {
+                stale.add(sessionKey);
+            }
+        }
+        if (stale.isEmpty()) {
+            return 0;
+        }
+        stale.forEach(pendingTouches::remove);
+        return mapper.deleteBySessionKeys(stale);
+    }
+
+    /**
+     * キャッシュ上の最終アクセス時刻を更新し、DB への書き込みを保留する。
+     */
+    @Override
+    public void touch(String sessionId, long lastAccessTime) {
+        if (sessionId == null || sessionId.isEmpty()) {
+            return;
+        }
+        cache.asMap().computeIfPresent(sessionId, (id, loginSession) -> loginSession.touched(lastAccessTime));
+        pendingTouches.merge(keyOf(sessionId), lastAccessTime, Math::max);
+    }
+
+    /**
+     * 有効期限を過ぎたログイン情報を DB から削除する。
+     * スライディング方式では、保留中の最終アクセス時刻を先に書き込んでから削除する。
+     * キャッシュに残るエントリは有効期限の判定で無効となり、TTL で追い出される。
+     */
+    @Override
+    public int deleteExpired(long nowMillis, long timeoutMillis, boolean sliding) {
+        if (!sliding) {
+            return mapper.deleteLoginTimeBefore(nowMillis - timeoutMillis);
+        }
+        flushTouches();
+        return mapper.deleteLastAccessTimeBefore(nowMillis - timeoutMillis);
+    }
+
+    /**
+     * 保留中の最終アクセス時刻を最大 {@link #TOUCH_BATCH_SIZE} 件ずつまとめて DB に書き込む。
+     * 書き込みに失敗した分は保留に戻し、次回に再度書き込む。
+     *
+     * @return 更新した件数
+     */
+    @Scheduled(fixedDelayString = "${session.jdbc.touch-flush-interval-millis:1000}")
+    public int flushTouches() {
+        int total = 0;
+        Map<String, Long> batch = nextTouchBatch();
+        while (!batch.isEmpty()) {
+            try {
+                total += mapper.updateLastAccessTimes(batch);
+            } catch (DataAccessException e) {
+                batch.forEach((sessionKey, lastAccessTime) ->
+                        pendingTouches.merge(sessionKey, lastAccessTime, Math::max));
+                log.warn("最終アクセス時刻の書き込みに失敗しました: 件数={}", batch.size(), e);
+                break;
+            }
+            batch = nextTouchBatch();
+        }
+        return total;
+    }
+
+    /**
+     * DB へ未反映の最終アクセス時刻の件数を返す。
+     *
+     * @return 保留件数
+     */
+    public int pendingTouchCount() {
+        return pendingTouches.size();
+    }
+
+    /**
+     * キャッシュのヒット数・ミス数などを Micrometer に登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+        Gauge.builder("login.session.jdbc.touch.pending", this, JdbcLoginSessionRepository::pendingTouchCount)
+                .description("DB へ未反映の最終アクセス時刻の件数")
+                .register(registry);
+    }
+
+    /**
+     * 保留中の最終アクセス時刻を最大 {@link #TOUCH_BATCH_SIZE} 件取り出す。
+     * 取り出す間に更新された値は保留に残し、次のバッチで書き込む。
+     */
+    private Map<String, Long> nextTouchBatch() {
+        Map<String, Long> batch = new LinkedHashMap<>();
+        Iterator<Map.Entry<String, Long>> iterator = pendingTouches.entrySet().iterator();
+        while (batch.size() < TOUCH_BATCH_SIZE && iterator.hasNext()) {
+            Map.Entry<String, Long> entry = iterator.next();
+            if (pendingTouches.remove(entry.getKey(), entry.getValue())) {
+                batch.put(entry.getKey(), entry.getValue());
+            }
+        }
+        return batch;
+    }
+
+    /**
+     * セッション ID から DB の主キー（SHA-256 の Base64URL）を求める。
+     */
+    private static String keyOf(String sessionId) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(sessionId.getBytes(StandardCharsets.US_ASCII));
+            return ENCODER.encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.loginapp.rest.repository;
+
+import java.util.List;
+import java.util.Map;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * login_sessions テーブルの MyBatis Mapper。
+ * {@link JdbcLoginSessionRepository} から使用する。
+ */
+@Mapper
+public interface LoginSessionMapper {
+
+    /**
+     * ログイン情報を登録する。
+     *
+     * @param sessionKey セッション ID のハッシュ値
+     * @param username   ユーザ名
+     * @param loginTime  ログイン時刻（エポックミリ秒）。最終アクセス時刻も同じ値とする
+     */
+    @Insert("INSERT INTO login_sessions (session_key, username, login_time, last_access_time)"
+            + " VALUES (#{sessionKey}, #{username}, #{loginTime}, #{loginTime})")
+    void insert(@Param("sessionKey") String sessionKey, @Param("username") String username,
+            @Param("loginTime") long loginTime);
+
+    /**
+     * ログイン情報を主キーで取得する。
+     *
+     * @param sessionKey セッション ID のハッシュ値
+     * @return ログイン情報（存在しない場合 null）
+     */
+    @Select("SELECT username, login_time, last_access_time FROM login_sessions WHERE session_key = #{sessionKey}")
+    LoginSession findBySessionKey(String sessionKey);
+
+    /**
+     * ログイン情報を主キーで削除する。
+     *
+     * @param sessionKey セッション ID のハッシュ値
+     * @return 削除した件数
+     */
+    @Delete("DELETE FROM login_sessions WHERE session_key = #{sessionKey}")
+    int deleteBySessionKey(String sessionKey);
+
+    /**
+     * 最終アクセス時刻をまとめて更新する。保存済みの値より古い時刻では更新しない。
+     *
+     * @param touches セッション ID のハッシュ値をキーとした最終アクセス時刻（エポックミリ秒）
+     * @return 更新した件数
+     */
+    @Update({ "<script>",
+            "UPDATE login_sessions SET last_access_time = GREATEST(last_access_time, CASE",
+            "<foreach collection='touches' index='sessionKey' item='lastAccessTime'>",
+            "WHEN session_key = #{sessionKey} THEN #{lastAccessTime}",
+            "</foreach>",
+            "ELSE last_access_time END)",
+            "WHERE session_key IN",
+            "<foreach collection='touches' index='sessionKey' open='(' separator=',' close=')'>#{sessionKey}</foreach>",
+            "</script>" })
+    int updateLastAccessTimes(@Param("touches") Map<String, Long> touches);
+
+    /**
+     * ユーザのログイン情報のキーを、ログイン時刻の新しい順に取得する（username のインデックスを使用）。
+     *
+     * @param username ユーザ名
+     * @return セッション ID のハッシュ値
+     */
+    @Select("SELECT session_key FROM login_sessions WHERE username = #{username}"
+            + " ORDER BY login_time DESC, session_key")
+    List<String> findSessionKeysByUsername(String username);
+
+    /**
+     * ログイン情報を主キーでまとめて削除する。
+     *
+     * @param sessionKeys セッション ID のハッシュ値（1 件以上）
+     * @return 削除した件数
+     */
+    @Delete({ "<script>",
+            "DELETE FROM login_sessions WHERE session_key IN",
+            "<foreach collection='sessionKeys' item='sessionKey' open='(' separator=',' close=')'>#{sessionKey}</foreach>",
+            "</script>" })
+    int deleteBySessionKeys(@Param("sessionKeys") List<String> sessionKeys);
+
+    /**
+     * ユーザの全ログイン情報を削除する。
+     *
+     * @param username ユーザ名
+     * @return 削除した件数
+     */
+    @Delete("DELETE FROM login_sessions WHERE username = #{username}")
+    int deleteByUsername(String username);
+
+    /**
+     * 指定時刻より前にログインしたログイン情報を削除する。
+     *
+     * @param loginTime この時刻より前のログイン情報を削除する（エポックミリ秒）
+     * @return 削除した件数
+     */
+    @Delete("DELETE FROM login_sessions WHERE login_time < #{loginTime}")
+    int deleteLoginTimeBefore(long loginTime);
+
+    /**
+     * 最終アクセス時刻が指定時刻より前のログイン情報を削除する。
+     *
+     * @param lastAccessTime この時刻より前にアクセスされたログイン情報を削除する（エポックミリ秒）
+     * @return 削除した件数
+     */
+    @Delete("DELETE FROM login_sessions WHERE last_access_time < #{lastAccessTime}")
+    int deleteLastAccessTimeBefore(long lastAccessTime);
+}
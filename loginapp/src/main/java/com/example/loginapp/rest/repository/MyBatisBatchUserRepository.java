@@ -0,0 +1,53 @@
+package com.example.loginapp.rest.repository;
+
+import java.util.List;
+
+import org.apache.ibatis.session.ExecutorType;
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.springframework.stereotype.Repository;
+
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserBatchRepository;
+
+/**
+ * {@link UserBatchRepository} の MyBatis 実装クラス。
+ * <p>
+ * {@link ExecutorType#BATCH} の SqlSession で {@link MyBatisUserRepository#insertUser(User)} を
+ * 繰り返し呼び出し、JDBC バッチとしてまとめて送信する。MySQL では接続 URL に
+ * {@code rewriteBatchedStatements=true} を指定すると複数行 INSERT に書き換えられる。
+ * </p>
+ * <p>
+ * 同一トランザクション内で SIMPLE と BATCH の SqlSession を混在させることはできないため、
+ * 呼び出し側はこのリポジトリだけを使うトランザクションの中で呼び出すこと。
+ * </p>
+ */
+@Repository
+public class MyBatisBatchUserRepository implements UserBatchRepository {
+
+    /** BATCH 実行用の SqlSession */
+    private final SqlSessionTemplate batchSqlSession;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param sqlSessionFactory MyBatis の SqlSessionFactory
+     */
+    public MyBatisBatchUserRepository(SqlSessionFactory sqlSessionFactory) {
+        this.batchSqlSession = new SqlSessionTemplate(sqlSessionFactory, ExecutorType.BATCH);
+    }
+
+    /**
+     * ユーザをまとめて INSERT し、バッチを送信する。
+     *
+     * @param users 保存するユーザ情報
+     */
+    @Override
+    public void insertUsers(List<User> users) {
+        MyBatisUserRepository mapper = batchSqlSession.getMapper(MyBatisUserRepository.class);
+        for (User user : users) {
+            mapper.insertUser(user);
+        }
+        batchSqlSession.flushStatements();
+    }
+}
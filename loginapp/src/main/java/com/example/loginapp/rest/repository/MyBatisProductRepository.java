@@ -1,13 +1,19 @@
 package com.example.loginapp.rest.repository;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.function.Consumer;
 
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.cursor.Cursor;
+import org.apache.ibatis.mapping.ResultSetType;
 
 import com.example.loginapp.domain.model.Product;
 import com.example.loginapp.domain.repository.ProductRepository;
@@ -24,6 +30,43 @@ public interface MyBatisProductRepository extends ProductRepository {
     @Override
     List<Product> findAll();
 
+    /**
+     * 指定した商品IDより大きい商品を、商品IDの昇順に最大件数まで取得する。
+     * 主キーの範囲検索となるため、ページの位置に関係なく読み込む行数は最大件数までとなる。
+     *
+     * @param afterId 前のページの最後の商品ID（先頭ページは 0）
+     * @param limit   取得する最大件数
+     * @return 商品リスト
+     */
+    @Select("SELECT id, name, price FROM products WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    @Override
+    List<Product> findPageAfter(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    /**
+     * 全商品を商品IDの昇順に読み出すカーソルを開く。
+     * fetchSize の {@link Integer#MIN_VALUE} は MySQL Connector/J で結果を 1 行ずつ受信する指定で、
+     * 結果全体をドライバのメモリに読み込まない（読み出しの間、同じ接続で別の SQL は実行できない）。
+     *
+     * @return 商品のカーソル（呼び出し元で閉じる）
+     */
+    @Select("SELECT id, name, price FROM products ORDER BY id")
+    @Options(resultSetType = ResultSetType.FORWARD_ONLY, fetchSize = Integer.MIN_VALUE)
+    Cursor<Product> openCursor();
+
+    /**
+     * 全商品をカーソルで 1 件ずつ読み出し、読み出した順に処理する。
+     *
+     * @param action 商品ごとの処理
+     */
+    @Override
+    default void forEachProduct(Consumer<Product> action) {
+        try (Cursor<Product> cursor = openCursor()) {
+            cursor.forEach(action);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
     /**
      * 商品IDを指定して商品を取得する。
      *
@@ -1,9 +1,14 @@
 package com.example.loginapp.rest.repository;
 
+import java.util.List;
+
 import org.apache.ibatis.annotations.Insert;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
 
+import com.example.loginapp.domain.model.PasswordUpdate;
 import com.example.loginapp.domain.model.User;
 import com.example.loginapp.domain.repository.UserRepository;
 
@@ -18,6 +23,7 @@ public interface MyBatisUserRepository extends UserRepository {
 
     /**
      * 指定されたユーザ名でユーザ情報を取得する。
+     * 一意インデックス uq_users_username による 1 行参照となるよう、照合に必要な列のみを取得する。
      *
      * @param username ユーザ名
      * @return ユーザ情報（存在しない場合 null）
@@ -34,4 +40,44 @@ public interface MyBatisUserRepository extends UserRepository {
     @Insert("INSERT INTO users (username, password) VALUES (#{username}, #{password})")
     @Override
     void insertUser(User user);
+
+    /**
+     * 指定 ID より大きいユーザを ID 昇順で取得する（キーセットページング）。
+     *
+     * @param afterId この ID より大きいユーザを取得する
+     * @param limit   最大取得件数
+     * @return ユーザ一覧（ID とユーザ名のみ）
+     */
+    @Select("SELECT id, username FROM users WHERE id > #{afterId} ORDER BY id LIMIT #{limit}")
+    @Override
+    List<User> findUsersAfterId(@Param("afterId") int afterId, @Param("limit") int limit);
+
+    /**
+     * 複数ユーザのパスワード保存値を CASE 式による 1 回の UPDATE でまとめて更新する。
+     * 保存値が更新前の値から変更されている行は元の値のまま残す。
+     *
+     * @param updates 更新内容
+     * @return 更新した件数
+     */
+    @Update({ "<script>",
+            "UPDATE users SET password = CASE",
+            "<foreach collection='updates' item='u'>",
+            "WHEN username = #{u.username} AND password = #{u.currentPassword} THEN #{u.newPassword}",
+            "</foreach>",
+            "ELSE password END",
+            "WHERE username IN",
+            "<foreach collection='updates' item='u' open='(' separator=',' close=')'>#{u.username}</foreach>",
+            "</script>" })
+    @Override
+    int updatePasswords(@Param("updates") List<PasswordUpdate> updates);
+
+    /**
+     * 保存値が指定の接頭辞で始まらないユーザの件数を数える。
+     *
+     * @param prefix 現在の方式・コストの保存値の接頭辞
+     * @return 件数
+     */
+    @Select("SELECT COUNT(*) FROM users WHERE password NOT LIKE CONCAT(#{prefix}, '%')")
+    @Override
+    long countPasswordsWithoutPrefix(@Param("prefix") String prefix);
 }
@@ -0,0 +1,38 @@
+package com.example.loginapp.rest.repository;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * 商品の読み込み元（{@link CachingProductRepository}・{@link SnapshotProductRepository}）が返す内容のバージョン番号。
+ * <p>
+ * 読み込み元が返す内容を変えるたびに {@link #advance()} で進める。
+ * 読み込んだ内容から作るキャッシュ（全商品のスナップショット、シリアライズ済みのレスポンス）は、
+ * 読み込み前に取得したバージョン番号をキーに含めることで、変更後に古い内容を返さない。
+ * </p>
+ */
+@Component
+public class ProductCatalogVersion {
+
+    /** バージョン番号 */
+    private final AtomicLong version = new AtomicLong();
+
+    /**
+     * 現在のバージョン番号を返す。
+     *
+     * @return バージョン番号
+     */
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * バージョン番号を進める。
+     *
+     * @return 進めた後のバージョン番号
+     */
+    public long advance() {
+        return version.incrementAndGet();
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.loginapp.rest.repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import com.example.loginapp.domain.model.Product;
+
+/**
+ * 全商品を保持する変更不可のスナップショット。
+ * <p>
+ * 商品は商品IDの昇順の配列で保持し、商品IDから配列の位置を引く索引は
+ * {@code int} の配列によるオープンアドレス法のハッシュ表とする（キーのボクシング・エントリオブジェクトを持たない）。
+ * ページ単位の取得は昇順の商品ID配列の二分探索で開始位置を求める。
+ * 1 件の変更は、商品の配列のみを複製して新しいスナップショットを作り、商品IDの配列と索引は共有する。
+ * </p>
+ * <p>
+ * 保持する商品は生成時にコピーし、返却時にもコピーを返すため、呼び出し側の変更はスナップショットに波及しない。
+ * </p>
+ */
+final class ProductSnapshot {
+
+    /** 索引の空きを表す値 */
+    private static final int EMPTY_SLOT = 0;
+
+    /** 商品ID（昇順） */
+    private final int[] ids;
+
+    /** 商品（ids と同じ順） */
+    private final Product[] products;
+
+    /** 商品IDのハッシュから「配列の位置 + 1」を引く索引（0 は空き） */
+    private final int[] index;
+
+    /** 生成時刻（エポックミリ秒） */
+    private final long createdAt;
+
+    private ProductSnapshot(int[] ids, Product[] products, int[] index, long createdAt) {
+        this.ids = ids;
+        this.products = products;
+        this.index = index;
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * 商品リストからスナップショットを生成する。
+     *
+     * @param source 商品リスト（順不同）
+     * @return スナップショット
+     */
+    static ProductSnapshot of(List<Product> source) {
+        Product[] products = new Product[source.size()];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = copyOf(source.get(i));
+        }
+        Arrays.sort(products, Comparator.comparingInt(Product::getId));
+        int[] ids = new int[products.length];
+        for (int i = 0; i < products.length; i++) {
+            ids[i] = products[i].getId();
+        }
+        return new ProductSnapshot(ids, products, buildIndex(ids), System.currentTimeMillis());
+    }
+
+    /**
+     * 商品IDの索引を作る。負荷率が 0.5 以下となる 2 のべき乗の大きさとする。
+     */
+    private static int[] buildIndex(int[] ids) {
+        int capacity = Integer.highestOneBit(Math.max(ids.length, 1) * 2 - 1) << 1;
+        int[] index = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < ids.length; i++) {
+            int slot = hash(ids[i]) & mask;
+            while (index[slot] != EMPTY_SLOT) {
+                slot = (slot + 1) & mask;
+            }
+            index[slot] = i + 1;
+        }
+        return index;
+    }
+
+    /**
+     * 連番の商品IDが索引上で偏らないよう、ビットを拡散する。
+     */
+    private static int hash(int id) {
+        int h = id * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * 商品IDから配列の位置を求める。
+     *
+     * @return 位置（存在しない場合は -1）
+     */
+    private int positionOf(int id) {
+        int mask = index.length - 1;
+        int slot = hash(id) & mask;
+        int entry;
+        while ((entry = index[slot]) != EMPTY_SLOT) {
+            if (ids[entry - 1] == id) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    /**
+     * 商品IDを指定して商品を取得する。
+     *
+     * @param id 商品ID
+     * @return 商品のコピー（存在しない場合 null）
+     */
+    Product get(int id) {
+        int position = positionOf(id);
+        return position < 0 ? null : copyOf(products[position]);
+    }
+
+    /**
+     * 指定した商品IDより大きい商品を、商品IDの昇順に最大件数まで取得する。
+     *
+     * @param afterId 前のページの最後の商品ID
+     * @param limit   取得する最大件数
+     * @return 商品のコピーのリスト
+     */
+    List<Product> pageAfter(int afterId, int limit) {
+        int from = Arrays.binarySearch(ids, afterId);
+        from = from >= 0 ? from + 1 : -from - 1;
+        int to = (int) Math.min((long) from + Math.max(limit, 0), ids.length);
+        return copies(from, to);
+    }
+
+    /**
+     * 全商品を商品IDの昇順に取得する。
+     *
+     * @return 商品のコピーのリスト
+     */
+    List<Product> all() {
+        return copies(0, products.length);
+    }
+
+    /**
+     * 1 件の商品を置き換えた・追加した・削除したスナップショットを返す。
+     * 既存の商品の置き換えでは商品IDの配列と索引を共有する。
+     *
+     * @param id      商品ID
+     * @param product 新しい内容（null の場合は削除）
+     * @return 新しいスナップショット
+     */
+    ProductSnapshot with(int id, Product product) {
+        int position = positionOf(id);
+        if (position >= 0 && product != null) {
+            Product[] next = products.clone();
+            next[position] = copyOf(product);
+            return new ProductSnapshot(ids, next, index, createdAt);
+        }
+        if (position < 0 && product == null) {
+            return this;
+        }
+        List<Product> next = new ArrayList<>(Arrays.asList(products));
+        if (position >= 0) {
+            next.remove(position);
+        } else {
+            next.add(product);
+        }
+        return rebuild(next);
+    }
+
+    /**
+     * 生成時刻を引き継いで作り直す（商品の追加・削除時）。
+     */
+    private ProductSnapshot rebuild(List<Product> source) {
+        ProductSnapshot rebuilt = of(source);
+        return new ProductSnapshot(rebuilt.ids, rebuilt.products, rebuilt.index, createdAt);
+    }
+
+    /**
+     * 保持している商品数を返す。
+     *
+     * @return 商品数
+     */
+    int size() {
+        return products.length;
+    }
+
+    /**
+     * 全件を読み込んで生成した時刻を返す（1 件の変更では更新しない）。
+     *
+     * @return 生成時刻（エポックミリ秒）
+     */
+    long createdAt() {
+        return createdAt;
+    }
+
+    private List<Product> copies(int from, int to) {
+        List<Product> result = new ArrayList<>(Math.max(to - from, 0));
+        for (int i = from; i < to; i++) {
+            result.add(copyOf(products[i]));
+        }
+        return result;
+    }
+
+    private static Product copyOf(Product source) {
+        return new Product(source.getId(), source.getName(), source.getPrice());
+    }
+}
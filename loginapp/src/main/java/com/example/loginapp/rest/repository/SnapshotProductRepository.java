@@ -0,0 +1,261 @@
+package com.example.loginapp.rest.repository;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.domain.repository.ProductRepository;
+import com.example.loginapp.rest.config.ProductSnapshotProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * 全商品を変更不可のスナップショット（{@link ProductSnapshot}）としてメモリに保持するリポジトリ（{@code product.store=snapshot}）。
+ * <p>
+ * 商品一覧・ページ単位・商品ID指定の取得は、現在のスナップショットを 1 回読むだけで DB にもロックにもアクセスしない。
+ * スナップショットの差し替えは新しいインスタンスを作って参照を置き換えるコピーオンライト方式とする。
+ * </p>
+ * <p>
+ * 価格の更新時は、トランザクションの完了後に該当商品だけを DB から読み直して差し替える（ロールバックされた価格は反映しない）。
+ * 全件は起動時と {@code product.snapshot.refresh-interval-millis} ごとに読み込み直し、アプリケーション外での変更を反映する。
+ * 差し替えは書き込み側だけがロックを取る。全件の DB の読み込みはロックの外で行い、
+ * 読み込み中に 1 件の差し替えがあった場合は、読み込んだ内容が古い可能性があるため破棄して読み込み直す。
+ * 1 件の読み直しはロックを取ったまま行い、同じ商品の更新が続いた場合に先に読んだ古い値で後から上書きしないようにする。
+ * 差し替えのたびに {@link ProductCatalogVersion} を進める。
+ * </p>
+ * <p>
+ * スナップショットの読み込みに成功するまでの取得は DB に委譲する。全件の出力は DB の内容を出力するため常に委譲する。
+ * </p>
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(prefix = "product", name = "store", havingValue = "snapshot")
+public class SnapshotProductRepository implements ProductRepository, MeterBinder, InitializingBean {
+
+    /** 実際の永続化を行うリポジトリ */
+    private final ProductRepository delegate;
+
+    /** スナップショットの設定 */
+    private final ProductSnapshotProperties properties;
+
+    /** スナップショットの差し替えのたびに進めるバージョン番号 */
+    private final ProductCatalogVersion version;
+
+    /** 現在のスナップショット（読み込み前は null） */
+    private volatile ProductSnapshot snapshot;
+
+    /** スナップショットの差し替えを直列化するロック（読み込み側は取らない） */
+    private final ReentrantLock swapLock = new ReentrantLock();
+
+    /** 1 件の差し替えの回数（全件の読み込み中の差し替えの検出に使用） */
+    private final AtomicLong incrementalUpdates = new AtomicLong();
+
+    /** 全件の読み込み回数 */
+    private final AtomicLong fullRefreshes = new AtomicLong();
+
+    /**
+     * ログ出力用のLogger
+     */
+    private static final Logger log = LoggerFactory.getLogger(SnapshotProductRepository.class);
+
+    /**
+     * コンストラクタ。
+     *
+     * @param delegate   MyBatis による商品リポジトリ
+     * @param properties スナップショットの設定
+     * @param version    商品のバージョン番号
+     */
+    public SnapshotProductRepository(MyBatisProductRepository delegate, ProductSnapshotProperties properties,
+            ProductCatalogVersion version) {
+        this.delegate = delegate;
+        this.properties = properties;
+        this.version = version;
+    }
+
+    /**
+     * 起動時に全商品を読み込む。失敗した場合は次回の定期読み込みまで DB に委譲する。
+     */
+    @Override
+    public void afterPropertiesSet() {
+        refreshAll();
+    }
+
+    /**
+     * 全商品を商品IDの昇順に取得する。
+     *
+     * @return 商品リストのコピー
+     */
+    @Override
+    public List<Product> findAll() {
+        ProductSnapshot current = snapshot;
+        return current != null ? current.all() : delegate.findAll();
+    }
+
+    /**
+     * 指定した商品IDより大きい商品を、商品IDの昇順に最大件数まで取得する。
+     *
+     * @param afterId 前のページの最後の商品ID
+     * @param limit   取得する最大件数
+     * @return 商品リストのコピー
+     */
+    @Override
+    public List<Product> findPageAfter(int afterId, int limit) {
+        ProductSnapshot current = snapshot;
+        return current != null ? current.pageAfter(afterId, limit) : delegate.findPageAfter(afterId, limit);
+    }
+
+    /**
+     * 全件の出力は DB の内容を出力するため、スナップショットを経由せずに委譲する。
+     */
+    @Override
+    public void forEachProduct(Consumer<Product> action) {
+        delegate.forEachProduct(action);
+    }
+
+    /**
+     * 商品IDを指定して商品を取得する。
+     *
+     * @param id 商品ID
+     * @return 商品のコピー（存在しない場合 null）
+     */
+    @Override
+    public Product findById(int id) {
+        ProductSnapshot current = snapshot;
+        return current != null ? current.get(id) : delegate.findById(id);
+    }
+
+    /**
+     * 商品の価格を更新し、トランザクションの完了後（トランザクション外であれば直後）に該当商品を差し替える。
+     *
+     * @param id    商品ID
+     * @param price 新しい価格
+     */
+    @Override
+    public void updatePrice(int id, BigDecimal price) {
+        delegate.updatePrice(id, price);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    refresh(id);
+                }
+            });
+        } else {
+            refresh(id);
+        }
+    }
+
+    /**
+     * ログの記録は商品の内容を変えないため、そのまま委譲する。
+     */
+    @Override
+    public void insertProductLog(int productId, String action) {
+        delegate.insertProductLog(productId, action);
+    }
+
+    /**
+     * 指定商品を DB から読み直し、スナップショットの該当商品を差し替える。
+     * 読み直しから差し替えまでをロック内で行うため、差し替えの順序は読み直しの順序と一致する。
+     * 読み直しに失敗した場合は次回の全件の読み込みで反映する。
+     *
+     * @param id 商品ID
+     */
+    void refresh(int id) {
+        swapLock.lock();
+        try {
+            incrementalUpdates.incrementAndGet();
+            Product product;
+            try {
+                product = delegate.findById(id);
+            } catch (DataAccessException e) {
+                log.warn("商品スナップショットの差し替えに失敗しました: id={}", id, e);
+                return;
+            }
+            ProductSnapshot current = snapshot;
+            if (current != null) {
+                snapshot = current.with(id, product);
+                version.advance();
+            }
+        } finally {
+            swapLock.unlock();
+        }
+    }
+
+    /**
+     * 全商品を読み込み直してスナップショットを差し替える。
+     * 読み込み中に 1 件の差し替えがあった場合は、設定回数まで読み込みをやり直す。
+     *
+     * @return 差し替えた場合 true
+     */
+    @Scheduled(initialDelayString = "${product.snapshot.refresh-interval-millis:300000}",
+            fixedDelayString = "${product.snapshot.refresh-interval-millis:300000}")
+    public boolean refreshAll() {
+        int attempts = Math.max(properties.getMaxRefreshAttempts(), 1);
+        for (int attempt = 0; attempt < attempts; attempt++) {
+            long updatesBefore = incrementalUpdates.get();
+            ProductSnapshot next;
+            try {
+                next = ProductSnapshot.of(delegate.findAll());
+            } catch (DataAccessException e) {
+                log.warn("商品スナップショットの読み込みに失敗しました", e);
+                return false;
+            }
+            swapLock.lock();
+            try {
+                if (incrementalUpdates.get() == updatesBefore) {
+                    snapshot = next;
+                    version.advance();
+                    fullRefreshes.incrementAndGet();
+                    log.info("商品スナップショットを読み込みました: 件数={}", next.size());
+                    return true;
+                }
+            } finally {
+                swapLock.unlock();
+            }
+        }
+        log.warn("商品スナップショットの読み込み中に更新が続いたため、差し替えを見送りました: 試行回数={}", attempts);
+        return false;
+    }
+
+    /**
+     * スナップショットの商品数・経過時間・全件の読み込み回数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("product.snapshot.size", this, repository -> {
+            ProductSnapshot current = repository.snapshot;
+            return current != null ? current.size() : 0;
+        })
+                .description("商品スナップショットに保持している商品数")
+                .register(registry);
+        Gauge.builder("product.snapshot.age", this, repository -> {
+            ProductSnapshot current = repository.snapshot;
+            return current != null ? System.currentTimeMillis() - current.createdAt() : Double.NaN;
+        })
+                .baseUnit("milliseconds")
+                .description("商品スナップショットを全件読み込んでからの経過時間")
+                .register(registry);
+        FunctionCounter.builder("product.snapshot.refreshes", fullRefreshes, AtomicLong::get)
+                .description("商品スナップショットの全件の読み込み回数")
+                .register(registry);
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.loginapp.rest.service;
+
+/**
+ * ログイン試行回数をクライアント IP とユーザ名の単位で制限するサービスインターフェース。
+ */
+public interface LoginRateLimiter {
+
+    /**
+     * ログイン試行を 1 回分取得する。IP とユーザ名のいずれかが上限に達している場合は拒否する。
+     *
+     * @param clientIp クライアント IP アドレス
+     * @param username ユーザ名（null 可）
+     * @return 許可された場合 0、拒否された場合は再試行可能になるまでの時間（ナノ秒）
+     */
+    long tryAcquire(String clientIp, String username);
+}
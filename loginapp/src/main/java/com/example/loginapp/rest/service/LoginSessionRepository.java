@@ -0,0 +1,90 @@
+package com.example.loginapp.rest.service;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * セッション ID をキーとしてログイン情報を保存するリポジトリインターフェース。
+ * <p>
+ * HttpSession を使用しない保存先（{@code session.store}）で使用し、
+ * セッション ID は Cookie でクライアントと受け渡す。
+ * </p>
+ */
+public interface LoginSessionRepository {
+
+    /**
+     * ログイン情報を保存し、新しいセッション ID を発行する。
+     *
+     * @param loginSession ログイン情報
+     * @return セッション ID
+     * @throws IllegalStateException 保存先の容量を超えた場合
+     */
+    String create(LoginSession loginSession);
+
+    /**
+     * セッション ID に対応するログイン情報を取得する。
+     *
+     * @param sessionId セッション ID（null 可）
+     * @return ログイン情報。存在しない・形式不正の場合は null
+     */
+    LoginSession find(String sessionId);
+
+    /**
+     * セッション ID に対応するログイン情報を、キャッシュを経由せずに保存先から取得する。
+     * 別ノードでの延長・ログアウトを反映した値で判定する必要がある場合（期限切れの削除前の再判定など）に使用する。
+     * 既定の実装は {@link #find(String)} と同じ（キャッシュを持たない保存先向け）。
+     *
+     * @param sessionId セッション ID（null 可）
+     * @return ログイン情報。存在しない・形式不正の場合は null
+     */
+    default LoginSession findLatest(String sessionId) {
+        return find(sessionId);
+    }
+
+    /**
+     * セッション ID に対応するログイン情報を削除する。存在しない場合は何もしない。
+     *
+     * @param sessionId セッション ID（null 可）
+     */
+    void delete(String sessionId);
+
+    /**
+     * ユーザの全ログイン情報を削除する。
+     *
+     * @param username ユーザ名
+     * @return 削除した件数
+     */
+    int deleteByUsername(String username);
+
+    /**
+     * ユーザのログイン情報を、指定セッションとログイン時刻の新しいものを合わせて最大件数まで残し、それ以外を削除する。
+     * 複数ノードで共有する保存先で、同時ログイン数の上限をノードをまたいで適用するために使用する。
+     * 既定の実装は何もしない（ノード間で共有しない保存先では、呼び出し元がこのノードのセッションに上限を適用する）。
+     *
+     * @param username    ユーザ名
+     * @param sessionId   必ず残すセッション ID（発行したばかりのセッション）
+     * @param maxSessions 残す最大件数
+     * @return 削除した件数
+     */
+    default int trimSessions(String username, String sessionId, int maxSessions) {
+        return 0;
+    }
+
+    /**
+     * セッション ID に対応するログイン情報の最終アクセス時刻を更新する。存在しない場合は何もしない。
+     * 保存先への反映は実装により遅延することがある。
+     *
+     * @param sessionId      セッション ID（null 可）
+     * @param lastAccessTime 最終アクセス時刻（エポックミリ秒）
+     */
+    void touch(String sessionId, long lastAccessTime);
+
+    /**
+     * 有効期限を過ぎたログイン情報を削除する。
+     *
+     * @param nowMillis     現在時刻（エポックミリ秒）
+     * @param timeoutMillis 有効期限（ミリ秒）
+     * @param sliding       true: 最終アクセス時刻から判定 / false: ログイン時刻から判定
+     * @return 削除した件数
+     */
+    int deleteExpired(long nowMillis, long timeoutMillis, boolean sliding);
+}
@@ -1,33 +1,80 @@
 package com.example.loginapp.rest.service;
 
-import jakarta.servlet.http.HttpSession;
+import java.util.function.Supplier;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 
 /**
  * REST 層で使用されるセッション操作を提供するサービスインターフェース。
  * ログイン情報の登録、セッションの無効化、セッションの有効性判定を定義する。
+ * <p>
+ * ログイン情報の保存先（HttpSession・署名付き Cookie など）は実装ごとに異なり、
+ * {@code session.store} で選択する。
+ * </p>
  */
 public interface SessionService {
 
     /**
      * ログイン情報をセッションに保存する。
      *
-     * @param session  HttpSession
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス（Cookie の発行に使用）
      * @param username ログインしたユーザ名
      */
-    void createLoginSession(HttpSession session, String username);
+    void createLoginSession(HttpServletRequest request, HttpServletResponse response, String username);
 
     /**
      * セッションを無効化（ログアウト）する。
      *
-     * @param session HttpSession
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス（Cookie の削除に使用。null の場合は削除しない）
+     */
+    void invalidateSession(HttpServletRequest request, HttpServletResponse response);
+
+    /**
+     * ログイン中のユーザの全セッションを無効化（全端末からログアウト）する。
+     *
+     * @param request  HTTP リクエスト
+     * @param response HTTP レスポンス（このリクエストの Cookie の削除に使用。null の場合は削除しない）
+     * @return 無効化したセッション数。未ログインの場合は 0
+     */
+    int invalidateAllSessions(HttpServletRequest request, HttpServletResponse response);
+
+    /**
+     * 保存されているログイン情報を取得する（有効期限は判定しない）。
+     *
+     * @param request HTTP リクエスト
+     * @return ログイン情報。未ログインの場合は null
+     */
+    LoginSession getLoginSession(HttpServletRequest request);
+
+    /**
+     * リクエストの終了後にログイン情報を再取得する関数を返す（SSE でセッションの期限を再判定するために使用）。
+     * 関数はリクエストのスレッド以外から呼び出される。
+     *
+     * @param request HTTP リクエスト
+     * @return 呼び出し時点のログイン情報を返す関数（ログアウト済みの場合は null を返す）
+     */
+    Supplier<LoginSession> loginSessionLookup(HttpServletRequest request);
+
+    /**
+     * ログイン情報が有効期限内かどうか判定する。
+     *
+     * @param loginSession {@link #getLoginSession(HttpServletRequest)} で取得したログイン情報
+     * @return true: 有効 / false: 期限切れ
      */
-    void invalidateSession(HttpSession session);
+    boolean isSessionValid(LoginSession loginSession);
 
     /**
-     * セッションが有効かどうか判定する。
+     * スライディング方式（{@code session.sliding-expiration=true}）の場合、最終アクセス時刻を更新して有効期限を延長する。
+     * 前回の更新から {@code session.touch-granularity-millis} 未満の場合、およびログイン時刻基準の場合は何もしない。
      *
-     * @param session HttpSession
-     * @return true: 有効 / false: 無効 or 期限切れ
+     * @param request      HTTP リクエスト
+     * @param response     HTTP レスポンス（Cookie の再発行に使用。null の場合は再発行しない）
+     * @param loginSession {@link #getLoginSession(HttpServletRequest)} で取得した有効なログイン情報
      */
-    boolean isSessionValid(HttpSession session);
-}
\ No newline at end of file
+    void touch(HttpServletRequest request, HttpServletResponse response, LoginSession loginSession);
+}
@@ -0,0 +1,189 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * キーごとのトークンバケットをロックなしで管理するレートリミッタ。
+ * <p>
+ * 各バケットは GCRA（Generic Cell Rate Algorithm）により「次にトークンが満杯になる理論時刻（TAT）」
+ * 1 つの {@link AtomicLong} だけで表現し、取得は CAS のみで行う。トークン数と最終補充時刻を
+ * 別々に持つ実装と異なり、同一キーへの同時アクセスでもロックや再計算の競合が発生しない。
+ * キーの検索は {@link ConcurrentHashMap} の読み取り（ロックなし）で行い、新規キーの登録時のみ
+ * ビン単位のロックを取る。
+ * </p>
+ * <p>
+ * TAT が現在時刻以前のバケットは満杯であり、削除しても新規作成と区別できない。
+ * {@link #evictIdle()} はこの性質を利用してアイドル状態のキーを精度を落とさずに削除する。
+ * キー数が上限に達した場合はまずアイドルキーを削除し（全件走査となるため 1 秒に 1 回まで）、
+ * それでも空きがなければ新規キーは追跡せず、すべての未追跡キーで共有する 1 つのあふれ用バケットから取得する。
+ * 大量のキーでテーブルを埋めても、未追跡キー全体でバケット 1 個分しか許可されない（フェイルクローズ）。
+ * </p>
+ */
+public class KeyedTokenBucket {
+
+    /** キー数の上限到達時にアイドルキーを削除する最短間隔（ナノ秒） */
+    private static final long INLINE_EVICTION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    /** キーごとの TAT（ナノ秒） */
+    private final Map<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+
+    /** トークン 1 個の補充間隔（ナノ秒） */
+    private final long emissionIntervalNanos;
+
+    /** バケット容量分の補充時間（ナノ秒）。TAT と現在時刻の差がこれを超えると拒否する */
+    private final long burstNanos;
+
+    /** 追跡するキー数の上限 */
+    private final int maxKeys;
+
+    /** 現在時刻（ナノ秒）の取得元 */
+    private final LongSupplier clock;
+
+    /** キー数の上限超過時に、未追跡キーすべてで共有する TAT（ナノ秒） */
+    private final AtomicLong overflow;
+
+    /** 上限到達時にアイドルキーを最後に削除した時刻（ナノ秒） */
+    private final AtomicLong lastInlineEviction;
+
+    /** 拒否した件数 */
+    private final AtomicLong rejectedCount = new AtomicLong();
+
+    /** キー数の上限超過によりあふれ用バケットから取得した件数（拒否を含む） */
+    private final AtomicLong untrackedCount = new AtomicLong();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param capacity        バケット容量（連続して許可する最大回数）
+     * @param refillPerMinute 1 分あたりの補充トークン数
+     * @param maxKeys         追跡するキー数の上限
+     * @param clock           現在時刻（ナノ秒）の取得元
+     */
+    public KeyedTokenBucket(int capacity, int refillPerMinute, int maxKeys, LongSupplier clock) {
+        if (capacity < 1 || refillPerMinute < 1 || maxKeys < 1) {
+            throw new IllegalArgumentException("capacity, refillPerMinute and maxKeys must be positive");
+        }
+        this.emissionIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+        this.burstNanos = emissionIntervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.clock = clock;
+        this.overflow = new AtomicLong(clock.getAsLong());
+        this.lastInlineEviction = new AtomicLong(clock.getAsLong() - INLINE_EVICTION_INTERVAL_NANOS);
+    }
+
+    /**
+     * 指定キーのトークンを 1 個取得する。
+     *
+     * @param key キー（null の場合は常に許可）
+     * @return 許可された場合 0、拒否された場合は次のトークンが補充されるまでの時間（ナノ秒）
+     */
+    public long tryAcquire(String key) {
+        if (key == null) {
+            return 0L;
+        }
+        long now = clock.getAsLong();
+        AtomicLong tat = bucketFor(key, now);
+        if (tat == null) {
+            untrackedCount.incrementAndGet();
+            tat = overflow;
+        }
+        return acquire(tat, now);
+    }
+
+    /**
+     * バケットからトークンを 1 個取得する。
+     *
+     * @return 許可された場合 0、拒否された場合は次のトークンが補充されるまでの時間（ナノ秒）
+     */
+    private long acquire(AtomicLong tat, long now) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, now) + emissionIntervalNanos;
+            long overshoot = next - now - burstNanos;
+            if (overshoot > 0) {
+                rejectedCount.incrementAndGet();
+                return overshoot;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return 0L;
+            }
+        }
+    }
+
+    /**
+     * 満杯（アイドル状態）のバケットを削除する。
+     *
+     * @return 削除したキー数
+     */
+    public int evictIdle() {
+        long now = clock.getAsLong();
+        int[] evicted = { 0 };
+        buckets.forEach((key, tat) -> {
+            if (tat.get() <= now && buckets.remove(key, tat)) {
+                evicted[0]++;
+            }
+        });
+        return evicted[0];
+    }
+
+    /**
+     * 指定キーのバケットを取得し、存在しなければ作成する。
+     *
+     * @return バケット。キー数が上限に達している場合は null
+     */
+    private AtomicLong bucketFor(String key, long now) {
+        AtomicLong tat = buckets.get(key);
+        if (tat != null) {
+            return tat;
+        }
+        if (buckets.size() >= maxKeys && !(tryInlineEviction(now) && buckets.size() < maxKeys)) {
+            return null;
+        }
+        return buckets.computeIfAbsent(key, k -> new AtomicLong(now));
+    }
+
+    /**
+     * 前回から一定時間が経過している場合に限り、アイドルキーを削除する。
+     *
+     * @return 削除を実行した場合 true
+     */
+    private boolean tryInlineEviction(long now) {
+        long last = lastInlineEviction.get();
+        if (now - last < INLINE_EVICTION_INTERVAL_NANOS || !lastInlineEviction.compareAndSet(last, now)) {
+            return false;
+        }
+        evictIdle();
+        return true;
+    }
+
+    /**
+     * 追跡中のキー数を返す。
+     *
+     * @return キー数
+     */
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * 拒否した件数を返す。
+     *
+     * @return 拒否件数
+     */
+    public long rejectedCount() {
+        return rejectedCount.get();
+    }
+
+    /**
+     * キー数の上限超過によりあふれ用バケットから取得した件数（拒否を含む）を返す。
+     *
+     * @return 件数
+     */
+    public long untrackedCount() {
+        return untrackedCount.get();
+    }
+}
@@ -0,0 +1,280 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.loginapp.rest.config.SessionProperties;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * ユーザごとの有効なセッション ID を管理するレジストリ。
+ * <p>
+ * ユーザ名をキーに、ログイン順に並んだセッションの配列を {@link ConcurrentHashMap} で保持する。
+ * 登録・削除は {@link ConcurrentHashMap#compute} でユーザ名のビン単位に排他し、配列を置き換える（コピーオンライト）。
+ * 異なるユーザのログイン・ログアウトは互いに待たず、同じユーザの操作だけが直列化される。
+ * 最終アクセス時刻の更新はセッション ID をキーとした索引からエントリを引いて上書きするだけで、ロックを取らない。
+ * </p>
+ * <p>
+ * {@code session.max-sessions-per-user} を超えるログインでは、ログイン時刻の古いセッションから登録を外し、
+ * その ID を呼び出し元に返す（保存先からの削除は呼び出し元が行う）。
+ * 有効期限を過ぎたエントリは登録時と {@link #pruneExpired()} で取り除く。
+ * </p>
+ */
+@Component
+public class LoginSessionRegistry implements MeterBinder {
+
+    /** 空の配列 */
+    private static final Entry[] EMPTY = new Entry[0];
+
+    /** セッションに関する設定値を保持するプロパティクラス */
+    private final SessionProperties sessionProperties;
+
+    /** ユーザ名をキーとした、ログイン順のセッション */
+    private final ConcurrentHashMap<String, Entry[]> sessionsByUser = new ConcurrentHashMap<>();
+
+    /** セッション ID をキーとしたエントリ */
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /** 上限を超えたため登録を外したセッション数 */
+    private final AtomicLong evictedCount = new AtomicLong();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param sessionProperties セッション設定
+     */
+    public LoginSessionRegistry(SessionProperties sessionProperties) {
+        this.sessionProperties = sessionProperties;
+    }
+
+    /**
+     * セッションを登録する。ユーザのセッション数が上限を超える場合は、ログイン時刻の古いものから登録を外す。
+     * 同じセッション ID が登録済みの場合は置き換える。
+     *
+     * @param username  ユーザ名
+     * @param sessionId セッション ID
+     * @param loginTime ログイン時刻（エポックミリ秒）
+     * @return 上限を超えたため登録を外したセッション ID（古い順）
+     */
+    public List<String> register(String username, String sessionId, long loginTime) {
+        unregister(sessionId);
+        int maxSessions = sessionProperties.getMaxSessionsPerUser();
+        Entry entry = new Entry(username, sessionId, loginTime);
+        List<String> evicted = new ArrayList<>(0);
+        sessionsByUser.compute(username, (user, current) -> {
+            Entry[] live = withoutExpired(current, loginTime);
+            int evict = maxSessions > 0 ? Math.max(0, live.length + 1 - maxSessions) : 0;
+            for (int i = 0; i < evict; i++) {
+                entries.remove(live[i].sessionId, live[i]);
+                evicted.add(live[i].sessionId);
+            }
+            Entry[] next = Arrays.copyOfRange(live, evict, live.length + 1);
+            next[next.length - 1] = entry;
+            entries.put(sessionId, entry);
+            return next;
+        });
+        evictedCount.addAndGet(evicted.size());
+        return evicted;
+    }
+
+    /**
+     * セッションの登録を外す。登録されていない場合は何もしない。
+     *
+     * @param sessionId セッション ID（null 可）
+     */
+    public void unregister(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        Entry entry = entries.remove(sessionId);
+        if (entry != null) {
+            sessionsByUser.computeIfPresent(entry.username, (user, current) -> without(current, entry));
+        }
+    }
+
+    /**
+     * ユーザの全セッションの登録を外す。
+     *
+     * @param username ユーザ名
+     * @return 登録を外したセッション ID（古い順）
+     */
+    public List<String> unregisterAll(String username) {
+        Entry[] removed = sessionsByUser.remove(username);
+        if (removed == null) {
+            return List.of();
+        }
+        List<String> sessionIds = new ArrayList<>(removed.length);
+        for (Entry entry : removed) {
+            entries.remove(entry.sessionId, entry);
+            sessionIds.add(entry.sessionId);
+        }
+        return sessionIds;
+    }
+
+    /**
+     * セッションの最終アクセス時刻を更新する（スライディング方式での有効期限の判定に使用）。
+     *
+     * @param sessionId      セッション ID（null 可）
+     * @param lastAccessTime 最終アクセス時刻（エポックミリ秒）
+     */
+    public void touch(String sessionId, long lastAccessTime) {
+        Entry entry = sessionId != null ? entries.get(sessionId) : null;
+        if (entry != null && entry.lastAccessTime < lastAccessTime) {
+            entry.lastAccessTime = lastAccessTime;
+        }
+    }
+
+    /**
+     * ユーザの登録中のセッション ID を返す。
+     *
+     * @param username ユーザ名
+     * @return セッション ID（古い順）
+     */
+    public List<String> sessionIds(String username) {
+        Entry[] current = sessionsByUser.getOrDefault(username, EMPTY);
+        List<String> sessionIds = new ArrayList<>(current.length);
+        for (Entry entry : current) {
+            sessionIds.add(entry.sessionId);
+        }
+        return sessionIds;
+    }
+
+    /**
+     * ユーザの登録中のセッション数を返す。
+     *
+     * @param username ユーザ名
+     * @return セッション数
+     */
+    public int sessionCount(String username) {
+        return sessionsByUser.getOrDefault(username, EMPTY).length;
+    }
+
+    /**
+     * 登録中の全セッション数を返す。
+     *
+     * @return セッション数
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 有効期限を過ぎたエントリを定期的に取り除く（ログアウト・期限切れの通知がなかったセッション向け）。
+     *
+     * @return 取り除いた件数
+     */
+    @Scheduled(fixedDelayString = "${session.sweep-interval-millis:60000}")
+    public int pruneExpired() {
+        long now = System.currentTimeMillis();
+        int before = entries.size();
+        for (String username : sessionsByUser.keySet()) {
+            sessionsByUser.computeIfPresent(username, (user, current) -> {
+                Entry[] live = withoutExpired(current, now);
+                return live.length == 0 ? null : live;
+            });
+        }
+        return Math.max(0, before - entries.size());
+    }
+
+    /**
+     * 登録中のセッション数・ユーザ数と、上限を超えたため登録を外したセッション数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.session.registry.sessions", entries, ConcurrentHashMap::size)
+                .description("セッションレジストリに登録中のセッション数")
+                .register(registry);
+        Gauge.builder("login.session.registry.users", sessionsByUser, ConcurrentHashMap::size)
+                .description("セッションレジストリに登録中のユーザ数")
+                .register(registry);
+        FunctionCounter.builder("login.session.evicted", evictedCount, AtomicLong::get)
+                .description("ユーザあたりのセッション数の上限を超えたため無効化したセッション数")
+                .register(registry);
+    }
+
+    /**
+     * 有効期限を過ぎたエントリを除いた配列を返す（除いたエントリは索引からも削除する）。
+     * {@link ConcurrentHashMap#compute} の中から呼び出す。
+     */
+    private Entry[] withoutExpired(Entry[] current, long now) {
+        if (current == null) {
+            return EMPTY;
+        }
+        long timeout = sessionProperties.getTimeoutMillis();
+        boolean sliding = sessionProperties.isSlidingExpiration();
+        Entry[] live = null;
+        int count = 0;
+        for (int i = 0; i < current.length; i++) {
+            Entry entry = current[i];
+            if (entry.isExpired(now, timeout, sliding)) {
+                entries.remove(entry.sessionId, entry);
+                if (live == null) {
+                    live = Arrays.copyOf(current, i);
+                    count = i;
+                }
+            } else if (live != null) {
+                live[count++] = entry;
+            }
+        }
+        return live == null ? current : Arrays.copyOf(live, count);
+    }
+
+    /**
+     * 指定のエントリを除いた配列を返す。空になる場合は null（ユーザのキーを削除する）。
+     */
+    private static Entry[] without(Entry[] current, Entry entry) {
+        for (int i = 0; i < current.length; i++) {
+            if (current[i] == entry) {
+                if (current.length == 1) {
+                    return null;
+                }
+                Entry[] next = new Entry[current.length - 1];
+                System.arraycopy(current, 0, next, 0, i);
+                System.arraycopy(current, i + 1, next, i, current.length - i - 1);
+                return next;
+            }
+        }
+        return current;
+    }
+
+    /**
+     * 登録中のセッション。
+     */
+    private static final class Entry {
+
+        /** ユーザ名 */
+        private final String username;
+
+        /** セッション ID */
+        private final String sessionId;
+
+        /** ログイン時刻 */
+        private final long loginTime;
+
+        /** 最終アクセス時刻 */
+        private volatile long lastAccessTime;
+
+        private Entry(String username, String sessionId, long loginTime) {
+            this.username = username;
+            this.sessionId = sessionId;
+            this.loginTime = loginTime;
+            this.lastAccessTime = loginTime;
+        }
+
+        private boolean isExpired(long now, long timeout, boolean sliding) {
+            return now > (sliding ? lastAccessTime : loginTime) + timeout;
+        }
+    }
+}
@@ -0,0 +1,365 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.LoginSessionRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * ログイン情報をヒープ外の固定長スロットに保存する {@link LoginSessionRepository} の実装クラス。
+ * <p>
+ * 起動時に {@code maxSessions} 個分のスロットをダイレクトバッファとして確保し、
+ * 1 スロットに乱数の照合値・ログイン時刻・最終アクセス時刻・ユーザ名（UTF-8）を格納する。
+ * セッション ID はスロット番号と照合値から成り、セッション数が増えてもヒープ上のオブジェクトは増えない。
+ * </p>
+ * <p>
+ * スロットに収まらない長さのユーザ名（users.username は最大 255 文字）はスロット番号をキーにヒープ上に保持し、
+ * スロットにはその旨を示すバイト数のみを格納する。スロット長を列の最大バイト数に合わせると
+ * ほとんどのセッションで領域が無駄になるため、長いユーザ名のみをヒープ上に逃がす。
+ * </p>
+ * <p>
+ * 読み出しはロックを取らず、照合値を前後 2 回読んで一致した場合のみ有効とする（シーケンスロック）。
+ * スロットの解放は照合値を 0 に CAS で書き換えて行い、空きスロットの管理のみロックで保護する。
+ * 最終アクセス時刻は照合値を変えずに 8 バイト単位で上書きするため、読み出し側は更新前後のどちらかの値を得る。
+ * </p>
+ */
+public class OffHeapLoginSessionRepository implements LoginSessionRepository, MeterBinder {
+
+    /** 照合値のオフセット（0 は空きスロット） */
+    private static final int NONCE_OFFSET = 0;
+
+    /** ログイン時刻のオフセット */
+    private static final int LOGIN_TIME_OFFSET = 8;
+
+    /** 最終アクセス時刻のオフセット */
+    private static final int LAST_ACCESS_TIME_OFFSET = 16;
+
+    /** ユーザ名のバイト数のオフセット */
+    private static final int LENGTH_OFFSET = 24;
+
+    /** ユーザ名のオフセット */
+    private static final int USERNAME_OFFSET = 26;
+
+    /** ユーザ名をヒープ上に保持していることを示すバイト数 */
+    private static final short OVERFLOW_LENGTH = -1;
+
+    /** セッション ID のバイト数（スロット番号 + 照合値） */
+    private static final int ID_BYTES = Integer.BYTES + Long.BYTES;
+
+    /** セッション ID の文字数（Base64URL、パディングなし） */
+    private static final int ID_LENGTH = (ID_BYTES * 4 + 2) / 3;
+
+    /** 照合値・最終アクセス時刻の読み書きに使用する VarHandle */
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class,
+            ByteOrder.nativeOrder());
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** スロット領域 */
+    private final ByteBuffer memory;
+
+    /** スロット数 */
+    private final int slotCount;
+
+    /** 1 スロットのバイト数（8 の倍数） */
+    private final int slotBytes;
+
+    /** スロットに格納するユーザ名の最大バイト数 */
+    private final int maxUsernameBytes;
+
+    /** スロットに収まらないユーザ名（スロット番号をキーとする） */
+    private final Map<Integer, String> overflowUsernames = new ConcurrentHashMap<>();
+
+    /** 空きスロット番号のスタック */
+    private final int[] freeSlots;
+
+    /** 空きスロット数 */
+    private int freeCount;
+
+    /** 空きスロットの管理を保護するロック */
+    private final ReentrantLock freeLock = new ReentrantLock();
+
+    /** 照合値の生成 */
+    private final SecureRandom random = new SecureRandom();
+
+    /**
+     * コンストラクタ。スロット領域を確保する。
+     *
+     * @param maxSessions      保存できるセッション数の上限
+     * @param maxUsernameBytes スロットに格納するユーザ名の最大バイト数（UTF-8）
+     */
+    public OffHeapLoginSessionRepository(int maxSessions, int maxUsernameBytes) {
+        if (maxSessions < 1 || maxUsernameBytes < 1 || maxUsernameBytes > Short.MAX_VALUE) {
+            throw new IllegalArgumentException(
+                    "invalid off-heap session size: sessions=" + maxSessions + ", usernameBytes=" + maxUsernameBytes);
+        }
+        this.slotBytes = (USERNAME_OFFSET + maxUsernameBytes + Long.BYTES - 1) & -Long.BYTES;
+        if ((long) maxSessions * slotBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("off-heap session region exceeds 2 GiB: sessions=" + maxSessions);
+        }
+        this.slotCount = maxSessions;
+        this.maxUsernameBytes = maxUsernameBytes;
+        this.memory = ByteBuffer.allocateDirect(maxSessions * slotBytes).order(ByteOrder.nativeOrder());
+        this.freeSlots = new int[maxSessions];
+        for (int i = 0; i < maxSessions; i++) {
+            freeSlots[i] = maxSessions - 1 - i;
+        }
+        this.freeCount = maxSessions;
+    }
+
+    @Override
+    public String create(LoginSession loginSession) {
+        byte[] username = loginSession.username().getBytes(StandardCharsets.UTF_8);
+        long nonce = nextNonce();
+        int slot = allocate();
+        int base = slot * slotBytes;
+        memory.putLong(base + LOGIN_TIME_OFFSET, loginSession.loginTime());
+        LONGS.setOpaque(memory, base + LAST_ACCESS_TIME_OFFSET, loginSession.lastAccessTime());
+        if (username.length > maxUsernameBytes) {
+            overflowUsernames.put(slot, loginSession.username());
+            memory.putShort(base + LENGTH_OFFSET, OVERFLOW_LENGTH);
+        } else {
+            memory.putShort(base + LENGTH_OFFSET, (short) username.length);
+            memory.put(base + USERNAME_OFFSET, username);
+        }
+        LONGS.setRelease(memory, base + NONCE_OFFSET, nonce);
+        return ENCODER.encodeToString(ByteBuffer.allocate(ID_BYTES).putInt(slot).putLong(nonce).array());
+    }
+
+    @Override
+    public LoginSession find(String sessionId) {
+        SessionId id = parse(sessionId);
+        if (id == null) {
+            return null;
+        }
+        long nonce = id.nonce();
+        int base = id.slot() * slotBytes;
+        if ((long) LONGS.getAcquire(memory, base + NONCE_OFFSET) != nonce) {
+            return null;
+        }
+        long loginTime = memory.getLong(base + LOGIN_TIME_OFFSET);
+        long lastAccessTime = (long) LONGS.getOpaque(memory, base + LAST_ACCESS_TIME_OFFSET);
+        String username = readUsername(id.slot(), base);
+        VarHandle.acquireFence();
+        if (username == null || (long) LONGS.getOpaque(memory, base + NONCE_OFFSET) != nonce) {
+            return null;
+        }
+        return new LoginSession(username, loginTime, lastAccessTime);
+    }
+
+    @Override
+    public void delete(String sessionId) {
+        SessionId id = parse(sessionId);
+        if (id != null) {
+            release(id.slot(), id.nonce());
+        }
+    }
+
+    /**
+     * 全スロットを走査し、ユーザ名が一致するスロットを解放する。
+     * スロットに収まらないユーザ名はヒープ上に保持している分のみを照合する。
+     * 走査中に再利用されたスロットは照合値の CAS で解放しない。
+     */
+    @Override
+    public int deleteByUsername(String username) {
+        byte[] target = username.getBytes(StandardCharsets.UTF_8);
+        if (target.length > maxUsernameBytes) {
+            return deleteOverflowByUsername(username);
+        }
+        byte[] stored = new byte[target.length];
+        int deleted = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = slot * slotBytes;
+            long nonce = (long) LONGS.getAcquire(memory, base + NONCE_OFFSET);
+            if (nonce == 0 || memory.getShort(base + LENGTH_OFFSET) != target.length) {
+                continue;
+            }
+            memory.get(base + USERNAME_OFFSET, stored);
+            VarHandle.acquireFence();
+            if (Arrays.equals(stored, target) && release(slot, nonce)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 照合値が一致する場合に最終アクセス時刻を上書きする。
+     * 判定と上書きの間にスロットが再利用された場合は新しいセッションの最終アクセス時刻を上書きするが、
+     * 値はいずれも現在時刻付近であるため有効期限はほぼ変わらない。
+     */
+    @Override
+    public void touch(String sessionId, long lastAccessTime) {
+        SessionId id = parse(sessionId);
+        if (id == null) {
+            return;
+        }
+        int base = id.slot() * slotBytes;
+        if ((long) LONGS.getAcquire(memory, base + NONCE_OFFSET) == id.nonce()) {
+            LONGS.setOpaque(memory, base + LAST_ACCESS_TIME_OFFSET, lastAccessTime);
+        }
+    }
+
+    @Override
+    public int deleteExpired(long nowMillis, long timeoutMillis, boolean sliding) {
+        int timeOffset = sliding ? LAST_ACCESS_TIME_OFFSET : LOGIN_TIME_OFFSET;
+        int deleted = 0;
+        for (int slot = 0; slot < slotCount; slot++) {
+            int base = slot * slotBytes;
+            long nonce = (long) LONGS.getAcquire(memory, base + NONCE_OFFSET);
+            if (nonce != 0 && nowMillis - (long) LONGS.getOpaque(memory, base + timeOffset) > timeoutMillis
+                    && release(slot, nonce)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 保存中のセッション数を返す。
+     *
+     * @return セッション数
+     */
+    public int size() {
+        freeLock.lock();
+        try {
+            return slotCount - freeCount;
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    /**
+     * 保存中のセッション数と上限をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.session.offheap.used", this, OffHeapLoginSessionRepository::size)
+                .description("ヒープ外に保存中のセッション数")
+                .register(registry);
+        Gauge.builder("login.session.offheap.capacity", this, repository -> repository.slotCount)
+                .register(registry);
+    }
+
+    /**
+     * スロットのユーザ名を読み出す。呼び出し側は読み出し後に照合値を再確認すること。
+     *
+     * @return ユーザ名。読み出し中にスロットが解放・再利用され、値が不正な場合は null
+     */
+    private String readUsername(int slot, int base) {
+        int length = memory.getShort(base + LENGTH_OFFSET);
+        if (length == OVERFLOW_LENGTH) {
+            return overflowUsernames.get(slot);
+        }
+        if (length < 0 || length > maxUsernameBytes) {
+            return null;
+        }
+        byte[] username = new byte[length];
+        memory.get(base + USERNAME_OFFSET, username);
+        return new String(username, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * ヒープ上に保持しているユーザ名のうち、一致するスロットを解放する。
+     */
+    private int deleteOverflowByUsername(String username) {
+        int deleted = 0;
+        for (Map.Entry<Integer, String> entry : overflowUsernames.entrySet()) {
+            int slot = entry.getKey();
+            long nonce = (long) LONGS.getAcquire(memory, slot * slotBytes + NONCE_OFFSET);
+            if (nonce != 0 && username.equals(overflowUsernames.get(slot)) && release(slot, nonce)) {
+                deleted++;
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * 空きスロットを 1 つ取得する。
+     */
+    private int allocate() {
+        freeLock.lock();
+        try {
+            if (freeCount == 0) {
+                throw new IllegalStateException("off-heap session store is full: " + slotCount);
+            }
+            return freeSlots[--freeCount];
+        } finally {
+            freeLock.unlock();
+        }
+    }
+
+    /**
+     * 照合値が一致する場合にスロットを解放する。
+     * ヒープ上に保持しているユーザ名は、スロットを空きに戻して再利用される前に削除する。
+     *
+     * @return 解放した場合 true
+     */
+    private boolean release(int slot, long nonce) {
+        if (!LONGS.compareAndSet(memory, slot * slotBytes + NONCE_OFFSET, nonce, 0L)) {
+            return false;
+        }
+        overflowUsernames.remove(slot);
+        freeLock.lock();
+        try {
+            freeSlots[freeCount++] = slot;
+        } finally {
+            freeLock.unlock();
+        }
+        return true;
+    }
+
+    /**
+     * 0 以外の照合値を生成する。
+     */
+    private long nextNonce() {
+        long nonce;
+        do {
+            nonce = random.nextLong();
+        } while (nonce == 0);
+        return nonce;
+    }
+
+    /**
+     * セッション ID を解析する。
+     *
+     * @return スロット番号と照合値。形式不正・範囲外の場合は null
+     */
+    private SessionId parse(String sessionId) {
+        if (sessionId == null || sessionId.length() != ID_LENGTH) {
+            return null;
+        }
+        ByteBuffer id;
+        try {
+            id = ByteBuffer.wrap(DECODER.decode(sessionId));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        int slot = id.getInt();
+        long nonce = id.getLong();
+        return slot >= 0 && slot < slotCount && nonce != 0 ? new SessionId(slot, nonce) : null;
+    }
+
+    /**
+     * 解析済みのセッション ID。
+     */
+    private record SessionId(int slot, long nonce) {
+    }
+}
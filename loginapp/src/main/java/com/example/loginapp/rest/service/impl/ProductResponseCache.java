@@ -0,0 +1,135 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import com.example.loginapp.rest.config.ProductResponseCacheProperties;
+import com.example.loginapp.rest.repository.AsyncCacheLoader;
+import com.example.loginapp.rest.repository.ProductCatalogVersion;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * 商品レスポンスを UTF-8 の JSON にシリアライズしたバイト列と ETag を保持するキャッシュ。
+ * <p>
+ * キーには読み込み前に取得した {@link ProductCatalogVersion} のバージョン番号を含める。
+ * 商品の変更でバージョン番号が進むと以降の取得は新しいキーを参照するため、古いバイト列は返さず、
+ * 読み込み中に変更があった場合もその内容は古いキーにしか登録されない。古いキーのエントリは件数上限・TTL で追い出される。
+ * </p>
+ * <p>
+ * ETag はバイト列の MD5 ハッシュとする（{@link org.springframework.web.filter.ShallowEtagHeaderFilter} と同じ形式）。
+ * バージョン番号は再起動・スナップショットの読み込み直しでも進むため、内容が同じであれば ETag は変わらない。
+ * </p>
+ * <p>
+ * {@link com.example.loginapp.rest.repository.CachingProductRepository} と同様に {@link AsyncCacheLoader} を使用し、
+ * 読み込みとシリアライズは呼び出し元スレッドでキャッシュのロックの外で行う。
+ * 読み込み結果が null の場合（商品が存在しない場合）はキャッシュしない。
+ * ヒット数・ミス数・追い出し数は Micrometer の {@code cache.*} メトリクスとして公開する。
+ * </p>
+ */
+@Component
+public class ProductResponseCache implements MeterBinder {
+
+    /** メトリクス上のキャッシュ名 */
+    static final String CACHE_NAME = "products.responses";
+
+    /** 商品のバージョン番号 */
+    private final ProductCatalogVersion version;
+
+    /** レスポンスのシリアライズに使用する ObjectMapper */
+    private final ObjectMapper objectMapper;
+
+    /** バージョン番号とレスポンスの種類をキーとしたキャッシュ（値は読み込み中・読み込み済みのレスポンス） */
+    private final AsyncCache<Key, SerializedResponse> cache;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param version      商品のバージョン番号
+     * @param objectMapper レスポンスのシリアライズに使用する ObjectMapper
+     * @param properties   キャッシュ設定
+     */
+    public ProductResponseCache(ProductCatalogVersion version, ObjectMapper objectMapper,
+            ProductResponseCacheProperties properties) {
+        this.version = version;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(Duration.ofMillis(properties.getTtlMillis()))
+                .recordStats()
+                .buildAsync();
+    }
+
+    /**
+     * 現在のバージョン番号のシリアライズ済みレスポンスを取得し、なければ読み込んでシリアライズする。
+     * 同一キーへの同時ミスは 1 回の読み込みにまとめられる。
+     *
+     * @param name   レスポンスの種類（一覧のページ・商品ID指定の取得を区別する文字列）
+     * @param loader レスポンスを読み込む処理（該当するものがない場合 null を返す）
+     * @return シリアライズ済みのレスポンス（読み込み結果が null の場合 null）
+     */
+    public SerializedResponse get(String name, Supplier<?> loader) {
+        return AsyncCacheLoader.load(cache, new Key(version.current(), name), () -> {
+            Object body = loader.get();
+            return body == null ? null : serialize(body);
+        });
+    }
+
+    /**
+     * すべてのエントリを破棄する。
+     */
+    public void invalidateAll() {
+        cache.synchronous().invalidateAll();
+    }
+
+    /**
+     * キャッシュのヒット・ミス・追い出し件数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, CACHE_NAME);
+    }
+
+    /**
+     * レスポンスを UTF-8 の JSON にシリアライズし、ETag を付ける。
+     */
+    private SerializedResponse serialize(Object body) {
+        byte[] bytes;
+        try {
+            bytes = objectMapper.writeValueAsBytes(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new SerializedResponse(bytes, "\"0" + DigestUtils.md5DigestAsHex(bytes) + "\"");
+    }
+
+    /**
+     * シリアライズ済みのレスポンス。
+     *
+     * @param body UTF-8 の JSON（キャッシュと共有するため変更しないこと）
+     * @param etag 引用符で囲んだ ETag
+     */
+    public record SerializedResponse(byte[] body, String etag) {
+    }
+
+    /**
+     * キャッシュのキー。
+     *
+     * @param version バージョン番号
+     * @param name    レスポンスの種類
+     */
+    private record Key(long version, String name) {
+    }
+}
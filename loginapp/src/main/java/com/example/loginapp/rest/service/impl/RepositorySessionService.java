@@ -0,0 +1,296 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.LoginSessionRepository;
+import com.example.loginapp.rest.service.SessionService;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ログイン情報を {@link LoginSessionRepository} に保存し、セッション ID を Cookie で受け渡す
+ * {@link SessionService} の実装クラス。
+ * <p>
+ * HttpSession を作成しないため、Tomcat のセッション管理にログイン情報が残らない。
+ * ログイン時は既存のセッション ID を破棄して新しい ID を発行する。
+ * スライディング方式では、最終アクセス時刻の更新と同時に Cookie の有効期限も延長する。
+ * </p>
+ * <p>
+ * このノードで発行したセッションの期限は {@link SessionExpiryWheel} に登録し、
+ * {@link #reapExpired()} が期限に達したものから削除する（ログアウト時は登録を取り消す）。
+ * 別ノードで発行されたセッションや再起動前のセッションは {@link #deleteExpired()} の全件走査で削除する。
+ * </p>
+ * <p>
+ * このノードで発行したセッションは {@link LoginSessionRegistry} にユーザごとに登録し、
+ * 同時ログイン数の上限を超えた古いセッションは保存先から直接削除する。
+ * ノード間で共有する保存先（jdbc）では、さらに {@link LoginSessionRepository#trimSessions(String, String, int)}
+ * で保存先のユーザのセッション数に上限を適用し、別ノードで発行したセッションも数に含める。
+ * 全端末からのログアウトは保存先のユーザ名による削除で行うため、別ノード・再起動前のセッションも対象となる。
+ * </p>
+ */
+public class RepositorySessionService implements SessionService, MeterBinder {
+
+    /** ログイン情報の保存先 */
+    private final LoginSessionRepository repository;
+
+    /** セッションに関する設定値を保持するプロパティクラス */
+    private final SessionProperties sessionProperties;
+
+    /** ログイン処理の段階ごとの所要時間 */
+    private final LoginLatencyMetrics latencyMetrics;
+
+    /** ユーザごとのセッションのレジストリ */
+    private final LoginSessionRegistry sessionRegistry;
+
+    /** このノードで発行したセッションの期限（{@code session.reaper.enabled=false} の場合は null） */
+    private final SessionExpiryWheel expiryWheel;
+
+    /** 期限に達して削除したセッション数 */
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    /** ログ出力用のLogger */
+    private static final Logger log = LoggerFactory.getLogger(RepositorySessionService.class);
+
+    /**
+     * コンストラクタ。
+     *
+     * @param repository        ログイン情報の保存先
+     * @param sessionProperties セッション設定
+     * @param latencyMetrics    ログイン処理の段階ごとの所要時間
+     * @param sessionRegistry   ユーザごとのセッションのレジストリ
+     */
+    public RepositorySessionService(LoginSessionRepository repository, SessionProperties sessionProperties,
+            LoginLatencyMetrics latencyMetrics, LoginSessionRegistry sessionRegistry) {
+        this.repository = repository;
+        this.sessionProperties = sessionProperties;
+        this.latencyMetrics = latencyMetrics;
+        this.sessionRegistry = sessionRegistry;
+        SessionProperties.Reaper reaper = sessionProperties.getReaper();
+        this.expiryWheel = reaper.isEnabled()
+                ? new SessionExpiryWheel(reaper.getTickMillis(), reaper.getWheelSize(), System.currentTimeMillis())
+                : null;
+    }
+
+    /**
+     * ログイン情報を保存し、セッション ID を Cookie に設定する。
+     */
+    @Override
+    public void createLoginSession(HttpServletRequest request, HttpServletResponse response, String username) {
+        long start = LoginLatencyMetrics.start();
+        String previous = sessionIdOf(request);
+        remove(previous);
+        long now = System.currentTimeMillis();
+        String sessionId = repository.create(new LoginSession(username, now));
+        scheduleExpiry(sessionId, now + sessionProperties.getTimeoutMillis());
+        for (String evicted : sessionRegistry.register(username, sessionId, now)) {
+            cancelExpiry(evicted);
+            repository.delete(evicted);
+        }
+        int maxSessions = sessionProperties.getMaxSessionsPerUser();
+        if (maxSessions > 0) {
+            repository.trimSessions(username, sessionId, maxSessions);
+        }
+        SessionProperties.Cookie cookie = sessionProperties.getCookie();
+        SessionCookies.set(response, cookie.getName(), sessionId, cookie.isSecure(), cookie.getSameSite(),
+                sessionProperties.getTimeoutMillis());
+        latencyMetrics.record(Stage.CREATE_SESSION, start);
+    }
+
+    /**
+     * ログイン情報を削除し、Cookie を削除する。
+     */
+    @Override
+    public void invalidateSession(HttpServletRequest request, HttpServletResponse response) {
+        remove(sessionIdOf(request));
+        clearCookie(response);
+    }
+
+    /**
+     * ログイン中のユーザの全ログイン情報を保存先から削除し、このリクエストの Cookie を削除する。
+     */
+    @Override
+    public int invalidateAllSessions(HttpServletRequest request, HttpServletResponse response) {
+        LoginSession loginSession = getLoginSession(request);
+        if (loginSession == null) {
+            return 0;
+        }
+        for (String sessionId : sessionRegistry.unregisterAll(loginSession.username())) {
+            cancelExpiry(sessionId);
+        }
+        cancelExpiry(sessionIdOf(request));
+        int deleted = repository.deleteByUsername(loginSession.username());
+        clearCookie(response);
+        return deleted;
+    }
+
+    /**
+     * Cookie のセッション ID に対応するログイン情報を取得する。
+     */
+    @Override
+    public LoginSession getLoginSession(HttpServletRequest request) {
+        return repository.find(sessionIdOf(request));
+    }
+
+    /**
+     * リクエストのセッション ID で保存先からログイン情報を再取得する関数を返す。
+     */
+    @Override
+    public Supplier<LoginSession> loginSessionLookup(HttpServletRequest request) {
+        String sessionId = sessionIdOf(request);
+        return () -> repository.find(sessionId);
+    }
+
+    /**
+     * ログイン時刻（スライディング方式では最終アクセス時刻）から有効期限を過ぎていないかどうか判定する。
+     */
+    @Override
+    public boolean isSessionValid(LoginSession loginSession) {
+        return !loginSession.isExpired(System.currentTimeMillis(), sessionProperties.getTimeoutMillis(),
+                sessionProperties.isSlidingExpiration());
+    }
+
+    /**
+     * 保存先の最終アクセス時刻を更新し、Cookie の有効期限を延長する。
+     */
+    @Override
+    public void touch(HttpServletRequest request, HttpServletResponse response, LoginSession loginSession) {
+        long now = System.currentTimeMillis();
+        if (!sessionProperties.isSlidingExpiration()
+                || !loginSession.needsTouch(now, sessionProperties.getTouchGranularityMillis())) {
+            return;
+        }
+        String sessionId = sessionIdOf(request);
+        repository.touch(sessionId, now);
+        sessionRegistry.touch(sessionId, now);
+        scheduleExpiry(sessionId, now + sessionProperties.getTimeoutMillis());
+        if (response != null) {
+            SessionProperties.Cookie cookie = sessionProperties.getCookie();
+            SessionCookies.set(response, cookie.getName(), sessionId, cookie.isSecure(), cookie.getSameSite(),
+                    sessionProperties.getTimeoutMillis());
+        }
+    }
+
+    /**
+     * このノードで発行したセッションのうち期限に達したものを削除する。
+     * スライディング方式では、別ノードでのアクセスにより延長されている場合があるため、
+     * キャッシュを経由せずに読み込んだ保存先の値（{@link LoginSessionRepository#findLatest(String)}）で再判定し、
+     * 有効であれば新しい期限で登録し直す。
+     *
+     * @return 削除した件数
+     */
+    @Scheduled(fixedDelayString = "${session.reaper.tick-millis:1000}")
+    public int reapExpired() {
+        if (expiryWheel == null) {
+            return 0;
+        }
+        long now = System.currentTimeMillis();
+        long timeout = sessionProperties.getTimeoutMillis();
+        boolean sliding = sessionProperties.isSlidingExpiration();
+        int deleted = 0;
+        for (String sessionId : expiryWheel.advance(now)) {
+            if (sliding) {
+                LoginSession loginSession = repository.findLatest(sessionId);
+                if (loginSession == null) {
+                    sessionRegistry.unregister(sessionId);
+                    continue;
+                }
+                if (!loginSession.isExpired(now, timeout, true)) {
+                    scheduleExpiry(sessionId, loginSession.lastAccessTime() + timeout);
+                    continue;
+                }
+            }
+            repository.delete(sessionId);
+            sessionRegistry.unregister(sessionId);
+            deleted++;
+        }
+        expiredCount.addAndGet(deleted);
+        return deleted;
+    }
+
+    /**
+     * 有効期限を過ぎたログイン情報を全件走査で定期的に削除する（{@link #reapExpired()} の対象外のセッション向け）。
+     */
+    @Scheduled(fixedDelayString = "${session.sweep-interval-millis:60000}")
+    public void deleteExpired() {
+        int deleted = repository.deleteExpired(System.currentTimeMillis(), sessionProperties.getTimeoutMillis(),
+                sessionProperties.isSlidingExpiration());
+        if (deleted > 0) {
+            log.debug("有効期限切れのセッションを削除しました: 件数={}", deleted);
+        }
+    }
+
+    /**
+     * 期限を管理中のセッション数と、期限に達して削除したセッション数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (expiryWheel != null) {
+            Gauge.builder("login.session.live", expiryWheel, SessionExpiryWheel::size)
+                    .description("このノードで発行し、期限を管理中のセッション数")
+                    .register(registry);
+        }
+        FunctionCounter.builder("login.session.expired", expiredCount, AtomicLong::get)
+                .description("期限に達して削除したセッション数")
+                .register(registry);
+    }
+
+    /**
+     * セッションの期限をタイマーホイールに登録する（置き換える）。
+     */
+    private void scheduleExpiry(String sessionId, long deadlineMillis) {
+        if (expiryWheel != null && sessionId != null) {
+            expiryWheel.schedule(sessionId, deadlineMillis);
+        }
+    }
+
+    /**
+     * ログイン情報を保存先・レジストリ・期限の管理から削除する。
+     */
+    private void remove(String sessionId) {
+        cancelExpiry(sessionId);
+        sessionRegistry.unregister(sessionId);
+        repository.delete(sessionId);
+    }
+
+    /**
+     * セッション ID の Cookie を削除する。
+     */
+    private void clearCookie(HttpServletResponse response) {
+        if (response != null) {
+            SessionProperties.Cookie cookie = sessionProperties.getCookie();
+            SessionCookies.clear(response, cookie.getName(), cookie.isSecure(), cookie.getSameSite());
+        }
+    }
+
+    /**
+     * セッションの期限の登録を取り消す。
+     */
+    private void cancelExpiry(String sessionId) {
+        if (expiryWheel != null) {
+            expiryWheel.cancel(sessionId);
+        }
+    }
+
+    /**
+     * リクエストの Cookie からセッション ID を取り出す。
+     */
+    private String sessionIdOf(HttpServletRequest request) {
+        return SessionCookies.value(request, sessionProperties.getCookie().getName());
+    }
+}
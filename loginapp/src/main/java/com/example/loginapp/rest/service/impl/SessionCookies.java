@@ -0,0 +1,84 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ログイン情報・セッション ID を受け渡す Cookie の読み書きを行うユーティリティ。
+ * HttpSession を使用しない保存先で共通に使用する。
+ */
+final class SessionCookies {
+
+    /** Cookie のパス */
+    private static final String COOKIE_PATH = "/";
+
+    private SessionCookies() {
+    }
+
+    /**
+     * HttpOnly の Cookie をレスポンスに設定する。
+     *
+     * @param response      HTTP レスポンス
+     * @param name          Cookie 名
+     * @param value         値
+     * @param secure        Secure 属性を付与するか
+     * @param sameSite      SameSite 属性
+     * @param timeoutMillis 有効期限（ミリ秒、秒単位に切り上げる）
+     */
+    static void set(HttpServletResponse response, String name, String value, boolean secure, String sameSite,
+            long timeoutMillis) {
+        long maxAgeSeconds = TimeUnit.MILLISECONDS.toSeconds(timeoutMillis + TimeUnit.SECONDS.toMillis(1) - 1);
+        response.addHeader(HttpHeaders.SET_COOKIE,
+                build(name, value, secure, sameSite, Duration.ofSeconds(maxAgeSeconds)).toString());
+    }
+
+    /**
+     * Cookie を削除する（Max-Age=0 の Cookie を設定する）。
+     *
+     * @param response HTTP レスポンス
+     * @param name     Cookie 名
+     * @param secure   Secure 属性を付与するか
+     * @param sameSite SameSite 属性
+     */
+    static void clear(HttpServletResponse response, String name, boolean secure, String sameSite) {
+        response.addHeader(HttpHeaders.SET_COOKIE, build(name, "", secure, sameSite, Duration.ZERO).toString());
+    }
+
+    /**
+     * リクエストから Cookie の値を取り出す。
+     *
+     * @param request HTTP リクエスト
+     * @param name    Cookie 名
+     * @return 値。Cookie がない場合は null
+     */
+    static String value(HttpServletRequest request, String name) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return null;
+        }
+        for (Cookie cookie : cookies) {
+            if (name.equals(cookie.getName())) {
+                return cookie.getValue();
+            }
+        }
+        return null;
+    }
+
+    private static ResponseCookie build(String name, String value, boolean secure, String sameSite,
+            Duration maxAge) {
+        return ResponseCookie.from(name, value)
+                .httpOnly(true)
+                .secure(secure)
+                .sameSite(sameSite)
+                .path(COOKIE_PATH)
+                .maxAge(maxAge)
+                .build();
+    }
+}
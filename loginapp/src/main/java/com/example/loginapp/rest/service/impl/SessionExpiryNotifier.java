@@ -0,0 +1,258 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * セッションの有効期限を Server-Sent Events で通知するクラス。
+ * <p>
+ * 購読ごとに有効期限の時刻で 1 回だけ実行されるタスクを共有のスケジューラに登録し、
+ * 接続ごとのスレッドや定期的な送信は行わない。期限に達した時点でログイン情報を再取得し、
+ * 延長されていれば（スライディング方式）新しい期限で登録し直し、期限切れ・ログアウト済みであれば
+ * {@value #EXPIRED_EVENT} イベントを送信して接続を閉じる。
+ * </p>
+ * <p>
+ * タイムアウトなしの接続はクライアントが切断してもサーバ側では書き込むまで検出できず、
+ * 再接続のたびに購読が増えていく。このため、同じスケジューラから
+ * {@code session.events.heartbeat-interval-millis} ごとに全接続へ SSE のコメント行を送信し、
+ * 送信に失敗した接続をその時点で破棄する。保持する購読は、接続中のものと
+ * 直近のハートビート間隔内に切断されたものに限られる（1 セッションから複数接続している場合はその分多くなる）。
+ * </p>
+ */
+@Component
+public class SessionExpiryNotifier implements MeterBinder {
+
+    /** 期限切れを通知するイベント名 */
+    public static final String EXPIRED_EVENT = "expired";
+
+    /** ハートビートとして送信するコメント（クライアントのイベントとしては通知されない） */
+    private static final String HEARTBEAT_COMMENT = "heartbeat";
+
+    /** スケジューラのスレッド名の接頭辞 */
+    private static final String THREAD_NAME_PREFIX = "session-expiry-";
+
+    /** ログ出力用のLogger */
+    private static final Logger log = LoggerFactory.getLogger(SessionExpiryNotifier.class);
+
+    /** セッションに関する設定値を保持するプロパティクラス */
+    private final SessionProperties sessionProperties;
+
+    /** 期限の時刻にタスクを実行するスケジューラ */
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    /** 接続中の購読数 */
+    private final AtomicInteger subscribers = new AtomicInteger();
+
+    /** 接続中の購読（ハートビートの送信先） */
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param sessionProperties セッション設定
+     */
+    public SessionExpiryNotifier(SessionProperties sessionProperties) {
+        this.sessionProperties = sessionProperties;
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+        threadFactory.setDaemon(true);
+        this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+        this.scheduler.setRemoveOnCancelPolicy(true);
+        long heartbeatMillis = sessionProperties.getEvents().getHeartbeatIntervalMillis();
+        if (heartbeatMillis > 0) {
+            this.scheduler.scheduleWithFixedDelay(this::heartbeat, heartbeatMillis, heartbeatMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * セッションの有効期限の通知を購読する。
+     *
+     * @param loginSession 購読時点の有効なログイン情報
+     * @param lookup       期限の時刻にログイン情報を再取得する関数
+     * @return 通知を送信する SseEmitter（タイムアウトなし）
+     */
+    public SseEmitter subscribe(LoginSession loginSession, Supplier<LoginSession> lookup) {
+        SseEmitter emitter = new SseEmitter(0L);
+        Subscription subscription = new Subscription(emitter, lookup);
+        emitter.onCompletion(subscription::close);
+        emitter.onTimeout(subscription::close);
+        emitter.onError(e -> subscription.close());
+        subscribers.incrementAndGet();
+        subscriptions.add(subscription);
+        subscription.schedule(expiresAt(loginSession));
+        return emitter;
+    }
+
+    /**
+     * 接続中の購読数を返す。
+     *
+     * @return 購読数
+     */
+    public int subscriberCount() {
+        return subscribers.get();
+    }
+
+    /**
+     * 接続中の購読数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("login.session.events.subscribers", this, SessionExpiryNotifier::subscriberCount)
+                .description("セッションの有効期限の通知を購読中の接続数")
+                .register(registry);
+    }
+
+    /**
+     * 接続中の全購読にコメント行を送信し、送信に失敗した（切断済みの）購読を破棄する。
+     */
+    private void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            subscription.heartbeat();
+        }
+    }
+
+    /**
+     * スケジューラを停止する。
+     */
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * ログイン情報の有効期限の時刻を返す。
+     */
+    private long expiresAt(LoginSession loginSession) {
+        return loginSession.expiresAt(sessionProperties.getTimeoutMillis(), sessionProperties.isSlidingExpiration());
+    }
+
+    /**
+     * 1 接続分の購読。
+     */
+    private final class Subscription {
+
+        /** 通知の送信先 */
+        private final SseEmitter emitter;
+
+        /** ログイン情報の再取得 */
+        private final Supplier<LoginSession> lookup;
+
+        /** 登録中のタスク */
+        private final AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+
+        /** 終了済みか */
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private Subscription(SseEmitter emitter, Supplier<LoginSession> lookup) {
+            this.emitter = emitter;
+            this.lookup = lookup;
+        }
+
+        /**
+         * 期限の時刻（を過ぎた直後）に {@link #fire()} を実行するよう登録する。
+         */
+        private void schedule(long expiresAtMillis) {
+            long delay = Math.max(0L, expiresAtMillis + 1 - System.currentTimeMillis());
+            try {
+                task.set(scheduler.schedule(this::fire, delay, TimeUnit.MILLISECONDS));
+            } catch (RuntimeException e) {
+                emitter.completeWithError(e);
+            }
+            if (closed.get()) {
+                cancel();
+            }
+        }
+
+        /**
+         * ログイン情報を再取得し、延長されていれば登録し直し、そうでなければ期限切れを通知する。
+         */
+        private void fire() {
+            if (closed.get()) {
+                return;
+            }
+            long now = System.currentTimeMillis();
+            LoginSession current;
+            try {
+                current = lookup.get();
+            } catch (RuntimeException e) {
+                log.warn("セッション期限の再判定に失敗しました", e);
+                emitter.completeWithError(e);
+                return;
+            }
+            if (current != null && expiresAt(current) >= now) {
+                schedule(expiresAt(current));
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().name(EXPIRED_EVENT).data(EXPIRED_EVENT));
+                emitter.complete();
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * コメント行を送信する。送信に失敗した場合は接続を破棄する。
+         */
+        private void heartbeat() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment(HEARTBEAT_COMMENT));
+            } catch (IOException | IllegalStateException e) {
+                fail(e);
+            }
+        }
+
+        /**
+         * 送信に失敗した接続を終了し、コンテナからのコールバックを待たずに購読を破棄する。
+         */
+        private void fail(Exception e) {
+            emitter.completeWithError(e);
+            close();
+        }
+
+        /**
+         * 接続の終了時にタスクを取り消す。
+         */
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscribers.decrementAndGet();
+                subscriptions.remove(this);
+                cancel();
+            }
+        }
+
+        private void cancel() {
+            ScheduledFuture<?> scheduled = task.get();
+            if (scheduled != null) {
+                scheduled.cancel(false);
+            }
+        }
+    }
+}
@@ -0,0 +1,202 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * セッション ID ごとの有効期限を管理するハッシュ化タイマーホイール。
+ * <p>
+ * 時間を {@code tickMillis} 単位の tick に区切り、期限の tick を {@code wheelSize} 個のバケットに割り当てる。
+ * 登録・取消はバケット内の双方向リストへの追加・削除のみで O(1) となり、
+ * ログイン・ログアウトが多くてもソート済み構造の並べ替えが発生しない。
+ * {@link #advance(long)} は経過した tick のバケットだけを走査し、期限を過ぎたセッション ID を返す。
+ * </p>
+ * <p>
+ * 期限は tick 単位に切り上げるため、最大 {@code tickMillis} だけ遅れて期限切れとなる。
+ * 操作はすべて 1 つのロックで保護する。
+ * </p>
+ */
+final class SessionExpiryWheel {
+
+    /** 1 tick の長さ（ミリ秒） */
+    private final long tickMillis;
+
+    /** バケット番号を求めるマスク（バケット数 - 1） */
+    private final int mask;
+
+    /** バケットごとの双方向リストの先頭 */
+    private final Entry[] buckets;
+
+    /** セッション ID をキーとした登録中のエントリ */
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    /** 次に処理する tick */
+    private long currentTick;
+
+    /** 操作を保護するロック */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * コンストラクタ。
+     *
+     * @param tickMillis 1 tick の長さ（ミリ秒）
+     * @param wheelSize  バケット数（2 の累乗に切り上げる）
+     * @param nowMillis  現在時刻（エポックミリ秒）
+     */
+    SessionExpiryWheel(long tickMillis, int wheelSize, long nowMillis) {
+        if (tickMillis < 1 || wheelSize < 1 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException(
+                    "invalid timer wheel: tickMillis=" + tickMillis + ", wheelSize=" + wheelSize);
+        }
+        int size = Integer.highestOneBit(wheelSize);
+        size = size < wheelSize ? size << 1 : size;
+        this.tickMillis = tickMillis;
+        this.mask = size - 1;
+        this.buckets = new Entry[size];
+        this.currentTick = nowMillis / tickMillis;
+    }
+
+    /**
+     * セッションの期限を登録する。登録済みの場合は期限を置き換える。
+     *
+     * @param sessionId      セッション ID
+     * @param deadlineMillis 期限（エポックミリ秒）
+     */
+    void schedule(String sessionId, long deadlineMillis) {
+        lock.lock();
+        try {
+            Entry entry = entries.get(sessionId);
+            if (entry != null) {
+                unlink(entry);
+            } else {
+                entry = new Entry(sessionId);
+                entries.put(sessionId, entry);
+            }
+            entry.deadlineTick = Math.max(Math.ceilDiv(deadlineMillis, tickMillis), currentTick);
+            link(entry);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * セッションの期限の登録を取り消す。登録されていない場合は何もしない。
+     *
+     * @param sessionId セッション ID（null 可）
+     */
+    void cancel(String sessionId) {
+        if (sessionId == null) {
+            return;
+        }
+        lock.lock();
+        try {
+            Entry entry = entries.remove(sessionId);
+            if (entry != null) {
+                unlink(entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 指定の時刻までの tick を進め、期限を過ぎたセッション ID の登録を取り消して返す。
+     * 前回から {@code wheelSize} tick 以上経過している場合も、全バケットを 1 回走査するだけで済む。
+     *
+     * @param nowMillis 現在時刻（エポックミリ秒）
+     * @return 期限を過ぎたセッション ID
+     */
+    List<String> advance(long nowMillis) {
+        List<String> expired = new ArrayList<>();
+        lock.lock();
+        try {
+            long targetTick = nowMillis / tickMillis;
+            if (targetTick < currentTick) {
+                return expired;
+            }
+            long ticks = Math.min(targetTick - currentTick + 1, buckets.length);
+            for (long tick = currentTick; tick < currentTick + ticks; tick++) {
+                Entry entry = buckets[(int) (tick & mask)];
+                while (entry != null) {
+                    Entry next = entry.next;
+                    if (entry.deadlineTick <= targetTick) {
+                        unlink(entry);
+                        entries.remove(entry.sessionId);
+                        expired.add(entry.sessionId);
+                    }
+                    entry = next;
+                }
+            }
+            currentTick = targetTick + 1;
+        } finally {
+            lock.unlock();
+        }
+        return expired;
+    }
+
+    /**
+     * 登録中のセッション数を返す。
+     *
+     * @return セッション数
+     */
+    int size() {
+        lock.lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * エントリを期限の tick のバケットの先頭に追加する。
+     */
+    private void link(Entry entry) {
+        int bucket = (int) (entry.deadlineTick & mask);
+        Entry head = buckets[bucket];
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        buckets[bucket] = entry;
+    }
+
+    /**
+     * エントリをバケットから取り除く。
+     */
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else {
+            buckets[(int) (entry.deadlineTick & mask)] = entry.next;
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+    }
+
+    /**
+     * バケット内の双方向リストの要素。
+     */
+    private static final class Entry {
+
+        /** セッション ID */
+        private final String sessionId;
+
+        /** 期限の tick */
+        private long deadlineTick;
+
+        private Entry prev;
+        private Entry next;
+
+        private Entry(String sessionId) {
+            this.sessionId = sessionId;
+        }
+    }
+}
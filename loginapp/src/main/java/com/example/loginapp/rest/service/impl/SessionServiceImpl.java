@@ -1,63 +1,181 @@
 package com.example.loginapp.rest.service.impl;
 
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
 import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
 import com.example.loginapp.rest.service.SessionService;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.servlet.http.HttpSession;
+import jakarta.servlet.http.HttpSessionEvent;
+import jakarta.servlet.http.HttpSessionListener;
 import lombok.RequiredArgsConstructor;
 
 import static com.example.loginapp.rest.constants.SessionKeys.*;
 
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Service;
 
 /**
- * REST API で利用するセッション操作の実装クラス。
- * ログイン情報の登録、セッション無効化、有効期限チェックを行う。
+ * REST API で利用するセッション操作の実装クラス（{@code session.store=http}、既定）。
+ * ログイン情報を {@link LoginSession} として HttpSession の 1 属性に保持し、登録、セッション無効化、有効期限チェックを行う。
+ * <p>
+ * ログイン中の HttpSession の ID は {@link LoginSessionRegistry} にユーザごとに登録する。
+ * 別の HttpSession はこのリクエストから無効化できないため、同時ログイン数の上限超過・全端末からのログアウトで
+ * 無効とするセッションの ID は取り消し済みとして保持し、そのセッションでの次のリクエストで無効化する。
+ * コンテナがセッションを破棄した時点（{@link HttpSessionListener}）でレジストリ・取り消し済みの ID から取り除く。
+ * </p>
  */
 @Service
+@ConditionalOnProperty(prefix = "session", name = "store", havingValue = "http", matchIfMissing = true)
 @RequiredArgsConstructor
-public class SessionServiceImpl implements SessionService {
+public class SessionServiceImpl implements SessionService, HttpSessionListener {
 
     /** セッションに関する設定値を保持するプロパティクラス */
     private final SessionProperties sessionProperties;
 
+    /** ログイン処理の段階ごとの所要時間 */
+    private final LoginLatencyMetrics latencyMetrics;
+
+    /** ユーザごとのセッションのレジストリ */
+    private final LoginSessionRegistry sessionRegistry;
+
+    /** 取り消し済みで、次のリクエストで無効化する HttpSession の ID */
+    private final Set<String> revokedSessionIds = ConcurrentHashMap.newKeySet();
+
     /**
      * ログイン情報をセッションに登録する。
      */
     @Override
-    public void createLoginSession(HttpSession session, String username) {
-        session.setAttribute(IS_LOGGED_IN, true);
-        session.setAttribute(USERNAME, username);
-        session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+    public void createLoginSession(HttpServletRequest request, HttpServletResponse response, String username) {
+        long start = LoginLatencyMetrics.start();
+        HttpSession session = request.getSession();
+        long now = System.currentTimeMillis();
+        session.setAttribute(LOGIN_SESSION, new LoginSession(username, now));
+        revokedSessionIds.remove(session.getId());
+        revokedSessionIds.addAll(sessionRegistry.register(username, session.getId(), now));
+        latencyMetrics.record(Stage.CREATE_SESSION, start);
     }
 
     /**
      * セッションを無効化（ログアウト処理）する。
      */
     @Override
-    public void invalidateSession(HttpSession session) {
-        session.invalidate();
+    public void invalidateSession(HttpServletRequest request, HttpServletResponse response) {
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            sessionRegistry.unregister(session.getId());
+            revokedSessionIds.remove(session.getId());
+            session.invalidate();
+        }
     }
 
     /**
-     * セッションが有効かどうか判定する。
-     *
-     * @return true: 有効 / false: 無効または期限切れ
+     * ログイン中のユーザの全セッションを取り消し、このリクエストのセッションを無効化する。
+     * 他のセッションは次のリクエストで無効化する。
      */
     @Override
-    public boolean isSessionValid(HttpSession session) {
-        Object isLoggedIn = session.getAttribute(IS_LOGGED_IN);
-        Object loginTime = session.getAttribute(LOGIN_TIME);
+    public int invalidateAllSessions(HttpServletRequest request, HttpServletResponse response) {
+        LoginSession loginSession = getLoginSession(request);
+        if (loginSession == null) {
+            return 0;
+        }
+        String currentId = request.getSession().getId();
+        List<String> sessionIds = sessionRegistry.unregisterAll(loginSession.username());
+        for (String sessionId : sessionIds) {
+            if (!sessionId.equals(currentId)) {
+                revokedSessionIds.add(sessionId);
+            }
+        }
+        invalidateSession(request, response);
+        return sessionIds.contains(currentId) ? sessionIds.size() : sessionIds.size() + 1;
+    }
 
-        if (!(isLoggedIn instanceof Boolean) || !(loginTime instanceof Long)) {
-            return false;
+    /**
+     * セッションからログイン情報を取得する。取り消し済みのセッションは無効化して null を返す。
+     */
+    @Override
+    public LoginSession getLoginSession(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return null;
+        }
+        if (revokedSessionIds.remove(session.getId())) {
+            try {
+                session.invalidate();
+            } catch (IllegalStateException e) {
+                // 既に無効化されている
+            }
+            return null;
+        }
+        return session.getAttribute(LOGIN_SESSION) instanceof LoginSession loginSession ? loginSession : null;
+    }
+
+    /**
+     * リクエストの HttpSession からログイン情報を再取得する関数を返す。
+     * セッションが無効化・取り消しされた後は null を返す。
+     */
+    @Override
+    public Supplier<LoginSession> loginSessionLookup(HttpServletRequest request) {
+        HttpSession session = request.getSession(false);
+        if (session == null) {
+            return () -> null;
         }
+        String sessionId = session.getId();
+        return () -> {
+            if (revokedSessionIds.contains(sessionId)) {
+                return null;
+            }
+            try {
+                return session.getAttribute(LOGIN_SESSION) instanceof LoginSession loginSession ? loginSession : null;
+            } catch (IllegalStateException e) {
+                return null;
+            }
+        };
+    }
 
-        if (!((Boolean) isLoggedIn)) {
-            return false;
+    /**
+     * ログイン時刻（スライディング方式では最終アクセス時刻）から有効期限を過ぎていないかどうか判定する。
+     */
+    @Override
+    public boolean isSessionValid(LoginSession loginSession) {
+        return !loginSession.isExpired(System.currentTimeMillis(), sessionProperties.getTimeoutMillis(),
+                sessionProperties.isSlidingExpiration());
+    }
+
+    /**
+     * 最終アクセス時刻を更新したログイン情報でセッションの属性を置き換える。
+     */
+    @Override
+    public void touch(HttpServletRequest request, HttpServletResponse response, LoginSession loginSession) {
+        long now = System.currentTimeMillis();
+        if (!sessionProperties.isSlidingExpiration()
+                || !loginSession.needsTouch(now, sessionProperties.getTouchGranularityMillis())) {
+            return;
         }
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.setAttribute(LOGIN_SESSION, loginSession.touched(now));
+            sessionRegistry.touch(session.getId(), now);
+        }
+    }
 
-        long elapsed = System.currentTimeMillis() - (Long) loginTime;
-        return elapsed <= sessionProperties.getTimeoutMillis();
+    /**
+     * コンテナが破棄したセッションをレジストリ・取り消し済みの ID から取り除く。
+     *
+     * @param event セッションのイベント
+     */
+    @Override
+    public void sessionDestroyed(HttpSessionEvent event) {
+        String sessionId = event.getSession().getId();
+        sessionRegistry.unregister(sessionId);
+        revokedSessionIds.remove(sessionId);
     }
 }
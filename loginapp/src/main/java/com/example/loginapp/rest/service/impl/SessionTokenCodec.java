@@ -0,0 +1,144 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * ログイン情報（ユーザ名・ログイン時刻・最終アクセス時刻）を HMAC-SHA256 で署名したトークンに変換するクラス。
+ * <p>
+ * トークンは {@code Base64URL(ペイロード) + "." + Base64URL(署名)} の形式で、
+ * ペイロードは「形式バージョン（1 バイト）・ログイン時刻（8 バイト）・最終アクセス時刻（8 バイト）・ユーザ名（UTF-8）」を
+ * 連結したもの。形式バージョンが異なるトークンは受け付けない。
+ * 検証はサーバ側の状態を参照せず、鍵のみで行う。署名の比較は一定時間で行う。
+ * </p>
+ */
+public final class SessionTokenCodec {
+
+    /** 署名アルゴリズム */
+    private static final String ALGORITHM = "HmacSHA256";
+
+    /** 鍵の最小長（バイト） */
+    static final int MIN_KEY_BYTES = 32;
+
+    /** ペイロードの形式バージョン */
+    private static final byte VERSION = 2;
+
+    /** ペイロードのヘッダ長（バージョン + ログイン時刻 + 最終アクセス時刻） */
+    private static final int HEADER_BYTES = 1 + Long.BYTES + Long.BYTES;
+
+    /** ペイロードと署名の区切り文字 */
+    private static final char SEPARATOR = '.';
+
+    /** トークンの最大長（Cookie の上限を考慮） */
+    private static final int MAX_TOKEN_LENGTH = 1024;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    /** 署名鍵 */
+    private final SecretKeySpec key;
+
+    /** 初期化済みの Mac（呼び出しごとに複製して使用する） */
+    private final Mac prototype;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param key 署名鍵（32 バイト以上）
+     */
+    public SessionTokenCodec(byte[] key) {
+        if (key == null || key.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("session token key must be at least " + MIN_KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(key, ALGORITHM);
+        this.prototype = newMac();
+    }
+
+    /**
+     * ログイン情報を署名付きトークンに変換する。
+     *
+     * @param loginSession ログイン情報
+     * @return トークン
+     */
+    public String encode(LoginSession loginSession) {
+        byte[] name = loginSession.username().getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ByteBuffer.allocate(HEADER_BYTES + name.length)
+                .put(VERSION)
+                .putLong(loginSession.loginTime())
+                .putLong(loginSession.lastAccessTime())
+                .put(name)
+                .array();
+        return ENCODER.encodeToString(payload) + SEPARATOR + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * トークンの署名を検証し、ログイン情報を取り出す。
+     *
+     * @param token トークン
+     * @return ログイン情報。形式不正・署名不一致の場合は null
+     */
+    public LoginSession decode(String token) {
+        if (token == null || token.length() > MAX_TOKEN_LENGTH) {
+            return null;
+        }
+        int separator = token.indexOf(SEPARATOR);
+        if (separator <= 0) {
+            return null;
+        }
+        byte[] payload;
+        byte[] signature;
+        try {
+            payload = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            return null;
+        }
+        if (payload.length < HEADER_BYTES || payload[0] != VERSION) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(payload, 1, payload.length - 1);
+        long loginTime = buffer.getLong();
+        long lastAccessTime = buffer.getLong();
+        String username = new String(Arrays.copyOfRange(payload, HEADER_BYTES, payload.length),
+                StandardCharsets.UTF_8);
+        return new LoginSession(username, loginTime, lastAccessTime);
+    }
+
+    /**
+     * ペイロードの署名を計算する。Mac はスレッドセーフでないため、初期化済みのものを複製して使用する。
+     */
+    private byte[] sign(byte[] payload) {
+        Mac mac;
+        try {
+            mac = (Mac) prototype.clone();
+        } catch (CloneNotSupportedException e) {
+            mac = newMac();
+        }
+        return mac.doFinal(payload);
+    }
+
+    /**
+     * 鍵を設定した Mac を生成する。
+     */
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
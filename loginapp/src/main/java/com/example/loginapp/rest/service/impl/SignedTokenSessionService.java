@@ -0,0 +1,172 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.SessionService;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * ログイン情報を HMAC 署名付き Cookie に保持する {@link SessionService} の実装クラス（{@code session.store=token}）。
+ * <p>
+ * ユーザ名とログイン時刻を署名付きトークンとして Cookie に格納し、検証は署名鍵のみで行う。
+ * サーバ側にセッションを保持しないため、同じ鍵を設定したノード間であればどのノードでも検証でき、
+ * セッション数に比例するメモリも消費しない。
+ * </p>
+ * <p>
+ * ログアウトは Cookie の削除で行う。トークン自体はサーバ側で失効できないため、
+ * 削除前に複製されたトークンは有効期限（{@code session.timeout-millis}）まで有効となる。
+ * </p>
+ */
+@Service
+@ConditionalOnProperty(prefix = "session", name = "store", havingValue = "token")
+public class SignedTokenSessionService implements SessionService {
+
+    /** 検証済みのログイン情報を保持するリクエスト属性名（1 リクエストで署名検証を 1 回にする） */
+    static final String VERIFIED_ATTRIBUTE = SignedTokenSessionService.class.getName() + ".verified";
+
+    /** トークンが無効であったことを表す検証結果 */
+    private static final LoginSession INVALID = new LoginSession("", Long.MIN_VALUE);
+
+    /** 署名鍵を生成する場合の長さ（バイト） */
+    private static final int GENERATED_KEY_BYTES = SessionTokenCodec.MIN_KEY_BYTES;
+
+    /** ログ出力用のLogger */
+    private static final Logger log = LoggerFactory.getLogger(SignedTokenSessionService.class);
+
+    /** セッションに関する設定値を保持するプロパティクラス */
+    private final SessionProperties sessionProperties;
+
+    /** ログイン処理の段階ごとの所要時間 */
+    private final LoginLatencyMetrics latencyMetrics;
+
+    /** トークンの署名・検証 */
+    private final SessionTokenCodec codec;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param sessionProperties セッション設定
+     * @param latencyMetrics    ログイン処理の段階ごとの所要時間
+     */
+    public SignedTokenSessionService(SessionProperties sessionProperties, LoginLatencyMetrics latencyMetrics) {
+        this.sessionProperties = sessionProperties;
+        this.latencyMetrics = latencyMetrics;
+        this.codec = new SessionTokenCodec(resolveKey(sessionProperties.getToken().getSecret()));
+    }
+
+    /**
+     * ログイン情報を署名付きトークンとして Cookie に設定する。
+     */
+    @Override
+    public void createLoginSession(HttpServletRequest request, HttpServletResponse response, String username) {
+        long start = LoginLatencyMetrics.start();
+        LoginSession loginSession = new LoginSession(username, System.currentTimeMillis());
+        String token = codec.encode(loginSession);
+        SessionProperties.Token settings = sessionProperties.getToken();
+        SessionCookies.set(response, settings.getCookieName(), token, settings.isSecure(), settings.getSameSite(),
+                sessionProperties.getTimeoutMillis());
+        request.setAttribute(VERIFIED_ATTRIBUTE, loginSession);
+        latencyMetrics.record(Stage.CREATE_SESSION, start);
+    }
+
+    /**
+     * Cookie を削除する。
+     */
+    @Override
+    public void invalidateSession(HttpServletRequest request, HttpServletResponse response) {
+        request.setAttribute(VERIFIED_ATTRIBUTE, INVALID);
+        if (response != null) {
+            SessionProperties.Token settings = sessionProperties.getToken();
+            SessionCookies.clear(response, settings.getCookieName(), settings.isSecure(), settings.getSameSite());
+        }
+    }
+
+    /**
+     * このリクエストの Cookie を削除する。他の端末のトークンはサーバ側で失効できないため、
+     * 有効期限まで有効なままとなる（同時ログイン数の上限も適用しない）。
+     */
+    @Override
+    public int invalidateAllSessions(HttpServletRequest request, HttpServletResponse response) {
+        if (getLoginSession(request) == null) {
+            return 0;
+        }
+        invalidateSession(request, response);
+        return 1;
+    }
+
+    /**
+     * Cookie のトークンの署名を検証し、ログイン情報を返す。
+     */
+    @Override
+    public LoginSession getLoginSession(HttpServletRequest request) {
+        Object verified = request.getAttribute(VERIFIED_ATTRIBUTE);
+        if (verified instanceof LoginSession loginSession) {
+            return loginSession == INVALID ? null : loginSession;
+        }
+        LoginSession loginSession = codec.decode(SessionCookies.value(request, sessionProperties.getToken().getCookieName()));
+        request.setAttribute(VERIFIED_ATTRIBUTE, loginSession == null ? INVALID : loginSession);
+        return loginSession;
+    }
+
+    /**
+     * リクエスト時点のトークンの内容を返す関数を返す。
+     * サーバ側に状態を持たないため、その後のログアウトや再発行されたトークンは反映されない。
+     */
+    @Override
+    public Supplier<LoginSession> loginSessionLookup(HttpServletRequest request) {
+        LoginSession loginSession = getLoginSession(request);
+        return () -> loginSession;
+    }
+
+    /**
+     * ログイン時刻（スライディング方式では最終アクセス時刻）から有効期限を過ぎていないかどうか判定する。
+     */
+    @Override
+    public boolean isSessionValid(LoginSession loginSession) {
+        return !loginSession.isExpired(System.currentTimeMillis(), sessionProperties.getTimeoutMillis(),
+                sessionProperties.isSlidingExpiration());
+    }
+
+    /**
+     * 最終アクセス時刻を更新したトークンを Cookie に再発行する。
+     */
+    @Override
+    public void touch(HttpServletRequest request, HttpServletResponse response, LoginSession loginSession) {
+        long now = System.currentTimeMillis();
+        if (response == null || !sessionProperties.isSlidingExpiration()
+                || !loginSession.needsTouch(now, sessionProperties.getTouchGranularityMillis())) {
+            return;
+        }
+        LoginSession touched = loginSession.touched(now);
+        SessionProperties.Token settings = sessionProperties.getToken();
+        SessionCookies.set(response, settings.getCookieName(), codec.encode(touched), settings.isSecure(),
+                settings.getSameSite(), sessionProperties.getTimeoutMillis());
+        request.setAttribute(VERIFIED_ATTRIBUTE, touched);
+    }
+
+    /**
+     * 署名鍵を取得する。未設定の場合は生成する（再起動・別ノードでは検証できない）。
+     */
+    private static byte[] resolveKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            log.warn("session.token.secret が未設定のため署名鍵を生成しました。再起動後・他ノードではトークンを検証できません");
+            byte[] key = new byte[GENERATED_KEY_BYTES];
+            new SecureRandom().nextBytes(key);
+            return key;
+        }
+        return Base64.getDecoder().decode(secret.strip());
+    }
+}
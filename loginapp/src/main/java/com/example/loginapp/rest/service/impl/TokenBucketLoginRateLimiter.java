@@ -0,0 +1,102 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.util.Locale;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.example.loginapp.rest.config.LoginRateLimitProperties;
+import com.example.loginapp.rest.service.LoginRateLimiter;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+/**
+ * クライアント IP とユーザ名ごとのトークンバケットによる {@link LoginRateLimiter} の実装クラス。
+ * <p>
+ * IP を先に判定し、許可された場合のみユーザ名を判定する。ユーザ名は DB の照合順序に合わせて
+ * 小文字に正規化する。アイドル状態のキーは定期的に削除する。
+ * </p>
+ */
+@Service
+public class TokenBucketLoginRateLimiter implements LoginRateLimiter, MeterBinder {
+
+    /** メトリクス名 */
+    private static final String METRIC_PREFIX = "login.rate.limit";
+
+    /** キー種別のタグ名 */
+    private static final String KEY_TAG = "key";
+
+    /** 回数制限を有効にするか */
+    private final boolean enabled;
+
+    /** クライアント IP ごとのバケット */
+    private final KeyedTokenBucket ipBuckets;
+
+    /** ユーザ名ごとのバケット */
+    private final KeyedTokenBucket usernameBuckets;
+
+    /**
+     * コンストラクタ。
+     *
+     * @param properties 回数制限の設定
+     */
+    public TokenBucketLoginRateLimiter(LoginRateLimitProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.ipBuckets = new KeyedTokenBucket(properties.getIp().getCapacity(),
+                properties.getIp().getRefillPerMinute(), properties.getMaxKeys(), System::nanoTime);
+        this.usernameBuckets = new KeyedTokenBucket(properties.getUsername().getCapacity(),
+                properties.getUsername().getRefillPerMinute(), properties.getMaxKeys(), System::nanoTime);
+    }
+
+    @Override
+    public long tryAcquire(String clientIp, String username) {
+        if (!enabled) {
+            return 0L;
+        }
+        long wait = ipBuckets.tryAcquire(clientIp);
+        if (wait > 0) {
+            return wait;
+        }
+        return usernameBuckets.tryAcquire(username == null ? null : username.toLowerCase(Locale.ROOT));
+    }
+
+    /**
+     * アイドル状態のキーを定期的に削除する。
+     */
+    @Scheduled(fixedDelayString = "${login.rate-limit.eviction-interval-millis:60000}")
+    public void evictIdle() {
+        ipBuckets.evictIdle();
+        usernameBuckets.evictIdle();
+    }
+
+    /**
+     * 追跡中のキー数と拒否件数をメトリクスとして登録する。
+     *
+     * @param registry メータレジストリ
+     */
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        bind(registry, "ip", ipBuckets);
+        bind(registry, "username", usernameBuckets);
+    }
+
+    /**
+     * 1 種類のキーのメトリクスを登録する。
+     */
+    private static void bind(MeterRegistry registry, String key, KeyedTokenBucket buckets) {
+        Gauge.builder(METRIC_PREFIX + ".keys", buckets, KeyedTokenBucket::size)
+                .tag(KEY_TAG, key)
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".rejected", buckets, KeyedTokenBucket::rejectedCount)
+                .tag(KEY_TAG, key)
+                .description("回数制限により拒否したログイン試行数")
+                .register(registry);
+        FunctionCounter.builder(METRIC_PREFIX + ".untracked", buckets, KeyedTokenBucket::untrackedCount)
+                .tag(KEY_TAG, key)
+                .description("キー数の上限超過により共有のあふれ用バケットで制限したログイン試行数")
+                .register(registry);
+    }
+}
@@ -0,0 +1,17 @@
+-- ====================================
+-- ベースライン: DDL/schema.sql 導入時点のスキーマ
+-- 既存 DB では baseline-on-migrate によりこのバージョンは実行されない
+-- ====================================
+CREATE TABLE IF NOT EXISTS products (
+    id INT NOT NULL AUTO_INCREMENT,
+    name VARCHAR(100) NOT NULL,
+    price DECIMAL(10,2) NOT NULL,
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS users (
+    id INT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    PRIMARY KEY (id)
+);
@@ -0,0 +1,7 @@
+-- ====================================
+-- users.username の一意インデックス
+-- ====================================
+-- User エンティティの unique = true に対応し、ログイン時の findByUsername を
+-- 全件走査ではなく 1 行のインデックス参照（const アクセス）にする。
+-- 既存データに重複したユーザ名がある場合は失敗するため、事前に重複を解消すること。
+CREATE UNIQUE INDEX uq_users_username ON users (username);
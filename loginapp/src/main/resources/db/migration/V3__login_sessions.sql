@@ -0,0 +1,13 @@
+-- ====================================
+-- ログインセッション（session.store=jdbc）
+-- ====================================
+-- session_key はセッション ID の SHA-256（Base64URL）。Cookie の値そのものは保存しない。
+-- login_time のインデックスは有効期限切れの一括削除に使用する。
+CREATE TABLE IF NOT EXISTS login_sessions (
+    session_key CHAR(43) NOT NULL,
+    username VARCHAR(255) NOT NULL,
+    login_time BIGINT NOT NULL,
+    PRIMARY KEY (session_key)
+);
+
+CREATE INDEX idx_login_sessions_login_time ON login_sessions (login_time);
@@ -0,0 +1,10 @@
+-- ====================================
+-- ログインセッションの最終アクセス時刻（session.sliding-expiration=true）
+-- ====================================
+-- 既存の行はログイン時刻を最終アクセス時刻とする。
+-- last_access_time のインデックスはスライディング方式での有効期限切れの一括削除に使用する。
+ALTER TABLE login_sessions ADD COLUMN last_access_time BIGINT NOT NULL DEFAULT 0;
+
+UPDATE login_sessions SET last_access_time = login_time;
+
+CREATE INDEX idx_login_sessions_last_access_time ON login_sessions (last_access_time);
@@ -0,0 +1,5 @@
+-- ====================================
+-- ログインセッションのユーザ名のインデックス
+-- ====================================
+-- 全端末からのログアウト（ユーザ名による一括削除）に使用する。
+CREATE INDEX idx_login_sessions_username ON login_sessions (username);
@@ -0,0 +1,216 @@
+package com.example.loginapp.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 起動中のアプリケーションに HTTP リクエストを送り続け、スループットとレイテンシ（p50・p99）を計測する負荷試験。
+ * <p>
+ * {@code spring.threads.virtual.enabled} の有無でリクエスト処理スレッドの違いによる差を比較するために使用する。
+ * 負荷をかける側の同時実行数が計測結果を制限しないよう、各クライアントは仮想スレッドで実行する。
+ * 比較の手順は {@code loadtest/compare-virtual-threads.sh} を参照。
+ * session-check（GET、JSON 応答）と session-check-head（HEAD、フィルタで 204 応答）の比較は
+ * {@code loadtest/compare-session-check.sh} を参照。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、テストクラスパスで
+ * {@code HttpLoadTest <ベース URL> <products|login|session-check|session-check-head> [同時接続数] [計測秒数] [ユーザ名] [パスワード]} を実行する。
+ * products・session-check・session-check-head はセッションの有効期限（既定 60 秒）内に計測を終えること。
+ * login はログイン試行回数の制限を無効にして（{@code --login.rate-limit.enabled=false}）起動したアプリケーションに対して実行する。
+ * </p>
+ */
+public final class HttpLoadTest {
+
+    /** 既定の同時接続数 */
+    private static final int DEFAULT_CONCURRENCY = 400;
+
+    /** 既定の計測秒数 */
+    private static final int DEFAULT_DURATION_SECONDS = 30;
+
+    /** 計測前のウォームアップ秒数 */
+    private static final int WARMUP_SECONDS = 5;
+
+    /** 既定のユーザ名 */
+    private static final String DEFAULT_USERNAME = "user";
+
+    /** 既定のパスワード */
+    private static final String DEFAULT_PASSWORD = "pass";
+
+    /** 1 リクエストのタイムアウト */
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    /** 各クライアントのレイテンシ記録の初期容量 */
+    private static final int INITIAL_SAMPLES = 1 << 12;
+
+    private HttpLoadTest() {
+    }
+
+    /**
+     * 負荷試験を実行し、結果を 1 行で出力する。
+     *
+     * @param args ベース URL、対象（products、login、session-check、session-check-head）、同時接続数、計測秒数、ユーザ名、パスワード
+     * @throws Exception 実行失敗時
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 2) {
+            System.err.println("usage: HttpLoadTest <baseUrl> <products|login|session-check|session-check-head>"
+                    + " [concurrency] [durationSeconds] [username] [password]");
+            System.exit(2);
+        }
+        String baseUrl = args[0];
+        String target = args[1];
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_CONCURRENCY;
+        int durationSeconds = args.length > 3 ? Integer.parseInt(args[3]) : DEFAULT_DURATION_SECONDS;
+        String username = args.length > 4 ? args[4] : DEFAULT_USERNAME;
+        String password = args.length > 5 ? args[5] : DEFAULT_PASSWORD;
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(REQUEST_TIMEOUT)
+                .build();
+        HttpRequest loginRequest = HttpRequest.newBuilder(URI.create(baseUrl + "/api/login"))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"username\":\"" + username + "\",\"password\":\"" + password + "\"}"))
+                .build();
+
+        HttpRequest request;
+        switch (target) {
+            case "login" -> request = loginRequest;
+            case "products" -> request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/products"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Cookie", login(client, loginRequest))
+                    .GET()
+                    .build();
+            case "session-check" -> request = HttpRequest.newBuilder(URI.create(baseUrl + "/api/session-check"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Cookie", login(client, loginRequest))
+                    .GET()
+                    .build();
+            case "session-check-head" -> request = HttpRequest.newBuilder(
+                    URI.create(baseUrl + "/api/session-check"))
+                    .timeout(REQUEST_TIMEOUT)
+                    .header("Cookie", login(client, loginRequest))
+                    .method("HEAD", HttpRequest.BodyPublishers.noBody())
+                    .build();
+            default -> throw new IllegalArgumentException("unknown target: " + target);
+        }
+
+        long warmupEnd = System.nanoTime() + TimeUnit.SECONDS.toNanos(WARMUP_SECONDS);
+        long measureEnd = warmupEnd + TimeUnit.SECONDS.toNanos(durationSeconds);
+        List<Future<Samples>> results = new ArrayList<>(concurrency);
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                results.add(clients.submit(() -> run(client, request, warmupEnd, measureEnd)));
+            }
+        }
+
+        Samples total = new Samples();
+        for (Future<Samples> result : results) {
+            total.merge(result.get());
+        }
+        long[] latencies = Arrays.copyOf(total.latencies, total.count);
+        Arrays.sort(latencies);
+        System.out.printf("target=%s concurrency=%d requests=%d errors=%d throughput=%.1f/s p50=%.2fms p99=%.2fms"
+                + " max=%.2fms%n",
+                target, concurrency, total.count, total.errors, total.count / (double) durationSeconds,
+                millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                millis(latencies.length == 0 ? 0 : latencies[latencies.length - 1]));
+    }
+
+    /**
+     * ログインしてセッション Cookie を取得する。
+     */
+    private static String login(HttpClient client, HttpRequest loginRequest)
+            throws IOException, InterruptedException {
+        HttpResponse<Void> response = client.send(loginRequest, HttpResponse.BodyHandlers.discarding());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("login failed: HTTP " + response.statusCode());
+        }
+        return response.headers().firstValue("Set-Cookie")
+                .map(cookie -> cookie.split(";", 2)[0])
+                .orElseThrow(() -> new IllegalStateException("no session cookie"));
+    }
+
+    /**
+     * 1 クライアント分のリクエストを計測終了時刻まで送り続ける。
+     * ウォームアップ中の結果は記録しない。2xx 以外の応答は失敗として数える。
+     */
+    private static Samples run(HttpClient client, HttpRequest request, long warmupEnd, long measureEnd) {
+        Samples samples = new Samples();
+        long now;
+        while ((now = System.nanoTime()) < measureEnd) {
+            boolean ok;
+            try {
+                ok = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode() / 100 == 2;
+            } catch (IOException e) {
+                ok = false;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            long end = System.nanoTime();
+            if (now >= warmupEnd && end <= measureEnd) {
+                samples.record(end - now, ok);
+            }
+        }
+        return samples;
+    }
+
+    /**
+     * 昇順に並んだレイテンシから指定の分位点の値を返す。
+     */
+    private static long percentile(long[] sorted, double quantile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(quantile * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    /**
+     * 成功したリクエストのレイテンシ（ナノ秒）と失敗件数。
+     */
+    private static final class Samples {
+
+        private long[] latencies = new long[INITIAL_SAMPLES];
+        private int count;
+        private long errors;
+
+        private void record(long latencyNanos, boolean ok) {
+            if (!ok) {
+                errors++;
+                return;
+            }
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = latencyNanos;
+        }
+
+        private void merge(Samples other) {
+            if (count + other.count > latencies.length) {
+                latencies = Arrays.copyOf(latencies, count + other.count);
+            }
+            System.arraycopy(other.latencies, 0, latencies, count, other.count);
+            count += other.count;
+            errors += other.errors;
+        }
+    }
+}
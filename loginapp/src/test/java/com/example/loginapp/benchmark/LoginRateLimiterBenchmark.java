@@ -0,0 +1,101 @@
+package com.example.loginapp.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.loginapp.rest.config.LoginRateLimitProperties;
+import com.example.loginapp.rest.service.impl.TokenBucketLoginRateLimiter;
+
+/**
+ * ログイン試行回数制限の判定スループットを計測する JMH ベンチマーク。
+ * <p>
+ * 全スレッドが同一の IP・ユーザ名に集中する場合（攻撃時の最悪ケース）と、
+ * 多数のキーに分散する場合を比較し、スレッド数を増やしてもスループットが頭打ちにならない
+ * （ロック競合がない）ことを確認するために使用する。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、IDE から {@link #main(String[])} を実行するか、
+ * テストクラスパスで {@code org.openjdk.jmh.Main LoginRateLimiterBenchmark -t <スレッド数>} を実行する。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class LoginRateLimiterBenchmark {
+
+    /** 分散アクセス時のキー数 */
+    private static final int KEY_COUNT = 10_000;
+
+    /** 集中アクセス時のクライアント IP */
+    private static final String HOT_IP = "192.0.2.1";
+
+    /** 集中アクセス時のユーザ名 */
+    private static final String HOT_USERNAME = "admin";
+
+    /** テスト対象 */
+    private TokenBucketLoginRateLimiter limiter;
+
+    /** 分散アクセス時のクライアント IP */
+    private String[] ips;
+
+    /** 分散アクセス時のユーザ名 */
+    private String[] usernames;
+
+    @Setup
+    public void setUp() {
+        limiter = new TokenBucketLoginRateLimiter(new LoginRateLimitProperties());
+        ips = new String[KEY_COUNT];
+        usernames = new String[KEY_COUNT];
+        for (int i = 0; i < KEY_COUNT; i++) {
+            ips[i] = "10.0." + (i >>> 8) + "." + (i & 0xff);
+            usernames[i] = "user" + i;
+        }
+    }
+
+    /**
+     * 全スレッドが同一キーに集中する場合（ほぼすべて拒否経路）。
+     */
+    @Benchmark
+    public long hotKey() {
+        return limiter.tryAcquire(HOT_IP, HOT_USERNAME);
+    }
+
+    /**
+     * 多数のキーに分散する場合。
+     */
+    @Benchmark
+    public long spreadKeys() {
+        int i = ThreadLocalRandom.current().nextInt(KEY_COUNT);
+        return limiter.tryAcquire(ips[i], usernames[i]);
+    }
+
+    /**
+     * 利用可能なコア数と同じスレッド数でベンチマークを実行する。
+     *
+     * @param args 未使用
+     * @throws RunnerException 実行失敗時
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(LoginRateLimiterBenchmark.class.getSimpleName())
+                .threads(Runtime.getRuntime().availableProcessors())
+                .build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.loginapp.benchmark;
+
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.loginapp.domain.service.impl.Pbkdf2PasswordVerifier;
+
+/**
+ * PBKDF2 の反復回数ごとのパスワード照合スループットとレイテンシを計測する JMH ベンチマーク。
+ * <p>
+ * ピーク時の同時ログイン数に合わせてスレッド数を指定し、ログインのレイテンシ予算に収まる
+ * 反復回数（{@code password.hash.iterations}）を選ぶために使用する。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、IDE から {@link #main(String[])} を実行するか、
+ * テストクラスパスで {@code org.openjdk.jmh.Main PasswordVerifierBenchmark -t <スレッド数>} を実行する。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({ Mode.Throughput, Mode.SampleTime })
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class PasswordVerifierBenchmark {
+
+    /** 照合するパスワード */
+    private static final String PASSWORD = "correct horse battery staple";
+
+    /** 比較する反復回数 */
+    @Param({ "10000", "50000", "100000", "210000", "600000" })
+    private int iterations;
+
+    /** テスト対象 */
+    private Pbkdf2PasswordVerifier verifier;
+
+    /** 照合対象の保存値 */
+    private String stored;
+
+    @Setup
+    public void setUp() {
+        verifier = new Pbkdf2PasswordVerifier(iterations, new SecureRandom());
+        stored = verifier.encode(PASSWORD);
+    }
+
+    /**
+     * 正しいパスワードの照合（ログイン成功時と同じ経路）。
+     */
+    @Benchmark
+    public boolean matches() {
+        return verifier.matches(PASSWORD, stored);
+    }
+
+    /**
+     * 利用可能なコア数と同じスレッド数でベンチマークを実行する。
+     *
+     * @param args 未使用
+     * @throws RunnerException 実行失敗時
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(PasswordVerifierBenchmark.class.getSimpleName())
+                .threads(Runtime.getRuntime().availableProcessors())
+                .build()).run();
+    }
+}
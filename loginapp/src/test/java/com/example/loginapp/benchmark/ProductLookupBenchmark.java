@@ -0,0 +1,117 @@
+package com.example.loginapp.benchmark;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.rest.config.ProductCacheProperties;
+import com.example.loginapp.rest.config.ProductSnapshotProperties;
+import com.example.loginapp.rest.repository.CachingProductRepository;
+import com.example.loginapp.rest.repository.MyBatisProductRepository;
+import com.example.loginapp.rest.repository.ProductCatalogVersion;
+import com.example.loginapp.rest.repository.SnapshotProductRepository;
+
+/**
+ * 読み込み済みの商品の取得コストを、スナップショット（{@code product.store=snapshot}）と
+ * キャッシュ（{@code product.store=cache}）のヒット時で比較する JMH ベンチマーク。
+ * <p>
+ * 委譲先の DB はモックとし、計測前に全商品を読み込み済みの状態にする（計測中は DB にアクセスしない）。
+ * 複数スレッドから同時に読み込み、ロック・ボクシングの有無による差を見る。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、IDE から {@link #main(String[])} を実行するか、
+ * テストクラスパスで {@code org.openjdk.jmh.Main ProductLookupBenchmark} を実行する。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Threads(4)
+@Fork(1)
+public class ProductLookupBenchmark {
+
+    /** 1 ページの件数（product.page.default-size） */
+    private static final int PAGE_SIZE = 50;
+
+    /** 商品数 */
+    @Param({ "10000", "1000000" })
+    private int products;
+
+    /** スナップショット */
+    private SnapshotProductRepository snapshot;
+
+    /** キャッシュ */
+    private CachingProductRepository cache;
+
+    @Setup
+    public void setUp() {
+        List<Product> catalog = new ArrayList<>(products);
+        for (int id = 1; id <= products; id++) {
+            catalog.add(new Product(id, "product-" + id, BigDecimal.valueOf(id)));
+        }
+        MyBatisProductRepository delegate = mock(MyBatisProductRepository.class);
+        when(delegate.findAll()).thenReturn(catalog);
+        when(delegate.findById(anyInt()))
+                .thenAnswer(invocation -> catalog.get(invocation.<Integer>getArgument(0) - 1));
+
+        snapshot = new SnapshotProductRepository(delegate, new ProductSnapshotProperties(),
+                new ProductCatalogVersion());
+        snapshot.afterPropertiesSet();
+
+        ProductCacheProperties cacheProperties = new ProductCacheProperties();
+        cacheProperties.setMaximumSize(products);
+        cacheProperties.setTtlMillis(TimeUnit.HOURS.toMillis(1));
+        cache = new CachingProductRepository(delegate, cacheProperties, new ProductCatalogVersion());
+        for (Product product : catalog) {
+            cache.findById(product.getId());
+        }
+    }
+
+    @Benchmark
+    public Product snapshotFindById() {
+        return snapshot.findById(randomId());
+    }
+
+    @Benchmark
+    public Product cacheFindById() {
+        return cache.findById(randomId());
+    }
+
+    @Benchmark
+    public List<Product> snapshotPage() {
+        return snapshot.findPageAfter(randomId(), PAGE_SIZE);
+    }
+
+    private int randomId() {
+        return ThreadLocalRandom.current().nextInt(products) + 1;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductLookupBenchmark.class.getSimpleName()).build()).run();
+    }
+}
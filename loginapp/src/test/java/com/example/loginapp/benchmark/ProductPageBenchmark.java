@@ -0,0 +1,167 @@
+package com.example.loginapp.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.loginapp.domain.model.Product;
+
+/**
+ * 商品一覧の取得のレイテンシを、全件取得・キーセット方式のページ・OFFSET 方式のページで比較する JMH ベンチマーク。
+ * <p>
+ * {@code DDL/benchmark/seed_products.sql} で 100 万件を投入した MySQL に対して、
+ * {@code MyBatisProductRepository#findAll}・{@code #findPageAfter} と同じ SQL を実行し、結果を {@link Product} のリストに詰める。
+ * ページはランダムな位置から取得する。OFFSET 方式は読み飛ばす行数に比例して遅くなることを比較のために示す。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、テストクラスパスで
+ * {@code org.openjdk.jmh.Main ProductPageBenchmark -p url=<JDBC URL> -p user=<ユーザ> -p password=<パスワード>} を実行する。
+ * 全件取得は 1 回が秒単位となるため、{@code -wi 1 -i 3} 程度で十分である。
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class ProductPageBenchmark {
+
+    /** 全件取得（findAll と同じ SQL） */
+    private static final String FIND_ALL_SQL = "SELECT id, name, price FROM products";
+
+    /** キーセット方式のページ（findPageAfter と同じ SQL） */
+    private static final String KEYSET_SQL = "SELECT id, name, price FROM products WHERE id > ? ORDER BY id LIMIT ?";
+
+    /** OFFSET 方式のページ（比較用） */
+    private static final String OFFSET_SQL = "SELECT id, name, price FROM products ORDER BY id LIMIT ? OFFSET ?";
+
+    /** JDBC URL */
+    @Param("jdbc:mysql://localhost:3306/login_db?useSSL=false&serverTimezone=Asia/Tokyo")
+    private String url;
+
+    /** DB ユーザ */
+    @Param("root")
+    private String user;
+
+    /** DB パスワード */
+    @Param("aiue0123")
+    private String password;
+
+    /** 1 ページの件数（product.page.default-size・max-size） */
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    /** DB 接続 */
+    private Connection connection;
+
+    /** 全件取得 */
+    private PreparedStatement findAll;
+
+    /** キーセット方式のページ */
+    private PreparedStatement keyset;
+
+    /** OFFSET 方式のページ */
+    private PreparedStatement offset;
+
+    /** 商品IDの最大値 */
+    private int maxId;
+
+    /** 商品数 */
+    private int rowCount;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        findAll = connection.prepareStatement(FIND_ALL_SQL);
+        keyset = connection.prepareStatement(KEYSET_SQL);
+        offset = connection.prepareStatement(OFFSET_SQL);
+        try (Statement statement = connection.createStatement();
+                ResultSet rs = statement.executeQuery("SELECT MAX(id), COUNT(*) FROM products")) {
+            rs.next();
+            maxId = rs.getInt(1);
+            rowCount = rs.getInt(2);
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * 全商品を 1 回で取得する（変更前の GET /api/products）。
+     */
+    @Benchmark
+    public List<Product> findAll() throws SQLException {
+        return read(findAll);
+    }
+
+    /**
+     * ランダムな商品IDの後ろから 1 ページを取得する。
+     */
+    @Benchmark
+    public List<Product> keysetPage() throws SQLException {
+        keyset.setInt(1, ThreadLocalRandom.current().nextInt(Math.max(maxId - pageSize, 1)));
+        keyset.setInt(2, pageSize);
+        return read(keyset);
+    }
+
+    /**
+     * ランダムな位置から OFFSET 指定で 1 ページを取得する。
+     */
+    @Benchmark
+    public List<Product> offsetPage() throws SQLException {
+        offset.setInt(1, pageSize);
+        offset.setInt(2, ThreadLocalRandom.current().nextInt(Math.max(rowCount - pageSize, 1)));
+        return read(offset);
+    }
+
+    /**
+     * 検索結果を商品のリストに詰める。
+     */
+    private static List<Product> read(PreparedStatement statement) throws SQLException {
+        List<Product> products = new ArrayList<>();
+        try (ResultSet rs = statement.executeQuery()) {
+            while (rs.next()) {
+                products.add(new Product(rs.getInt(1), rs.getString(2), rs.getBigDecimal(3)));
+            }
+        }
+        return products;
+    }
+
+    /**
+     * ベンチマークを 1 スレッドで実行する。
+     *
+     * @param args 未使用
+     * @throws RunnerException 実行失敗時
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ProductPageBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.loginapp.benchmark;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.rest.config.ProductResponseCacheProperties;
+import com.example.loginapp.rest.model.ProductResponse;
+import com.example.loginapp.rest.repository.ProductCatalogVersion;
+import com.example.loginapp.rest.service.impl.ProductResponseCache;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 商品一覧の 1 ページ分のレスポンス本文を用意するコストを、毎回のシリアライズとシリアライズ済みのバイト列で比較する JMH ベンチマーク。
+ * <p>
+ * serialize は {@link ProductResponse}（BigDecimal の価格を含む）を生成して Jackson で UTF-8 の JSON に変換する。
+ * cached は {@link ProductResponseCache} からバージョン番号の変わらない間のバイト列を取得する。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、IDE から {@link #main(String[])} を実行するか、
+ * テストクラスパスで {@code org.openjdk.jmh.Main ProductResponseBenchmark} を実行する。
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class ProductResponseBenchmark {
+
+    /** キャッシュ上のページの名前 */
+    private static final String PAGE_NAME = "page:0:50";
+
+    /** 1 ページの件数（product.page.default-size・max-size） */
+    @Param({ "50", "500" })
+    private int pageSize;
+
+    /** 1 ページ分の商品 */
+    private List<Product> page;
+
+    /** シリアライズに使用する ObjectMapper */
+    private ObjectMapper objectMapper;
+
+    /** シリアライズ済みのレスポンスのキャッシュ */
+    private ProductResponseCache cache;
+
+    @Setup
+    public void setUp() {
+        page = new ArrayList<>(pageSize);
+        for (int id = 1; id <= pageSize; id++) {
+            page.add(new Product(id, "product-" + id, BigDecimal.valueOf(id * 100L, 2)));
+        }
+        objectMapper = new ObjectMapper();
+        cache = new ProductResponseCache(new ProductCatalogVersion(), objectMapper,
+                new ProductResponseCacheProperties());
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new ProductResponse(new ArrayList<>(page), pageSize));
+    }
+
+    @Benchmark
+    public byte[] cached() {
+        return cache.get(PAGE_NAME, () -> new ProductResponse(new ArrayList<>(page), pageSize)).body();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(ProductResponseBenchmark.class.getSimpleName()).build()).run();
+    }
+}
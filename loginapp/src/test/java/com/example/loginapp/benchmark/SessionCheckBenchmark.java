@@ -0,0 +1,188 @@
+package com.example.loginapp.benchmark;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.web.method.HandlerMethod;
+
+import com.example.loginapp.rest.config.MicrometerLoginLatencyMetrics;
+import com.example.loginapp.rest.annotation.SessionRequired;
+import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.constants.SessionKeys;
+import com.example.loginapp.rest.interceptor.SessionCheckInterceptor;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.model.SessionCheckResponse;
+import com.example.loginapp.rest.model.SuccessResponse;
+import com.example.loginapp.rest.service.SessionService;
+import com.example.loginapp.rest.service.impl.LoginSessionRegistry;
+import com.example.loginapp.rest.service.impl.SessionServiceImpl;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * 有効なセッションでの {@code @SessionRequired} の検証コストを、インターセプタと AOP で比較する JMH ベンチマーク。
+ * <p>
+ * interceptor は {@link SessionCheckInterceptor#preHandle} の後にハンドラを直接呼び出す。
+ * aspect は置き換え前の {@code SessionValidator} と同じ処理（メソッド名の文字列化、引数の 2 回の走査、
+ * 戻り値の型判定）を行う {@code @Around} アドバイスでプロキシしたハンドラを呼び出す。
+ * どちらも HttpSession によるセッション管理（{@link SessionServiceImpl}）を使用する。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、IDE から {@link #main(String[])} を実行するか、
+ * テストクラスパスで {@code org.openjdk.jmh.Main SessionCheckBenchmark} を実行する。
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class SessionCheckBenchmark {
+
+    /** 計測中に期限切れとならないセッション有効期限 */
+    private static final long SESSION_TIMEOUT_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    /** ハンドラの応答 */
+    private static final ResponseEntity<SessionCheckResponse> OK = ResponseEntity.ok(new SuccessResponse("OK"));
+
+    /** ログイン済みのリクエスト */
+    private MockHttpServletRequest request;
+
+    /** レスポンス */
+    private MockHttpServletResponse response;
+
+    /** ハンドラ */
+    private Handler handler;
+
+    /** インターセプタに渡すハンドラメソッド */
+    private HandlerMethod handlerMethod;
+
+    /** インターセプタ */
+    private SessionCheckInterceptor interceptor;
+
+    /** AOP でプロキシしたハンドラ */
+    private Handler proxied;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        SessionProperties properties = new SessionProperties();
+        properties.setTimeoutMillis(SESSION_TIMEOUT_MILLIS);
+        SessionService sessionService = new SessionServiceImpl(properties,
+                new MicrometerLoginLatencyMetrics(new SimpleMeterRegistry()), new LoginSessionRegistry(properties));
+
+        MockHttpSession session = new MockHttpSession();
+        session.setAttribute(SessionKeys.LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+        request = new MockHttpServletRequest("GET", "/api/products");
+        request.setSession(session);
+        response = new MockHttpServletResponse();
+
+        handler = new Handler();
+        handlerMethod = new HandlerMethod(handler,
+                Handler.class.getMethod("getProducts", HttpServletRequest.class, Locale.class));
+        interceptor = new SessionCheckInterceptor(new StaticMessageSource(), sessionService, new ObjectMapper());
+
+        AspectJProxyFactory factory = new AspectJProxyFactory(new Handler());
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ArgumentScanningAspect(sessionService));
+        proxied = factory.getProxy();
+    }
+
+    @Benchmark
+    public Object interceptor() throws Exception {
+        if (!interceptor.preHandle(request, response, handlerMethod)) {
+            return null;
+        }
+        return handler.getProducts(request, Locale.JAPANESE);
+    }
+
+    @Benchmark
+    public Object aspect() {
+        return proxied.getProducts(request, Locale.JAPANESE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(SessionCheckBenchmark.class.getSimpleName()).build()).run();
+    }
+
+    /**
+     * ベンチマーク用のハンドラ。
+     */
+    public static class Handler {
+
+        @SessionRequired
+        public ResponseEntity<SessionCheckResponse> getProducts(HttpServletRequest request, Locale locale) {
+            return OK;
+        }
+    }
+
+    /**
+     * 置き換え前の {@code SessionValidator} の有効なセッションでの処理を再現するアドバイス。
+     */
+    @Aspect
+    public static class ArgumentScanningAspect {
+
+        /** セッション管理に関する処理を提供するサービス */
+        private final SessionService sessionService;
+
+        public ArgumentScanningAspect(SessionService sessionService) {
+            this.sessionService = sessionService;
+        }
+
+        @Around("@annotation(sessionRequired)")
+        public Object checkSession(ProceedingJoinPoint joinPoint, SessionRequired sessionRequired) throws Throwable {
+            String methodName = joinPoint.getSignature().toShortString();
+            HttpServletRequest request = null;
+            for (Object arg : joinPoint.getArgs()) {
+                if (arg instanceof HttpServletRequest httpRequest) {
+                    request = httpRequest;
+                    break;
+                }
+            }
+            Locale locale = Locale.getDefault();
+            for (Object arg : joinPoint.getArgs()) {
+                if (arg instanceof Locale argLocale) {
+                    locale = argLocale;
+                    break;
+                }
+            }
+            if (request == null) {
+                throw new IllegalStateException(methodName + " " + locale);
+            }
+            LoginSession loginSession = sessionService.getLoginSession(request);
+            if (loginSession == null || !sessionService.isSessionValid(loginSession)) {
+                return null;
+            }
+            Object result = joinPoint.proceed();
+            if (result instanceof ResponseEntity<?> responseEntity
+                    && responseEntity.getBody() instanceof SessionCheckResponse) {
+                return result;
+            }
+            return OK;
+        }
+    }
+}
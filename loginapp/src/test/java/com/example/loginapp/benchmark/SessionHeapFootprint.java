@@ -0,0 +1,93 @@
+package com.example.loginapp.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntFunction;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * 同時ログインセッション数に対するセッション属性のヒープ使用量を計測する。
+ * <p>
+ * Tomcat の {@code StandardSession} はセッション属性を {@link ConcurrentHashMap} に保持するため、
+ * セッションごとに同じ Map を生成し、ログイン情報を 3 属性（Boolean・String・Long）で保存する場合と
+ * {@link LoginSession} 1 属性で保存する場合のヒープ増加量を比較する。
+ * ユーザ名の文字列は両方式で同じだけ保持するため、差分は属性の保存方法によるものとなる。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、テストクラスパスで
+ * {@code SessionHeapFootprint [セッション数]} を実行する（既定 100000）。
+ * 計測値を安定させるため {@code -XX:+UseSerialGC} を付けて実行するとよい。
+ * </p>
+ */
+public final class SessionHeapFootprint {
+
+    /** 既定のセッション数 */
+    private static final int DEFAULT_SESSIONS = 100_000;
+
+    /** GC 後のヒープ使用量が安定するまでの GC 回数 */
+    private static final int GC_ROUNDS = 5;
+
+    private SessionHeapFootprint() {
+    }
+
+    /**
+     * 両方式のヒープ使用量を計測し、結果を出力する。
+     *
+     * @param args セッション数
+     */
+    public static void main(String[] args) {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SESSIONS;
+        String[] usernames = new String[sessions];
+        for (int i = 0; i < sessions; i++) {
+            usernames[i] = "user" + i;
+        }
+        long now = System.currentTimeMillis();
+
+        long separate = measure(sessions, i -> {
+            Map<String, Object> attributes = new ConcurrentHashMap<>();
+            attributes.put("isLoggedIn", true);
+            attributes.put("username", usernames[i]);
+            attributes.put("loginTime", now + i);
+            return attributes;
+        });
+        long single = measure(sessions, i -> {
+            Map<String, Object> attributes = new ConcurrentHashMap<>();
+            attributes.put("loginSession", new LoginSession(usernames[i], now + i));
+            return attributes;
+        });
+
+        System.out.printf("sessions=%d separate=%.1fMiB (%d B/session) loginSession=%.1fMiB (%d B/session)%n",
+                sessions, mib(separate), separate / sessions, mib(single), single / sessions);
+    }
+
+    /**
+     * 指定数のセッション属性を生成し、保持している間のヒープ増加量を返す。
+     */
+    private static long measure(int sessions, IntFunction<Map<String, Object>> factory) {
+        long before = usedHeapAfterGc();
+        Object[] retained = new Object[sessions];
+        for (int i = 0; i < sessions; i++) {
+            retained[i] = factory.apply(i);
+        }
+        long after = usedHeapAfterGc();
+        if (retained[sessions - 1] == null) {
+            throw new IllegalStateException();
+        }
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < GC_ROUNDS; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static double mib(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
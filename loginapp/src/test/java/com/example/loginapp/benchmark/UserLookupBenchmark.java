@@ -0,0 +1,128 @@
+package com.example.loginapp.benchmark;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * ユーザ名によるユーザ検索のレイテンシを、一意インデックスを使う場合と使わない場合で比較する JMH ベンチマーク。
+ * <p>
+ * {@code DDL/benchmark/seed_users.sql} で 100 万件を投入した MySQL に対して、
+ * {@code MyBatisUserRepository#findByUsername} と同じ SQL を実行する。
+ * インデックスを使わない場合は {@code IGNORE INDEX} で V2 マイグレーション適用前の全件走査を再現する。
+ * </p>
+ * <p>
+ * 実行方法: {@code mvn test-compile} の後、テストクラスパスで
+ * {@code org.openjdk.jmh.Main UserLookupBenchmark -p url=<JDBC URL> -p user=<ユーザ> -p password=<パスワード>} を実行する。
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class UserLookupBenchmark {
+
+    /** インデックスを使用する検索（findByUsername と同じ SQL） */
+    private static final String INDEXED_SQL = "SELECT username, password FROM users WHERE username = ?";
+
+    /** インデックスを使用しない検索（マイグレーション適用前の再現） */
+    private static final String FULL_SCAN_SQL =
+            "SELECT username, password FROM users IGNORE INDEX (uq_users_username) WHERE username = ?";
+
+    /** seed_users.sql で投入したユーザ数 */
+    private static final int SEEDED_USERS = 1_000_000;
+
+    /** JDBC URL */
+    @Param("jdbc:mysql://localhost:3306/login_db?useSSL=false&serverTimezone=Asia/Tokyo")
+    private String url;
+
+    /** DB ユーザ */
+    @Param("root")
+    private String user;
+
+    /** DB パスワード */
+    @Param("aiue0123")
+    private String password;
+
+    /** DB 接続 */
+    private Connection connection;
+
+    /** インデックスを使用する検索 */
+    private PreparedStatement indexed;
+
+    /** インデックスを使用しない検索 */
+    private PreparedStatement fullScan;
+
+    @Setup
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(url, user, password);
+        indexed = connection.prepareStatement(INDEXED_SQL);
+        fullScan = connection.prepareStatement(FULL_SCAN_SQL);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        connection.close();
+    }
+
+    /**
+     * 一意インデックスによる検索。
+     */
+    @Benchmark
+    public String findByUsername() throws SQLException {
+        return lookup(indexed);
+    }
+
+    /**
+     * 全件走査による検索。
+     */
+    @Benchmark
+    public String findByUsernameFullScan() throws SQLException {
+        return lookup(fullScan);
+    }
+
+    /**
+     * 投入済みのユーザ名からランダムに 1 件検索し、パスワードの保存値を返す。
+     */
+    private static String lookup(PreparedStatement statement) throws SQLException {
+        int n = ThreadLocalRandom.current().nextInt(SEEDED_USERS) + 1;
+        statement.setString(1, String.format("bench%07d", n));
+        try (ResultSet rs = statement.executeQuery()) {
+            return rs.next() ? rs.getString(2) : null;
+        }
+    }
+
+    /**
+     * ベンチマークを 1 スレッドで実行する。
+     *
+     * @param args 未使用
+     * @throws RunnerException 実行失敗時
+     */
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(UserLookupBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
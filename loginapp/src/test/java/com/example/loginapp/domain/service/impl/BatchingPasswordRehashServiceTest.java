@@ -0,0 +1,229 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.domain.model.PasswordUpdate;
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link BatchingPasswordRehashService} の単体テスト。
+ * <p>
+ * 依頼が専用スレッドプールでハッシュ化され、ユーザ名単位でまとめられ、バッチ単位の UPDATE で書き戻されることを検証する。
+ * </p>
+ */
+class BatchingPasswordRehashServiceTest {
+
+    /** テスト用の PBKDF2 識別子 */
+    private static final String PBKDF2_ID = "pbkdf2";
+
+    /** テスト用の反復回数 */
+    private static final int ITERATIONS = 1_000;
+
+    private static final int MAX_PENDING = 5;
+    private static final int BATCH_SIZE = 2;
+    private static final String USERNAME_PREFIX = "user";
+    private static final String PASSWORD = "pass";
+
+    /** モック化された UserRepository */
+    private UserRepository userRepository;
+
+    /** 新しい保存値の生成に使用する照合方式 */
+    private PasswordVerifier passwordVerifier;
+
+    /** ハッシュ化専用のスレッドプール（テストでは任意の時点で実行する） */
+    private ManualExecutor hashExecutor;
+
+    /** UPDATE ごとに渡された更新内容 */
+    private List<List<PasswordUpdate>> batches;
+
+    /** テスト対象 */
+    private BatchingPasswordRehashService service;
+
+    @BeforeEach
+    void setUp() {
+        userRepository = mock(UserRepository.class);
+        batches = new ArrayList<>();
+        when(userRepository.updatePasswords(anyList())).thenAnswer(invocation -> {
+            List<PasswordUpdate> batch = invocation.getArgument(0);
+            batches.add(List.copyOf(batch));
+            return batch.size();
+        });
+        passwordVerifier = new DelegatingPasswordVerifier(PBKDF2_ID,
+                Map.of(PBKDF2_ID, new Pbkdf2PasswordVerifier(ITERATIONS, new SecureRandom())),
+                new PlaintextPasswordVerifier());
+        hashExecutor = new ManualExecutor();
+        service = new BatchingPasswordRehashService(userRepository, passwordVerifier, hashExecutor, MAX_PENDING,
+                BATCH_SIZE);
+    }
+
+    /**
+     * 保留中の依頼がバッチサイズごとにまとめて書き戻され、新しい保存値で照合できることを確認。
+     */
+    @Test
+    void flush_WritesPendingRequestsInBatches() {
+        for (int i = 0; i < 3; i++) {
+            service.requestRehash(new User(USERNAME_PREFIX + i, PASSWORD), PASSWORD);
+        }
+        hashExecutor.runAll();
+
+        assertThat(service.flush()).isEqualTo(3);
+
+        assertThat(batches).extracting(List::size).containsExactly(2, 1);
+        for (List<PasswordUpdate> batch : batches) {
+            for (PasswordUpdate update : batch) {
+                assertThat(update.getCurrentPassword()).isEqualTo(PASSWORD);
+                assertThat(passwordVerifier.matches(PASSWORD, update.getNewPassword())).isTrue();
+                assertThat(passwordVerifier.needsRehash(update.getNewPassword())).isFalse();
+            }
+        }
+        assertThat(service.pendingCount()).isZero();
+        assertThat(service.updatedCount()).isEqualTo(3);
+    }
+
+    /**
+     * 同一ユーザの依頼は 1 件にまとめられることを確認。
+     */
+    @Test
+    void requestRehash_DeduplicatesByUsername() {
+        User user = new User(USERNAME_PREFIX, PASSWORD);
+        service.requestRehash(user, PASSWORD);
+        service.requestRehash(user, PASSWORD);
+
+        assertThat(service.pendingCount()).isEqualTo(1);
+        assertThat(service.requestedCount()).isEqualTo(1);
+    }
+
+    /**
+     * 保留件数が上限に達した場合は依頼を破棄することを確認。
+     */
+    @Test
+    void requestRehash_DropsWhenPendingIsFull() {
+        for (int i = 0; i <= MAX_PENDING; i++) {
+            service.requestRehash(new User(USERNAME_PREFIX + i, PASSWORD), PASSWORD);
+        }
+
+        assertThat(service.pendingCount()).isEqualTo(MAX_PENDING);
+        assertThat(service.droppedCount()).isEqualTo(1);
+    }
+
+    /**
+     * ハッシュ化が済んでいない依頼は書き戻さず、書き戻しではハッシュ計算を行わないことを確認。
+     */
+    @Test
+    void flush_WritesOnlyEncodedRequests() {
+        PasswordVerifier countingVerifier = spy(passwordVerifier);
+        service = new BatchingPasswordRehashService(userRepository, countingVerifier, hashExecutor, MAX_PENDING,
+                BATCH_SIZE);
+        service.requestRehash(new User(USERNAME_PREFIX, PASSWORD), PASSWORD);
+
+        assertThat(service.flush()).isZero();
+        verify(countingVerifier, never()).encode(any());
+        assertThat(service.pendingCount()).isEqualTo(1);
+
+        hashExecutor.runAll();
+        verify(countingVerifier, times(1)).encode(PASSWORD);
+        assertThat(service.flush()).isEqualTo(1);
+        assertThat(service.pendingCount()).isZero();
+    }
+
+    /**
+     * スレッドプールのキューが満杯で受け付けられない依頼は破棄し、同じユーザの次回の依頼は受け付けることを確認。
+     */
+    @Test
+    void requestRehash_DropsWhenExecutorRejects() {
+        User user = new User(USERNAME_PREFIX, PASSWORD);
+        hashExecutor.rejecting = true;
+        service.requestRehash(user, PASSWORD);
+
+        assertThat(service.droppedCount()).isEqualTo(1);
+        assertThat(service.pendingCount()).isZero();
+
+        hashExecutor.rejecting = false;
+        service.requestRehash(user, PASSWORD);
+        assertThat(service.requestedCount()).isEqualTo(1);
+    }
+
+    /**
+     * 保留中の依頼がなければ UPDATE を発行しないことを確認。
+     */
+    @Test
+    void flush_DoesNothingWhenEmpty() {
+        assertThat(service.flush()).isZero();
+
+        verify(userRepository, never()).updatePasswords(anyList());
+    }
+
+    /**
+     * 受け付けたタスクを {@link #runAll()} の呼び出し時に呼び出し元スレッドで実行する ExecutorService。
+     */
+    private static final class ManualExecutor extends AbstractExecutorService {
+
+        /** 実行待ちのタスク */
+        private final Deque<Runnable> tasks = new ArrayDeque<>();
+
+        /** true の場合はキューが満杯として拒否する */
+        private boolean rejecting;
+
+        /** 停止済みの場合 true */
+        private boolean shutdown;
+
+        void runAll() {
+            while (!tasks.isEmpty()) {
+                tasks.poll().run();
+            }
+        }
+
+        @Override
+        public void execute(Runnable command) {
+            if (rejecting || shutdown) {
+                throw new RejectedExecutionException();
+            }
+            tasks.add(command);
+        }
+
+        @Override
+        public void shutdown() {
+            shutdown = true;
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            shutdown = true;
+            List<Runnable> pending = new ArrayList<>(tasks);
+            tasks.clear();
+            return pending;
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return shutdown;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return shutdown && tasks.isEmpty();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return isTerminated();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link BloomUsernameFilter} の単体テスト。
+ * <p>
+ * 偽陰性が発生しないこと、偽陽性率が目標付近に収まることを検証する。
+ * </p>
+ */
+class BloomUsernameFilterTest {
+
+    /** 想定件数 */
+    private static final int EXPECTED_INSERTIONS = 10_000;
+
+    /** 目標偽陽性率 */
+    private static final double FALSE_POSITIVE_PROBABILITY = 0.01;
+
+    /** 許容する実測偽陽性率（目標の 2 倍まで） */
+    private static final double ACCEPTABLE_FALSE_POSITIVE_RATE = FALSE_POSITIVE_PROBABILITY * 2;
+
+    /** 偽陽性率の計測に使う未登録ユーザ名の件数 */
+    private static final int PROBE_COUNT = 100_000;
+
+    private static final String KNOWN_PREFIX = "user";
+
+    /** 追加と作り直しを競合させる回数 */
+    private static final int SWAP_ROUNDS = 2_000;
+
+    /** テスト内の待機の上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 5;
+    private static final String UNKNOWN_PREFIX = "stranger";
+    private static final String USERNAME = "Taro";
+    private static final String USERNAME_OTHER_CASE = "tARO";
+
+    /** テスト対象 */
+    private BloomUsernameFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        filter = new BloomUsernameFilter(EXPECTED_INSERTIONS, FALSE_POSITIVE_PROBABILITY);
+    }
+
+    /**
+     * 追加済みのユーザ名は必ず存在すると判定され、未登録名の偽陽性率が目標付近であることを確認。
+     */
+    @Test
+    void mightExist_NoFalseNegativesAndBoundedFalsePositives() {
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            filter.add(KNOWN_PREFIX + i);
+        }
+        filter.markReady();
+
+        for (int i = 0; i < EXPECTED_INSERTIONS; i++) {
+            assertThat(filter.mightExist(KNOWN_PREFIX + i)).isTrue();
+        }
+
+        int falsePositives = 0;
+        for (int i = 0; i < PROBE_COUNT; i++) {
+            if (filter.mightExist(UNKNOWN_PREFIX + i)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / PROBE_COUNT;
+
+        assertThat(observed).isLessThan(ACCEPTABLE_FALSE_POSITIVE_RATE);
+        assertThat(filter.estimatedFalsePositiveRate()).isLessThan(ACCEPTABLE_FALSE_POSITIVE_RATE);
+        assertThat(filter.rejectionCount()).isEqualTo(PROBE_COUNT - falsePositives);
+    }
+
+    /**
+     * ウォームアップ完了前はすべてのユーザ名を通過させることを確認。
+     */
+    @Test
+    void mightExist_ReturnsTrueUntilReady() {
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightExist(UNKNOWN_PREFIX)).isTrue();
+    }
+
+    /**
+     * DB の照合順序に合わせて大文字小文字を区別しないことを確認。
+     */
+    @Test
+    void mightExist_IgnoresCase() {
+        filter.add(USERNAME);
+        filter.markReady();
+
+        assertThat(filter.mightExist(USERNAME_OTHER_CASE)).isTrue();
+    }
+
+    /**
+     * 作り直しで DB 側の全ユーザ名に置き換わり、作り直し中に追加されたユーザ名も失われないことを確認。
+     */
+    @Test
+    void rebuild_ReplacesBitsWithoutLosingConcurrentAdds() {
+        filter.add(USERNAME);
+        filter.markReady();
+
+        filter.startRebuild();
+        filter.addRebuilt(KNOWN_PREFIX);
+        filter.add(UNKNOWN_PREFIX);
+        assertThat(filter.mightExist(KNOWN_PREFIX)).isFalse();
+        filter.finishRebuild();
+
+        assertThat(filter.mightExist(KNOWN_PREFIX)).isTrue();
+        assertThat(filter.mightExist(UNKNOWN_PREFIX)).isTrue();
+        assertThat(filter.mightExist(USERNAME)).isFalse();
+    }
+
+    /**
+     * 作り直しと同時にコミット・追加されたユーザ名が、作り直しの読み込みで漏れても置き換え後に失われないことを確認。
+     */
+    @Test
+    void rebuild_KeepsNamesAddedWhileRebuilding() throws Exception {
+        filter.markReady();
+        Set<String> committed = ConcurrentHashMap.newKeySet();
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            for (int round = 0; round < SWAP_ROUNDS; round++) {
+                String username = KNOWN_PREFIX + round;
+                CountDownLatch start = new CountDownLatch(1);
+                Future<?> registering = pool.submit(() -> {
+                    await(start);
+                    committed.add(username);
+                    filter.add(username);
+                });
+                start.countDown();
+                filter.startRebuild();
+                committed.forEach(filter::addRebuilt);
+                filter.finishRebuild();
+                registering.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+                assertThat(filter.mightExist(username)).as(username).isTrue();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * 作り直しを中止した場合は現在のビット列を使い続け、作り直し前のウォームアップが未完了なら通過させることを確認。
+     */
+    @Test
+    void abortRebuild_KeepsCurrentBits() {
+        filter.startRebuild();
+        filter.addRebuilt(KNOWN_PREFIX);
+        filter.abortRebuild();
+        filter.finishRebuild();
+
+        assertThat(filter.isReady()).isFalse();
+        assertThat(filter.mightExist(UNKNOWN_PREFIX)).isTrue();
+    }
+
+    /**
+     * null のユーザ名は存在しないと判定されることを確認。
+     */
+    @Test
+    void mightExist_ReturnsFalseForNull() {
+        filter.markReady();
+
+        assertThat(filter.mightExist(null)).isFalse();
+    }
+
+    /**
+     * メモリ使用量が想定件数と偽陽性率から算出したビット数に一致することを確認。
+     */
+    @Test
+    void memoryFootprint_MatchesOptimalBitCount() {
+        double optimalBits = -EXPECTED_INSERTIONS * Math.log(FALSE_POSITIVE_PROBABILITY)
+                / (Math.log(2) * Math.log(2));
+
+        assertThat(filter.memoryFootprintBytes() * Byte.SIZE)
+                .isBetween((long) optimalBits, (long) optimalBits + Long.SIZE);
+    }
+
+    /**
+     * 不正な偽陽性率を指定した場合に例外となることを確認。
+     */
+    @Test
+    void constructor_RejectsInvalidProbability() {
+        assertThrows(IllegalArgumentException.class, () -> new BloomUsernameFilter(EXPECTED_INSERTIONS, 1.0));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
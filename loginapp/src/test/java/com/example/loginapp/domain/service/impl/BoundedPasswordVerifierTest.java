@@ -0,0 +1,136 @@
+package com.example.loginapp.domain.service.impl;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.domain.service.PasswordHashMetrics;
+import com.example.loginapp.domain.service.PasswordVerifier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * {@link BoundedPasswordVerifier} の単体テスト。
+ * <p>
+ * スレッド 1 本・キュー 1 件のプールで、混雑時に即座に拒否されることと計測値の記録を検証する。
+ * </p>
+ */
+class BoundedPasswordVerifierTest {
+
+    /** 照合結果を待つ最大時間（ミリ秒） */
+    private static final long MAX_WAIT_MILLIS = 1_000;
+
+    /** テスト内の待機の上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 5;
+
+    private static final String PASSWORD = "pass";
+
+    /** 照合を開始したことを通知するラッチ */
+    private CountDownLatch started;
+
+    /** 照合の完了を許可するラッチ */
+    private CountDownLatch release;
+
+    /** 照合専用プール */
+    private ThreadPoolExecutor executor;
+
+    /** 待機中の呼び出しを実行するプール */
+    private ExecutorService callers;
+
+    /** 計測値の記録先 */
+    private PasswordHashMetrics metrics;
+
+    /** テスト対象 */
+    private BoundedPasswordVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+        PasswordVerifier blocking = new PasswordVerifier() {
+            @Override
+            public boolean matches(CharSequence rawPassword, String storedPassword) {
+                started.countDown();
+                try {
+                    release.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return rawPassword.toString().equals(storedPassword);
+            }
+
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean needsRehash(String storedPassword) {
+                return false;
+            }
+        };
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1));
+        callers = Executors.newCachedThreadPool();
+        metrics = mock(PasswordHashMetrics.class);
+        verifier = new BoundedPasswordVerifier(blocking, executor, MAX_WAIT_MILLIS, metrics);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        verifier.close();
+    }
+
+    /**
+     * 空きがあれば照合結果を返し、キュー待ち時間とハッシュ計算時間が記録されることを確認。
+     */
+    @Test
+    void matches_ReturnsDelegateResultAndRecordsTimers() {
+        release.countDown();
+
+        assertThat(verifier.matches(PASSWORD, PASSWORD)).isTrue();
+        verify(metrics, times(1)).recordQueueWait(anyLong());
+        verify(metrics, times(1)).recordHashTime(anyLong());
+        verify(metrics, never()).recordRejected();
+    }
+
+    /**
+     * スレッドとキューが埋まっている場合、待たずに拒否されることを確認。
+     */
+    @Test
+    void matches_RejectsWhenQueueIsFull() throws Exception {
+        callers.submit(() -> verifier.matches(PASSWORD, PASSWORD));
+        assertThat(started.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+        callers.submit(() -> verifier.matches(PASSWORD, PASSWORD));
+        while (executor.getQueue().isEmpty()) {
+            Thread.onSpinWait();
+        }
+
+        assertThrows(RejectedExecutionException.class, () -> verifier.matches(PASSWORD, PASSWORD));
+        verify(metrics, times(1)).recordRejected();
+    }
+
+    /**
+     * 待ち時間の上限を超えた場合に拒否として扱われることを確認。
+     */
+    @Test
+    void matches_RejectsWhenWaitExceedsLimit() {
+        assertThrows(RejectedExecutionException.class, () -> verifier.matches(PASSWORD, PASSWORD));
+        verify(metrics, times(1)).recordRejected();
+    }
+}
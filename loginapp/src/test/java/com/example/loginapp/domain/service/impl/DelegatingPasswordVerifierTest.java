@@ -0,0 +1,161 @@
+package com.example.loginapp.domain.service.impl;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.util.HexFormat;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * {@link DelegatingPasswordVerifier} と {@link Pbkdf2PasswordVerifier} の単体テスト。
+ */
+class DelegatingPasswordVerifierTest {
+
+    /** テスト用の PBKDF2 識別子 */
+    private static final String PBKDF2_ID = "pbkdf2";
+
+    /** テスト用の反復回数 */
+    private static final int ITERATIONS = 1_000;
+
+    /** 旧コストの反復回数 */
+    private static final int OLD_ITERATIONS = 10;
+
+    private static final String PASSWORD = "pass";
+    private static final String WRONG_PASSWORD = "wrongpass";
+    private static final String MULTIBYTE_PASSWORD = "パスワード🔑";
+    private static final String EMPTY_PASSWORD = "";
+    private static final String UNKNOWN_ID_HASH = "{md5}5f4dcc3b5aa765d61d8327deb882cf99";
+    private static final String MALFORMED_HASH = "{pbkdf2}not-a-hash";
+    private static final String BRACED_PLAINTEXT = "{abc}123";
+
+    /** RFC 7914 の PBKDF2-HMAC-SHA256 テストベクタ（P="passwd", S="salt", c=1） */
+    private static final String RFC7914_PASSWORD = "passwd";
+    private static final String RFC7914_SALT = "salt";
+    private static final int RFC7914_ITERATIONS = 1;
+    private static final String RFC7914_DERIVED_KEY = "55ac046e56e3089fec1691c22544b605f94185216dde0465e68b9d57c20dacbc"
+            + "49ca9cccf179b645991664b39d77ef317c71b845b1e30bd509112041d3a19783";
+
+    /** テスト対象 */
+    private DelegatingPasswordVerifier verifier;
+
+    @BeforeEach
+    void setUp() {
+        verifier = new DelegatingPasswordVerifier(PBKDF2_ID,
+                Map.of(PBKDF2_ID, new Pbkdf2PasswordVerifier(ITERATIONS, new SecureRandom())),
+                new PlaintextPasswordVerifier());
+    }
+
+    /**
+     * PBKDF2 の実装が RFC 7914 のテストベクタと一致することを確認。
+     */
+    @Test
+    void derive_MatchesRfc7914TestVector() {
+        byte[] password = RFC7914_PASSWORD.getBytes(StandardCharsets.UTF_8);
+        byte[] salt = RFC7914_SALT.getBytes(StandardCharsets.UTF_8);
+        byte[] expected = HexFormat.of().parseHex(RFC7914_DERIVED_KEY);
+
+        byte[] actual = Pbkdf2PasswordVerifier.derive(password, password.length, salt, RFC7914_ITERATIONS,
+                expected.length);
+
+        assertThat(actual).isEqualTo(expected);
+    }
+
+    /**
+     * encode() した値が識別子付きで保存され、元のパスワードとのみ一致することを確認。
+     */
+    @Test
+    void encode_ProducesPrefixedHashThatMatchesOnlyOriginal() {
+        String stored = verifier.encode(PASSWORD);
+
+        assertThat(stored).startsWith("{" + PBKDF2_ID + "}" + ITERATIONS + "$");
+        assertThat(verifier.matches(PASSWORD, stored)).isTrue();
+        assertThat(verifier.matches(WRONG_PASSWORD, stored)).isFalse();
+    }
+
+    /**
+     * 同じパスワードでもソルトにより異なるハッシュとなることを確認。
+     */
+    @Test
+    void encode_UsesRandomSalt() {
+        assertThat(verifier.encode(PASSWORD)).isNotEqualTo(verifier.encode(PASSWORD));
+    }
+
+    /**
+     * 保存値に含まれる反復回数で照合されるため、旧コストのハッシュも照合できることを確認。
+     */
+    @Test
+    void matches_UsesIterationsStoredWithHash() {
+        String oldHash = "{" + PBKDF2_ID + "}"
+                + new Pbkdf2PasswordVerifier(OLD_ITERATIONS, new SecureRandom()).encode(PASSWORD);
+
+        assertThat(verifier.matches(PASSWORD, oldHash)).isTrue();
+    }
+
+    /**
+     * マルチバイト文字や空文字のパスワードも照合できることを確認。
+     */
+    @Test
+    void matches_HandlesMultibyteAndEmptyPasswords() {
+        assertThat(verifier.matches(MULTIBYTE_PASSWORD, verifier.encode(MULTIBYTE_PASSWORD))).isTrue();
+        assertThat(verifier.matches(EMPTY_PASSWORD, verifier.encode(EMPTY_PASSWORD))).isTrue();
+        assertThat(verifier.matches(PASSWORD, verifier.encode(EMPTY_PASSWORD))).isFalse();
+    }
+
+    /**
+     * 識別子のない保存値は平文として照合されることを確認。
+     */
+    @Test
+    void matches_FallsBackToPlaintextForLegacyValues() {
+        assertThat(verifier.matches(PASSWORD, PASSWORD)).isTrue();
+        assertThat(verifier.matches(WRONG_PASSWORD, PASSWORD)).isFalse();
+    }
+
+    /**
+     * 先頭が {@code {…}} でも登録済みの方式を指していない保存値は平文として照合され、再ハッシュ対象となることを確認。
+     */
+    @Test
+    void matches_TreatsUnregisteredBracePrefixAsPlaintext() {
+        assertThat(verifier.matches(BRACED_PLAINTEXT, BRACED_PLAINTEXT)).isTrue();
+        assertThat(verifier.matches(PASSWORD, BRACED_PLAINTEXT)).isFalse();
+        assertThat(verifier.needsRehash(BRACED_PLAINTEXT)).isTrue();
+    }
+
+    /**
+     * 未知の識別子や不正な形式の保存値は一致しないことを確認。
+     */
+    @Test
+    void matches_RejectsUnknownOrMalformedValues() {
+        assertThat(verifier.matches(PASSWORD, UNKNOWN_ID_HASH)).isFalse();
+        assertThat(verifier.matches(PASSWORD, MALFORMED_HASH)).isFalse();
+        assertThat(verifier.matches(null, PASSWORD)).isFalse();
+        assertThat(verifier.matches(PASSWORD, null)).isFalse();
+    }
+
+    /**
+     * 平文・旧コスト・既定以外の方式の保存値は再ハッシュ対象となり、現在の設定の保存値は対象外であることを確認。
+     */
+    @Test
+    void needsRehash_DetectsLegacyAlgorithmsAndLowerCost() {
+        String oldHash = "{" + PBKDF2_ID + "}"
+                + new Pbkdf2PasswordVerifier(OLD_ITERATIONS, new SecureRandom()).encode(PASSWORD);
+
+        assertThat(verifier.needsRehash(verifier.encode(PASSWORD))).isFalse();
+        assertThat(verifier.needsRehash(oldHash)).isTrue();
+        assertThat(verifier.needsRehash(PASSWORD)).isTrue();
+        assertThat(verifier.needsRehash(UNKNOWN_ID_HASH)).isTrue();
+        assertThat(verifier.needsRehash(MALFORMED_HASH)).isTrue();
+    }
+
+    /**
+     * 平文方式での保存は許可されないことを確認。
+     */
+    @Test
+    void plaintextEncode_IsNotSupported() {
+        assertThrows(UnsupportedOperationException.class, () -> new PlaintextPasswordVerifier().encode(PASSWORD));
+    }
+}
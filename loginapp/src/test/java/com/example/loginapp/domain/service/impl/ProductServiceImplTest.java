@@ -13,6 +13,7 @@ import org.springframework.dao.DataAccessException;
 import java.math.BigDecimal;
 import java.util.Arrays;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static com.example.loginapp.domain.constants.ExceptionMessages.ROLLBACK_TEST;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -52,6 +53,7 @@ class ProductServiceImplTest {
     private static final int EXPECTED_PRODUCT_COUNT = 2;
     private static final int FIRST_INDEX = 0;
     private static final int ONCE = 1;
+    private static final int PAGE_SIZE = 50;
 
     /** 商品データの永続化にアクセスするリポジトリのモック。 */
     @Mock
@@ -79,6 +81,35 @@ class ProductServiceImplTest {
         verify(productRepository, times(ONCE)).findAll();
     }
 
+    /**
+     * getProductsAfter() が findPageAfter() の結果をそのまま返すことを確認する。
+     */
+    @Test
+    void getProductsAfter_ReturnsPage() {
+        List<Product> page = List.of(new Product(ID_GALAXY, NAME_GALAXY, PRICE_GALAXY));
+
+        when(productRepository.findPageAfter(ID_IPHONE, PAGE_SIZE)).thenReturn(page);
+
+        List<Product> result = productService.getProductsAfter(ID_IPHONE, PAGE_SIZE);
+
+        assertThat(result).isSameAs(page);
+        verify(productRepository, never()).findAll();
+    }
+
+    /**
+     * forEachProduct() が処理をリポジトリにそのまま渡すことを確認する。
+     */
+    @Test
+    void forEachProduct_DelegatesToRepository() {
+        Consumer<Product> action = product -> {
+        };
+
+        productService.forEachProduct(action);
+
+        verify(productRepository, times(ONCE)).forEachProduct(action);
+        verify(productRepository, never()).findAll();
+    }
+
     /**
      * findById() が指定 ID の商品を返すことを確認する。
      */
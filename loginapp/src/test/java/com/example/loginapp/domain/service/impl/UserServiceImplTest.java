@@ -1,17 +1,28 @@
 package com.example.loginapp.domain.service.impl;
 
 import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.repository.UserBatchRepository;
 import com.example.loginapp.domain.repository.UserRepository;
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.domain.service.UsernameFilter;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+
+import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -28,8 +39,19 @@ class UserServiceImplTest {
     @Mock
     private UserRepository userRepository;
 
-    /** テスト対象の UserServiceImpl（依存は自動注入） */
-    @InjectMocks
+    /** モック化された UserBatchRepository */
+    @Mock
+    private UserBatchRepository userBatchRepository;
+
+    /** モック化された既知ユーザ名フィルタ */
+    @Mock
+    private UsernameFilter usernameFilter;
+
+    /** モック化されたログイン処理の段階ごとの所要時間 */
+    @Mock
+    private LoginLatencyMetrics latencyMetrics;
+
+    /** テスト対象の UserServiceImpl */
     private UserServiceImpl userService;
 
     /** テストで使用する共通定数群 */
@@ -47,6 +69,11 @@ class UserServiceImplTest {
      */
     private static final int ONCE = 1;
 
+    @BeforeEach
+    void setUp() {
+        userService = new UserServiceImpl(userRepository, userBatchRepository, usernameFilter, latencyMetrics);
+    }
+
     /**
      * findUser(): ユーザが存在する場合、User オブジェクトを返すことを確認。
      */
@@ -63,6 +90,7 @@ class UserServiceImplTest {
         assertThat(result).isNotNull();
         assertThat(result.getUsername()).isEqualTo(USERNAME_TEST);
         verify(userRepository, times(ONCE)).findByUsername(eq(USERNAME_TEST));
+        verify(latencyMetrics, times(ONCE)).record(eq(Stage.FIND_USER), anyLong());
     }
 
     /**
@@ -90,6 +118,7 @@ class UserServiceImplTest {
         userService.registerUser(user);
 
         verify(userRepository, times(ONCE)).insertUser(eq(user));
+        verify(usernameFilter, times(ONCE)).add(eq(USERNAME_NEW));
     }
 
     /**
@@ -105,5 +134,58 @@ class UserServiceImplTest {
 
         assertThrows(DataAccessException.class, () -> userService.registerUser(user));
         verify(userRepository, times(ONCE)).insertUser(eq(user));
+        verify(usernameFilter, never()).add(any());
+    }
+
+    /**
+     * registerUsers(): insertUsers() が 1 回呼ばれ、全ユーザ名がフィルタに追加されることを確認。
+     */
+    @Test
+    void registerUsers_CallsBatchRepositoryOnce() {
+        User user = new User(USERNAME_NEW, PASSWORD_TEST);
+        User other = new User(USERNAME_TEST, PASSWORD_TEST);
+        List<User> users = List.of(user, other);
+
+        userService.registerUsers(users);
+
+        verify(userBatchRepository, times(ONCE)).insertUsers(eq(users));
+        verify(usernameFilter, times(ONCE)).add(eq(USERNAME_NEW));
+        verify(usernameFilter, times(ONCE)).add(eq(USERNAME_TEST));
+    }
+
+    /**
+     * registerUsers(): insertUsers() が例外を投げた場合、フィルタに追加されないことを確認。
+     */
+    @Test
+    void registerUsers_ThrowsException_WhenRepositoryFails() {
+        List<User> users = List.of(new User(USERNAME_ERROR, PASSWORD_TEST));
+
+        doThrow(new DataAccessException(DB_ERROR_MESSAGE) {
+        }).when(userBatchRepository).insertUsers(anyList());
+
+        assertThrows(DataAccessException.class, () -> userService.registerUsers(users));
+        verify(usernameFilter, never()).add(any());
+    }
+
+    /**
+     * registerUser(): トランザクション中はコミット後にフィルタへ追加され、ロールバック時は追加されないことを確認。
+     */
+    @Test
+    void registerUser_AddsToFilterOnlyAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.registerUser(new User(USERNAME_NEW, PASSWORD_TEST));
+            userService.registerUser(new User(USERNAME_TEST, PASSWORD_TEST));
+            verify(usernameFilter, never()).add(any());
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCommit();
+            synchronizations.get(1).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(usernameFilter, times(ONCE)).add(eq(USERNAME_NEW));
+        verify(usernameFilter, never()).add(eq(USERNAME_TEST));
     }
 }
@@ -85,7 +85,8 @@ public class UseCaseIntegrationTest {
      */
     @Test
     void testGetAllProducts() {
-        GetAllProductsOutputData output = getAllProductsInteractor.handle(new GetAllProductsInputData());
+        GetAllProductsOutputData output = getAllProductsInteractor
+                .handle(new GetAllProductsInputData(FIRST_PAGE_AFTER_ID, PAGE_SIZE));
 
         assertTrue(output.isSuccess());
         assertNotNull(output.getProducts());
@@ -66,4 +66,10 @@ public final class Constants {
 
     /** 商品リストの総数 */
     public static final int TOTAL_PRODUCTS = 2;
+
+    /** 先頭ページを示す商品ID */
+    public static final int FIRST_PAGE_AFTER_ID = 0;
+
+    /** 商品一覧の 1 ページの件数 */
+    public static final int PAGE_SIZE = 50;
 }
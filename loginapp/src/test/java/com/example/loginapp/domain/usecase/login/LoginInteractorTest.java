@@ -1,13 +1,29 @@
 package com.example.loginapp.domain.usecase.login;
 
 import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.domain.service.PasswordRehashService;
+import com.example.loginapp.domain.service.PasswordVerifier;
 import com.example.loginapp.domain.service.UserService;
+import com.example.loginapp.domain.service.UsernameFilter;
+import com.example.loginapp.domain.service.impl.DelegatingPasswordVerifier;
+import com.example.loginapp.domain.service.impl.Pbkdf2PasswordVerifier;
+import com.example.loginapp.domain.service.impl.PlaintextPasswordVerifier;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.dao.DataAccessException;
 
+import java.security.SecureRandom;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
 import static com.example.loginapp.domain.usecase.constants.Constants.*;
 import static com.example.loginapp.domain.usecase.constants.UseCaseErrorCodes.*;
@@ -17,6 +33,27 @@ class LoginInteractorTest {
     /** ユーザー情報の取得を担当するドメインサービス */
     private UserService userService;
 
+    /** 既知ユーザ名フィルタ */
+    private UsernameFilter usernameFilter;
+
+    /** パスワード照合方式（PBKDF2 と平文レガシー） */
+    private PasswordVerifier passwordVerifier;
+
+    /** パスワードの再ハッシュ */
+    private PasswordRehashService passwordRehashService;
+
+    /** ログイン処理の段階ごとの所要時間 */
+    private LoginLatencyMetrics latencyMetrics;
+
+    /** テスト用の PBKDF2 識別子 */
+    private static final String PBKDF2_ID = "pbkdf2";
+
+    /** テスト用の PBKDF2 反復回数（高速化のため小さくする） */
+    private static final int TEST_ITERATIONS = 1_000;
+
+    /** 存在しないユーザとの照合に使用するダミーのハッシュ */
+    private static final String DUMMY_HASH = "{pbkdf2}dummy";
+
     /** ログイン処理を行うユースケースの実装クラス */
     private LoginInteractor loginInteractor;
 
@@ -26,7 +63,15 @@ class LoginInteractorTest {
     @BeforeEach
     void setUp() {
         userService = mock(UserService.class);
-        loginInteractor = new LoginInteractor(userService);
+        usernameFilter = mock(UsernameFilter.class);
+        when(usernameFilter.mightExist(anyString())).thenReturn(true);
+        passwordRehashService = mock(PasswordRehashService.class);
+        passwordVerifier = new DelegatingPasswordVerifier(PBKDF2_ID,
+                Map.of(PBKDF2_ID, new Pbkdf2PasswordVerifier(TEST_ITERATIONS, new SecureRandom())),
+                new PlaintextPasswordVerifier());
+        latencyMetrics = mock(LoginLatencyMetrics.class);
+        loginInteractor = new LoginInteractor(userService, usernameFilter, passwordVerifier, passwordRehashService,
+                latencyMetrics);
     }
 
     /**
@@ -46,6 +91,60 @@ class LoginInteractorTest {
         assertTrue(output.isSuccess());
         assertEquals(VALID_USERNAME, output.getUsername());
         assertNull(output.getErrorCode());
+        verify(latencyMetrics, times(1)).record(eq(Stage.INTERACTOR), anyLong());
+        verify(latencyMetrics, times(1)).record(eq(Stage.PASSWORD), anyLong());
+    }
+
+    /**
+     * ハッシュ化されたパスワードで正常にログインできることを検証する。
+     */
+    @Test
+    void testLoginSuccessWithHashedPassword() {
+        User user = new User();
+        user.setUsername(VALID_USERNAME);
+        user.setPassword(passwordVerifier.encode(VALID_PASSWORD));
+
+        when(userService.findUser(VALID_USERNAME)).thenReturn(user);
+
+        assertTrue(loginInteractor.login(new LoginInputData(VALID_USERNAME, VALID_PASSWORD)).isSuccess());
+        assertFalse(loginInteractor.login(new LoginInputData(VALID_USERNAME, INVALID_PASSWORD)).isSuccess());
+    }
+
+    /**
+     * 平文で保存されたパスワードでログインに成功した場合、再ハッシュが依頼されることを検証する。
+     */
+    @Test
+    void testLoginSuccessRequestsRehashForLegacyPassword() {
+        User user = new User();
+        user.setUsername(VALID_USERNAME);
+        user.setPassword(VALID_PASSWORD);
+
+        when(userService.findUser(VALID_USERNAME)).thenReturn(user);
+
+        loginInteractor.login(new LoginInputData(VALID_USERNAME, VALID_PASSWORD));
+
+        verify(passwordRehashService).requestRehash(user, VALID_PASSWORD);
+    }
+
+    /**
+     * 現在の設定でハッシュ化されたパスワードや、ログインに失敗した場合は再ハッシュを依頼しないことを検証する。
+     */
+    @Test
+    void testLoginDoesNotRequestRehashForCurrentHashOrFailure() {
+        User hashed = new User();
+        hashed.setUsername(VALID_USERNAME);
+        hashed.setPassword(passwordVerifier.encode(VALID_PASSWORD));
+        User legacy = new User();
+        legacy.setUsername(NON_EXISTENT_USERNAME);
+        legacy.setPassword(VALID_PASSWORD);
+
+        when(userService.findUser(VALID_USERNAME)).thenReturn(hashed);
+        when(userService.findUser(NON_EXISTENT_USERNAME)).thenReturn(legacy);
+
+        loginInteractor.login(new LoginInputData(VALID_USERNAME, VALID_PASSWORD));
+        loginInteractor.login(new LoginInputData(NON_EXISTENT_USERNAME, INVALID_PASSWORD));
+
+        verify(passwordRehashService, never()).requestRehash(any(), anyString());
     }
 
     /**
@@ -80,6 +179,65 @@ class LoginInteractorTest {
         assertEquals(INVALID_CREDENTIALS, output.getErrorCode());
     }
 
+    /**
+     * 存在しないユーザ名・フィルタで拒否したユーザ名でも、ダミーのハッシュとの照合を行い、
+     * ダミーのハッシュの生成は 1 回のみであることを検証する。
+     */
+    @Test
+    void testLoginUnknownUserMatchesDummyHash() {
+        PasswordVerifier countingVerifier = mock(PasswordVerifier.class);
+        when(countingVerifier.encode(anyString())).thenReturn(DUMMY_HASH);
+        loginInteractor = new LoginInteractor(userService, usernameFilter, countingVerifier, passwordRehashService,
+                latencyMetrics);
+        when(userService.findUser(NON_EXISTENT_USERNAME)).thenReturn(null);
+
+        loginInteractor.login(new LoginInputData(NON_EXISTENT_USERNAME, VALID_PASSWORD));
+        when(usernameFilter.mightExist(NON_EXISTENT_USERNAME)).thenReturn(false);
+        LoginOutputData output = loginInteractor.login(new LoginInputData(NON_EXISTENT_USERNAME, INVALID_PASSWORD));
+
+        assertFalse(output.isSuccess());
+        assertEquals(INVALID_CREDENTIALS, output.getErrorCode());
+        verify(countingVerifier, times(1)).encode(anyString());
+        verify(countingVerifier).matches(VALID_PASSWORD, DUMMY_HASH);
+        verify(countingVerifier).matches(INVALID_PASSWORD, DUMMY_HASH);
+    }
+
+    /**
+     * フィルタが存在しないと判定したユーザ名は、DB を検索せずに認証エラーとなることを検証する。
+     */
+    @Test
+    void testLoginRejectedByUsernameFilter() {
+        when(usernameFilter.mightExist(NON_EXISTENT_USERNAME)).thenReturn(false);
+
+        LoginInputData input = new LoginInputData(NON_EXISTENT_USERNAME, VALID_PASSWORD);
+        LoginOutputData output = loginInteractor.login(input);
+
+        assertFalse(output.isSuccess());
+        assertEquals(INVALID_CREDENTIALS, output.getErrorCode());
+        verify(userService, never()).findUser(anyString());
+    }
+
+    /**
+     * パスワード照合が混雑により拒否された場合、混雑エラーコードが返されることを検証する。
+     */
+    @Test
+    void testLoginServerBusy() {
+        PasswordVerifier busyVerifier = mock(PasswordVerifier.class);
+        when(busyVerifier.matches(any(), anyString())).thenThrow(new RejectedExecutionException());
+        loginInteractor = new LoginInteractor(userService, usernameFilter, busyVerifier, passwordRehashService,
+                latencyMetrics);
+
+        User user = new User();
+        user.setUsername(VALID_USERNAME);
+        user.setPassword(VALID_PASSWORD);
+        when(userService.findUser(VALID_USERNAME)).thenReturn(user);
+
+        LoginOutputData output = loginInteractor.login(new LoginInputData(VALID_USERNAME, VALID_PASSWORD));
+
+        assertFalse(output.isSuccess());
+        assertEquals(SERVER_BUSY, output.getErrorCode());
+    }
+
     /**
      * データアクセス例外が発生した場合、DBエラーコードが返されることを検証する。
      */
@@ -91,5 +249,6 @@ class LoginInteractorTest {
         LoginInputData input = new LoginInputData(VALID_USERNAME, VALID_PASSWORD);
 
         assertThrows(DataAccessException.class, () -> loginInteractor.login(input));
+        verify(latencyMetrics, times(1)).record(eq(Stage.INTERACTOR), anyLong());
     }
 }
@@ -0,0 +1,78 @@
+package com.example.loginapp.domain.usecase.product;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.domain.service.ProductService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static com.example.loginapp.domain.usecase.constants.Constants.*;
+import static com.example.loginapp.domain.usecase.constants.UseCaseErrorCodes.DB_ERROR;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class ExportProductsInteractorTest {
+
+    /**
+     * 商品情報を取得するドメインサービスのモック。
+     */
+    private ProductService productService;
+
+    /**
+     * 全商品出力ユースケースのインタラクター。
+     */
+    private ExportProductsInteractor interactor;
+
+    /**
+     * 各テスト実行前にサービスのモックとインタラクターを初期化する。
+     */
+    @BeforeEach
+    void setUp() {
+        productService = mock(ProductService.class);
+        interactor = new ExportProductsInteractor(productService);
+    }
+
+    /**
+     * サービスが読み出した商品を順に出力先へ渡し、件数を返すことを検証する。
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHandleSuccess() {
+        Product iphone = new Product(PRODUCT_ID_IPHONE, PRODUCT_NAME_IPHONE, PRICE_IPHONE_BD);
+        Product galaxy = new Product(PRODUCT_ID_GALAXY, PRODUCT_NAME_GALAXY, PRICE_GALAXY_BD);
+        doAnswer(invocation -> {
+            Consumer<Product> action = invocation.getArgument(0);
+            action.accept(iphone);
+            action.accept(galaxy);
+            return null;
+        }).when(productService).forEachProduct(any(Consumer.class));
+        List<Product> exported = new ArrayList<>();
+
+        ExportProductsOutputData output = interactor.handle(new ExportProductsInputData(exported::add));
+
+        assertTrue(output.isSuccess());
+        assertEquals(TOTAL_PRODUCTS, output.getExportedCount());
+        assertEquals(List.of(iphone, galaxy), exported);
+        verify(productService, never()).getAllProducts();
+    }
+
+    /**
+     * データベース例外発生時にそのまま送出されることを検証する。
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testHandleDatabaseError() {
+        doThrow(new DataAccessException(DB_ERROR) {
+        }).when(productService).forEachProduct(any(Consumer.class));
+
+        assertThrows(DataAccessException.class,
+                () -> interactor.handle(new ExportProductsInputData(product -> {
+                })));
+    }
+}
@@ -13,6 +13,7 @@ import java.util.List;
 import static com.example.loginapp.domain.usecase.constants.Constants.*;
 import static com.example.loginapp.domain.usecase.constants.UseCaseErrorCodes.DB_ERROR;
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.*;
 
 public class GetAllProductsInteractorTest {
@@ -50,26 +51,57 @@ public class GetAllProductsInteractorTest {
      */
     @Test
     void testHandleSuccess() {
-        when(productService.getAllProducts()).thenReturn(dummyList);
+        when(productService.getProductsAfter(FIRST_PAGE_AFTER_ID, PAGE_SIZE + 1)).thenReturn(dummyList);
 
-        GetAllProductsOutputData output = interactor.handle(new GetAllProductsInputData());
+        GetAllProductsOutputData output = interactor.handle(new GetAllProductsInputData(FIRST_PAGE_AFTER_ID, PAGE_SIZE));
 
         assertTrue(output.isSuccess());
         assertEquals(TOTAL_PRODUCTS, output.getProducts().size());
         assertEquals(PRODUCT_NAME_IPHONE, output.getProducts().get(INDEX_IPHONE).getName());
         assertEquals(PRICE_GALAXY_BD, output.getProducts().get(INDEX_GALAXY).getPrice());
+        assertNull(output.getNextAfterId());
         assertNull(output.getErrorCode());
     }
 
+    /**
+     * 指定件数より多く取得できた場合、指定件数に切り詰め、最後の商品IDを次のページの指定として返すことを検証する。
+     */
+    @Test
+    void testHandleReturnsNextAfterId_WhenMoreProductsExist() {
+        int limit = TOTAL_PRODUCTS - 1;
+        when(productService.getProductsAfter(FIRST_PAGE_AFTER_ID, limit + 1)).thenReturn(dummyList);
+
+        GetAllProductsOutputData output = interactor.handle(new GetAllProductsInputData(FIRST_PAGE_AFTER_ID, limit));
+
+        assertTrue(output.isSuccess());
+        assertEquals(limit, output.getProducts().size());
+        assertEquals(PRODUCT_ID_IPHONE, output.getNextAfterId());
+    }
+
+    /**
+     * 次のページの取得では、指定した商品IDより後ろをサービスに問い合わせることを検証する。
+     */
+    @Test
+    void testHandlePassesAfterId() {
+        when(productService.getProductsAfter(PRODUCT_ID_IPHONE, PAGE_SIZE + 1))
+                .thenReturn(dummyList.subList(INDEX_GALAXY, TOTAL_PRODUCTS));
+
+        GetAllProductsOutputData output = interactor.handle(new GetAllProductsInputData(PRODUCT_ID_IPHONE, PAGE_SIZE));
+
+        assertEquals(PRODUCT_ID_GALAXY, output.getProducts().getFirst().getId());
+        assertNull(output.getNextAfterId());
+        verify(productService, never()).getAllProducts();
+    }
+
     /**
      * データベース例外発生時に適切にエラーが返されることを検証する。
      */
     @Test
     void testHandleDatabaseError() {
-        when(productService.getAllProducts()).thenThrow(new DataAccessException(DB_ERROR) {
+        when(productService.getProductsAfter(anyInt(), anyInt())).thenThrow(new DataAccessException(DB_ERROR) {
         });
 
         assertThrows(DataAccessException.class,
-                () -> interactor.handle(new GetAllProductsInputData()));
+                () -> interactor.handle(new GetAllProductsInputData(FIRST_PAGE_AFTER_ID, PAGE_SIZE)));
     }
 }
@@ -0,0 +1,194 @@
+package com.example.loginapp.domain.usecase.user;
+
+import com.example.loginapp.domain.constants.MessageKeys;
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.domain.service.PasswordVerifier;
+import com.example.loginapp.domain.service.UserService;
+import com.example.loginapp.domain.service.impl.DelegatingPasswordVerifier;
+import com.example.loginapp.domain.service.impl.Pbkdf2PasswordVerifier;
+import com.example.loginapp.domain.service.impl.PlaintextPasswordVerifier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link ImportUsersInteractor} の単体テスト。
+ * <p>
+ * チャンク単位の登録、不正行・重複行の除外、失敗チャンクの記録を検証する。
+ * </p>
+ */
+class ImportUsersInteractorTest {
+
+    /** テスト用の PBKDF2 識別子 */
+    private static final String PBKDF2_ID = "pbkdf2";
+
+    /** テスト用の反復回数 */
+    private static final int ITERATIONS = 1_000;
+
+    private static final int CHUNK_SIZE = 2;
+    private static final int HASH_THREADS = 2;
+    private static final String USERNAME_PREFIX = "user";
+    private static final String PASSWORD = "pass";
+    private static final String DUPLICATE_MESSAGE = "Duplicate entry";
+    private static final String DB_ERROR_MESSAGE = "Lock wait timeout exceeded; table users";
+    private static final String FAILING_PASSWORD = "unhashable";
+    private static final String HASH_ERROR_MESSAGE = "hash error";
+
+    /** ユーザー情報を扱うドメインサービス */
+    private UserService userService;
+
+    /** パスワードのハッシュ化方式 */
+    private PasswordVerifier passwordVerifier;
+
+    /** ハッシュ化スレッドプール */
+    private ExecutorService hashExecutor;
+
+    /** registerUsers() に渡されたユーザ */
+    private List<List<User>> registered;
+
+    /** テスト対象 */
+    private ImportUsersInteractor interactor;
+
+    @BeforeEach
+    void setUp() {
+        userService = mock(UserService.class);
+        registered = new ArrayList<>();
+        doAnswer(invocation -> registered.add(List.copyOf(invocation.getArgument(0))))
+                .when(userService).registerUsers(anyList());
+        passwordVerifier = new DelegatingPasswordVerifier(PBKDF2_ID,
+                Map.of(PBKDF2_ID, new Pbkdf2PasswordVerifier(ITERATIONS, new SecureRandom())),
+                new PlaintextPasswordVerifier());
+        hashExecutor = Executors.newFixedThreadPool(HASH_THREADS);
+        interactor = new ImportUsersInteractor(userService, passwordVerifier, hashExecutor, CHUNK_SIZE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        hashExecutor.shutdownNow();
+    }
+
+    /**
+     * 入力行がチャンクサイズごとに登録され、パスワードがハッシュ化されていることを確認。
+     */
+    @Test
+    void handle_RegistersRowsInChunksWithHashedPasswords() {
+        ImportUsersOutputData output = interactor.handle(input(row(1, USERNAME_PREFIX + 1, PASSWORD),
+                row(2, USERNAME_PREFIX + 2, PASSWORD), row(3, USERNAME_PREFIX + 3, PASSWORD)));
+
+        assertThat(output.getTotalRows()).isEqualTo(3);
+        assertThat(output.getImportedRows()).isEqualTo(3);
+        assertThat(output.getFailedChunks()).isEmpty();
+        assertThat(registered).extracting(List::size).containsExactly(2, 1);
+        for (List<User> chunk : registered) {
+            for (User user : chunk) {
+                assertThat(user.getPassword()).isNotEqualTo(PASSWORD);
+                assertThat(passwordVerifier.matches(PASSWORD, user.getPassword())).isTrue();
+            }
+        }
+    }
+
+    /**
+     * 形式不正な行とチャンク内で重複するユーザ名は登録されず、行番号が報告されることを確認。
+     */
+    @Test
+    void handle_SkipsInvalidAndDuplicateRows() {
+        ImportUsersOutputData output = interactor.handle(input(row(1, USERNAME_PREFIX, PASSWORD),
+                row(2, USERNAME_PREFIX.toUpperCase(), PASSWORD), row(3, null, null), row(4, " ", PASSWORD),
+                row(5, USERNAME_PREFIX + 5, "")));
+
+        assertThat(output.getImportedRows()).isEqualTo(1);
+        assertThat(output.getInvalidRows()).isEqualTo(4);
+        assertThat(output.getInvalidLines()).containsExactly(2L, 3L, 4L, 5L);
+    }
+
+    /**
+     * 登録に失敗したチャンクは行範囲と固定の失敗理由とともに記録され、後続のチャンクは登録されることを確認。
+     */
+    @Test
+    void handle_RecordsFailedChunkAndContinues() {
+        doThrow(new DuplicateKeyException(DUPLICATE_MESSAGE))
+                .doAnswer(invocation -> registered.add(List.copyOf(invocation.getArgument(0))))
+                .when(userService).registerUsers(anyList());
+
+        ImportUsersOutputData output = interactor.handle(input(row(1, USERNAME_PREFIX + 1, PASSWORD),
+                row(2, USERNAME_PREFIX + 2, PASSWORD), row(3, USERNAME_PREFIX + 3, PASSWORD)));
+
+        assertThat(output.getImportedRows()).isEqualTo(1);
+        assertThat(output.getFailedChunks()).containsExactly(
+                new ImportChunkFailure(1, 1, 2, 2, MessageKeys.ERROR_IMPORT_DUPLICATE_USERNAME));
+        assertThat(registered).hasSize(1);
+    }
+
+    /**
+     * 重複以外の DB エラーでは、DB のエラーメッセージではなく固定の失敗理由を記録することを確認。
+     */
+    @Test
+    void handle_DoesNotExposeDatabaseErrorMessage() {
+        doThrow(new QueryTimeoutException(DB_ERROR_MESSAGE)).when(userService).registerUsers(anyList());
+
+        ImportUsersOutputData output = interactor.handle(input(row(1, USERNAME_PREFIX + 1, PASSWORD)));
+
+        assertThat(output.getFailedChunks()).containsExactly(
+                new ImportChunkFailure(1, 1, 1, 1, MessageKeys.ERROR_IMPORT_REGISTRATION_FAILED));
+    }
+
+    /**
+     * パスワードのハッシュ化に失敗したチャンクは固定の失敗理由とともに記録され、
+     * 前後のチャンクの登録結果が失われないことを確認。
+     */
+    @Test
+    void handle_RecordsHashFailureAsFailedChunkAndContinues() {
+        PasswordVerifier failing = spy(passwordVerifier);
+        doThrow(new IllegalStateException(HASH_ERROR_MESSAGE)).when(failing).encode(FAILING_PASSWORD);
+        interactor = new ImportUsersInteractor(userService, failing, hashExecutor, CHUNK_SIZE);
+
+        ImportUsersOutputData output = interactor.handle(input(row(1, USERNAME_PREFIX + 1, PASSWORD),
+                row(2, USERNAME_PREFIX + 2, PASSWORD), row(3, USERNAME_PREFIX + 3, FAILING_PASSWORD),
+                row(4, USERNAME_PREFIX + 4, PASSWORD), row(5, USERNAME_PREFIX + 5, PASSWORD)));
+
+        assertThat(output.getImportedRows()).isEqualTo(3);
+        assertThat(output.getFailedChunks()).containsExactly(
+                new ImportChunkFailure(2, 3, 4, 2, MessageKeys.ERROR_IMPORT_HASH_FAILED));
+        assertThat(registered).extracting(List::size).containsExactly(2, 1);
+    }
+
+    /**
+     * 件数の上限を超える不正行は件数のみ数え、行番号は上限まで報告されることを確認。
+     */
+    @Test
+    void handle_CapsReportedInvalidLines() {
+        int invalidCount = ImportUsersInteractor.MAX_REPORTED_INVALID_LINES + 1;
+        List<ImportUserRow> rows = LongStream.rangeClosed(1, invalidCount)
+                .mapToObj(line -> row(line, null, null))
+                .toList();
+
+        ImportUsersOutputData output = interactor.handle(new ImportUsersInputData(rows.iterator()));
+
+        assertThat(output.getInvalidRows()).isEqualTo(invalidCount);
+        assertThat(output.getInvalidLines()).hasSize(ImportUsersInteractor.MAX_REPORTED_INVALID_LINES);
+        verify(userService, never()).registerUsers(anyList());
+    }
+
+    private static ImportUserRow row(long lineNumber, String username, String password) {
+        return new ImportUserRow(lineNumber, username, password);
+    }
+
+    private static ImportUsersInputData input(ImportUserRow... rows) {
+        return new ImportUsersInputData(List.of(rows).iterator());
+    }
+}
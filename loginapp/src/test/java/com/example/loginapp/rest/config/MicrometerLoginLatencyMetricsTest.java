@@ -0,0 +1,94 @@
+package com.example.loginapp.rest.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.domain.service.LoginLatencyMetrics;
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MicrometerLoginLatencyMetrics} の単体テスト。
+ * <p>
+ * 段階ごとのタイマーが登録・記録されること、記録時にオブジェクト生成が発生しないことを検証する。
+ * </p>
+ */
+class MicrometerLoginLatencyMetricsTest {
+
+    /** 1 回の計測で記録する回数 */
+    private static final int RECORDS_PER_ROUND = 100_000;
+
+    /** 計測の最大繰り返し回数 */
+    private static final int MAX_ROUNDS = 50;
+
+    /** 割り当て量の許容値（計測 API 自体の割り当てを考慮した値） */
+    private static final long ALLOCATION_TOLERANCE_BYTES = 1_024;
+
+    /** メトリクス登録先 */
+    private SimpleMeterRegistry registry;
+
+    /** テスト対象 */
+    private MicrometerLoginLatencyMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new MicrometerLoginLatencyMetrics(registry);
+    }
+
+    /**
+     * 全段階のタイマーが生成時に登録されることを確認。
+     */
+    @Test
+    void constructor_RegistersTimerPerStage() {
+        for (Stage stage : Stage.values()) {
+            Timer timer = registry.find(MicrometerLoginLatencyMetrics.METRIC_NAME)
+                    .tag(MicrometerLoginLatencyMetrics.STAGE_TAG, stage.name().toLowerCase().replace('_', '-'))
+                    .timer();
+            assertThat(timer).as(stage.name()).isSameAs(metrics.timer(stage));
+        }
+    }
+
+    /**
+     * 開始時刻からの経過時間が指定の段階のタイマーにのみ記録されることを確認。
+     */
+    @Test
+    void record_RecordsElapsedTimeToStage() {
+        long start = LoginLatencyMetrics.start() - TimeUnit.MILLISECONDS.toNanos(5);
+
+        metrics.record(Stage.FIND_USER, start);
+
+        assertThat(metrics.timer(Stage.FIND_USER).count()).isEqualTo(1);
+        assertThat(metrics.timer(Stage.FIND_USER).totalTime(TimeUnit.MILLISECONDS)).isGreaterThanOrEqualTo(5);
+        assertThat(metrics.timer(Stage.PASSWORD).count()).isZero();
+    }
+
+    /**
+     * JIT コンパイル後の記録処理でヒープへの割り当てが発生しないことを確認。
+     * コンパイル完了までの割り当てを除くため、割り当てのない計測回が現れるまで繰り返す。
+     */
+    @Test
+    void record_DoesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        long minAllocated = Long.MAX_VALUE;
+        for (int round = 0; round < MAX_ROUNDS && minAllocated >= ALLOCATION_TOLERANCE_BYTES; round++) {
+            long before = threadMXBean.getThreadAllocatedBytes(threadId);
+            for (int i = 0; i < RECORDS_PER_ROUND; i++) {
+                metrics.record(Stage.CONTROLLER, LoginLatencyMetrics.start());
+            }
+            minAllocated = Math.min(minAllocated, threadMXBean.getThreadAllocatedBytes(threadId) - before);
+        }
+
+        assertThat(minAllocated).isLessThan(ALLOCATION_TOLERANCE_BYTES);
+    }
+}
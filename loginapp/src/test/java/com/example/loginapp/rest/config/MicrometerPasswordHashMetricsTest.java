@@ -0,0 +1,45 @@
+package com.example.loginapp.rest.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link MicrometerPasswordHashMetrics} の単体テスト。
+ */
+class MicrometerPasswordHashMetricsTest {
+
+    private static final long QUEUE_WAIT_MILLIS = 3;
+    private static final long HASH_MILLIS = 7;
+
+    /**
+     * 記録した値がタイマー・カウンタに反映され、キューの待ち件数がゲージとして公開されることを確認。
+     */
+    @Test
+    void record_PublishesMeters() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(2));
+        executor.getQueue().add(() -> {
+        });
+        MicrometerPasswordHashMetrics metrics = new MicrometerPasswordHashMetrics(executor, registry);
+
+        metrics.recordQueueWait(TimeUnit.MILLISECONDS.toNanos(QUEUE_WAIT_MILLIS));
+        metrics.recordHashTime(TimeUnit.MILLISECONDS.toNanos(HASH_MILLIS));
+        metrics.recordRejected();
+
+        assertThat(registry.get("login.password.hash.queue.wait").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(QUEUE_WAIT_MILLIS);
+        assertThat(registry.get("login.password.hash.time").timer().totalTime(TimeUnit.MILLISECONDS))
+                .isEqualTo(HASH_MILLIS);
+        assertThat(registry.get("login.password.hash.rejected").counter().count()).isEqualTo(1);
+        assertThat(registry.get("login.password.hash.queue.depth").gauge().value()).isEqualTo(1);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.loginapp.rest.controller;
+
+import java.io.BufferedReader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.domain.usecase.user.ImportUserRow;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link ImportRowIterator} の単体テスト。
+ */
+class ImportRowIteratorTest {
+
+    /**
+     * CSV のヘッダ・空行を読み飛ばし、クォートされたフィールドと不正行を行番号付きで返すことを確認。
+     */
+    @Test
+    void csv_ParsesQuotedFieldsAndReportsMalformedLines() {
+        String body = "\uFEFFusername,password\n"
+                + "alice,secret\n"
+                + "\n"
+                + "\"bob,jr\",\"pa\"\"ss\"\n"
+                + "carol\n"
+                + "\"dave,pass\n";
+
+        List<ImportUserRow> rows = readAll(ImportRowIterator.csv(reader(body)));
+
+        assertThat(rows).containsExactly(
+                new ImportUserRow(2, "alice", "secret"),
+                new ImportUserRow(4, "bob,jr", "pa\"ss"),
+                new ImportUserRow(5, null, null),
+                new ImportUserRow(6, null, null));
+    }
+
+    /**
+     * NDJSON の各行を変換し、項目不足・JSON 不正の行を不正行として返すことを確認。
+     */
+    @Test
+    void ndjson_ParsesObjectsAndReportsMalformedLines() {
+        String body = "{\"username\":\"alice\",\"password\":\"secret\"}\n"
+                + "{\"username\":\"bob\"}\n"
+                + "not json\n";
+
+        List<ImportUserRow> rows = readAll(ImportRowIterator.ndjson(reader(body), new ObjectMapper()));
+
+        assertThat(rows).containsExactly(
+                new ImportUserRow(1, "alice", "secret"),
+                new ImportUserRow(2, null, null),
+                new ImportUserRow(3, null, null));
+    }
+
+    private static BufferedReader reader(String body) {
+        return new BufferedReader(new StringReader(body));
+    }
+
+    private static List<ImportUserRow> readAll(ImportRowIterator iterator) {
+        List<ImportUserRow> rows = new ArrayList<>();
+        iterator.forEachRemaining(rows::add);
+        return rows;
+    }
+}
@@ -5,6 +5,8 @@ import com.example.loginapp.domain.usecase.login.LoginInputBoundary;
 import com.example.loginapp.domain.usecase.login.LoginInputData;
 import com.example.loginapp.domain.usecase.login.LoginOutputData;
 import com.example.loginapp.rest.model.LoginRequest;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.LoginRateLimiter;
 import com.example.loginapp.rest.service.SessionService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
@@ -17,6 +19,7 @@ import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockHttpSession;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import static com.example.loginapp.domain.usecase.constants.UseCaseErrorCodes.*;
 import static com.example.loginapp.rest.constants.SessionKeys.*;
@@ -24,12 +27,15 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 /**
  * {@link LoginController} の動作を検証するテストクラス。
@@ -50,6 +56,9 @@ class LoginControllerTest {
         @MockitoBean
         private SessionService sessionService;
 
+        @MockitoBean
+        private LoginRateLimiter loginRateLimiter;
+
         /**
          * テストや処理中に使用されるメッセージ定数をまとめた定義。
          */
@@ -61,9 +70,15 @@ class LoginControllerTest {
         private static final String MSG_DB_ERROR = "データベースアクセスエラー: ";
         private static final String MSG_INTERNAL_ERROR = "サーバー内部エラーが発生しました";
         private static final String MSG_SESSION_CREATION_ERROR = "セッション作成エラー";
+        private static final String MSG_SERVER_BUSY = "ログインが混み合っています。しばらくしてから再度お試しください";
         public static final String SESSION_INVALIDATE_ERROR = "セッション無効化エラー";
 
         private static final int EXPECTED_CALL_ONCE = 1;
+        private static final long RATE_LIMIT_WAIT_NANOS = 1_500_000_000L;
+        private static final String RATE_LIMIT_RETRY_AFTER = "2";
+        private static final long SESSION_TIMEOUT_MILLIS = 60_000L;
+        private static final long SESSION_EVENT_DELAY_MILLIS = 100L;
+        private static final long SESSION_EVENT_WAIT_MILLIS = 5_000L;
 
         /**
          * 正常なログイン処理を確認するテスト。
@@ -85,7 +100,48 @@ class LoginControllerTest {
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.message").value(MSG_SUCCESS_LOGIN));
 
-                verify(sessionService, times(EXPECTED_CALL_ONCE)).createLoginSession(any(), eq("user"));
+                verify(sessionService, times(EXPECTED_CALL_ONCE)).createLoginSession(any(), any(), eq("user"));
+        }
+
+        /**
+         * パスワード照合が混雑している場合、503 と Retry-After を返すこと
+         */
+        @Test
+        void loginServerBusyTest() throws Exception {
+                LoginRequest request = new LoginRequest();
+                request.setUsername("user");
+                request.setPassword("pass");
+
+                when(loginUseCase.login(any(LoginInputData.class)))
+                                .thenReturn(new LoginOutputData(false, null, SERVER_BUSY));
+
+                mockMvc.perform(post("/api/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request))
+                                .header("Accept-Language", "ja"))
+                                .andExpect(status().isServiceUnavailable())
+                                .andExpect(header().exists("Retry-After"))
+                                .andExpect(jsonPath("$.error").value(MSG_SERVER_BUSY));
+        }
+
+        /**
+         * 試行回数の上限を超えた場合、UseCase を呼ばずに 429 と Retry-After を返すこと
+         */
+        @Test
+        void loginRateLimitedTest() throws Exception {
+                LoginRequest request = new LoginRequest();
+                request.setUsername("user");
+                request.setPassword("pass");
+
+                when(loginRateLimiter.tryAcquire(anyString(), eq("user"))).thenReturn(RATE_LIMIT_WAIT_NANOS);
+
+                mockMvc.perform(post("/api/login")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(objectMapper.writeValueAsString(request)))
+                                .andExpect(status().isTooManyRequests())
+                                .andExpect(header().string("Retry-After", RATE_LIMIT_RETRY_AFTER));
+
+                verify(loginUseCase, never()).login(any(LoginInputData.class));
         }
 
         /**
@@ -94,31 +150,114 @@ class LoginControllerTest {
         @Test
         void logoutTest() throws Exception {
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(post("/api/logout").session(session))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.message").value(MSG_LOGOUT));
         }
 
+        /**
+         * 全端末からのログアウトで、無効化したセッション数を含むメッセージが返ること
+         */
+        @Test
+        void logoutAllTest() throws Exception {
+                when(sessionService.getLoginSession(any()))
+                                .thenReturn(new LoginSession("user", System.currentTimeMillis()));
+                when(sessionService.isSessionValid(any())).thenReturn(true);
+                when(sessionService.invalidateAllSessions(any(), any())).thenReturn(3);
+
+                mockMvc.perform(post("/api/logout-all"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.message").value("3件のセッションからログアウトしました"));
+                verify(sessionService, never()).touch(any(), any(), any());
+        }
+
+        /**
+         * 未ログインで全端末からのログアウトを行った場合、401 が返ること
+         */
+        @Test
+        void logoutAllNotLoggedInTest() throws Exception {
+                mockMvc.perform(post("/api/logout-all"))
+                                .andExpect(status().isUnauthorized());
+                verify(sessionService, never()).invalidateAllSessions(any(), any());
+        }
+
         /**
          * 有効なセッションでアクセスできること
          */
         @Test
         void sessionActiveTest() throws Exception {
 
+                when(sessionService.getLoginSession(any()))
+                                .thenReturn(new LoginSession("user", System.currentTimeMillis()));
                 when(sessionService.isSessionValid(any())).thenReturn(true);
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(get("/api/session-check").session(session))
                                 .andExpect(status().isOk())
                                 .andExpect(jsonPath("$.message").value(MSG_SESSION_ACTIVE));
         }
 
+        /**
+         * 有効期限の通知を購読すると、期限に達した時点で expired イベントが送信されること
+         */
+        @Test
+        void sessionEventsExpiredTest() throws Exception {
+                long loginTime = System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS + SESSION_EVENT_DELAY_MILLIS;
+                when(sessionService.getLoginSession(any())).thenReturn(new LoginSession("user", loginTime));
+                when(sessionService.isSessionValid(any())).thenReturn(true);
+                when(sessionService.loginSessionLookup(any())).thenReturn(() -> null);
+
+                MvcResult result = mockMvc.perform(get("/api/session-events").accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(request().asyncStarted())
+                                .andReturn();
+
+                long deadline = System.currentTimeMillis() + SESSION_EVENT_WAIT_MILLIS;
+                while (!result.getResponse().getContentAsString().contains("event:expired")
+                                && System.currentTimeMillis() < deadline) {
+                        Thread.sleep(10);
+                }
+                assertTrue(result.getResponse().getContentAsString().contains("event:expired"));
+                verify(sessionService, never()).touch(any(), any(), any());
+        }
+
+        /**
+         * 未ログインで有効期限の通知を購読しようとした場合、401 が返ること
+         */
+        @Test
+        void sessionEventsNotLoggedInTest() throws Exception {
+                mockMvc.perform(get("/api/session-events").accept(MediaType.TEXT_EVENT_STREAM))
+                                .andExpect(status().isUnauthorized());
+        }
+
+        /**
+         * HEAD によるセッション確認はフィルタで処理され、本文なしの 204 が返ること
+         */
+        @Test
+        void sessionCheckHeadTest() throws Exception {
+                when(sessionService.getLoginSession(any()))
+                                .thenReturn(new LoginSession("user", System.currentTimeMillis()));
+                when(sessionService.isSessionValid(any())).thenReturn(true);
+
+                mockMvc.perform(head("/api/session-check"))
+                                .andExpect(status().isNoContent())
+                                .andExpect(content().string(""));
+                verify(sessionService, never()).touch(any(), any(), any());
+        }
+
+        /**
+         * 未ログインで HEAD によるセッション確認を行った場合、401 が返ること
+         */
+        @Test
+        void sessionCheckHeadNotLoggedInTest() throws Exception {
+                mockMvc.perform(head("/api/session-check"))
+                                .andExpect(status().isUnauthorized())
+                                .andExpect(content().string(""));
+        }
+
         /**
          * 未ログイン
          */
@@ -161,7 +300,7 @@ class LoginControllerTest {
 
                 when(loginUseCase.login(any())).thenReturn(new LoginOutputData(true, "user", null));
                 doThrow(new IllegalStateException(MSG_SESSION_CREATION_ERROR))
-                                .when(sessionService).createLoginSession(any(), anyString());
+                                .when(sessionService).createLoginSession(any(), any(), anyString());
 
                 mockMvc.perform(post("/api/login")
                                 .contentType(MediaType.APPLICATION_JSON)
@@ -178,7 +317,7 @@ class LoginControllerTest {
                 MockHttpSession session = new MockHttpSession();
 
                 doThrow(new IllegalStateException(SESSION_INVALIDATE_ERROR))
-                                .when(sessionService).invalidateSession(any());
+                                .when(sessionService).invalidateSession(any(), any());
 
                 mockMvc.perform(post("/api/logout").session(session))
                                 .andExpect(status().isInternalServerError())
@@ -13,6 +13,9 @@ import org.springframework.test.web.servlet.MockMvc;
 
 import com.example.loginapp.LoginappApplication;
 import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.domain.usecase.product.ExportProductsInputBoundary;
+import com.example.loginapp.domain.usecase.product.ExportProductsInputData;
+import com.example.loginapp.domain.usecase.product.ExportProductsOutputData;
 import com.example.loginapp.domain.usecase.product.GetAllProductsInputBoundary;
 import com.example.loginapp.domain.usecase.product.GetAllProductsInputData;
 import com.example.loginapp.domain.usecase.product.GetAllProductsOutputData;
@@ -21,7 +24,10 @@ import com.example.loginapp.domain.usecase.product.GetProductByIdInputData;
 import com.example.loginapp.domain.usecase.product.GetProductByIdOutputData;
 import com.example.loginapp.domain.usecase.product.UpdateTwoProductsInputBoundary;
 import com.example.loginapp.domain.usecase.product.UpdateTwoProductsOutputData;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.impl.ProductResponseCache;
 
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import java.math.BigDecimal;
@@ -40,7 +46,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 /**
- * {@link ProductController} の AOP (@SessionRequired) 対応テスト。
+ * {@link ProductController} のインターセプタ (@SessionRequired) 対応テスト。
  */
 @SpringBootTest(classes = LoginappApplication.class)
 @AutoConfigureMockMvc
@@ -49,12 +55,19 @@ class ProductControllerTest {
         @Autowired
         private MockMvc mockMvc;
 
+        /** テスト間でレスポンスを共有しないよう、各テストの前に破棄する */
+        @Autowired
+        private ProductResponseCache productResponseCache;
+
         @MockitoBean
         private MessageSource messageSource;
 
         @MockitoBean
         private GetAllProductsInputBoundary getAllProductsUseCase;
 
+        @MockitoBean
+        private ExportProductsInputBoundary exportProductsUseCase;
+
         @MockitoBean
         private GetProductByIdInputBoundary getProductByIdUseCase;
 
@@ -86,8 +99,14 @@ class ProductControllerTest {
 
         private static final int EXPECTED_CALL_ONCE = 1;
 
+        /** 商品一覧のページング（application.properties の product.page.*） */
+        private static final int FIRST_PAGE_AFTER_ID = 0;
+        private static final int DEFAULT_PAGE_SIZE = 50;
+        private static final int MAX_PAGE_SIZE = 500;
+
         @BeforeEach
         void setUp() {
+                productResponseCache.invalidateAll();
                 when(messageSource.getMessage(eq(ERROR_NOT_LOGGED_IN), any(), any(Locale.class)))
                                 .thenReturn(MSG_NOT_LOGGED_IN);
                 when(messageSource.getMessage(eq(ERROR_SESSION_EXPIRED), any(), any(Locale.class)))
@@ -118,9 +137,8 @@ class ProductControllerTest {
         @Test
         void getProducts_SessionExpired() throws Exception {
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME,
-                                System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS - SESSION_EXPIRED_OFFSET_MILLIS);
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user",
+                                System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS - SESSION_EXPIRED_OFFSET_MILLIS));
 
                 mockMvc.perform(get("/api/products").session(session))
                                 .andExpect(status().isUnauthorized())
@@ -136,11 +154,10 @@ class ProductControllerTest {
                                 new Product(PRODUCT_ID_IPHONE, "iPhone", BigDecimal.valueOf(PRICE_IPHONE)),
                                 new Product(PRODUCT_ID_GALAXY, "Galaxy", BigDecimal.valueOf(PRICE_GALAXY)));
                 when(getAllProductsUseCase.handle(any()))
-                                .thenReturn(new GetAllProductsOutputData(true, dummyList, null, null));
+                                .thenReturn(new GetAllProductsOutputData(true, dummyList, null, null, null));
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(get("/api/products").session(session))
                                 .andExpect(status().isOk())
@@ -149,7 +166,60 @@ class ProductControllerTest {
                                 .andExpect(jsonPath("$.products[0].price").value(PRICE_IPHONE))
                                 .andExpect(jsonPath("$.products[1].id").value(PRODUCT_ID_GALAXY))
                                 .andExpect(jsonPath("$.products[1].name").value("Galaxy"))
-                                .andExpect(jsonPath("$.products[1].price").value(PRICE_GALAXY));
+                                .andExpect(jsonPath("$.products[1].price").value(PRICE_GALAXY))
+                                .andExpect(jsonPath("$.nextAfterId").doesNotExist());
+
+                verify(getAllProductsUseCase, times(EXPECTED_CALL_ONCE))
+                                .handle(new GetAllProductsInputData(FIRST_PAGE_AFTER_ID, DEFAULT_PAGE_SIZE));
+        }
+
+        /** afterId・limit を指定した場合、件数を上限に切り詰めて渡し、次のページの指定が返ることを確認 */
+        @Test
+        void getProducts_Paged() throws Exception {
+                List<Product> page = List.of(
+                                new Product(PRODUCT_ID_GALAXY, "Galaxy", BigDecimal.valueOf(PRICE_GALAXY)));
+                when(getAllProductsUseCase.handle(any()))
+                                .thenReturn(new GetAllProductsOutputData(true, page, PRODUCT_ID_GALAXY, null, null));
+
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+
+                mockMvc.perform(get("/api/products").session(session)
+                                .param("afterId", String.valueOf(PRODUCT_ID_IPHONE))
+                                .param("limit", String.valueOf(MAX_PAGE_SIZE + 1)))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.products[0].id").value(PRODUCT_ID_GALAXY))
+                                .andExpect(jsonPath("$.nextAfterId").value(PRODUCT_ID_GALAXY));
+
+                verify(getAllProductsUseCase, times(EXPECTED_CALL_ONCE))
+                                .handle(new GetAllProductsInputData(PRODUCT_ID_IPHONE, MAX_PAGE_SIZE));
+        }
+
+        /** 2 回目以降はシリアライズ済みの JSON を返し、If-None-Match が ETag と一致すれば本文なしの 304 を返すことを確認 */
+        @Test
+        void getProducts_NotModified() throws Exception {
+                List<Product> dummyList = List.of(
+                                new Product(PRODUCT_ID_IPHONE, "iPhone", BigDecimal.valueOf(PRICE_IPHONE)));
+                when(getAllProductsUseCase.handle(any()))
+                                .thenReturn(new GetAllProductsOutputData(true, dummyList, null, null, null));
+
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+
+                String etag = mockMvc.perform(get("/api/products").session(session))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
+                                .andExpect(jsonPath("$.products[0].id").value(PRODUCT_ID_IPHONE))
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(get("/api/products").session(session))
+                                .andExpect(status().isOk())
+                                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                                .andExpect(jsonPath("$.products[0].id").value(PRODUCT_ID_IPHONE));
+
+                mockMvc.perform(get("/api/products").session(session).header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
 
                 verify(getAllProductsUseCase, times(EXPECTED_CALL_ONCE)).handle(any());
         }
@@ -166,8 +236,7 @@ class ProductControllerTest {
                                 .thenReturn(MSG_DB_CONNECTION_FAILED);
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(get("/api/products").session(session).locale(Locale.JAPANESE))
                                 .andExpect(status().isInternalServerError())
@@ -176,6 +245,58 @@ class ProductControllerTest {
                 verify(getAllProductsUseCase, times(EXPECTED_CALL_ONCE)).handle(any());
         }
 
+        /** ログイン済みで全商品を商品一覧と同じ形式の JSON で出力できることを確認 */
+        @Test
+        void exportProducts_LoggedIn() throws Exception {
+                when(exportProductsUseCase.handle(any())).thenAnswer(invocation -> {
+                        ExportProductsInputData input = invocation.getArgument(0);
+                        input.getSink().accept(new Product(PRODUCT_ID_IPHONE, "iPhone", BigDecimal.valueOf(PRICE_IPHONE)));
+                        input.getSink().accept(new Product(PRODUCT_ID_GALAXY, "Galaxy", BigDecimal.valueOf(PRICE_GALAXY)));
+                        return new ExportProductsOutputData(true, 2);
+                });
+
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+
+                mockMvc.perform(get("/api/products/export").session(session))
+                                .andExpect(status().isOk())
+                                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON))
+                                .andExpect(jsonPath("$.products.length()").value(2))
+                                .andExpect(jsonPath("$.products[0].id").value(PRODUCT_ID_IPHONE))
+                                .andExpect(jsonPath("$.products[1].name").value("Galaxy"))
+                                .andExpect(jsonPath("$.products[1].price").value(PRICE_GALAXY));
+
+                verify(exportProductsUseCase, times(EXPECTED_CALL_ONCE)).handle(any());
+                verify(getAllProductsUseCase, never()).handle(any());
+        }
+
+        /** 未ログインで /api/products/export にアクセスすると 401 が返り、出力しないことを確認 */
+        @Test
+        void exportProducts_Unauthorized() throws Exception {
+                mockMvc.perform(get("/api/products/export"))
+                                .andExpect(status().isUnauthorized())
+                                .andExpect(jsonPath("$.error").value(MSG_NOT_LOGGED_IN));
+
+                verify(exportProductsUseCase, never()).handle(any());
+        }
+
+        /** 出力前に DataAccessException が発生した場合、書きかけの JSON を送らず 500 が返ることを確認 */
+        @Test
+        void exportProducts_DataAccessException() throws Exception {
+                doThrow(new DataAccessException(DB_ERROR) {
+                })
+                                .when(exportProductsUseCase)
+                                .handle(any(ExportProductsInputData.class));
+
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+
+                mockMvc.perform(get("/api/products/export").session(session))
+                                .andExpect(status().isInternalServerError())
+                                .andExpect(jsonPath("$.error").value(MSG_DB_CONNECTION_FAILED))
+                                .andExpect(jsonPath("$.products").doesNotExist());
+        }
+
         /** 未ログインで /api/products/{id} にアクセスすると 401 */
         @Test
         void getProductById_Unauthorized() throws Exception {
@@ -190,9 +311,8 @@ class ProductControllerTest {
         @Test
         void getProductById_SessionExpired() throws Exception {
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME,
-                                System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS - SESSION_EXPIRED_OFFSET_MILLIS);
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user",
+                                System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS - SESSION_EXPIRED_OFFSET_MILLIS));
 
                 mockMvc.perform(get("/api/products/" + PRODUCT_ID_IPHONE).session(session))
                                 .andExpect(status().isUnauthorized())
@@ -210,8 +330,7 @@ class ProductControllerTest {
                                 .thenReturn(new GetProductByIdOutputData(true, product, null, null));
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(get("/api/products/" + PRODUCT_ID_IPHONE).session(session))
                                 .andExpect(status().isOk())
@@ -234,8 +353,7 @@ class ProductControllerTest {
                                 .thenReturn(MSG_DB_CONNECTION_FAILED);
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(get("/api/products/" + PRODUCT_ID_IPHONE).session(session))
                                 .andExpect(status().isInternalServerError())
@@ -244,6 +362,28 @@ class ProductControllerTest {
                 verify(getProductByIdUseCase, times(EXPECTED_CALL_ONCE)).handle(any());
         }
 
+        /** 商品ID指定の取得も ETag が一致すれば 304 を返し、商品の読み込みは 1 回のみであることを確認 */
+        @Test
+        void getProductById_NotModified() throws Exception {
+                Product product = new Product(PRODUCT_ID_IPHONE, "iPhone", BigDecimal.valueOf(PRICE_IPHONE));
+                when(getProductByIdUseCase.handle(any()))
+                                .thenReturn(new GetProductByIdOutputData(true, product, null, null));
+
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+
+                String etag = mockMvc.perform(get("/api/products/" + PRODUCT_ID_IPHONE).session(session))
+                                .andExpect(status().isOk())
+                                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+                mockMvc.perform(get("/api/products/" + PRODUCT_ID_IPHONE).session(session)
+                                .header(HttpHeaders.IF_NONE_MATCH, etag))
+                                .andExpect(status().isNotModified())
+                                .andExpect(content().string(""));
+
+                verify(getProductByIdUseCase, times(EXPECTED_CALL_ONCE)).handle(any());
+        }
+
         /** ログイン済みだが商品が存在しない場合 404 */
         @Test
         void getProductById_LoggedIn_NotFound() throws Exception {
@@ -251,8 +391,7 @@ class ProductControllerTest {
                                 .thenReturn(new GetProductByIdOutputData(true, null, null, null));
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(get("/api/products/" + PRODUCT_ID_NOT_FOUND).session(session))
                                 .andExpect(status().isNotFound())
@@ -268,8 +407,7 @@ class ProductControllerTest {
                                 new UpdateTwoProductsOutputData(false, MSG_ROLLBACK_OCCURRED));
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(post("/api/products/update-test")
                                 .session(session)
@@ -291,8 +429,7 @@ class ProductControllerTest {
                                 .thenReturn(MSG_RUNTIME_EXCEPTION);
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(post("/api/products/update-test")
                                 .session(session)
@@ -314,8 +451,7 @@ class ProductControllerTest {
                                 .thenReturn(MSG_UPDATE_WITH_ROLLBACK);
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(post("/api/products/update-test")
                                 .session(session)
@@ -349,8 +485,7 @@ class ProductControllerTest {
                                 .thenReturn(expectedErrorMsg);
 
                 MockHttpSession session = new MockHttpSession();
-                session.setAttribute(IS_LOGGED_IN, true);
-                session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
 
                 mockMvc.perform(post("/api/products/update-test")
                                 .session(session)
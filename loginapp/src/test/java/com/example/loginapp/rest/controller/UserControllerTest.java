@@ -0,0 +1,129 @@
+package com.example.loginapp.rest.controller;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.MessageSource;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.loginapp.LoginappApplication;
+import com.example.loginapp.domain.usecase.user.ImportChunkFailure;
+import com.example.loginapp.domain.usecase.user.ImportUserRow;
+import com.example.loginapp.domain.usecase.user.ImportUsersInputBoundary;
+import com.example.loginapp.domain.usecase.user.ImportUsersInputData;
+import com.example.loginapp.domain.usecase.user.ImportUsersOutputData;
+import com.example.loginapp.rest.model.LoginSession;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static com.example.loginapp.domain.constants.MessageKeys.*;
+import static com.example.loginapp.rest.constants.SessionKeys.*;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * {@link UserController} のユーザ一括登録 API のテスト。
+ */
+@SpringBootTest(classes = LoginappApplication.class, properties = "user.import.enabled=true")
+@AutoConfigureMockMvc
+class UserControllerTest {
+
+        @Autowired
+        private MockMvc mockMvc;
+
+        @MockitoBean
+        private MessageSource messageSource;
+
+        @MockitoBean
+        private ImportUsersInputBoundary importUsersUseCase;
+
+        private static final String MSG_NOT_LOGGED_IN = "未ログインです";
+        private static final String IMPORT_URL = "/api/users/import";
+        private static final String DUPLICATE_MESSAGE = ERROR_IMPORT_DUPLICATE_USERNAME;
+        private static final long ELAPSED_MILLIS = 10L;
+        private static final double ROWS_PER_SECOND = 100.0;
+
+        /** use case に渡された行 */
+        private List<ImportUserRow> receivedRows;
+
+        @BeforeEach
+        void setUp() {
+                when(messageSource.getMessage(eq(ERROR_NOT_LOGGED_IN), any(), any(Locale.class)))
+                                .thenReturn(MSG_NOT_LOGGED_IN);
+                receivedRows = new ArrayList<>();
+                when(importUsersUseCase.handle(any(ImportUsersInputData.class))).thenAnswer(invocation -> {
+                        ImportUsersInputData input = invocation.getArgument(0);
+                        input.getRows().forEachRemaining(receivedRows::add);
+                        return new ImportUsersOutputData(receivedRows.size(), 1, 1, List.of(3L),
+                                        List.of(new ImportChunkFailure(2, 4, 4, 1, DUPLICATE_MESSAGE)),
+                                        ELAPSED_MILLIS, ROWS_PER_SECOND);
+                });
+        }
+
+        /** 未ログイン状態では 401 が返り、一括登録が実行されないことを確認 */
+        @Test
+        void importUsers_Unauthorized() throws Exception {
+                mockMvc.perform(post(IMPORT_URL).contentType(UserController.TEXT_CSV).content("alice,secret\n"))
+                                .andExpect(status().isUnauthorized())
+                                .andExpect(jsonPath("$.error").value(MSG_NOT_LOGGED_IN));
+
+                verify(importUsersUseCase, never()).handle(any());
+        }
+
+        /** CSV の本文が行単位で UseCase に渡され、結果が返ることを確認 */
+        @Test
+        void importUsers_Csv() throws Exception {
+                mockMvc.perform(post(IMPORT_URL).session(loggedInSession())
+                                .contentType(UserController.TEXT_CSV)
+                                .content("username,password\nalice,secret\nbroken\nbob,secret\n"))
+                                .andExpect(status().isOk())
+                                .andExpect(jsonPath("$.totalRows").value(3))
+                                .andExpect(jsonPath("$.importedRows").value(1))
+                                .andExpect(jsonPath("$.invalidLines[0]").value(3))
+                                .andExpect(jsonPath("$.failedChunks[0].firstLine").value(4))
+                                .andExpect(jsonPath("$.failedChunks[0].reason").value(DUPLICATE_MESSAGE));
+
+                assertThat(receivedRows).containsExactly(
+                                new ImportUserRow(2, "alice", "secret"),
+                                new ImportUserRow(3, null, null),
+                                new ImportUserRow(4, "bob", "secret"));
+        }
+
+        /** NDJSON の本文が UseCase に渡されることを確認 */
+        @Test
+        void importUsers_Ndjson() throws Exception {
+                mockMvc.perform(post(IMPORT_URL).session(loggedInSession())
+                                .contentType(MediaType.APPLICATION_NDJSON)
+                                .content("{\"username\":\"alice\",\"password\":\"secret\"}\n"))
+                                .andExpect(status().isOk());
+
+                assertThat(receivedRows).containsExactly(new ImportUserRow(1, "alice", "secret"));
+        }
+
+        /** 未対応のメディアタイプは 415 が返ることを確認 */
+        @Test
+        void importUsers_UnsupportedMediaType() throws Exception {
+                mockMvc.perform(post(IMPORT_URL).session(loggedInSession())
+                                .contentType(MediaType.APPLICATION_JSON).content("[]"))
+                                .andExpect(status().isUnsupportedMediaType());
+
+                verify(importUsersUseCase, never()).handle(any());
+        }
+
+        private static MockHttpSession loggedInSession() {
+                MockHttpSession session = new MockHttpSession();
+                session.setAttribute(LOGIN_SESSION, new LoginSession("user", System.currentTimeMillis()));
+                return session;
+        }
+}
@@ -0,0 +1,144 @@
+package com.example.loginapp.rest.filter;
+
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.SessionService;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.cors.CorsConfiguration;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link SessionCheckFilter} の動作を検証する単体テスト。
+ */
+class SessionCheckFilterTest {
+
+    /** セッション確認の URL */
+    private static final String SESSION_CHECK_PATH = "/api/session-check";
+
+    /** 許可するオリジン */
+    private static final String ALLOWED_ORIGIN = "http://localhost:3000";
+
+    /** テスト用ユーザ名 */
+    private static final String USERNAME = "user";
+
+    /** テスト対象 */
+    private SessionCheckFilter filter;
+
+    /** セッション管理に関する処理を提供するサービス */
+    private SessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        sessionService = mock(SessionService.class);
+        CorsConfiguration cors = new CorsConfiguration();
+        cors.setAllowedOrigins(List.of(ALLOWED_ORIGIN));
+        cors.setAllowedMethods(List.of("GET", "HEAD"));
+        cors.setAllowCredentials(true);
+        filter = new SessionCheckFilter(sessionService, cors);
+    }
+
+    @Test
+    void head_ValidSession_Returns204WithoutBody() throws Exception {
+        LoginSession loginSession = new LoginSession(USERNAME, System.currentTimeMillis());
+        when(sessionService.getLoginSession(any())).thenReturn(loginSession);
+        when(sessionService.isSessionValid(loginSession)).thenReturn(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("HEAD", SESSION_CHECK_PATH), response, chain);
+
+        assertEquals(HttpStatus.NO_CONTENT.value(), response.getStatus());
+        assertEquals(0, response.getContentLength());
+        assertEquals("no-store", response.getHeader(HttpHeaders.CACHE_CONTROL));
+        assertNull(chain.getRequest());
+        verify(sessionService, never()).touch(any(), any(), any());
+    }
+
+    @Test
+    void head_NotLoggedIn_Returns401() throws Exception {
+        when(sessionService.getLoginSession(any())).thenReturn(null);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("HEAD", SESSION_CHECK_PATH), response, new MockFilterChain());
+
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+        verify(sessionService, never()).invalidateSession(any(), any());
+    }
+
+    @Test
+    void head_ExpiredSession_InvalidatesAndReturns401() throws Exception {
+        LoginSession loginSession = new LoginSession(USERNAME, 0L);
+        when(sessionService.getLoginSession(any())).thenReturn(loginSession);
+        when(sessionService.isSessionValid(loginSession)).thenReturn(false);
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", SESSION_CHECK_PATH);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+        verify(sessionService).invalidateSession(request, response);
+    }
+
+    @Test
+    void head_InvalidateFails_StillReturns401() throws Exception {
+        LoginSession loginSession = new LoginSession(USERNAME, 0L);
+        when(sessionService.getLoginSession(any())).thenReturn(loginSession);
+        when(sessionService.isSessionValid(loginSession)).thenReturn(false);
+        doThrow(new IllegalStateException("invalidated")).when(sessionService).invalidateSession(any(), any());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("HEAD", SESSION_CHECK_PATH), response, new MockFilterChain());
+
+        assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+    }
+
+    @Test
+    void get_PassesThroughToChain() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", SESSION_CHECK_PATH);
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        assertSame(request, chain.getRequest());
+        verifyNoInteractions(sessionService);
+    }
+
+    @Test
+    void head_AllowedOrigin_AddsCorsHeaders() throws Exception {
+        LoginSession loginSession = new LoginSession(USERNAME, System.currentTimeMillis());
+        when(sessionService.getLoginSession(any())).thenReturn(loginSession);
+        when(sessionService.isSessionValid(loginSession)).thenReturn(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", SESSION_CHECK_PATH);
+        request.addHeader(HttpHeaders.ORIGIN, ALLOWED_ORIGIN);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(HttpStatus.NO_CONTENT.value(), response.getStatus());
+        assertEquals(ALLOWED_ORIGIN, response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_ORIGIN));
+        assertEquals("true", response.getHeader(HttpHeaders.ACCESS_CONTROL_ALLOW_CREDENTIALS));
+    }
+
+    @Test
+    void head_DisallowedOrigin_Returns403WithoutSessionLookup() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("HEAD", SESSION_CHECK_PATH);
+        request.addHeader(HttpHeaders.ORIGIN, "http://evil.example.com");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, new MockFilterChain());
+
+        assertEquals(HttpStatus.FORBIDDEN.value(), response.getStatus());
+        verifyNoInteractions(sessionService);
+    }
+}
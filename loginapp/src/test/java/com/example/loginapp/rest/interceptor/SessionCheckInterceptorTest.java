@@ -0,0 +1,208 @@
+package com.example.loginapp.rest.interceptor;
+
+import com.example.loginapp.rest.annotation.SessionRequired;
+import com.example.loginapp.rest.model.LoginSession;
+import com.example.loginapp.rest.service.SessionService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.MessageSource;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static com.example.loginapp.domain.constants.MessageKeys.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link SessionCheckInterceptor} の動作を検証する単体テスト。
+ * <p>
+ * 未ログイン・セッション期限切れ・正常ケースに加え、{@code @SessionRequired} の有無・設定による分岐を検証する。
+ * </p>
+ */
+class SessionCheckInterceptorTest {
+
+        /** テスト対象の {@link SessionCheckInterceptor} インスタンス。 */
+        private SessionCheckInterceptor interceptor;
+
+        /** メッセージ解決に使用する {@link MessageSource} のモック。 */
+        private MessageSource messageSource;
+
+        /** セッション管理に関する処理を提供するサービス */
+        private SessionService sessionService;
+
+        /** 未ログイン時のメッセージ */
+        private static final String MSG_NOT_LOGGED_IN = "ログインしていません";
+
+        /** 期限切れ時のメッセージ */
+        private static final String MSG_SESSION_EXPIRED = "セッションがタイムアウトしました";
+
+        /** セッション無効化時の例外メッセージ */
+        private static final String MSG_INVALIDATE_ERROR = "セッション無効化エラー";
+
+        /** テスト用ユーザ名 */
+        private static final String USERNAME = "user";
+
+        /**
+         * テスト用のハンドラ。
+         */
+        static class TestController {
+
+                @SessionRequired
+                public void active() {
+                }
+
+                @SessionRequired(touch = false)
+                public void polling() {
+                }
+
+                public void open() {
+                }
+        }
+
+        @BeforeEach
+        void setUp() {
+                messageSource = mock(MessageSource.class);
+                sessionService = mock(SessionService.class);
+                interceptor = new SessionCheckInterceptor(messageSource, sessionService, new ObjectMapper());
+
+                when(messageSource.getMessage(eq(ERROR_NOT_LOGGED_IN), any(), any(Locale.class)))
+                                .thenReturn(MSG_NOT_LOGGED_IN);
+                when(messageSource.getMessage(eq(ERROR_SESSION_EXPIRED), any(), any(Locale.class)))
+                                .thenReturn(MSG_SESSION_EXPIRED);
+        }
+
+        private static HandlerMethod handler(String methodName) throws NoSuchMethodException {
+                return new HandlerMethod(new TestController(), TestController.class.getMethod(methodName));
+        }
+
+        /** 未ログインの場合、401 とエラーメッセージが返り、ハンドラが実行されないことを確認 */
+        @Test
+        void testNotLoggedIn() throws Exception {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+
+                boolean proceed = interceptor.preHandle(new MockHttpServletRequest(), response, handler("active"));
+
+                assertFalse(proceed);
+                assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+                assertEquals("{\"error\":\"" + MSG_NOT_LOGGED_IN + "\"}", response.getContentAsString());
+                verify(sessionService, never()).invalidateSession(any(), any());
+        }
+
+        /** セッション期限切れの場合、セッションを無効化して 401 が返ることを確認 */
+        @Test
+        void testSessionExpired() throws Exception {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                LoginSession loginSession = new LoginSession(USERNAME, 0L);
+                when(sessionService.getLoginSession(request)).thenReturn(loginSession);
+                when(sessionService.isSessionValid(loginSession)).thenReturn(false);
+
+                boolean proceed = interceptor.preHandle(request, response, handler("active"));
+
+                assertFalse(proceed);
+                assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+                assertTrue(response.getContentAsString().contains(MSG_SESSION_EXPIRED));
+                verify(sessionService).invalidateSession(request, response);
+                verify(sessionService, never()).touch(any(), any(), any());
+        }
+
+        /** セッション無効化で例外が出ても 401 が返ることを確認 */
+        @Test
+        void testSessionInvalidateThrowsException() throws Exception {
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                LoginSession loginSession = new LoginSession(USERNAME, 0L);
+                when(sessionService.getLoginSession(any())).thenReturn(loginSession);
+                when(sessionService.isSessionValid(loginSession)).thenReturn(false);
+                doThrow(new IllegalStateException(MSG_INVALIDATE_ERROR))
+                                .when(sessionService).invalidateSession(any(), any());
+
+                boolean proceed = interceptor.preHandle(new MockHttpServletRequest(), response, handler("active"));
+
+                assertFalse(proceed);
+                assertEquals(HttpStatus.UNAUTHORIZED.value(), response.getStatus());
+                assertTrue(response.getContentAsString().contains(MSG_SESSION_EXPIRED));
+        }
+
+        /** 有効なセッションの場合、ハンドラが実行され、ログイン情報は 1 回だけ読み出されることを確認 */
+        @Test
+        void testValidSession() throws Exception {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                LoginSession loginSession = new LoginSession(USERNAME, System.currentTimeMillis());
+                when(sessionService.getLoginSession(request)).thenReturn(loginSession);
+                when(sessionService.isSessionValid(loginSession)).thenReturn(true);
+
+                boolean proceed = interceptor.preHandle(request, response, handler("active"));
+
+                assertTrue(proceed);
+                assertEquals(HttpStatus.OK.value(), response.getStatus());
+                assertEquals("", response.getContentAsString());
+                verify(sessionService, times(1)).getLoginSession(request);
+                verify(sessionService, times(1)).isSessionValid(same(loginSession));
+        }
+
+        /** 有効なセッションでは touch=true の場合のみ最終アクセス時刻の更新を依頼することを確認 */
+        @Test
+        void testTouchFollowsAnnotation() throws Exception {
+                MockHttpServletRequest request = new MockHttpServletRequest();
+                MockHttpServletResponse response = new MockHttpServletResponse();
+                LoginSession loginSession = new LoginSession(USERNAME, System.currentTimeMillis());
+                when(sessionService.getLoginSession(request)).thenReturn(loginSession);
+                when(sessionService.isSessionValid(loginSession)).thenReturn(true);
+
+                interceptor.preHandle(request, response, handler("polling"));
+                verify(sessionService, never()).touch(any(), any(), any());
+
+                interceptor.preHandle(request, response, handler("active"));
+                verify(sessionService, times(1)).touch(request, response, loginSession);
+        }
+
+        /** {@code @SessionRequired} のないハンドラ・HandlerMethod 以外のハンドラは検証しないことを確認 */
+        @Test
+        void testNotRequired() throws Exception {
+                assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                                handler("open")));
+                assertTrue(interceptor.preHandle(new MockHttpServletRequest(), new MockHttpServletResponse(),
+                                new Object()));
+
+                verifyNoInteractions(sessionService);
+        }
+
+        /** 起動時に全ハンドラメソッドの設定が解決されることを確認 */
+        @Test
+        void testRulesResolvedAtStartup() throws Exception {
+                RequestMappingHandlerMapping mapping = mock(RequestMappingHandlerMapping.class);
+                when(mapping.getHandlerMethods()).thenReturn(Map.of(
+                                RequestMappingInfo.paths("/active").build(), handler("active"),
+                                RequestMappingInfo.paths("/polling").build(), handler("polling"),
+                                RequestMappingInfo.paths("/open").build(), handler("open")));
+                ApplicationContext context = mock(ApplicationContext.class);
+                when(context.getBeansOfType(RequestMappingHandlerMapping.class))
+                                .thenReturn(Map.of("requestMappingHandlerMapping", mapping));
+
+                interceptor.onApplicationEvent(new ContextRefreshedEvent(context));
+
+                SessionCheckInterceptor.Rule active = SessionCheckInterceptor.Rule
+                                .resolve(TestController.class.getMethod("active"));
+                assertTrue(active.required());
+                assertTrue(active.touch());
+                SessionCheckInterceptor.Rule polling = SessionCheckInterceptor.Rule
+                                .resolve(TestController.class.getMethod("polling"));
+                assertTrue(polling.required());
+                assertFalse(polling.touch());
+                assertFalse(SessionCheckInterceptor.Rule.resolve(TestController.class.getMethod("open")).required());
+                verify(mapping).getHandlerMethods();
+        }
+}
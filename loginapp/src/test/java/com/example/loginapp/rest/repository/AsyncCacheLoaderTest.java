@@ -0,0 +1,119 @@
+package com.example.loginapp.rest.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * {@link AsyncCacheLoader} の単体テスト。
+ * <p>
+ * 同一キーへの同時ミスが 1 回の読み込みにまとめられること、null・例外の結果をキャッシュしないことを検証する。
+ * </p>
+ */
+class AsyncCacheLoaderTest {
+
+    private static final String KEY = "key";
+    private static final String VALUE = "value";
+    private static final String DB_ERROR_MESSAGE = "DB error";
+
+    /** 同時に読み込むスレッド数 */
+    private static final int THREADS = 8;
+
+    /** テスト内の待機の上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 5;
+
+    private static final int ONCE = 1;
+    private static final int TWICE = 2;
+
+    /** テスト対象が使用するキャッシュ */
+    private AsyncCache<String, String> cache;
+
+    /** 読み込み回数 */
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cache = Caffeine.newBuilder().buildAsync();
+        loads = new AtomicInteger();
+    }
+
+    /**
+     * 読み込み中に同じキーを取得したスレッドは、読み込みを行わずに同じ結果を受け取ることを確認。
+     */
+    @Test
+    void load_CoalescesConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        try {
+            Future<String> first = pool.submit(() -> AsyncCacheLoader.load(cache, KEY, () -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return VALUE;
+            }));
+            assertThat(loading.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<String>> waiting = new ArrayList<>();
+            for (int i = 1; i < THREADS; i++) {
+                waiting.add(pool.submit(() -> AsyncCacheLoader.load(cache, KEY, () -> {
+                    loads.incrementAndGet();
+                    return VALUE;
+                })));
+            }
+            release.countDown();
+
+            assertThat(first.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo(VALUE);
+            for (Future<String> result : waiting) {
+                assertThat(result.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isEqualTo(VALUE);
+            }
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+        assertThat(loads).hasValue(ONCE);
+    }
+
+    /**
+     * 読み込みの例外はそのまま再スローされ、null・例外の結果はキャッシュされないことを確認。
+     */
+    @Test
+    void load_DoesNotCacheMissingOrFailedLoads() {
+        assertThat(AsyncCacheLoader.load(cache, KEY, () -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThatThrownBy(() -> AsyncCacheLoader.load(cache, KEY, () -> {
+            throw new QueryTimeoutException(DB_ERROR_MESSAGE);
+        })).isInstanceOf(QueryTimeoutException.class).hasMessage(DB_ERROR_MESSAGE);
+
+        assertThat(AsyncCacheLoader.load(cache, KEY, () -> {
+            loads.incrementAndGet();
+            return VALUE;
+        })).isEqualTo(VALUE);
+        assertThat(loads).hasValue(TWICE);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
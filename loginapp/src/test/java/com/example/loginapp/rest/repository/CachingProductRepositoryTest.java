@@ -0,0 +1,288 @@
+package com.example.loginapp.rest.repository;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.rest.config.ProductCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link CachingProductRepository} の単体テスト。
+ * <p>
+ * 商品ID単位・全商品（ページ単位の取得を含む）のキャッシュヒット時に DB 検索が省略されること、
+ * 価格の更新で該当商品と全商品のスナップショットが無効化されることを検証する。
+ * </p>
+ */
+class CachingProductRepositoryTest {
+
+    /** 委譲先のモックリポジトリ */
+    private MyBatisProductRepository delegate;
+
+    /** テスト対象 */
+    private CachingProductRepository repository;
+
+    /** メトリクス検証用レジストリ */
+    private SimpleMeterRegistry registry;
+
+    private static final int ID_IPHONE = 1;
+    private static final int ID_GALAXY = 2;
+    private static final int ID_UNKNOWN = 999;
+    private static final String NAME_IPHONE = "iPhone";
+    private static final String NAME_GALAXY = "Galaxy";
+    private static final BigDecimal PRICE_IPHONE = BigDecimal.valueOf(120000);
+    private static final BigDecimal PRICE_GALAXY = BigDecimal.valueOf(98000);
+    private static final BigDecimal NEW_PRICE = BigDecimal.valueOf(1000);
+    private static final String DB_ERROR_MESSAGE = "DB error";
+
+    private static final int ONCE = 1;
+    private static final int TWICE = 2;
+    private static final double EXPECTED_HIT_RATIO = 0.5;
+
+    /** 同時に検索するスレッド数 */
+    private static final int CONCURRENT_READERS = 16;
+
+    /** 同時検索の待機上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 10;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(MyBatisProductRepository.class);
+        repository = new CachingProductRepository(delegate, new ProductCacheProperties(),
+                new ProductCatalogVersion());
+        registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Product iphone(BigDecimal price) {
+        return new Product(ID_IPHONE, NAME_IPHONE, price);
+    }
+
+    private static List<Product> catalog(BigDecimal iphonePrice) {
+        return List.of(iphone(iphonePrice), new Product(ID_GALAXY, NAME_GALAXY, PRICE_GALAXY));
+    }
+
+    /**
+     * 2 回目の検索はキャッシュから返され、DB 検索は 1 回のみで、ヒット率が公開されることを確認。
+     */
+    @Test
+    void findById_SecondCallIsServedFromCache() {
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(PRICE_IPHONE));
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+
+        verify(delegate, times(ONCE)).findById(ID_IPHONE);
+        assertThat(registry.get("product.cache.hit.ratio").tag("cache", CachingProductRepository.CACHE_NAME)
+                .gauge().value()).isEqualTo(EXPECTED_HIT_RATIO);
+    }
+
+    /**
+     * 返却された商品を変更してもキャッシュ内容に影響しないことを確認。
+     */
+    @Test
+    void findById_ReturnsDefensiveCopy() {
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(PRICE_IPHONE));
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+
+        repository.findById(ID_IPHONE).setPrice(NEW_PRICE);
+        repository.findAll().getFirst().setPrice(NEW_PRICE);
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+        assertThat(repository.findAll().getFirst().getPrice()).isEqualTo(PRICE_IPHONE);
+    }
+
+    /**
+     * 存在しない商品はキャッシュされず、毎回 DB に問い合わせることを確認。
+     */
+    @Test
+    void findById_DoesNotCacheMissingProduct() {
+        assertThat(repository.findById(ID_UNKNOWN)).isNull();
+        assertThat(repository.findById(ID_UNKNOWN)).isNull();
+
+        verify(delegate, times(TWICE)).findById(ID_UNKNOWN);
+    }
+
+    /**
+     * 全商品は 1 回目の取得でスナップショットとして保持され、2 回目は DB に問い合わせないことを確認。
+     */
+    @Test
+    void findAll_SecondCallIsServedFromSnapshot() {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+
+        assertThat(repository.findAll()).hasSize(TWICE);
+        assertThat(repository.findAll()).hasSize(TWICE);
+
+        verify(delegate, times(ONCE)).findAll();
+    }
+
+    /**
+     * updatePrice() 後は該当商品と全商品のスナップショットが無効化され、他の商品のエントリは残ることを確認。
+     */
+    @Test
+    void updatePrice_InvalidatesEntryAndSnapshot() {
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(PRICE_IPHONE), iphone(NEW_PRICE));
+        when(delegate.findById(ID_GALAXY)).thenReturn(new Product(ID_GALAXY, NAME_GALAXY, PRICE_GALAXY));
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE), catalog(NEW_PRICE));
+        repository.findById(ID_IPHONE);
+        repository.findById(ID_GALAXY);
+        repository.findAll();
+        long before = repository.version();
+
+        repository.updatePrice(ID_IPHONE, NEW_PRICE);
+
+        assertThat(repository.version()).isGreaterThan(before);
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(NEW_PRICE);
+        assertThat(repository.findAll().getFirst().getPrice()).isEqualTo(NEW_PRICE);
+        repository.findById(ID_GALAXY);
+        verify(delegate, times(ONCE)).updatePrice(ID_IPHONE, NEW_PRICE);
+        verify(delegate, times(TWICE)).findById(ID_IPHONE);
+        verify(delegate, times(ONCE)).findById(ID_GALAXY);
+        verify(delegate, times(TWICE)).findAll();
+    }
+
+    /**
+     * トランザクション中の更新では、完了までに読み込まれたエントリも完了時に無効化されることを確認
+     * （ロールバックされた価格がキャッシュに残らない）。
+     */
+    @Test
+    void updatePrice_InvalidatesAgainAfterTransactionCompletion() {
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(NEW_PRICE), iphone(PRICE_IPHONE));
+        TransactionSynchronizationManager.initSynchronization();
+
+        repository.updatePrice(ID_IPHONE, NEW_PRICE);
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(NEW_PRICE);
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+    }
+
+    /**
+     * 全商品の読み込み中に価格が更新された場合、読み込み中だった古い内容は以降の取得に使われないことを確認。
+     */
+    @Test
+    void findAll_DoesNotServeSnapshotLoadedBeforeUpdate() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return catalog(PRICE_IPHONE);
+        }).thenReturn(catalog(NEW_PRICE));
+
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        try {
+            Future<List<Product>> stale = loader.submit(repository::findAll);
+            assertThat(loading.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            repository.updatePrice(ID_IPHONE, NEW_PRICE);
+            release.countDown();
+            stale.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            loader.shutdownNow();
+        }
+
+        assertThat(repository.findAll().getFirst().getPrice()).isEqualTo(NEW_PRICE);
+        verify(delegate, times(TWICE)).findAll();
+    }
+
+    /**
+     * 全商品への同時ミスは 1 回の DB 検索にまとめられることを確認。
+     */
+    @Test
+    void findAll_CoalescesConcurrentMisses() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(delegate.findAll()).thenAnswer(invocation -> {
+            loading.countDown();
+            release.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return catalog(PRICE_IPHONE);
+        });
+
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<Product>> first = loader.submit(repository::findAll);
+            assertThat(loading.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<List<Product>>> others = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_READERS; i++) {
+                others.add(readers.submit(repository::findAll));
+            }
+            release.countDown();
+
+            assertThat(first.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).hasSize(TWICE);
+            for (Future<List<Product>> other : others) {
+                assertThat(other.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).hasSize(TWICE);
+            }
+        } finally {
+            loader.shutdownNow();
+        }
+
+        verify(delegate, times(ONCE)).findAll();
+    }
+
+    /**
+     * DB 検索の例外はそのまま呼び出し元に伝わり、失敗結果はキャッシュされないことを確認。
+     */
+    @Test
+    void findById_PropagatesFailureWithoutCaching() {
+        when(delegate.findById(ID_IPHONE))
+                .thenThrow(new QueryTimeoutException(DB_ERROR_MESSAGE))
+                .thenReturn(iphone(PRICE_IPHONE));
+
+        assertThatThrownBy(() -> repository.findById(ID_IPHONE)).isInstanceOf(DataAccessException.class);
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+
+        verify(delegate, times(TWICE)).findById(ID_IPHONE);
+    }
+
+    /**
+     * ページ単位の取得は全商品のスナップショットから切り出され、価格の更新後は新しいスナップショットから返されることを確認。
+     */
+    @Test
+    void findPageAfter_IsServedFromSnapshot() {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE), catalog(NEW_PRICE));
+
+        assertThat(repository.findPageAfter(0, ONCE)).extracting(Product::getId).containsExactly(ID_IPHONE);
+        assertThat(repository.findPageAfter(ID_IPHONE, TWICE)).extracting(Product::getId).containsExactly(ID_GALAXY);
+        assertThat(repository.findAll()).hasSize(TWICE);
+        verify(delegate, times(ONCE)).findAll();
+
+        repository.updatePrice(ID_IPHONE, NEW_PRICE);
+
+        assertThat(repository.findPageAfter(0, ONCE).getFirst().getPrice()).isEqualTo(NEW_PRICE);
+        verify(delegate, times(TWICE)).findAll();
+        verify(delegate, never()).findPageAfter(anyInt(), anyInt());
+    }
+}
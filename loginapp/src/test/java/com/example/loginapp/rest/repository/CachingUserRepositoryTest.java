@@ -0,0 +1,204 @@
+package com.example.loginapp.rest.repository;
+
+import com.example.loginapp.domain.model.PasswordUpdate;
+import com.example.loginapp.domain.model.User;
+import com.example.loginapp.rest.config.UserCacheProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.QueryTimeoutException;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MonitorInfo;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link CachingUserRepository} の単体テスト。
+ * <p>
+ * キャッシュヒット時に DB 検索が省略されること、登録時に無効化されることを検証する。
+ * </p>
+ */
+class CachingUserRepositoryTest {
+
+    /** 委譲先のモックリポジトリ */
+    private MyBatisUserRepository delegate;
+
+    /** テスト対象 */
+    private CachingUserRepository repository;
+
+    /** メトリクス検証用レジストリ */
+    private SimpleMeterRegistry registry;
+
+    private static final String USERNAME = "user";
+    private static final String PASSWORD = "pass";
+    private static final String NEW_PASSWORD = "newpass";
+    private static final String UNKNOWN_USERNAME = "nouser";
+    private static final String DB_ERROR_MESSAGE = "DB error";
+
+    private static final int ONCE = 1;
+    private static final int TWICE = 2;
+    private static final double EXPECTED_HITS = 1.0;
+    private static final double EXPECTED_MISSES = 1.0;
+
+    /** 同時に検索するスレッド数 */
+    private static final int CONCURRENT_READERS = 16;
+
+    /** 同時検索の待機上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 10;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(MyBatisUserRepository.class);
+        repository = new CachingUserRepository(delegate, new UserCacheProperties());
+        registry = new SimpleMeterRegistry();
+        repository.bindTo(registry);
+    }
+
+    /**
+     * 2 回目の検索はキャッシュから返され、DB 検索は 1 回のみであることを確認。
+     */
+    @Test
+    void findByUsername_SecondCallIsServedFromCache() {
+        when(delegate.findByUsername(USERNAME)).thenReturn(new User(USERNAME, PASSWORD));
+
+        User first = repository.findByUsername(USERNAME);
+        User second = repository.findByUsername(USERNAME);
+
+        assertThat(first.getPassword()).isEqualTo(PASSWORD);
+        assertThat(second.getPassword()).isEqualTo(PASSWORD);
+        verify(delegate, times(ONCE)).findByUsername(USERNAME);
+
+        assertThat(registry.get("cache.gets").tag("result", "hit").functionCounter().count())
+                .isEqualTo(EXPECTED_HITS);
+        assertThat(registry.get("cache.gets").tag("result", "miss").functionCounter().count())
+                .isEqualTo(EXPECTED_MISSES);
+    }
+
+    /**
+     * 返却されたユーザを変更してもキャッシュ内容に影響しないことを確認。
+     */
+    @Test
+    void findByUsername_ReturnsDefensiveCopy() {
+        when(delegate.findByUsername(USERNAME)).thenReturn(new User(USERNAME, PASSWORD));
+
+        repository.findByUsername(USERNAME).setPassword(NEW_PASSWORD);
+
+        assertThat(repository.findByUsername(USERNAME).getPassword()).isEqualTo(PASSWORD);
+    }
+
+    /**
+     * 存在しないユーザはキャッシュされず、毎回 DB に問い合わせることを確認。
+     */
+    @Test
+    void findByUsername_DoesNotCacheMissingUser() {
+        when(delegate.findByUsername(UNKNOWN_USERNAME)).thenReturn(null);
+
+        assertThat(repository.findByUsername(UNKNOWN_USERNAME)).isNull();
+        assertThat(repository.findByUsername(UNKNOWN_USERNAME)).isNull();
+
+        verify(delegate, times(TWICE)).findByUsername(UNKNOWN_USERNAME);
+    }
+
+    /**
+     * insertUser() 後は該当ユーザのキャッシュが無効化され、再検索されることを確認。
+     */
+    @Test
+    void insertUser_InvalidatesCachedEntry() {
+        User user = new User(USERNAME, PASSWORD);
+        when(delegate.findByUsername(USERNAME)).thenReturn(user);
+
+        repository.findByUsername(USERNAME);
+        repository.insertUser(user);
+        repository.findByUsername(USERNAME);
+
+        verify(delegate, times(ONCE)).insertUser(user);
+        verify(delegate, times(TWICE)).findByUsername(USERNAME);
+    }
+
+    /**
+     * updatePasswords() 後は対象ユーザのキャッシュが無効化され、新しい保存値が返ることを確認。
+     */
+    @Test
+    void updatePasswords_InvalidatesCachedEntries() {
+        List<PasswordUpdate> updates = List.of(new PasswordUpdate(USERNAME, PASSWORD, NEW_PASSWORD));
+        when(delegate.findByUsername(USERNAME))
+                .thenReturn(new User(USERNAME, PASSWORD), new User(USERNAME, NEW_PASSWORD));
+        when(delegate.updatePasswords(updates)).thenReturn(ONCE);
+
+        repository.findByUsername(USERNAME);
+
+        assertThat(repository.updatePasswords(updates)).isEqualTo(ONCE);
+        assertThat(repository.findByUsername(USERNAME).getPassword()).isEqualTo(NEW_PASSWORD);
+        verify(delegate, times(TWICE)).findByUsername(USERNAME);
+    }
+
+    /**
+     * 同一ユーザへの同時ミスは 1 回の DB 検索にまとめられ、DB 検索中はモニタロックを保持しないことを確認。
+     * （ロック内でブロッキング I/O を行うと仮想スレッドがキャリアスレッドを固定するため）
+     */
+    @Test
+    void findByUsername_CoalescesConcurrentMissesWithoutHoldingMonitors() throws Exception {
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<MonitorInfo[]> monitorsDuringLoad = new AtomicReference<>();
+        when(delegate.findByUsername(USERNAME)).thenAnswer(invocation -> {
+            monitorsDuringLoad.set(ManagementFactory.getThreadMXBean()
+                    .getThreadInfo(new long[] { Thread.currentThread().getId() }, true, false)[0]
+                    .getLockedMonitors());
+            loading.countDown();
+            release.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            return new User(USERNAME, PASSWORD);
+        });
+
+        ExecutorService loader = Executors.newSingleThreadExecutor();
+        try (ExecutorService readers = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<User> first = loader.submit(() -> repository.findByUsername(USERNAME));
+            assertThat(loading.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+
+            List<Future<User>> others = new ArrayList<>();
+            for (int i = 0; i < CONCURRENT_READERS; i++) {
+                others.add(readers.submit(() -> repository.findByUsername(USERNAME)));
+            }
+            release.countDown();
+
+            assertThat(first.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS).getPassword()).isEqualTo(PASSWORD);
+            for (Future<User> other : others) {
+                assertThat(other.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS).getPassword()).isEqualTo(PASSWORD);
+            }
+        } finally {
+            loader.shutdownNow();
+        }
+
+        verify(delegate, times(ONCE)).findByUsername(USERNAME);
+        assertThat(monitorsDuringLoad.get()).isEmpty();
+    }
+
+    /**
+     * DB 検索の例外はそのまま呼び出し元に伝わり、失敗結果はキャッシュされないことを確認。
+     */
+    @Test
+    void findByUsername_PropagatesFailureWithoutCaching() {
+        when(delegate.findByUsername(USERNAME))
+                .thenThrow(new QueryTimeoutException(DB_ERROR_MESSAGE))
+                .thenReturn(new User(USERNAME, PASSWORD));
+
+        assertThatThrownBy(() -> repository.findByUsername(USERNAME)).isInstanceOf(DataAccessException.class);
+        assertThat(repository.findByUsername(USERNAME).getPassword()).isEqualTo(PASSWORD);
+
+        verify(delegate, times(TWICE)).findByUsername(USERNAME);
+    }
+}
@@ -0,0 +1,231 @@
+package com.example.loginapp.rest.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+
+import org.apache.ibatis.mapping.Environment;
+import org.apache.ibatis.session.Configuration;
+import org.apache.ibatis.session.SqlSessionFactoryBuilder;
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mybatis.spring.SqlSessionTemplate;
+import org.mybatis.spring.transaction.SpringManagedTransactionFactory;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * {@link JdbcLoginSessionRepository} の単体テスト。
+ * <p>
+ * MySQL 互換モードの組み込み H2 に Flyway のマイグレーションを適用し、
+ * 同じ DB を参照する 2 つのリポジトリ（再起動後・別ノード相当）の間でセッションを引き継げることを検証する。
+ * </p>
+ */
+class JdbcLoginSessionRepositoryTest {
+
+    /** テスト用のログイン時刻 */
+    private static final long LOGIN_TIME = 1_700_000_000_000L;
+
+    /** セッションの有効期限（ミリ秒） */
+    private static final long TIMEOUT_MILLIS = 60_000L;
+
+    /** キャッシュの最大件数 */
+    private static final long CACHE_MAXIMUM_SIZE = 100L;
+
+    /** テスト中に期限切れにならないキャッシュ TTL（ミリ秒） */
+    private static final long LONG_CACHE_TTL_MILLIS = 60_000L;
+
+    /** login_sessions テーブルの Mapper */
+    private LoginSessionMapper mapper;
+
+    @BeforeEach
+    void setUp() {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + UUID.randomUUID() + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        Flyway.configure().dataSource(dataSource).load().migrate();
+
+        Configuration configuration = new Configuration(
+                new Environment("test", new SpringManagedTransactionFactory(), dataSource));
+        configuration.addMapper(LoginSessionMapper.class);
+        mapper = new SqlSessionTemplate(new SqlSessionFactoryBuilder().build(configuration))
+                .getMapper(LoginSessionMapper.class);
+    }
+
+    /**
+     * 一方のリポジトリで作成したセッションを、もう一方（再起動後・別ノード相当）で取得できることを確認。
+     */
+    @Test
+    void find_ReturnsSessionCreatedByOtherNode() {
+        JdbcLoginSessionRepository node1 = repository(LONG_CACHE_TTL_MILLIS);
+        JdbcLoginSessionRepository node2 = repository(LONG_CACHE_TTL_MILLIS);
+        LoginSession loginSession = new LoginSession("user", LOGIN_TIME);
+
+        String sessionId = node1.create(loginSession);
+
+        assertThat(node2.find(sessionId)).isEqualTo(loginSession);
+        assertThat(node2.find("unknown")).isNull();
+        assertThat(node2.find(null)).isNull();
+    }
+
+    /**
+     * DB にはセッション ID そのものではなくハッシュ値を保存することを確認。
+     */
+    @Test
+    void create_StoresHashedSessionKey() {
+        String sessionId = repository(LONG_CACHE_TTL_MILLIS).create(new LoginSession("user", LOGIN_TIME));
+
+        assertThat(mapper.findBySessionKey(sessionId)).isNull();
+        assertThat(sessionId).hasSize(43);
+    }
+
+    /**
+     * 削除したノードでは即座に、別ノードではキャッシュの TTL 経過後に取得できなくなることを確認。
+     */
+    @Test
+    void delete_IsVisibleLocallyAtOnceAndOnOtherNodesAfterCacheTtl() {
+        JdbcLoginSessionRepository node1 = repository(LONG_CACHE_TTL_MILLIS);
+        JdbcLoginSessionRepository cachingNode = repository(LONG_CACHE_TTL_MILLIS);
+        JdbcLoginSessionRepository uncachedNode = repository(0L);
+        String sessionId = node1.create(new LoginSession("user", LOGIN_TIME));
+        assertThat(cachingNode.find(sessionId)).isNotNull();
+
+        node1.delete(sessionId);
+
+        assertThat(node1.find(sessionId)).isNull();
+        assertThat(uncachedNode.find(sessionId)).isNull();
+        assertThat(cachingNode.find(sessionId)).isNotNull();
+    }
+
+    /**
+     * findLatest() はキャッシュ上の古い値ではなく、別ノードでの延長・削除を反映した DB の値を返すことを確認。
+     */
+    @Test
+    void findLatest_BypassesStaleCacheEntry() {
+        JdbcLoginSessionRepository node1 = repository(LONG_CACHE_TTL_MILLIS);
+        JdbcLoginSessionRepository node2 = repository(LONG_CACHE_TTL_MILLIS);
+        String sessionId = node1.create(new LoginSession("user", LOGIN_TIME));
+        long touchedAt = LOGIN_TIME + TIMEOUT_MILLIS;
+
+        node2.touch(sessionId, touchedAt);
+        node2.flushTouches();
+
+        assertThat(node1.find(sessionId).lastAccessTime()).isEqualTo(LOGIN_TIME);
+        assertThat(node1.findLatest(sessionId).lastAccessTime()).isEqualTo(touchedAt);
+
+        node2.delete(sessionId);
+
+        assertThat(node1.findLatest(sessionId)).isNull();
+        assertThat(node1.find(sessionId)).isNull();
+    }
+
+    /**
+     * deleteByUsername() がユーザの全セッションを DB とこのノードのキャッシュから削除することを確認。
+     */
+    @Test
+    void deleteByUsername_RemovesEverySessionOfUser() {
+        JdbcLoginSessionRepository repository = repository(LONG_CACHE_TTL_MILLIS);
+        String first = repository.create(new LoginSession("user", LOGIN_TIME));
+        String second = repository.create(new LoginSession("user", LOGIN_TIME));
+        String other = repository.create(new LoginSession("other", LOGIN_TIME));
+
+        assertThat(repository.deleteByUsername("user")).isEqualTo(2);
+
+        assertThat(repository.find(first)).isNull();
+        assertThat(repository.find(second)).isNull();
+        assertThat(repository.find(other)).isNotNull();
+        assertThat(repository(0L).find(first)).isNull();
+    }
+
+    /**
+     * 有効期限を過ぎたセッションのみ削除されることを確認。
+     */
+    @Test
+    void deleteExpired_RemovesOnlyExpiredSessions() {
+        JdbcLoginSessionRepository repository = repository(0L);
+        String expired = repository.create(new LoginSession("old", LOGIN_TIME));
+        String active = repository.create(new LoginSession("new", LOGIN_TIME + TIMEOUT_MILLIS));
+
+        int deleted = repository.deleteExpired(LOGIN_TIME + TIMEOUT_MILLIS + 1, TIMEOUT_MILLIS, false);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(repository.find(expired)).isNull();
+        assertThat(repository.find(active)).isNotNull();
+    }
+
+    /**
+     * trimSessions() は別ノードで発行したセッションも数に含め、発行したばかりのセッションと新しいものを残して
+     * 古いセッションを DB から削除することを確認。
+     */
+    @Test
+    void trimSessions_AppliesLimitAcrossNodes() {
+        JdbcLoginSessionRepository node1 = repository(0L);
+        JdbcLoginSessionRepository node2 = repository(0L);
+        String oldest = node1.create(new LoginSession("user", LOGIN_TIME));
+        String older = node2.create(new LoginSession("user", LOGIN_TIME + 1_000L));
+        String newer = node1.create(new LoginSession("user", LOGIN_TIME + 2_000L));
+        String other = node2.create(new LoginSession("other", LOGIN_TIME));
+        String current = node2.create(new LoginSession("user", LOGIN_TIME + 2_000L));
+
+        assertThat(node2.trimSessions("user", current, 2)).isEqualTo(2);
+
+        assertThat(node1.find(oldest)).isNull();
+        assertThat(node1.find(older)).isNull();
+        assertThat(node1.find(newer)).isNotNull();
+        assertThat(node1.find(current)).isNotNull();
+        assertThat(node1.find(other)).isNotNull();
+        assertThat(node2.trimSessions("user", current, 2)).isZero();
+    }
+
+    /**
+     * touch() はキャッシュと保留にのみ反映し、flushTouches() でまとめて DB に書き込まれることを確認。
+     * 書き込み前に別ノードが DB から読み込んだ場合も、古い最終アクセス時刻で上書きされないことを確認。
+     */
+    @Test
+    void touch_IsWrittenBehindOnFlush() {
+        JdbcLoginSessionRepository node1 = repository(LONG_CACHE_TTL_MILLIS);
+        JdbcLoginSessionRepository node2 = repository(0L);
+        String first = node1.create(new LoginSession("user1", LOGIN_TIME));
+        String second = node1.create(new LoginSession("user2", LOGIN_TIME));
+
+        node1.touch(first, LOGIN_TIME + 1_000L);
+        node1.touch(first, LOGIN_TIME + 2_000L);
+        node1.touch(second, LOGIN_TIME + 3_000L);
+
+        assertThat(node1.find(first).lastAccessTime()).isEqualTo(LOGIN_TIME + 2_000L);
+        assertThat(node2.find(first).lastAccessTime()).isEqualTo(LOGIN_TIME);
+        assertThat(node1.pendingTouchCount()).isEqualTo(2);
+
+        assertThat(node1.flushTouches()).isEqualTo(2);
+
+        assertThat(node1.pendingTouchCount()).isZero();
+        assertThat(node2.find(first).lastAccessTime()).isEqualTo(LOGIN_TIME + 2_000L);
+        assertThat(node2.find(second).lastAccessTime()).isEqualTo(LOGIN_TIME + 3_000L);
+
+        node2.touch(first, LOGIN_TIME + 1_500L);
+        node2.flushTouches();
+        assertThat(node2.find(first).lastAccessTime()).isEqualTo(LOGIN_TIME + 2_000L);
+    }
+
+    /**
+     * スライディング方式の削除では、保留中の最終アクセス時刻を書き込んでから判定することを確認。
+     */
+    @Test
+    void deleteExpired_FlushesPendingTouches_WhenSliding() {
+        JdbcLoginSessionRepository repository = repository(0L);
+        String active = repository.create(new LoginSession("active", LOGIN_TIME));
+        String idle = repository.create(new LoginSession("idle", LOGIN_TIME));
+        repository.touch(active, LOGIN_TIME + TIMEOUT_MILLIS);
+
+        int deleted = repository.deleteExpired(LOGIN_TIME + TIMEOUT_MILLIS + 1, TIMEOUT_MILLIS, true);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(repository.find(active)).isNotNull();
+        assertThat(repository.find(idle)).isNull();
+    }
+
+    private JdbcLoginSessionRepository repository(long cacheTtlMillis) {
+        return new JdbcLoginSessionRepository(mapper, CACHE_MAXIMUM_SIZE, cacheTtlMillis);
+    }
+}
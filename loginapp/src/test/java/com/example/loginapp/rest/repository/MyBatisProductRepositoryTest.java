@@ -0,0 +1,72 @@
+package com.example.loginapp.rest.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.ibatis.cursor.Cursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.domain.model.Product;
+
+/**
+ * {@link MyBatisProductRepository#forEachProduct} の単体テスト。
+ * <p>
+ * カーソルの内容が順に渡されること、処理の成否にかかわらずカーソルが閉じられることを確認する。
+ * </p>
+ */
+class MyBatisProductRepositoryTest {
+
+    /** テスト用の商品 */
+    private static final List<Product> PRODUCTS = List.of(
+            new Product(1, "iPhone", BigDecimal.valueOf(120000)),
+            new Product(2, "Galaxy", BigDecimal.valueOf(98000)));
+
+    private MyBatisProductRepository repository;
+
+    private Cursor<Product> cursor;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        repository = mock(MyBatisProductRepository.class);
+        doCallRealMethod().when(repository).forEachProduct(any());
+        cursor = mock(Cursor.class);
+        doCallRealMethod().when(cursor).forEach(any());
+        when(cursor.iterator()).thenAnswer(invocation -> PRODUCTS.iterator());
+        when(repository.openCursor()).thenReturn(cursor);
+    }
+
+    /**
+     * カーソルの商品が順に渡され、読み終えた後にカーソルが閉じられることを確認。
+     */
+    @Test
+    void forEachProduct_PassesRowsAndClosesCursor() throws IOException {
+        List<Product> received = new ArrayList<>();
+
+        repository.forEachProduct(received::add);
+
+        assertThat(received).containsExactlyElementsOf(PRODUCTS);
+        verify(cursor).close();
+    }
+
+    /**
+     * 処理中に例外が発生してもカーソルが閉じられることを確認。
+     */
+    @Test
+    void forEachProduct_ClosesCursorOnFailure() throws IOException {
+        assertThatThrownBy(() -> repository.forEachProduct(product -> {
+            throw new UncheckedIOException(new IOException("client aborted"));
+        })).isInstanceOf(UncheckedIOException.class);
+
+        verify(cursor).close();
+    }
+}
@@ -0,0 +1,121 @@
+package com.example.loginapp.rest.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.domain.model.Product;
+
+/**
+ * {@link ProductSnapshot} の単体テスト。
+ */
+class ProductSnapshotTest {
+
+    /** テスト用の商品数 */
+    private static final int PRODUCT_COUNT = 1_000;
+
+    /** テスト用の商品ID の間隔（欠番のある ID で索引を検証する） */
+    private static final int ID_STEP = 3;
+
+    /** テスト用価格 */
+    private static final BigDecimal PRICE = BigDecimal.valueOf(100);
+    private static final BigDecimal NEW_PRICE = BigDecimal.valueOf(200);
+
+    private static Product product(int id, BigDecimal price) {
+        return new Product(id, "product-" + id, price);
+    }
+
+    /** ID_STEP 刻みの商品 ID を順不同で持つ商品リスト */
+    private static List<Product> catalog() {
+        List<Product> products = new ArrayList<>();
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            products.add(product(i * ID_STEP, PRICE));
+        }
+        Collections.shuffle(products);
+        return products;
+    }
+
+    /**
+     * すべての商品が商品IDで引け、存在しない商品IDは null となることを確認。
+     */
+    @Test
+    void get_FindsEveryProductById() {
+        ProductSnapshot snapshot = ProductSnapshot.of(catalog());
+
+        for (int i = 1; i <= PRODUCT_COUNT; i++) {
+            assertThat(snapshot.get(i * ID_STEP).getId()).isEqualTo(i * ID_STEP);
+            assertThat(snapshot.get(i * ID_STEP + 1)).isNull();
+        }
+        assertThat(snapshot.get(0)).isNull();
+        assertThat(snapshot.size()).isEqualTo(PRODUCT_COUNT);
+        assertThat(ProductSnapshot.of(List.of()).get(1)).isNull();
+    }
+
+    /**
+     * 全件・ページ単位の取得が商品IDの昇順となり、ページは指定した商品ID（欠番を含む）の次から始まることを確認。
+     */
+    @Test
+    void pageAfter_ReturnsAscendingPage() {
+        ProductSnapshot snapshot = ProductSnapshot.of(catalog());
+
+        assertThat(snapshot.all()).extracting(Product::getId).isSorted().hasSize(PRODUCT_COUNT);
+        assertThat(snapshot.pageAfter(0, 2)).extracting(Product::getId).containsExactly(ID_STEP, 2 * ID_STEP);
+        assertThat(snapshot.pageAfter(ID_STEP, 2)).extracting(Product::getId)
+                .containsExactly(2 * ID_STEP, 3 * ID_STEP);
+        assertThat(snapshot.pageAfter(ID_STEP + 1, 1)).extracting(Product::getId).containsExactly(2 * ID_STEP);
+        assertThat(snapshot.pageAfter(PRODUCT_COUNT * ID_STEP - 1, Integer.MAX_VALUE)).hasSize(1);
+        assertThat(snapshot.pageAfter(PRODUCT_COUNT * ID_STEP, 10)).isEmpty();
+    }
+
+    /**
+     * 1 件の置き換えは新しいスナップショットにのみ反映され、元のスナップショットは変わらないことを確認。
+     */
+    @Test
+    void with_ReplacesProductWithoutChangingOriginal() {
+        ProductSnapshot original = ProductSnapshot.of(catalog());
+
+        ProductSnapshot updated = original.with(ID_STEP, product(ID_STEP, NEW_PRICE));
+
+        assertThat(updated.get(ID_STEP).getPrice()).isEqualTo(NEW_PRICE);
+        assertThat(original.get(ID_STEP).getPrice()).isEqualTo(PRICE);
+        assertThat(updated.size()).isEqualTo(PRODUCT_COUNT);
+        assertThat(updated.createdAt()).isEqualTo(original.createdAt());
+    }
+
+    /**
+     * 存在しない商品の追加・存在する商品の削除では索引を作り直すことを確認。
+     */
+    @Test
+    void with_AddsAndRemovesProducts() {
+        ProductSnapshot original = ProductSnapshot.of(catalog());
+
+        ProductSnapshot added = original.with(1, product(1, PRICE));
+        ProductSnapshot removed = added.with(ID_STEP, null);
+
+        assertThat(added.get(1)).isNotNull();
+        assertThat(added.pageAfter(0, 1)).extracting(Product::getId).containsExactly(1);
+        assertThat(removed.get(ID_STEP)).isNull();
+        assertThat(removed.size()).isEqualTo(PRODUCT_COUNT);
+        assertThat(removed.with(ID_STEP, null)).isSameAs(removed);
+    }
+
+    /**
+     * 返却された商品・生成元のリストの商品を変更してもスナップショットに影響しないことを確認。
+     */
+    @Test
+    void returnsDefensiveCopies() {
+        Product source = product(1, PRICE);
+        ProductSnapshot snapshot = ProductSnapshot.of(List.of(source));
+
+        source.setPrice(NEW_PRICE);
+        snapshot.get(1).setPrice(NEW_PRICE);
+        snapshot.all().getFirst().setPrice(NEW_PRICE);
+
+        assertThat(snapshot.get(1).getPrice()).isEqualTo(PRICE);
+    }
+}
@@ -0,0 +1,278 @@
+package com.example.loginapp.rest.repository;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.rest.config.ProductSnapshotProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+/**
+ * {@link SnapshotProductRepository} の単体テスト。
+ * <p>
+ * 読み込み後の取得で DB にアクセスしないこと、価格の更新が該当商品のみの読み直しで反映されること、
+ * 全件の読み込み中・重なった読み直しの更新で古い内容に差し替えないことを検証する。
+ * </p>
+ */
+class SnapshotProductRepositoryTest {
+
+    /** 委譲先のモックリポジトリ */
+    private MyBatisProductRepository delegate;
+
+    /** スナップショットの設定 */
+    private ProductSnapshotProperties properties;
+
+    /** 商品のバージョン番号 */
+    private ProductCatalogVersion version;
+
+    /** メトリクス検証用レジストリ */
+    private SimpleMeterRegistry registry;
+
+    private static final int ID_IPHONE = 1;
+    private static final int ID_GALAXY = 2;
+    private static final String NAME_IPHONE = "iPhone";
+    private static final String NAME_GALAXY = "Galaxy";
+    private static final BigDecimal PRICE_IPHONE = BigDecimal.valueOf(120000);
+    private static final BigDecimal PRICE_GALAXY = BigDecimal.valueOf(98000);
+    private static final BigDecimal NEW_PRICE = BigDecimal.valueOf(1000);
+    private static final String DB_ERROR_MESSAGE = "DB error";
+
+    private static final int ONCE = 1;
+    private static final int TWICE = 2;
+    private static final int PAGE_SIZE = 50;
+
+    /** テスト内の待機の上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 5;
+
+    /** 後続の読み直しが待たされていることの確認時間（ミリ秒） */
+    private static final long BLOCKED_CHECK_MILLIS = 200;
+
+    @BeforeEach
+    void setUp() {
+        delegate = mock(MyBatisProductRepository.class);
+        properties = new ProductSnapshotProperties();
+        version = new ProductCatalogVersion();
+        registry = new SimpleMeterRegistry();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private SnapshotProductRepository start() {
+        SnapshotProductRepository repository = new SnapshotProductRepository(delegate, properties, version);
+        repository.afterPropertiesSet();
+        repository.bindTo(registry);
+        return repository;
+    }
+
+    private static Product iphone(BigDecimal price) {
+        return new Product(ID_IPHONE, NAME_IPHONE, price);
+    }
+
+    private static List<Product> catalog(BigDecimal iphonePrice) {
+        return List.of(new Product(ID_GALAXY, NAME_GALAXY, PRICE_GALAXY), iphone(iphonePrice));
+    }
+
+    /**
+     * 起動時に全件を読み込み、以降の一覧・ページ・ID 指定の取得は DB にアクセスしないことを確認。
+     */
+    @Test
+    void reads_AreServedFromSnapshot() {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+        SnapshotProductRepository repository = start();
+
+        assertThat(repository.findAll()).extracting(Product::getId).containsExactly(ID_IPHONE, ID_GALAXY);
+        assertThat(repository.findPageAfter(ID_IPHONE, PAGE_SIZE)).extracting(Product::getId)
+                .containsExactly(ID_GALAXY);
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+        assertThat(repository.findById(999)).isNull();
+
+        verify(delegate, times(ONCE)).findAll();
+        verify(delegate, never()).findById(anyInt());
+        verify(delegate, never()).findPageAfter(anyInt(), anyInt());
+        assertThat(registry.get("product.snapshot.size").gauge().value()).isEqualTo(TWICE);
+    }
+
+    /**
+     * 起動時の読み込みに失敗した場合は DB に委譲し、定期読み込みの成功後はスナップショットを使うことを確認。
+     */
+    @Test
+    void reads_FallBackToDelegateUntilLoaded() {
+        when(delegate.findAll())
+                .thenThrow(new QueryTimeoutException(DB_ERROR_MESSAGE))
+                .thenReturn(catalog(PRICE_IPHONE));
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(PRICE_IPHONE));
+        SnapshotProductRepository repository = start();
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+        assertThat(repository.refreshAll()).isTrue();
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+
+        verify(delegate, times(ONCE)).findById(ID_IPHONE);
+    }
+
+    /**
+     * トランザクション外の価格の更新は直後に該当商品のみを読み直して反映することを確認。
+     */
+    @Test
+    void updatePrice_RefreshesOnlyUpdatedProduct() {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(NEW_PRICE));
+        SnapshotProductRepository repository = start();
+        long versionBefore = version.current();
+
+        repository.updatePrice(ID_IPHONE, NEW_PRICE);
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(NEW_PRICE);
+        assertThat(version.current()).isGreaterThan(versionBefore);
+        assertThat(repository.findAll().getFirst().getPrice()).isEqualTo(NEW_PRICE);
+        verify(delegate, times(ONCE)).updatePrice(ID_IPHONE, NEW_PRICE);
+        verify(delegate, times(ONCE)).findById(ID_IPHONE);
+        verify(delegate, times(ONCE)).findAll();
+    }
+
+    /**
+     * トランザクション中の更新は完了まで反映せず、完了後に DB の内容（ロールバック後の価格）を反映することを確認。
+     */
+    @Test
+    void updatePrice_RefreshesAfterTransactionCompletion() {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(PRICE_IPHONE));
+        SnapshotProductRepository repository = start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        repository.updatePrice(ID_IPHONE, NEW_PRICE);
+        verify(delegate, never()).findById(anyInt());
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        TransactionSynchronizationUtils.invokeAfterCompletion(synchronizations,
+                TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(PRICE_IPHONE);
+        verify(delegate, times(ONCE)).findById(ID_IPHONE);
+    }
+
+    /**
+     * 同じ商品の読み直しが重なった場合、後から始まった読み直しは先の差し替えの完了を待ち、
+     * 先に読んだ古い価格で後から上書きされないことを確認。
+     */
+    @Test
+    void refresh_AppliesOverlappingRefreshesInOrder() throws Exception {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+        SnapshotProductRepository repository = start();
+        CountDownLatch firstReading = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+        AtomicInteger reads = new AtomicInteger();
+        when(delegate.findById(ID_IPHONE)).thenAnswer(invocation -> {
+            if (reads.incrementAndGet() == ONCE) {
+                firstReading.countDown();
+                releaseFirst.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                return iphone(PRICE_IPHONE);
+            }
+            return iphone(NEW_PRICE);
+        });
+
+        ExecutorService pool = Executors.newFixedThreadPool(TWICE);
+        try {
+            Future<?> first = pool.submit(() -> repository.refresh(ID_IPHONE));
+            assertThat(firstReading.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = pool.submit(() -> repository.refresh(ID_IPHONE));
+            assertThatThrownBy(() -> second.get(BLOCKED_CHECK_MILLIS, TimeUnit.MILLISECONDS))
+                    .isInstanceOf(TimeoutException.class);
+
+            releaseFirst.countDown();
+            first.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            second.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } finally {
+            releaseFirst.countDown();
+            pool.shutdownNow();
+        }
+
+        assertThat(repository.findById(ID_IPHONE).getPrice()).isEqualTo(NEW_PRICE);
+    }
+
+    /**
+     * 全件の読み込み中に 1 件の差し替えがあった場合は、読み込んだ古い内容を破棄して読み込み直すことを確認。
+     */
+    @Test
+    void refreshAll_RetriesWhenUpdatedDuringLoad() {
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(NEW_PRICE));
+        SnapshotProductRepository[] holder = new SnapshotProductRepository[1];
+        when(delegate.findAll())
+                .thenReturn(catalog(PRICE_IPHONE))
+                .thenAnswer(invocation -> {
+                    holder[0].updatePrice(ID_IPHONE, NEW_PRICE);
+                    return catalog(PRICE_IPHONE);
+                })
+                .thenReturn(catalog(NEW_PRICE));
+        holder[0] = start();
+
+        assertThat(holder[0].refreshAll()).isTrue();
+
+        assertThat(holder[0].findById(ID_IPHONE).getPrice()).isEqualTo(NEW_PRICE);
+        verify(delegate, times(1 + TWICE)).findAll();
+        assertThat(registry.get("product.snapshot.refreshes").functionCounter().count()).isEqualTo(TWICE);
+    }
+
+    /**
+     * 読み込みのたびに更新が続いた場合は、試行回数の上限で差し替えを見送り、現在の内容を保つことを確認。
+     */
+    @Test
+    void refreshAll_GivesUpAfterMaxAttempts() {
+        properties.setMaxRefreshAttempts(TWICE);
+        when(delegate.findById(ID_IPHONE)).thenReturn(iphone(NEW_PRICE));
+        SnapshotProductRepository[] holder = new SnapshotProductRepository[1];
+        when(delegate.findAll())
+                .thenReturn(catalog(PRICE_IPHONE))
+                .thenAnswer(invocation -> {
+                    holder[0].updatePrice(ID_IPHONE, NEW_PRICE);
+                    return catalog(PRICE_IPHONE);
+                });
+        holder[0] = start();
+
+        assertThat(holder[0].refreshAll()).isFalse();
+
+        assertThat(holder[0].findById(ID_IPHONE).getPrice()).isEqualTo(NEW_PRICE);
+        verify(delegate, times(1 + TWICE)).findAll();
+    }
+
+    /**
+     * 全件の出力はスナップショットを経由せず、DB に委譲することを確認。
+     */
+    @Test
+    void forEachProduct_IsDelegated() {
+        when(delegate.findAll()).thenReturn(catalog(PRICE_IPHONE));
+        SnapshotProductRepository repository = start();
+
+        repository.forEachProduct(product -> {
+        });
+
+        verify(delegate, times(ONCE)).forEachProduct(any());
+    }
+}
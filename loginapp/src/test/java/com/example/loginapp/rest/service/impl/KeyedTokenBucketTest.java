@@ -0,0 +1,191 @@
+package com.example.loginapp.rest.service.impl;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadInfo;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link KeyedTokenBucket} の単体テスト。
+ * <p>
+ * 時刻を固定したバケットの許可・拒否・補充・アイドルキー削除と、
+ * 多数スレッドからの同時アクセスで過剰に許可せずロック待ちも発生しないことを検証する。
+ * </p>
+ */
+class KeyedTokenBucketTest {
+
+    private static final int CAPACITY = 5;
+    private static final int REFILL_PER_MINUTE = 60;
+    private static final int MAX_KEYS = 3;
+    private static final long EMISSION_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final String KEY = "192.0.2.1";
+    private static final String OTHER_KEY = "192.0.2.2";
+
+    /** 同時アクセスのスレッド数 */
+    private static final int THREADS = 64;
+
+    /** 各スレッドの試行回数 */
+    private static final int ATTEMPTS_PER_THREAD = 20_000;
+
+    /** ウォームアップの試行回数 */
+    private static final int WARMUP_ATTEMPTS = 1_000;
+
+    /** 同時アクセスの待機上限（秒） */
+    private static final long TEST_TIMEOUT_SECONDS = 60;
+
+    /** テスト用の時刻（ナノ秒） */
+    private AtomicLong clock;
+
+    /** テスト対象 */
+    private KeyedTokenBucket buckets;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+        buckets = new KeyedTokenBucket(CAPACITY, REFILL_PER_MINUTE, MAX_KEYS, clock::get);
+    }
+
+    /**
+     * 容量分は連続で許可され、超過分は次の補充までの時間とともに拒否されることを確認。
+     */
+    @Test
+    void tryAcquire_AllowsBurstThenRejectsWithWaitTime() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(buckets.tryAcquire(KEY)).isZero();
+        }
+
+        assertThat(buckets.tryAcquire(KEY)).isEqualTo(EMISSION_INTERVAL_NANOS);
+        assertThat(buckets.tryAcquire(OTHER_KEY)).isZero();
+        assertThat(buckets.rejectedCount()).isEqualTo(1);
+    }
+
+    /**
+     * 補充間隔が経過するとトークンが 1 個ずつ回復することを確認。
+     */
+    @Test
+    void tryAcquire_RefillsOverTime() {
+        for (int i = 0; i < CAPACITY; i++) {
+            buckets.tryAcquire(KEY);
+        }
+
+        clock.addAndGet(EMISSION_INTERVAL_NANOS);
+
+        assertThat(buckets.tryAcquire(KEY)).isZero();
+        assertThat(buckets.tryAcquire(KEY)).isPositive();
+    }
+
+    /**
+     * 満杯まで回復したキーのみが削除されることを確認。
+     */
+    @Test
+    void evictIdle_RemovesOnlyFullBuckets() {
+        buckets.tryAcquire(KEY);
+        for (int i = 0; i < CAPACITY; i++) {
+            buckets.tryAcquire(OTHER_KEY);
+        }
+
+        clock.addAndGet(EMISSION_INTERVAL_NANOS);
+
+        assertThat(buckets.evictIdle()).isEqualTo(1);
+        assertThat(buckets.size()).isEqualTo(1);
+        assertThat(buckets.tryAcquire(OTHER_KEY)).isZero();
+        assertThat(buckets.tryAcquire(OTHER_KEY)).isPositive();
+    }
+
+    /**
+     * キー数が上限に達し、削除できるキーもない場合は新規キーを追跡せず、
+     * 未追跡キー全体で 1 つのバケットを共有して制限することを確認。
+     */
+    @Test
+    void tryAcquire_ChargesKeysBeyondLimitToSharedBucket() {
+        for (int i = 0; i < MAX_KEYS; i++) {
+            buckets.tryAcquire(KEY + i);
+        }
+
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(buckets.tryAcquire(OTHER_KEY + i)).isZero();
+        }
+        assertThat(buckets.tryAcquire(OTHER_KEY)).isEqualTo(EMISSION_INTERVAL_NANOS);
+        assertThat(buckets.size()).isEqualTo(MAX_KEYS);
+        assertThat(buckets.untrackedCount()).isEqualTo(CAPACITY + 1);
+        assertThat(buckets.rejectedCount()).isEqualTo(1);
+    }
+
+    /**
+     * null のキーは常に許可されることを確認。
+     */
+    @Test
+    void tryAcquire_AllowsNullKey() {
+        assertThat(buckets.tryAcquire(null)).isZero();
+        assertThat(buckets.size()).isZero();
+    }
+
+    /**
+     * 多数のスレッドが同一キー・別キーに同時アクセスしても、許可数が容量を超えず、
+     * 各スレッドにモニタ待ち・待機が発生しないことを確認。
+     */
+    @Test
+    void tryAcquire_IsExactAndLockFreeUnderContention() throws Exception {
+        ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        KeyedTokenBucket shared = new KeyedTokenBucket(CAPACITY, REFILL_PER_MINUTE, THREADS + 1, clock::get);
+        for (int i = 0; i < WARMUP_ATTEMPTS; i++) {
+            shared.tryAcquire(KEY + (i % THREADS));
+        }
+        shared.tryAcquire(OTHER_KEY);
+        long rejectedBefore = shared.rejectedCount();
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch ready = new CountDownLatch(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<long[]>> results = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                String ownKey = KEY + t;
+                results.add(pool.submit(() -> {
+                    ready.countDown();
+                    start.await();
+                    ThreadInfo before = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+                    long allowed = 0;
+                    for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                        if (shared.tryAcquire(OTHER_KEY) == 0) {
+                            allowed++;
+                        }
+                        shared.tryAcquire(ownKey);
+                    }
+                    ThreadInfo after = threadMXBean.getThreadInfo(Thread.currentThread().getId());
+                    return new long[] { allowed,
+                            after.getBlockedCount() - before.getBlockedCount(),
+                            after.getWaitedCount() - before.getWaitedCount() };
+                }));
+            }
+            assertThat(ready.await(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS)).isTrue();
+            start.countDown();
+
+            long totalAllowed = 0;
+            for (Future<long[]> result : results) {
+                long[] stats = result.get(TEST_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+                totalAllowed += stats[0];
+                assertThat(stats[1]).as("blocked count").isZero();
+                assertThat(stats[2]).as("waited count").isZero();
+            }
+
+            assertThat(totalAllowed).isEqualTo(CAPACITY - 1);
+            assertThat(shared.rejectedCount() - rejectedBefore)
+                    .isEqualTo((long) THREADS * ATTEMPTS_PER_THREAD * 2 - totalAllowed);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
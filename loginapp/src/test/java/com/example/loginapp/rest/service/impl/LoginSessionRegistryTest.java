@@ -0,0 +1,206 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.rest.config.SessionProperties;
+
+/**
+ * {@link LoginSessionRegistry} の単体テスト。
+ */
+class LoginSessionRegistryTest {
+
+    /** セッションの有効期限（ミリ秒） */
+    private static final long SESSION_TIMEOUT_MILLIS = 60_000L;
+
+    /** テスト用ユーザー名 */
+    private static final String TEST_USERNAME = "test-user";
+
+    /** 別のテスト用ユーザー名 */
+    private static final String OTHER_USERNAME = "other-user";
+
+    private SessionProperties sessionProperties;
+
+    private LoginSessionRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        sessionProperties = new SessionProperties();
+        sessionProperties.setTimeoutMillis(SESSION_TIMEOUT_MILLIS);
+        registry = new LoginSessionRegistry(sessionProperties);
+    }
+
+    /**
+     * 上限がない場合はすべてのセッションをログイン順に保持することを確認。
+     */
+    @Test
+    void register_KeepsAllSessions_WhenUnlimited() {
+        long now = System.currentTimeMillis();
+
+        assertThat(registry.register(TEST_USERNAME, "s1", now)).isEmpty();
+        assertThat(registry.register(TEST_USERNAME, "s2", now + 1)).isEmpty();
+        assertThat(registry.register(OTHER_USERNAME, "s3", now + 2)).isEmpty();
+
+        assertThat(registry.sessionIds(TEST_USERNAME)).containsExactly("s1", "s2");
+        assertThat(registry.sessionCount(OTHER_USERNAME)).isEqualTo(1);
+        assertThat(registry.size()).isEqualTo(3);
+    }
+
+    /**
+     * 上限を超えた場合はログイン時刻の古いセッションから登録を外して返すことを確認。
+     */
+    @Test
+    void register_EvictsOldest_WhenLimitExceeded() {
+        sessionProperties.setMaxSessionsPerUser(2);
+        long now = System.currentTimeMillis();
+        registry.register(TEST_USERNAME, "s1", now);
+        registry.register(TEST_USERNAME, "s2", now + 1);
+
+        List<String> evicted = registry.register(TEST_USERNAME, "s3", now + 2);
+
+        assertThat(evicted).containsExactly("s1");
+        assertThat(registry.sessionIds(TEST_USERNAME)).containsExactly("s2", "s3");
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    /**
+     * 同じセッション ID で再ログインした場合は置き換え、上限の計算で重複しないことを確認。
+     */
+    @Test
+    void register_ReplacesSameSessionId() {
+        sessionProperties.setMaxSessionsPerUser(2);
+        long now = System.currentTimeMillis();
+        registry.register(TEST_USERNAME, "s1", now);
+        registry.register(TEST_USERNAME, "s2", now + 1);
+
+        assertThat(registry.register(TEST_USERNAME, "s2", now + 2)).isEmpty();
+        assertThat(registry.register(OTHER_USERNAME, "s1", now + 3)).isEmpty();
+
+        assertThat(registry.sessionIds(TEST_USERNAME)).containsExactly("s2");
+        assertThat(registry.sessionIds(OTHER_USERNAME)).containsExactly("s1");
+    }
+
+    /**
+     * 有効期限を過ぎたセッションは登録時に取り除かれ、上限の計算に含まれないことを確認。
+     */
+    @Test
+    void register_PrunesExpiredSessions() {
+        sessionProperties.setMaxSessionsPerUser(2);
+        long now = System.currentTimeMillis();
+        registry.register(TEST_USERNAME, "expired", now - SESSION_TIMEOUT_MILLIS - 1);
+        registry.register(TEST_USERNAME, "s1", now);
+
+        assertThat(registry.register(TEST_USERNAME, "s2", now)).isEmpty();
+
+        assertThat(registry.sessionIds(TEST_USERNAME)).containsExactly("s1", "s2");
+        assertThat(registry.size()).isEqualTo(2);
+    }
+
+    /**
+     * 登録を外したセッションは一覧から除かれ、最後の 1 件でユーザも削除されることを確認。
+     */
+    @Test
+    void unregister_RemovesSession() {
+        long now = System.currentTimeMillis();
+        registry.register(TEST_USERNAME, "s1", now);
+        registry.register(TEST_USERNAME, "s2", now);
+
+        registry.unregister("s1");
+        registry.unregister("unknown");
+        registry.unregister(null);
+        assertThat(registry.sessionIds(TEST_USERNAME)).containsExactly("s2");
+
+        registry.unregister("s2");
+        assertThat(registry.sessionCount(TEST_USERNAME)).isZero();
+        assertThat(registry.size()).isZero();
+    }
+
+    /**
+     * unregisterAll() がユーザの全セッションを返し、他のユーザには影響しないことを確認。
+     */
+    @Test
+    void unregisterAll_RemovesEverySessionOfUser() {
+        long now = System.currentTimeMillis();
+        registry.register(TEST_USERNAME, "s1", now);
+        registry.register(TEST_USERNAME, "s2", now);
+        registry.register(OTHER_USERNAME, "s3", now);
+
+        assertThat(registry.unregisterAll(TEST_USERNAME)).containsExactly("s1", "s2");
+        assertThat(registry.unregisterAll(TEST_USERNAME)).isEmpty();
+        assertThat(registry.sessionIds(OTHER_USERNAME)).containsExactly("s3");
+        assertThat(registry.size()).isEqualTo(1);
+    }
+
+    /**
+     * スライディング方式では最終アクセス時刻が更新されたセッションは期限切れとして取り除かれないことを確認。
+     */
+    @Test
+    void pruneExpired_UsesLastAccessTime_WhenSliding() {
+        sessionProperties.setSlidingExpiration(true);
+        long now = System.currentTimeMillis();
+        long loginTime = now - SESSION_TIMEOUT_MILLIS - 1;
+        registry.register(TEST_USERNAME, "touched", loginTime);
+        registry.register(TEST_USERNAME, "idle", loginTime);
+        registry.touch("touched", now);
+
+        assertThat(registry.pruneExpired()).isEqualTo(1);
+
+        assertThat(registry.sessionIds(TEST_USERNAME)).containsExactly("touched");
+    }
+
+    /**
+     * 多数のスレッドが同じユーザ・別のユーザで同時にログインしても、上限を超えて保持せず、
+     * 登録を外したセッションと保持中のセッションの合計が登録数と一致することを確認。
+     */
+    @Test
+    void register_IsConsistentUnderConcurrentLogins() throws Exception {
+        int maxSessions = 3;
+        int threads = 8;
+        int loginsPerThread = 2_000;
+        int users = 16;
+        sessionProperties.setMaxSessionsPerUser(maxSessions);
+        long now = System.currentTimeMillis();
+        Set<String> evicted = ConcurrentHashMap.newKeySet();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < loginsPerThread; i++) {
+                        evicted.addAll(registry.register("user-" + (i % users), thread + "-" + i, now));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        int live = 0;
+        for (int u = 0; u < users; u++) {
+            List<String> sessionIds = registry.sessionIds("user-" + u);
+            assertThat(sessionIds).hasSize(maxSessions).doesNotContainAnyElementsOf(evicted);
+            live += sessionIds.size();
+        }
+        assertThat(registry.size()).isEqualTo(live);
+        assertThat(evicted.size() + live).isEqualTo(threads * loginsPerThread);
+    }
+}
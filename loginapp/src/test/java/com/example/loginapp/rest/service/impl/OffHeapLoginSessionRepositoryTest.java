@@ -0,0 +1,204 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * {@link OffHeapLoginSessionRepository} の単体テスト。
+ */
+class OffHeapLoginSessionRepositoryTest {
+
+    /** テスト用のログイン時刻 */
+    private static final long LOGIN_TIME = 1_700_000_000_000L;
+
+    /** セッションの有効期限（ミリ秒） */
+    private static final long TIMEOUT_MILLIS = 60_000L;
+
+    /** session.off-heap.max-username-bytes の既定値 */
+    private static final int DEFAULT_MAX_USERNAME_BYTES = 64;
+
+    /** users.username の最大文字数 */
+    private static final int MAX_USERNAME_LENGTH = 255;
+
+    /**
+     * 保存したログイン情報をセッション ID で取得できることを確認。
+     */
+    @Test
+    void find_ReturnsStoredLoginSession() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(4, 32);
+        LoginSession loginSession = new LoginSession("ユーザ", LOGIN_TIME);
+
+        String id = repository.create(loginSession);
+
+        assertThat(repository.find(id)).isEqualTo(loginSession);
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    /**
+     * 削除したセッション ID、解放後に再利用されたスロットの古い ID では取得できないことを確認。
+     */
+    @Test
+    void find_ReturnsNull_AfterDeleteAndSlotReuse() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(1, 32);
+        String oldId = repository.create(new LoginSession("alice", LOGIN_TIME));
+
+        repository.delete(oldId);
+        String newId = repository.create(new LoginSession("bob", LOGIN_TIME));
+
+        assertThat(repository.find(oldId)).isNull();
+        assertThat(repository.find(newId).username()).isEqualTo("bob");
+        repository.delete(oldId);
+        assertThat(repository.find(newId)).isNotNull();
+    }
+
+    /**
+     * deleteByUsername() がユーザ名の一致するセッションのみ解放することを確認。
+     */
+    @Test
+    void deleteByUsername_ReleasesOnlyMatchingSessions() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(4, 32);
+        String alice1 = repository.create(new LoginSession("alice", LOGIN_TIME));
+        String alice2 = repository.create(new LoginSession("alice", LOGIN_TIME));
+        String alicia = repository.create(new LoginSession("alicia", LOGIN_TIME));
+
+        assertThat(repository.deleteByUsername("alice")).isEqualTo(2);
+
+        assertThat(repository.find(alice1)).isNull();
+        assertThat(repository.find(alice2)).isNull();
+        assertThat(repository.find(alicia)).isNotNull();
+        assertThat(repository.size()).isEqualTo(1);
+        assertThat(repository.deleteByUsername("ユーザ名が最大バイト数を超える長いユーザ名")).isZero();
+    }
+
+    /**
+     * 形式不正・範囲外のセッション ID を例外なく拒否することを確認。
+     */
+    @Test
+    void find_ReturnsNull_WhenIdMalformed() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(2, 32);
+        repository.create(new LoginSession("alice", LOGIN_TIME));
+
+        assertThat(repository.find(null)).isNull();
+        assertThat(repository.find("")).isNull();
+        assertThat(repository.find("AAAAAAAAAAAAAAAA")).isNull();
+        assertThat(repository.find("_____________w__")).isNull();
+        assertThat(repository.find("!!!!!!!!!!!!!!!!")).isNull();
+    }
+
+    /**
+     * 有効期限を過ぎたログイン情報のみ削除されることを確認。
+     */
+    @Test
+    void deleteExpired_RemovesOnlyExpiredSessions() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(4, 32);
+        String expired = repository.create(new LoginSession("old", LOGIN_TIME));
+        String active = repository.create(new LoginSession("new", LOGIN_TIME + TIMEOUT_MILLIS));
+
+        int deleted = repository.deleteExpired(LOGIN_TIME + TIMEOUT_MILLIS + 1, TIMEOUT_MILLIS, false);
+
+        assertThat(deleted).isEqualTo(1);
+        assertThat(repository.find(expired)).isNull();
+        assertThat(repository.find(active)).isNotNull();
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    /**
+     * touch() が最終アクセス時刻のみ更新し、スライディング方式の削除では最終アクセス時刻で判定されることを確認。
+     * 削除済みのセッション ID に対する touch() は無視されることも確認。
+     */
+    @Test
+    void touch_UpdatesLastAccessTime() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(4, 32);
+        String touched = repository.create(new LoginSession("user", LOGIN_TIME));
+        String deleted = repository.create(new LoginSession("gone", LOGIN_TIME));
+        repository.delete(deleted);
+
+        repository.touch(touched, LOGIN_TIME + TIMEOUT_MILLIS);
+        repository.touch(deleted, LOGIN_TIME + TIMEOUT_MILLIS);
+
+        assertThat(repository.find(touched)).isEqualTo(new LoginSession("user", LOGIN_TIME, LOGIN_TIME + TIMEOUT_MILLIS));
+        assertThat(repository.find(deleted)).isNull();
+        assertThat(repository.deleteExpired(LOGIN_TIME + TIMEOUT_MILLIS + 1, TIMEOUT_MILLIS, true)).isZero();
+        assertThat(repository.deleteExpired(LOGIN_TIME + TIMEOUT_MILLIS + 1, TIMEOUT_MILLIS, false)).isEqualTo(1);
+    }
+
+    /**
+     * 上限を超えて保存しようとした場合に例外となることを確認。
+     */
+    @Test
+    void create_Throws_WhenFull() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(1, 4);
+        repository.create(new LoginSession("abcd", LOGIN_TIME));
+
+        assertThatThrownBy(() -> repository.create(new LoginSession("e", LOGIN_TIME)))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    /**
+     * スロットに収まらないユーザ名（users.username の最大長）も保存・取得・削除でき、
+     * 解放したスロットを短いユーザ名で再利用しても内容が混ざらないことを確認。
+     */
+    @Test
+    void create_StoresUsernameLongerThanSlot() {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(2, DEFAULT_MAX_USERNAME_BYTES);
+        String longName = "あ".repeat(MAX_USERNAME_LENGTH);
+        String first = repository.create(new LoginSession(longName, LOGIN_TIME));
+        String second = repository.create(new LoginSession(longName, LOGIN_TIME));
+
+        assertThat(repository.find(first)).isEqualTo(new LoginSession(longName, LOGIN_TIME));
+
+        repository.delete(first);
+        String reused = repository.create(new LoginSession("alice", LOGIN_TIME));
+        assertThat(repository.find(reused)).isEqualTo(new LoginSession("alice", LOGIN_TIME));
+
+        assertThat(repository.deleteByUsername(longName)).isEqualTo(1);
+        assertThat(repository.find(second)).isNull();
+        assertThat(repository.find(reused)).isNotNull();
+    }
+
+    /**
+     * 作成・削除が並行しても、取得結果が別のセッションの内容と混ざらないことを確認。
+     */
+    @Test
+    void find_NeverReturnsTornValue_UnderConcurrentReuse() throws Exception {
+        OffHeapLoginSessionRepository repository = new OffHeapLoginSessionRepository(2, 32);
+        AtomicBoolean running = new AtomicBoolean(true);
+        List<Future<Integer>> readers = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 50_000; i++) {
+                    String name = "user" + i;
+                    repository.delete(repository.create(new LoginSession(name, i)));
+                }
+                running.set(false);
+            });
+            String stable = repository.create(new LoginSession("stable", LOGIN_TIME));
+            for (int r = 0; r < 3; r++) {
+                readers.add(executor.submit(() -> {
+                    int reads = 0;
+                    while (running.get()) {
+                        LoginSession found = repository.find(stable);
+                        assertThat(found).isEqualTo(new LoginSession("stable", LOGIN_TIME));
+                        reads++;
+                    }
+                    return reads;
+                }));
+            }
+            writer.get();
+            for (Future<Integer> reader : readers) {
+                assertThat(reader.get()).isPositive();
+            }
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+
+import com.example.loginapp.domain.model.Product;
+import com.example.loginapp.rest.config.ProductResponseCacheProperties;
+import com.example.loginapp.rest.model.ProductResponse;
+import com.example.loginapp.rest.repository.ProductCatalogVersion;
+import com.example.loginapp.rest.service.impl.ProductResponseCache.SerializedResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * {@link ProductResponseCache} の単体テスト。
+ * <p>
+ * バージョン番号が変わらない間はシリアライズ済みのバイト列を返し、変わった後は読み込み直すこと、
+ * ETag が内容から決まることを検証する。
+ * </p>
+ */
+class ProductResponseCacheTest {
+
+    /** 商品のバージョン番号 */
+    private ProductCatalogVersion version;
+
+    /** テスト対象 */
+    private ProductResponseCache cache;
+
+    /** 読み込み回数 */
+    private AtomicInteger loads;
+
+    private static final String PAGE_NAME = "page:0:50";
+    private static final String OTHER_PAGE_NAME = "page:1:50";
+    private static final int ID_IPHONE = 1;
+    private static final String NAME_IPHONE = "iPhone";
+    private static final BigDecimal PRICE_IPHONE = BigDecimal.valueOf(120000);
+    private static final BigDecimal NEW_PRICE = BigDecimal.valueOf(1000);
+    private static final String DB_ERROR_MESSAGE = "DB error";
+
+    private static final int ONCE = 1;
+    private static final int TWICE = 2;
+
+    @BeforeEach
+    void setUp() {
+        version = new ProductCatalogVersion();
+        cache = new ProductResponseCache(version, new ObjectMapper(), new ProductResponseCacheProperties());
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<ProductResponse> loader(BigDecimal price) {
+        return () -> {
+            loads.incrementAndGet();
+            return new ProductResponse(List.of(new Product(ID_IPHONE, NAME_IPHONE, price)));
+        };
+    }
+
+    /**
+     * 2 回目の取得は読み込まずに同じバイト列を返し、バイト列は UTF-8 の JSON であることを確認。
+     */
+    @Test
+    void get_SecondCallIsServedFromCache() {
+        SerializedResponse first = cache.get(PAGE_NAME, loader(PRICE_IPHONE));
+        SerializedResponse second = cache.get(PAGE_NAME, loader(PRICE_IPHONE));
+
+        assertThat(second).isSameAs(first);
+        assertThat(new String(first.body(), StandardCharsets.UTF_8))
+                .isEqualTo("{\"products\":[{\"id\":1,\"name\":\"iPhone\",\"price\":120000}]}");
+        assertThat(first.etag()).startsWith("\"0").endsWith("\"");
+        assertThat(loads).hasValue(ONCE);
+    }
+
+    /**
+     * バージョン番号が進んだ後は読み込み直し、内容が変われば ETag も変わることを確認。
+     */
+    @Test
+    void get_ReloadsAfterVersionAdvances() {
+        SerializedResponse before = cache.get(PAGE_NAME, loader(PRICE_IPHONE));
+
+        version.advance();
+        SerializedResponse after = cache.get(PAGE_NAME, loader(NEW_PRICE));
+
+        assertThat(new String(after.body(), StandardCharsets.UTF_8)).contains("\"price\":1000");
+        assertThat(after.etag()).isNotEqualTo(before.etag());
+        assertThat(loads).hasValue(TWICE);
+    }
+
+    /**
+     * 内容が同じであれば、バージョン番号・レスポンスの種類が違っても ETag は同じであることを確認。
+     */
+    @Test
+    void etag_DependsOnlyOnContent() {
+        SerializedResponse before = cache.get(PAGE_NAME, loader(PRICE_IPHONE));
+
+        version.advance();
+
+        assertThat(cache.get(PAGE_NAME, loader(PRICE_IPHONE)).etag()).isEqualTo(before.etag());
+        assertThat(cache.get(OTHER_PAGE_NAME, loader(PRICE_IPHONE)).etag()).isEqualTo(before.etag());
+    }
+
+    /**
+     * 読み込み結果が null の場合・例外の場合はキャッシュせず、次の取得で読み込み直すことを確認。
+     */
+    @Test
+    void get_DoesNotCacheMissingOrFailedLoads() {
+        assertThat(cache.get(PAGE_NAME, () -> {
+            loads.incrementAndGet();
+            return null;
+        })).isNull();
+        assertThatThrownBy(() -> cache.get(PAGE_NAME, () -> {
+            throw new QueryTimeoutException(DB_ERROR_MESSAGE);
+        })).isInstanceOf(QueryTimeoutException.class);
+
+        assertThat(cache.get(PAGE_NAME, loader(PRICE_IPHONE))).isNotNull();
+        assertThat(loads).hasValue(TWICE);
+    }
+}
@@ -0,0 +1,211 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.loginapp.rest.config.MicrometerLoginLatencyMetrics;
+import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * {@link RepositorySessionService} の単体テスト（保存先は {@link OffHeapLoginSessionRepository}）。
+ */
+class RepositorySessionServiceTest {
+
+    /** セッションの有効期限（ミリ秒） */
+    private static final long SESSION_TIMEOUT_MILLIS = 60_000L;
+
+    /** テスト用ユーザー名 */
+    private static final String TEST_USERNAME = "test-user";
+
+    private SessionProperties sessionProperties;
+
+    private OffHeapLoginSessionRepository repository;
+
+    private RepositorySessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        sessionProperties = new SessionProperties();
+        sessionProperties.setTimeoutMillis(SESSION_TIMEOUT_MILLIS);
+        repository = new OffHeapLoginSessionRepository(8, 32);
+        sessionService = new RepositorySessionService(repository, sessionProperties,
+                new MicrometerLoginLatencyMetrics(new SimpleMeterRegistry()), new LoginSessionRegistry(sessionProperties));
+    }
+
+    /**
+     * ログイン時にセッション ID の Cookie を発行し、HttpSession を作成しないことを確認。
+     */
+    @Test
+    void createLoginSession_SetsSessionIdCookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.createLoginSession(request, response, TEST_USERNAME);
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith("LOGIN_SID=").contains("HttpOnly");
+        assertThat(request.getSession(false)).isNull();
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    /**
+     * 発行した Cookie でログイン情報を取得できることを確認。
+     */
+    @Test
+    void getLoginSession_ReturnsStoredValue() {
+        MockHttpServletRequest request = requestWith(login());
+
+        LoginSession loginSession = sessionService.getLoginSession(request);
+
+        assertThat(loginSession.username()).isEqualTo(TEST_USERNAME);
+        assertThat(sessionService.isSessionValid(loginSession)).isTrue();
+    }
+
+    /**
+     * 再ログイン時に以前のセッション ID が無効になることを確認。
+     */
+    @Test
+    void createLoginSession_ReplacesPreviousSession() {
+        Cookie previous = login();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.createLoginSession(requestWith(previous), response, TEST_USERNAME);
+
+        assertThat(sessionService.getLoginSession(requestWith(previous))).isNull();
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    /**
+     * ログアウト時にログイン情報と Cookie を削除することを確認。
+     */
+    @Test
+    void invalidateSession_DeletesSessionAndCookie() {
+        Cookie cookie = login();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.invalidateSession(requestWith(cookie), response);
+
+        assertThat(sessionService.getLoginSession(requestWith(cookie))).isNull();
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).contains("Max-Age=0");
+        assertThat(repository.size()).isZero();
+    }
+
+    /**
+     * 定期削除で有効期限切れのログイン情報が削除されることを確認。
+     */
+    @Test
+    void deleteExpired_RemovesExpiredSessions() {
+        login();
+        repository.create(new LoginSession("old", System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS - 1));
+
+        sessionService.deleteExpired();
+
+        assertThat(repository.size()).isEqualTo(1);
+    }
+
+    /**
+     * スライディング方式では、アクセスにより最終アクセス時刻と Cookie の有効期限が延長され、
+     * ログインから有効期限を過ぎても定期削除の対象とならないことを確認。
+     */
+    @Test
+    void touch_ExtendsSession_WhenSliding() {
+        sessionProperties.setSlidingExpiration(true);
+        long loginTime = System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS + 1_000L;
+        String sessionId = repository.create(new LoginSession(TEST_USERNAME, loginTime));
+        MockHttpServletRequest request = requestWith(new Cookie("LOGIN_SID", sessionId));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.touch(request, response, sessionService.getLoginSession(request));
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith("LOGIN_SID=" + sessionId + ";")
+                .contains("Max-Age=60");
+        LoginSession touched = repository.find(sessionId);
+        assertThat(touched.loginTime()).isEqualTo(loginTime);
+        assertThat(touched.lastAccessTime()).isGreaterThan(loginTime);
+        assertThat(repository.deleteExpired(loginTime + SESSION_TIMEOUT_MILLIS + 1, SESSION_TIMEOUT_MILLIS, true))
+                .isZero();
+    }
+
+    /**
+     * このノードで発行したセッションは期限に達した時点で削除され、ログアウト済みのものは対象外となることを確認。
+     */
+    @Test
+    void reapExpired_DeletesSessionsAtDeadline() {
+        sessionProperties.setTimeoutMillis(0);
+        sessionProperties.getReaper().setTickMillis(1);
+        sessionService = new RepositorySessionService(repository, sessionProperties,
+                new MicrometerLoginLatencyMetrics(new SimpleMeterRegistry()), new LoginSessionRegistry(sessionProperties));
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        sessionService.bindTo(registry);
+        login();
+        MockHttpServletRequest loggedOut = requestWith(login());
+        sessionService.invalidateSession(loggedOut, new MockHttpServletResponse());
+        assertThat(registry.get("login.session.live").gauge().value()).isEqualTo(1);
+
+        long deadline = System.currentTimeMillis() + 2;
+        while (System.currentTimeMillis() <= deadline) {
+            Thread.onSpinWait();
+        }
+
+        assertThat(sessionService.reapExpired()).isEqualTo(1);
+        assertThat(repository.size()).isZero();
+        assertThat(registry.get("login.session.live").gauge().value()).isZero();
+        assertThat(registry.get("login.session.expired").functionCounter().count()).isEqualTo(1);
+    }
+
+    /**
+     * 同時ログイン数の上限を超えた場合、最も古いセッションが保存先から削除されることを確認。
+     */
+    @Test
+    void createLoginSession_DeletesOldestSession_WhenLimitExceeded() {
+        sessionProperties.setMaxSessionsPerUser(2);
+        Cookie first = login();
+        Cookie second = login();
+        Cookie third = login();
+
+        assertThat(sessionService.getLoginSession(requestWith(first))).isNull();
+        assertThat(sessionService.getLoginSession(requestWith(second))).isNotNull();
+        assertThat(sessionService.getLoginSession(requestWith(third))).isNotNull();
+        assertThat(repository.size()).isEqualTo(2);
+    }
+
+    /**
+     * invalidateAllSessions() がユーザの全セッションを保存先から削除し、Cookie を削除することを確認。
+     */
+    @Test
+    void invalidateAllSessions_DeletesEverySessionOfUser() {
+        Cookie other = login();
+        Cookie current = login();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        int invalidated = sessionService.invalidateAllSessions(requestWith(current), response);
+
+        assertThat(invalidated).isEqualTo(2);
+        assertThat(sessionService.getLoginSession(requestWith(other))).isNull();
+        assertThat(sessionService.getLoginSession(requestWith(current))).isNull();
+        assertThat(repository.size()).isZero();
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).contains("Max-Age=0");
+    }
+
+    private Cookie login() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sessionService.createLoginSession(new MockHttpServletRequest(), response, TEST_USERNAME);
+        String pair = response.getHeader(HttpHeaders.SET_COOKIE).split(";", 2)[0];
+        int eq = pair.indexOf('=');
+        return new Cookie(pair.substring(0, eq), pair.substring(eq + 1));
+    }
+
+    private static MockHttpServletRequest requestWith(Cookie cookie) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+        return request;
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * {@link SessionExpiryWheel} の単体テスト。
+ */
+class SessionExpiryWheelTest {
+
+    /** 1 tick の長さ（ミリ秒） */
+    private static final long TICK_MILLIS = 100L;
+
+    /** バケット数 */
+    private static final int WHEEL_SIZE = 8;
+
+    /** テスト開始時刻（tick の境界） */
+    private static final long START = 1_700_000_000_000L;
+
+    /**
+     * 期限を tick 単位に切り上げ、期限に達した tick で返すことを確認。
+     */
+    @Test
+    void advance_ReturnsSessionsAtDeadline() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TICK_MILLIS, WHEEL_SIZE, START);
+        wheel.schedule("a", START + 150);
+        wheel.schedule("b", START + 300);
+
+        assertThat(wheel.advance(START + 199)).isEmpty();
+        assertThat(wheel.advance(START + 200)).containsExactly("a");
+        assertThat(wheel.advance(START + 299)).isEmpty();
+        assertThat(wheel.advance(START + 300)).containsExactly("b");
+        assertThat(wheel.size()).isZero();
+    }
+
+    /**
+     * バケット数を超える先の期限は、ホイールが 1 周しても期限前には返さないことを確認。
+     */
+    @Test
+    void advance_KeepsSessionsBeyondOneRotation() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TICK_MILLIS, WHEEL_SIZE, START);
+        long deadline = START + TICK_MILLIS * (WHEEL_SIZE * 2 + 3);
+        wheel.schedule("far", deadline);
+
+        for (long now = START; now < deadline; now += TICK_MILLIS) {
+            assertThat(wheel.advance(now)).isEmpty();
+        }
+        assertThat(wheel.advance(deadline)).containsExactly("far");
+    }
+
+    /**
+     * 長時間 tick が進まなかった場合も、期限を過ぎたセッションをまとめて返すことを確認。
+     */
+    @Test
+    void advance_ReturnsAllOverdue_AfterLongPause() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TICK_MILLIS, WHEEL_SIZE, START);
+        wheel.schedule("a", START + 100);
+        wheel.schedule("b", START + TICK_MILLIS * WHEEL_SIZE * 3);
+        wheel.schedule("c", START + TICK_MILLIS * WHEEL_SIZE * 10);
+
+        assertThat(wheel.advance(START + TICK_MILLIS * WHEEL_SIZE * 5)).containsExactlyInAnyOrder("a", "b");
+        assertThat(wheel.size()).isEqualTo(1);
+    }
+
+    /**
+     * 取消したセッションは返さず、再登録した場合は新しい期限のみ有効となることを確認。
+     */
+    @Test
+    void cancelAndReschedule_ReplaceDeadline() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TICK_MILLIS, WHEEL_SIZE, START);
+        wheel.schedule("cancelled", START + 100);
+        wheel.schedule("extended", START + 100);
+        wheel.cancel("cancelled");
+        wheel.cancel("unknown");
+        wheel.cancel(null);
+        wheel.schedule("extended", START + 500);
+
+        assertThat(wheel.size()).isEqualTo(1);
+        assertThat(wheel.advance(START + 400)).isEmpty();
+        assertThat(wheel.advance(START + 500)).containsExactly("extended");
+    }
+
+    /**
+     * 過去の期限は次の tick で返すことを確認。
+     */
+    @Test
+    void schedule_PastDeadline_ExpiresOnNextAdvance() {
+        SessionExpiryWheel wheel = new SessionExpiryWheel(TICK_MILLIS, WHEEL_SIZE, START);
+        wheel.advance(START + 1_000);
+        wheel.schedule("past", START);
+
+        assertThat(wheel.advance(START + 1_100)).containsExactly("past");
+    }
+
+    /**
+     * 不正な設定値で例外となることを確認。
+     */
+    @Test
+    void constructor_Throws_WhenInvalid() {
+        assertThatThrownBy(() -> new SessionExpiryWheel(0, WHEEL_SIZE, START))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SessionExpiryWheel(TICK_MILLIS, 0, START))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -1,18 +1,25 @@
 package com.example.loginapp.rest.service.impl;
 
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.rest.config.MicrometerLoginLatencyMetrics;
 import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
 import com.example.loginapp.rest.service.SessionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.mock.web.MockHttpSession;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
 import static com.example.loginapp.rest.constants.SessionKeys.*;
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
  * {@link SessionServiceImpl} の動作を検証する単体テスト。
  * <p>
- * 各種セッション属性の設定／削除、および isSessionValid() の全分岐を網羅する。
+ * ログイン情報の設定／取得／削除、isSessionValid() の全分岐、およびスライディング方式の touch() を網羅する。
  * </p>
  */
 class SessionServiceImplTest {
@@ -23,17 +30,20 @@ class SessionServiceImplTest {
     /** セッションに関する設定値を保持するプロパティクラス */
     private SessionProperties sessionProperties;
 
+    /** ログイン処理の段階ごとの所要時間 */
+    private MicrometerLoginLatencyMetrics latencyMetrics;
+
     /** セッションの有効期限（ミリ秒） */
     private static final long SESSION_TIMEOUT_MILLIS = 60_000L;
 
     /** タイムアウト判定を確実に超えるためのオフセット */
     private static final long TIMEOUT_EXCEEDED_OFFSET = 5_000L;
 
-    /** 無効な属性のテスト用文字列 */
-    private static final String INVALID_BOOLEAN_VALUE = "NOT-BOOLEAN";
+    /** 最終アクセス時刻を更新する間隔の最小値（ミリ秒） */
+    private static final long TOUCH_GRANULARITY_MILLIS = 10_000L;
 
-    /** 無効な属性のテスト用文字列（Longではない） */
-    private static final String INVALID_LONG_VALUE = "NOT-LONG";
+    /** 無効な属性のテスト用文字列（LoginSession ではない） */
+    private static final String INVALID_LOGIN_SESSION_VALUE = "NOT-LOGIN-SESSION";
 
     /** テスト用ユーザー名 */
     private static final String TEST_USERNAME = "test-user";
@@ -45,7 +55,9 @@ class SessionServiceImplTest {
     void setUp() {
         sessionProperties = new SessionProperties();
         sessionProperties.setTimeoutMillis(SESSION_TIMEOUT_MILLIS);
-        sessionService = new SessionServiceImpl(sessionProperties);
+        latencyMetrics = new MicrometerLoginLatencyMetrics(new SimpleMeterRegistry());
+        sessionService = new SessionServiceImpl(sessionProperties, latencyMetrics,
+                new LoginSessionRegistry(sessionProperties));
     }
 
     /**
@@ -53,13 +65,15 @@ class SessionServiceImplTest {
      */
     @Test
     void createLoginSession_SetsAttributes() {
-        MockHttpSession session = new MockHttpSession();
+        MockHttpServletRequest request = new MockHttpServletRequest();
 
-        sessionService.createLoginSession(session, TEST_USERNAME);
+        sessionService.createLoginSession(request, new MockHttpServletResponse(), TEST_USERNAME);
 
-        assertThat(session.getAttribute(IS_LOGGED_IN)).isEqualTo(true);
-        assertThat(session.getAttribute(USERNAME)).isEqualTo(TEST_USERNAME);
-        assertThat(session.getAttribute(LOGIN_TIME)).isInstanceOf(Long.class);
+        MockHttpSession session = (MockHttpSession) request.getSession(false);
+        assertThat(session).isNotNull();
+        assertThat(session.getAttribute(LOGIN_SESSION)).isInstanceOfSatisfying(LoginSession.class,
+                loginSession -> assertThat(loginSession.username()).isEqualTo(TEST_USERNAME));
+        assertThat(latencyMetrics.timer(Stage.CREATE_SESSION).count()).isEqualTo(1);
     }
 
     /**
@@ -68,105 +82,192 @@ class SessionServiceImplTest {
     @Test
     void invalidateSession_InvalidatesSession() {
         MockHttpSession session = new MockHttpSession();
-        sessionService.invalidateSession(session);
+        sessionService.invalidateSession(requestWith(session), new MockHttpServletResponse());
 
         assertThat(session.isInvalid()).isTrue();
     }
 
     /**
-     * isSessionValid() が有効なセッションの場合 true を返すことを確認。
+     * invalidateSession() がセッションのないリクエストでセッションを作成しないことを確認。
      */
     @Test
-    void isSessionValid_ReturnsTrue_WhenValid() {
+    void invalidateSession_DoesNothing_WhenNoSession() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        sessionService.invalidateSession(request, null);
+
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    /**
+     * getLoginSession() がセッションに保存したログイン情報を返すことを確認。
+     */
+    @Test
+    void getLoginSession_ReturnsStoredValue() {
         MockHttpSession session = new MockHttpSession();
-        session.setAttribute(IS_LOGGED_IN, true);
-        session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+        LoginSession loginSession = new LoginSession(TEST_USERNAME, System.currentTimeMillis());
+        session.setAttribute(LOGIN_SESSION, loginSession);
 
-        boolean result = sessionService.isSessionValid(session);
+        assertThat(sessionService.getLoginSession(requestWith(session))).isSameAs(loginSession);
+    }
 
-        assertThat(result).isTrue();
+    /**
+     * getLoginSession() がセッションのない場合 null を返し、セッションを作成しないことを確認。
+     */
+    @Test
+    void getLoginSession_ReturnsNull_WhenNoSession() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        assertThat(sessionService.getLoginSession(request)).isNull();
+        assertThat(request.getSession(false)).isNull();
+    }
+
+    /**
+     * getLoginSession() がログイン情報のない場合 null を返すことを確認。
+     */
+    @Test
+    void getLoginSession_ReturnsNull_WhenNotLoggedIn() {
+        assertThat(sessionService.getLoginSession(requestWith(new MockHttpSession()))).isNull();
     }
 
     /**
-     * isSessionValid() がログイン情報のない場合 false を返すことを確認。
+     * getLoginSession() が属性の型が不正な場合 null を返すことを確認。
      */
     @Test
-    void isSessionValid_ReturnsFalse_WhenNotLoggedIn() {
+    void getLoginSession_ReturnsNull_WhenAttributeTypeInvalid() {
         MockHttpSession session = new MockHttpSession();
-        boolean result = sessionService.isSessionValid(session);
+        session.setAttribute(LOGIN_SESSION, INVALID_LOGIN_SESSION_VALUE);
 
-        assertThat(result).isFalse();
+        assertThat(sessionService.getLoginSession(requestWith(session))).isNull();
     }
 
     /**
-     * isSessionValid() がタイムアウトしたセッションに対して false を返すことを確認。
+     * isSessionValid() が有効期限内のログイン情報の場合 true を返すことを確認。
+     */
+    @Test
+    void isSessionValid_ReturnsTrue_WhenValid() {
+        LoginSession loginSession = new LoginSession(TEST_USERNAME, System.currentTimeMillis());
+
+        assertThat(sessionService.isSessionValid(loginSession)).isTrue();
+    }
+
+    /**
+     * isSessionValid() がタイムアウトしたログイン情報に対して false を返すことを確認。
      */
     @Test
     void isSessionValid_ReturnsFalse_WhenTimeout() {
-        MockHttpSession session = new MockHttpSession();
-        session.setAttribute(IS_LOGGED_IN, true);
-        session.setAttribute(
-                LOGIN_TIME,
+        LoginSession loginSession = new LoginSession(TEST_USERNAME,
                 System.currentTimeMillis() - SESSION_TIMEOUT_MILLIS - TIMEOUT_EXCEEDED_OFFSET);
 
-        boolean result = sessionService.isSessionValid(session);
-
-        assertThat(result).isFalse();
+        assertThat(sessionService.isSessionValid(loginSession)).isFalse();
     }
 
     /**
-     * isSessionValid() が isLoggedIn / loginTime の両方が不正型の場合 false を返すことを確認。
+     * スライディング方式では、ログインから有効期限を過ぎていても最終アクセスから期限内であれば有効となることを確認。
      */
     @Test
-    void isSessionValid_ReturnsFalse_WhenAttributeTypeInvalid() {
-        MockHttpSession session = new MockHttpSession();
-        session.setAttribute(IS_LOGGED_IN, INVALID_BOOLEAN_VALUE);
-        session.setAttribute(LOGIN_TIME, INVALID_LONG_VALUE);
+    void isSessionValid_UsesLastAccessTime_WhenSliding() {
+        sessionProperties.setSlidingExpiration(true);
+        long now = System.currentTimeMillis();
+        LoginSession loginSession = new LoginSession(TEST_USERNAME,
+                now - SESSION_TIMEOUT_MILLIS - TIMEOUT_EXCEEDED_OFFSET, now);
 
-        boolean result = sessionService.isSessionValid(session);
+        assertThat(sessionService.isSessionValid(loginSession)).isTrue();
+    }
 
-        assertThat(result).isFalse();
+    /**
+     * touch() が前回の更新から間隔の最小値を過ぎた場合のみ最終アクセス時刻を書き込むことを確認。
+     */
+    @Test
+    void touch_UpdatesAttribute_OnlyAfterGranularity() {
+        sessionProperties.setSlidingExpiration(true);
+        sessionProperties.setTouchGranularityMillis(TOUCH_GRANULARITY_MILLIS);
+        MockHttpSession session = new MockHttpSession();
+        long now = System.currentTimeMillis();
+        LoginSession recent = new LoginSession(TEST_USERNAME, now - 1_000L);
+        session.setAttribute(LOGIN_SESSION, recent);
+
+        sessionService.touch(requestWith(session), new MockHttpServletResponse(), recent);
+        assertThat(session.getAttribute(LOGIN_SESSION)).isSameAs(recent);
+
+        LoginSession stale = new LoginSession(TEST_USERNAME, now - TOUCH_GRANULARITY_MILLIS);
+        sessionService.touch(requestWith(session), new MockHttpServletResponse(), stale);
+        LoginSession touched = (LoginSession) session.getAttribute(LOGIN_SESSION);
+        assertThat(touched.loginTime()).isEqualTo(stale.loginTime());
+        assertThat(touched.lastAccessTime()).isGreaterThanOrEqualTo(now);
     }
 
     /**
-     * isSessionValid() が loginTime は正しいが isLoggedIn が不正型の場合 false を返すことを確認。
+     * ログイン時刻基準の場合、touch() は何も書き込まないことを確認。
      */
     @Test
-    void isSessionValid_ReturnsFalse_WhenIsLoggedInTypeInvalidButLoginTimeValid() {
+    void touch_DoesNothing_WhenNotSliding() {
         MockHttpSession session = new MockHttpSession();
-        session.setAttribute(IS_LOGGED_IN, INVALID_BOOLEAN_VALUE);
-        session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+        LoginSession loginSession = new LoginSession(TEST_USERNAME,
+                System.currentTimeMillis() - TOUCH_GRANULARITY_MILLIS - TIMEOUT_EXCEEDED_OFFSET);
+        session.setAttribute(LOGIN_SESSION, loginSession);
 
-        boolean result = sessionService.isSessionValid(session);
+        sessionService.touch(requestWith(session), new MockHttpServletResponse(), loginSession);
 
-        assertThat(result).isFalse();
+        assertThat(session.getAttribute(LOGIN_SESSION)).isSameAs(loginSession);
     }
 
     /**
-     * isSessionValid() が isLoggedIn は正しいが loginTime が不正型の場合 false を返すことを確認。
+     * 同時ログイン数の上限を超えた場合、最も古いセッションが次のリクエストで無効化されることを確認。
      */
     @Test
-    void isSessionValid_ReturnsFalse_WhenIsLoggedInValidButLoginTimeTypeInvalid() {
-        MockHttpSession session = new MockHttpSession();
-        session.setAttribute(IS_LOGGED_IN, true);
-        session.setAttribute(LOGIN_TIME, INVALID_LONG_VALUE);
+    void createLoginSession_RevokesOldestSession_WhenLimitExceeded() {
+        sessionProperties.setMaxSessionsPerUser(2);
+        MockHttpSession first = login();
+        MockHttpSession second = login();
+        MockHttpSession third = login();
+
+        assertThat(sessionService.getLoginSession(requestWith(first))).isNull();
+        assertThat(first.isInvalid()).isTrue();
+        assertThat(sessionService.getLoginSession(requestWith(second))).isNotNull();
+        assertThat(sessionService.getLoginSession(requestWith(third))).isNotNull();
+    }
+
+    /**
+     * invalidateAllSessions() がこのセッションを無効化し、他のセッションを次のリクエストで無効化することを確認。
+     */
+    @Test
+    void invalidateAllSessions_RevokesEverySessionOfUser() {
+        MockHttpSession other = login();
+        MockHttpSession current = login();
 
-        boolean result = sessionService.isSessionValid(session);
+        int invalidated = sessionService.invalidateAllSessions(requestWith(current), new MockHttpServletResponse());
 
-        assertThat(result).isFalse();
+        assertThat(invalidated).isEqualTo(2);
+        assertThat(current.isInvalid()).isTrue();
+        assertThat(sessionService.loginSessionLookup(requestWith(other)).get()).isNull();
+        assertThat(sessionService.getLoginSession(requestWith(other))).isNull();
+        assertThat(other.isInvalid()).isTrue();
     }
 
     /**
-     * isSessionValid() が isLoggedIn = false の場合 false を返すことを確認。
+     * 未ログインの場合、invalidateAllSessions() は 0 を返すことを確認。
      */
     @Test
-    void isSessionValid_ReturnsFalse_WhenLoggedInFlagIsFalse() {
-        MockHttpSession session = new MockHttpSession();
-        session.setAttribute(IS_LOGGED_IN, false);
-        session.setAttribute(LOGIN_TIME, System.currentTimeMillis());
+    void invalidateAllSessions_ReturnsZero_WhenNotLoggedIn() {
+        assertThat(sessionService.invalidateAllSessions(new MockHttpServletRequest(), null)).isZero();
+    }
 
-        boolean result = sessionService.isSessionValid(session);
+    /**
+     * ログインしてセッションを返す。
+     */
+    private MockHttpSession login() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        sessionService.createLoginSession(request, new MockHttpServletResponse(), TEST_USERNAME);
+        return (MockHttpSession) request.getSession(false);
+    }
 
-        assertThat(result).isFalse();
+    /**
+     * 指定のセッションを持つリクエストを生成する。
+     */
+    private static MockHttpServletRequest requestWith(MockHttpSession session) {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setSession(session);
+        return request;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,112 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.junit.jupiter.api.Test;
+
+import com.example.loginapp.rest.model.LoginSession;
+
+/**
+ * {@link SessionTokenCodec} の単体テスト。
+ */
+class SessionTokenCodecTest {
+
+    /** テスト用の署名鍵 */
+    private static final byte[] KEY = filled((byte) 1);
+
+    /** テスト用のユーザ名 */
+    private static final String USERNAME = "ユーザ1";
+
+    /** テスト用のログイン時刻 */
+    private static final long LOGIN_TIME = 1_700_000_000_000L;
+
+    private final SessionTokenCodec codec = new SessionTokenCodec(KEY);
+
+    /**
+     * 生成したトークンからユーザ名・ログイン時刻・最終アクセス時刻を復元できることを確認。
+     */
+    @Test
+    void decode_ReturnsLoginSession_ForEncodedToken() {
+        LoginSession loginSession = new LoginSession(USERNAME, LOGIN_TIME, LOGIN_TIME + 1_000L);
+
+        assertThat(codec.decode(codec.encode(loginSession))).isEqualTo(loginSession);
+    }
+
+    /**
+     * 正しく署名されていても、形式バージョンが異なるトークンは拒否することを確認。
+     */
+    @Test
+    void decode_ReturnsNull_WhenVersionUnknown() throws Exception {
+        byte[] name = USERNAME.getBytes(StandardCharsets.UTF_8);
+        byte[] payload = ByteBuffer.allocate(1 + Long.BYTES + name.length)
+                .put((byte) 1)
+                .putLong(LOGIN_TIME)
+                .put(name)
+                .array();
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(KEY, "HmacSHA256"));
+        Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+        String token = encoder.encodeToString(payload) + "." + encoder.encodeToString(mac.doFinal(payload));
+
+        assertThat(codec.decode(token)).isNull();
+    }
+
+    /**
+     * 本文が改ざんされたトークンを拒否することを確認。
+     */
+    @Test
+    void decode_ReturnsNull_WhenPayloadTampered() {
+        String token = codec.encode(new LoginSession(USERNAME, LOGIN_TIME));
+        String forged = new SessionTokenCodec(KEY).encode(new LoginSession("admin", LOGIN_TIME));
+        String tampered = forged.substring(0, forged.indexOf('.')) + token.substring(token.indexOf('.'));
+
+        assertThat(codec.decode(tampered)).isNull();
+    }
+
+    /**
+     * 別の鍵で署名されたトークンを拒否することを確認。
+     */
+    @Test
+    void decode_ReturnsNull_WhenSignedWithOtherKey() {
+        String token = new SessionTokenCodec(filled((byte) 2)).encode(new LoginSession(USERNAME, LOGIN_TIME));
+
+        assertThat(codec.decode(token)).isNull();
+    }
+
+    /**
+     * 形式が不正なトークンを例外なく拒否することを確認。
+     */
+    @Test
+    void decode_ReturnsNull_WhenMalformed() {
+        assertThat(codec.decode(null)).isNull();
+        assertThat(codec.decode("")).isNull();
+        assertThat(codec.decode("no-separator")).isNull();
+        assertThat(codec.decode("!!!.???")).isNull();
+        assertThat(codec.decode(".")).isNull();
+        assertThat(codec.decode("a".repeat(2048))).isNull();
+    }
+
+    /**
+     * 短すぎる鍵を受け付けないことを確認。
+     */
+    @Test
+    void constructor_Throws_WhenKeyTooShort() {
+        assertThatThrownBy(() -> new SessionTokenCodec(new byte[SessionTokenCodec.MIN_KEY_BYTES - 1]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static byte[] filled(byte value) {
+        byte[] key = new byte[SessionTokenCodec.MIN_KEY_BYTES];
+        Arrays.fill(key, value);
+        return key;
+    }
+}
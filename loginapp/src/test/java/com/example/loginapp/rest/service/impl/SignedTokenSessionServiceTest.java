@@ -0,0 +1,180 @@
+package com.example.loginapp.rest.service.impl;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Base64;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import com.example.loginapp.domain.service.LoginLatencyMetrics.Stage;
+import com.example.loginapp.rest.config.MicrometerLoginLatencyMetrics;
+import com.example.loginapp.rest.config.SessionProperties;
+import com.example.loginapp.rest.model.LoginSession;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.Cookie;
+
+/**
+ * {@link SignedTokenSessionService} の単体テスト。
+ */
+class SignedTokenSessionServiceTest {
+
+    /** セッションの有効期限（ミリ秒） */
+    private static final long SESSION_TIMEOUT_MILLIS = 60_000L;
+
+    /** テスト用ユーザー名 */
+    private static final String TEST_USERNAME = "test-user";
+
+    /** テスト用の署名鍵（Base64） */
+    private static final String SECRET = Base64.getEncoder().encodeToString(new byte[32]);
+
+    private SessionProperties sessionProperties;
+
+    private MicrometerLoginLatencyMetrics latencyMetrics;
+
+    private SignedTokenSessionService sessionService;
+
+    @BeforeEach
+    void setUp() {
+        sessionProperties = new SessionProperties();
+        sessionProperties.setTimeoutMillis(SESSION_TIMEOUT_MILLIS);
+        sessionProperties.getToken().setSecret(SECRET);
+        latencyMetrics = new MicrometerLoginLatencyMetrics(new SimpleMeterRegistry());
+        sessionService = new SignedTokenSessionService(sessionProperties, latencyMetrics);
+    }
+
+    /**
+     * ログイン時に HttpOnly の Cookie を発行し、HttpSession を作成しないことを確認。
+     */
+    @Test
+    void createLoginSession_SetsSignedCookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.createLoginSession(request, response, TEST_USERNAME);
+
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith("LOGIN_TOKEN=").contains("HttpOnly", "Path=/", "SameSite=Lax",
+                "Max-Age=60");
+        assertThat(request.getSession(false)).isNull();
+        assertThat(latencyMetrics.timer(Stage.CREATE_SESSION).count()).isEqualTo(1);
+    }
+
+    /**
+     * 発行した Cookie を持つ別のリクエスト（別インスタンス = 別ノード相当）で有効と判定されることを確認。
+     */
+    @Test
+    void isSessionValid_ReturnsTrue_ForIssuedCookieOnOtherInstance() {
+        Cookie cookie = login();
+        SignedTokenSessionService otherNode = new SignedTokenSessionService(sessionProperties, latencyMetrics);
+
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+
+        LoginSession loginSession = otherNode.getLoginSession(request);
+        assertThat(loginSession).isNotNull();
+        assertThat(loginSession.username()).isEqualTo(TEST_USERNAME);
+        assertThat(otherNode.isSessionValid(loginSession)).isTrue();
+    }
+
+    /**
+     * Cookie がない・改ざんされている場合に未ログインと判定されることを確認。
+     */
+    @Test
+    void getLoginSession_ReturnsNull_WhenCookieMissingOrTampered() {
+        Cookie cookie = login();
+        MockHttpServletRequest tampered = new MockHttpServletRequest();
+        tampered.setCookies(new Cookie(cookie.getName(), "x" + cookie.getValue()));
+
+        assertThat(sessionService.getLoginSession(new MockHttpServletRequest())).isNull();
+        assertThat(sessionService.getLoginSession(tampered)).isNull();
+    }
+
+    /**
+     * ログイン時刻から有効期限を過ぎたトークンが無効と判定されることを確認。
+     */
+    @Test
+    void isSessionValid_ReturnsFalse_WhenExpired() {
+        sessionProperties.setTimeoutMillis(0);
+        Cookie cookie = login();
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(cookie);
+
+        long deadline = System.currentTimeMillis() + 1;
+        while (System.currentTimeMillis() <= deadline) {
+            Thread.onSpinWait();
+        }
+
+        LoginSession loginSession = sessionService.getLoginSession(request);
+        assertThat(loginSession).isNotNull();
+        assertThat(sessionService.isSessionValid(loginSession)).isFalse();
+    }
+
+    /**
+     * スライディング方式で更新間隔を過ぎた場合、最終アクセス時刻を更新したトークンを再発行することを確認。
+     */
+    @Test
+    void touch_ReissuesCookie_WhenSlidingAndGranularityElapsed() {
+        sessionProperties.setSlidingExpiration(true);
+        sessionProperties.setTouchGranularityMillis(1_000L);
+        long loginTime = System.currentTimeMillis() - 5_000L;
+        LoginSession loginSession = new LoginSession(TEST_USERNAME, loginTime);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.touch(request, response, loginSession);
+
+        String setCookie = response.getHeader(HttpHeaders.SET_COOKIE);
+        assertThat(setCookie).startsWith("LOGIN_TOKEN=").contains("Max-Age=60");
+        MockHttpServletRequest next = new MockHttpServletRequest();
+        next.setCookies(new Cookie("LOGIN_TOKEN",
+                setCookie.substring("LOGIN_TOKEN=".length(), setCookie.indexOf(';'))));
+        LoginSession touched = sessionService.getLoginSession(next);
+        assertThat(touched.loginTime()).isEqualTo(loginTime);
+        assertThat(touched.lastAccessTime()).isGreaterThan(loginTime);
+    }
+
+    /**
+     * 更新間隔内のアクセスではトークンを再発行しないことを確認。
+     */
+    @Test
+    void touch_DoesNotReissueCookie_WithinGranularity() {
+        sessionProperties.setSlidingExpiration(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.touch(new MockHttpServletRequest(), response,
+                new LoginSession(TEST_USERNAME, System.currentTimeMillis()));
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).isNull();
+    }
+
+    /**
+     * ログアウト時に Cookie を削除し、同じリクエスト内では未ログインと判定されることを確認。
+     */
+    @Test
+    void invalidateSession_ClearsCookie() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setCookies(login());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        sessionService.invalidateSession(request, response);
+
+        assertThat(response.getHeader(HttpHeaders.SET_COOKIE)).startsWith("LOGIN_TOKEN=;").contains("Max-Age=0");
+        assertThat(sessionService.getLoginSession(request)).isNull();
+    }
+
+    /**
+     * ログインしてトークンの Cookie を取得する。
+     */
+    private Cookie login() {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sessionService.createLoginSession(new MockHttpServletRequest(), response, TEST_USERNAME);
+        String pair = response.getHeader(HttpHeaders.SET_COOKIE).split(";", 2)[0];
+        int eq = pair.indexOf('=');
+        return new Cookie(pair.substring(0, eq), pair.substring(eq + 1));
+    }
+}
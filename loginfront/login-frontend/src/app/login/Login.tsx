@@ -7,6 +7,7 @@ const HTTP_STATUS = {
   OK: 200,
   BAD_REQUEST_MIN: 400,
   BAD_REQUEST_MAX: 499,
+  TOO_MANY_REQUESTS: 429,
   SERVER_ERROR_MIN: 500,
 };
 
@@ -18,6 +19,7 @@ const ROUTES = {
 const ERROR_MESSAGES = {
   AUTH_FAILED: 'ユーザIDまたはパスワードが違います',
   SERVER_ERROR: 'サーバー内部エラーが発生しました',
+  TOO_MANY_REQUESTS: 'ログイン試行回数が多すぎます。しばらくしてから再度お試しください',
   UNKNOWN: '不明なエラーが発生しました。',
 };
 
@@ -55,6 +57,11 @@ const Login = () => {
         return;
       }
 
+      if (response.status === HTTP_STATUS.TOO_MANY_REQUESTS) {
+        setErrorMessage(ERROR_MESSAGES.TOO_MANY_REQUESTS);
+        return;
+      }
+
       const errorBody = await response.json().catch(() => null);
 
       if (
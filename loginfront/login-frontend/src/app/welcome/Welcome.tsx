@@ -7,8 +7,15 @@ interface Product {
   price: number;
 }
 
+interface ProductPage {
+  products: Product[];
+  // 続きのページがある場合のみ返る。次の取得で afterId に指定する
+  nextAfterId?: number;
+}
+
 const API_ENDPOINTS = {
   SESSION_CHECK: 'http://localhost:9090/api/session-check',
+  SESSION_EVENTS: 'http://localhost:9090/api/session-events',
   PRODUCTS: 'http://localhost:9090/api/products',
   LOGOUT: 'http://localhost:9090/api/logout',
 };
@@ -17,12 +24,39 @@ const HTTP_STATUS = {
   UNAUTHORIZED: 401,
 };
 
+/** サーバがセッションの有効期限切れを通知するイベント名 */
+const SESSION_EXPIRED_EVENT = 'expired';
+
 const Welcome: React.FC = () => {
   const navigate = useNavigate();
   const [products, setProducts] = useState<Product[]>([]);
+  const [nextAfterId, setNextAfterId] = useState<number | undefined>(undefined);
+
+  // 商品一覧は 1 ページずつ取得する。afterId を指定した場合は続きのページを既存の一覧に追加する
+  const fetchProducts = async (afterId?: number) => {
+    try {
+      const url = afterId === undefined ? API_ENDPOINTS.PRODUCTS : `${API_ENDPOINTS.PRODUCTS}?afterId=${afterId}`;
+      const res = await fetch(url, {
+        credentials: 'include',
+      });
+      if (!res.ok) {
+        console.error('商品情報の取得に失敗しました');
+        return;
+      }
+      const data: ProductPage = await res.json();
+      setProducts((current) => (afterId === undefined ? data.products : [...current, ...data.products]));
+      setNextAfterId(data.nextAfterId);
+    } catch (error) {
+      console.error('商品情報の取得に失敗しました', error);
+    }
+  };
 
   useEffect(() => {
-    const checkSession = async () => {
+    let events: EventSource | null = null;
+    let closed = false;
+
+    // 有効期限切れと判定された場合は true を返す
+    const checkSession = async (): Promise<boolean> => {
       try {
         const res = await fetch(API_ENDPOINTS.SESSION_CHECK, {
           method: 'GET',
@@ -31,33 +65,43 @@ const Welcome: React.FC = () => {
         if (res.status === HTTP_STATUS.UNAUTHORIZED) {
           alert('セッションの有効期限が切れました。再ログインしてください。');
           navigate('/login');
+          return true;
         }
       } catch (error) {
         console.error('セッションチェックでエラー', error);
       }
+      return false;
     };
 
-    const fetchProducts = async () => {
-      try {
-        const res = await fetch(API_ENDPOINTS.PRODUCTS, {
-          credentials: 'include',
-        });
-        if (!res.ok) {
-          console.error('商品情報の取得に失敗しました');
-          return;
+    // 定期的に問い合わせる代わりに、有効期限に達した時点でサーバから通知を受け取る。
+    // 通知を受けた場合・接続が閉じられた場合は 1 回だけ状態を確認し、延長されていれば購読し直す。
+    const subscribe = () => {
+      events = new EventSource(API_ENDPOINTS.SESSION_EVENTS, { withCredentials: true });
+      const recheck = async () => {
+        events?.close();
+        if (!closed && !(await checkSession()) && !closed) {
+          subscribe();
         }
-        const data = await res.json();
-        setProducts(data.products);
-      } catch (error) {
-        console.error('商品情報の取得に失敗しました', error);
-      }
+      };
+      events.addEventListener(SESSION_EXPIRED_EVENT, recheck);
+      events.onerror = () => {
+        if (events?.readyState === EventSource.CLOSED) {
+          recheck();
+        }
+      };
     };
 
-    checkSession();
+    checkSession().then((expired) => {
+      if (!expired && !closed) {
+        subscribe();
+      }
+    });
     fetchProducts();
 
-    const intervalId = setInterval(checkSession, 60_000);
-    return () => clearInterval(intervalId);
+    return () => {
+      closed = true;
+      events?.close();
+    };
   }, [navigate]);
 
   const logout = async () => {
@@ -97,6 +141,9 @@ const Welcome: React.FC = () => {
               </div>
             ))}
           </div>
+          {nextAfterId !== undefined && (
+            <button onClick={() => fetchProducts(nextAfterId)}>さらに表示</button>
+          )}
         </div>
       )}
     </div>